@@ -105,6 +105,8 @@ public interface OBinaryRequestExecutor {
 
   OBinaryResponse executeQueryNextPage(OQueryNextPageRequest request);
 
+  OBinaryResponse executeQueryStreamPage(OQueryStreamPageRequest request);
+
   OBinaryResponse executeBeginTransaction(OBeginTransactionRequest request);
 
   OBinaryResponse executeCommit37(OCommit37Request request);
@@ -135,6 +137,10 @@ public interface OBinaryRequestExecutor {
 
   OBinaryResponse executeSubscribeSequences(OSubscribeSequencesRequest request);
 
+  OBinaryResponse executeSubscribeRecords(OSubscribeRecordsRequest request);
+
+  OBinaryResponse executeReadRecords(OReadRecordsRequest request);
+
   OBinaryResponse executeExperimental(OExperimentalRequest request);
 
   OBinaryResponse executeLockRecord(OLockRecordRequest request);
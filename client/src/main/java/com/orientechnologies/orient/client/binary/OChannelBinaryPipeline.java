@@ -0,0 +1,229 @@
+/*
+ *
+ *  *  Copyright 2010-2017 OrientDB LTD (http://orientdb.com)
+ *  *
+ *  *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  *  you may not use this file except in compliance with the License.
+ *  *  You may obtain a copy of the License at
+ *  *
+ *  *       http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  *  Unless required by applicable law or agreed to in writing, software
+ *  *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  *  See the License for the specific language governing permissions and
+ *  *  limitations under the License.
+ *  *
+ *  * For more information: http://orientdb.com
+ *
+ */
+package com.orientechnologies.orient.client.binary;
+
+import com.orientechnologies.common.concur.lock.OInterruptedException;
+import com.orientechnologies.common.exception.OException;
+import com.orientechnologies.common.io.OIOException;
+import com.orientechnologies.common.log.OLogManager;
+import com.orientechnologies.orient.client.ONotSendRequestException;
+import com.orientechnologies.orient.client.remote.OBinaryRequest;
+import com.orientechnologies.orient.client.remote.OBinaryResponse;
+import com.orientechnologies.orient.client.remote.OStorageRemoteNodeSession;
+import com.orientechnologies.orient.client.remote.OStorageRemoteSession;
+import com.orientechnologies.orient.enterprise.channel.binary.OChannelBinaryProtocol;
+import com.orientechnologies.orient.enterprise.channel.binary.ONetworkProtocolException;
+
+import java.io.IOException;
+import java.net.SocketTimeoutException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Multiplexes the requests of many sessions on a single {@link OChannelBinaryAsynchClient} (protocol 39+). Every request carries
+ * an id and is sent without waiting for the responses of the previous ones, the server executes them concurrently and answers in
+ * any order. A reader thread reads the header of each response and wakes up the thread waiting for it, which reads the content
+ * with its own database context and then hands the socket back to the reader.
+ */
+public class OChannelBinaryPipeline {
+  private final OChannelBinaryAsynchClient                   network;
+  private final AtomicInteger                                nextRequestId = new AtomicInteger();
+  private final ConcurrentMap<Integer, OPipelinedResponse>   pending       = new ConcurrentHashMap<>();
+  private final Thread                                       reader;
+  private volatile boolean                                   closed;
+
+  private static final class OPipelinedResponse {
+    private final CompletableFuture<OPipelinedResponse> header      = new CompletableFuture<>();
+    private final CountDownLatch                        contentRead = new CountDownLatch(1);
+    private       byte                                  status;
+    private       int                                   sessionId;
+    private       byte[]                                token;
+  }
+
+  public OChannelBinaryPipeline(final OChannelBinaryAsynchClient network) {
+    if (network.getSrvProtocolVersion() < OChannelBinaryProtocol.PROTOCOL_VERSION_39)
+      throw new ONetworkProtocolException(
+          "Server " + network.getServerURL() + " does not support pipelined requests (protocol " + network.getSrvProtocolVersion()
+              + ")");
+    this.network = network;
+    this.reader = new Thread(this::readResponses, "OrientDB Pipelined Channel Reader (" + network.getServerURL() + ")");
+    this.reader.setDaemon(true);
+    this.reader.start();
+  }
+
+  /**
+   * Sends the request and waits for its response, other threads can send their requests on the same channel meanwhile.
+   *
+   * @param timeout maximum time in ms to wait for the response, 0 to wait indefinitely
+   */
+  public <T extends OBinaryResponse> T execute(final OBinaryRequest<T> request, final OStorageRemoteSession session,
+      final long timeout) throws IOException {
+    final OStorageRemoteNodeSession nodeSession = session.getServerSession(network.getServerURL());
+    if (nodeSession == null)
+      throw new OIOException("Invalid session for URL '" + network.getServerURL() + "'");
+
+    final int requestId = nextRequestId.incrementAndGet();
+    final OPipelinedResponse pipelined = new OPipelinedResponse();
+    pending.put(requestId, pipelined);
+
+    network.acquireWriteLock();
+    try {
+      if (closed)
+        throw new IOException("Channel is closed");
+      network.writeByte(OChannelBinaryProtocol.REQUEST_PIPELINED);
+      network.writeInt(requestId);
+      network.writeByte(request.getCommand());
+      network.writeInt(nodeSession.getSessionId());
+      network.writeBytes(nodeSession.getToken());
+      request.write(network, session);
+      network.flush();
+    } catch (IOException e) {
+      pending.remove(requestId);
+      close();
+      throw new ONotSendRequestException("Cannot send request on this channel");
+    } finally {
+      network.releaseWriteLock();
+    }
+
+    try {
+      awaitHeader(pipelined, timeout);
+    } catch (IOException | RuntimeException e) {
+      pipelined.contentRead.countDown();
+      throw e;
+    }
+
+    try {
+      if (pipelined.status != OChannelBinaryProtocol.RESPONSE_STATUS_OK)
+        network.handleStatus(pipelined.status, pipelined.sessionId);
+
+      final T response = request.createResponse();
+      response.read(network, session);
+      if (pipelined.token != null && pipelined.token.length > 0)
+        nodeSession.setSession(nodeSession.getSessionId(), pipelined.token);
+      return response;
+    } catch (IOException e) {
+      close();
+      throw e;
+    } finally {
+      pipelined.contentRead.countDown();
+    }
+  }
+
+  private void awaitHeader(final OPipelinedResponse pipelined, final long timeout) throws IOException {
+    try {
+      if (timeout > 0)
+        pipelined.header.get(timeout, TimeUnit.MILLISECONDS);
+      else
+        pipelined.header.get();
+    } catch (ExecutionException e) {
+      final Throwable cause = e.getCause();
+      if (cause instanceof IOException)
+        throw (IOException) cause;
+      throw OException.wrapException(new OIOException("Error on reading response from " + network.getServerURL()), cause);
+    } catch (TimeoutException e) {
+      // THE RESPONSE CANNOT BE SKIPPED WITHOUT KNOWING ITS CONTENT: THE CHANNEL IS NOT USABLE ANYMORE
+      close();
+      throw new IOException("Timeout on reading response from " + network.getServerURL());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      close();
+      throw OException.wrapException(new OInterruptedException("Interrupted while waiting for the response"), e);
+    }
+  }
+
+  private void readResponses() {
+    try {
+      while (!closed) {
+        final byte kind;
+        try {
+          network.setWaitResponseTimeout();
+          kind = network.readByte();
+        } catch (SocketTimeoutException e) {
+          if (pending.isEmpty())
+            // IDLE CHANNEL
+            continue;
+          throw e;
+        }
+
+        if (kind != OChannelBinaryProtocol.RESPONSE_PIPELINED)
+          throw new ONetworkProtocolException("Unexpected response type " + kind + " on pipelined channel");
+
+        final int requestId = network.readInt();
+        final OPipelinedResponse pipelined = pending.remove(requestId);
+        if (pipelined == null)
+          throw new ONetworkProtocolException("Received response for unknown request " + requestId);
+
+        pipelined.status = network.readByte();
+        pipelined.sessionId = network.readInt();
+        pipelined.token = network.readBytes();
+        // REQUEST TYPE
+        network.readByte();
+
+        pipelined.header.complete(pipelined);
+        // THE REQUESTER READS THE CONTENT ON ITS OWN THREAD
+        pipelined.contentRead.await();
+      }
+    } catch (IOException | RuntimeException e) {
+      if (!closed)
+        OLogManager.instance().debug(this, "Error on pipelined channel %s", e, network.getServerURL());
+      failPending(e);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      failPending(e);
+    }
+  }
+
+  private void failPending(final Exception cause) {
+    close();
+    for (Integer requestId : pending.keySet()) {
+      final OPipelinedResponse pipelined = pending.remove(requestId);
+      if (pipelined != null)
+        pipelined.header.completeExceptionally(
+            cause instanceof IOException ? cause : new IOException("Pipelined channel closed: " + cause.getMessage(), cause));
+    }
+  }
+
+  public boolean isConnected() {
+    return !closed && network.isConnected();
+  }
+
+  public String getServerURL() {
+    return network.getServerURL();
+  }
+
+  public int getPendingRequests() {
+    return pending.size();
+  }
+
+  public void close() {
+    if (closed)
+      return;
+    closed = true;
+    network.close();
+    if (Thread.currentThread() != reader)
+      reader.interrupt();
+  }
+}
@@ -21,10 +21,13 @@ package com.orientechnologies.orient.client.remote;
 
 import com.orientechnologies.common.log.OLogManager;
 import com.orientechnologies.orient.client.binary.OChannelBinaryAsynchClient;
+import com.orientechnologies.orient.client.binary.OChannelBinaryPipeline;
 import com.orientechnologies.orient.core.config.OContextConfiguration;
 import com.orientechnologies.orient.core.config.OGlobalConfiguration;
+import com.orientechnologies.orient.enterprise.channel.binary.ONetworkProtocolException;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -40,11 +43,15 @@ import java.util.concurrent.ConcurrentMap;
 public class ORemoteConnectionManager {
   public static final String PARAM_MAX_POOL = "maxpool";
 
-  protected final ConcurrentMap<String, ORemoteConnectionPool> connections;
-  protected final long                                         timeout;
+  protected final ConcurrentMap<String, ORemoteConnectionPool>    connections;
+  protected final ConcurrentMap<String, OChannelBinaryPipeline[]> pipelines;
+  protected final Set<String>                                     pipelineUnsupported;
+  protected final long                                            timeout;
 
   public ORemoteConnectionManager(final long iTimeout) {
     connections = new ConcurrentHashMap<String, ORemoteConnectionPool>();
+    pipelines = new ConcurrentHashMap<String, OChannelBinaryPipeline[]>();
+    pipelineUnsupported = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
     timeout = iTimeout;
   }
 
@@ -54,40 +61,24 @@ public class ORemoteConnectionManager {
     }
 
     connections.clear();
+
+    for (OChannelBinaryPipeline[] channels : pipelines.values())
+      closePipelines(channels);
+    pipelines.clear();
   }
 
   public OChannelBinaryAsynchClient acquire(String iServerURL, final OContextConfiguration clientConfiguration) {
-    if (iServerURL.startsWith(OEngineRemote.PREFIX))
-      iServerURL = iServerURL.substring(OEngineRemote.PREFIX.length());
-
-    if (iServerURL.endsWith("/"))
-      iServerURL = iServerURL.substring(0, iServerURL.length() - 1);
+    iServerURL = normalizeURL(iServerURL);
 
     long localTimeout = timeout;
-
-    ORemoteConnectionPool pool = connections.get(iServerURL);
-    if (pool == null) {
-      int maxPool = clientConfiguration.getValueAsInteger(OGlobalConfiguration.CLIENT_CHANNEL_MAX_POOL);
-
-      if (clientConfiguration != null) {
-        final Object max = clientConfiguration.getValue(OGlobalConfiguration.CLIENT_CHANNEL_MAX_POOL);
-        if (max != null)
-          maxPool = Integer.parseInt(max.toString());
-
-        final Object netLockTimeout = clientConfiguration.getValue(OGlobalConfiguration.NETWORK_LOCK_TIMEOUT);
-        if (netLockTimeout != null)
-          localTimeout = Integer.parseInt(netLockTimeout.toString());
-      }
-
-      pool = new ORemoteConnectionPool(maxPool);
-      final ORemoteConnectionPool prev = connections.putIfAbsent(iServerURL, pool);
-      if (prev != null) {
-        // ALREADY PRESENT, DESTROY IT AND GET THE ALREADY EXISTENT OBJ
-        pool.getPool().close();
-        pool = prev;
-      }
+    if (clientConfiguration != null) {
+      final Object netLockTimeout = clientConfiguration.getValue(OGlobalConfiguration.NETWORK_LOCK_TIMEOUT);
+      if (netLockTimeout != null)
+        localTimeout = Integer.parseInt(netLockTimeout.toString());
     }
 
+    final ORemoteConnectionPool pool = getOrCreatePool(iServerURL, clientConfiguration);
+
     try {
       // RETURN THE RESOURCE
       OChannelBinaryAsynchClient ret = pool.acquire(iServerURL, localTimeout, clientConfiguration);
@@ -103,6 +94,48 @@ public class ORemoteConnectionManager {
     return null;
   }
 
+  /**
+   * Returns the least loaded of the channels shared in pipelined mode with the server, opening it if needed.
+   *
+   * @return the pipelined channel or null if the server does not support pipelined requests
+   */
+  public OChannelBinaryPipeline acquirePipeline(String iServerURL, final OContextConfiguration clientConfiguration) {
+    iServerURL = normalizeURL(iServerURL);
+    if (pipelineUnsupported.contains(iServerURL))
+      return null;
+
+    final int size = Math.max(1, clientConfiguration.getValueAsInteger(OGlobalConfiguration.CLIENT_CHANNEL_PIPELINED_CONNECTIONS));
+    final OChannelBinaryPipeline[] channels = pipelines.computeIfAbsent(iServerURL, k -> new OChannelBinaryPipeline[size]);
+
+    synchronized (channels) {
+      int selected = -1;
+      for (int i = 0; i < channels.length; i++) {
+        if (channels[i] == null || !channels[i].isConnected()) {
+          selected = i;
+          break;
+        }
+        if (selected < 0 || channels[i].getPendingRequests() < channels[selected].getPendingRequests())
+          selected = i;
+      }
+
+      OChannelBinaryPipeline pipeline = channels[selected];
+      if (pipeline == null || !pipeline.isConnected()) {
+        final OChannelBinaryAsynchClient network = getOrCreatePool(iServerURL, clientConfiguration)
+            .createNetworkConnection(iServerURL, clientConfiguration);
+        try {
+          pipeline = new OChannelBinaryPipeline(network);
+        } catch (ONetworkProtocolException e) {
+          OLogManager.instance().debug(this, "Pipelined requests are not supported by %s", e, iServerURL);
+          pipelineUnsupported.add(iServerURL);
+          network.close();
+          return null;
+        }
+        channels[selected] = pipeline;
+      }
+      return pipeline;
+    }
+  }
+
   public void release(final OChannelBinaryAsynchClient conn) {
     if (conn == null)
       return;
@@ -179,6 +212,10 @@ public class ORemoteConnectionManager {
   }
 
   public void closePool(final String url) {
+    final OChannelBinaryPipeline[] channels = pipelines.remove(url);
+    if (channels != null)
+      closePipelines(channels);
+
     final ORemoteConnectionPool pool = connections.remove(url);
     if (pool == null)
       return;
@@ -186,6 +223,45 @@ public class ORemoteConnectionManager {
     closePool(pool);
   }
 
+  protected void closePipelines(final OChannelBinaryPipeline[] channels) {
+    synchronized (channels) {
+      for (OChannelBinaryPipeline c : channels)
+        if (c != null)
+          c.close();
+    }
+  }
+
+  private ORemoteConnectionPool getOrCreatePool(final String iServerURL, final OContextConfiguration clientConfiguration) {
+    ORemoteConnectionPool pool = connections.get(iServerURL);
+    if (pool == null) {
+      int maxPool = clientConfiguration.getValueAsInteger(OGlobalConfiguration.CLIENT_CHANNEL_MAX_POOL);
+
+      if (clientConfiguration != null) {
+        final Object max = clientConfiguration.getValue(OGlobalConfiguration.CLIENT_CHANNEL_MAX_POOL);
+        if (max != null)
+          maxPool = Integer.parseInt(max.toString());
+      }
+
+      pool = new ORemoteConnectionPool(maxPool);
+      final ORemoteConnectionPool prev = connections.putIfAbsent(iServerURL, pool);
+      if (prev != null) {
+        // ALREADY PRESENT, DESTROY IT AND GET THE ALREADY EXISTENT OBJ
+        pool.getPool().close();
+        pool = prev;
+      }
+    }
+    return pool;
+  }
+
+  private static String normalizeURL(String iServerURL) {
+    if (iServerURL.startsWith(OEngineRemote.PREFIX))
+      iServerURL = iServerURL.substring(OEngineRemote.PREFIX.length());
+
+    if (iServerURL.endsWith("/"))
+      iServerURL = iServerURL.substring(0, iServerURL.length() - 1);
+    return iServerURL;
+  }
+
   protected void closePool(ORemoteConnectionPool pool) {
     final List<OChannelBinaryAsynchClient> conns = new ArrayList<OChannelBinaryAsynchClient>(pool.getPool().getAllResources());
     for (OChannelBinaryAsynchClient c : conns)
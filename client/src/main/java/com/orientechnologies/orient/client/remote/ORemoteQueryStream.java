@@ -0,0 +1,138 @@
+/*
+ *
+ *  *  Copyright 2010-2017 OrientDB LTD (http://orientdb.com)
+ *  *
+ *  *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  *  you may not use this file except in compliance with the License.
+ *  *  You may obtain a copy of the License at
+ *  *
+ *  *       http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  *  Unless required by applicable law or agreed to in writing, software
+ *  *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  *  See the License for the specific language governing permissions and
+ *  *  limitations under the License.
+ *  *
+ *  * For more information: http://orientdb.com
+ *
+ */
+package com.orientechnologies.orient.client.remote;
+
+import com.orientechnologies.common.log.OLogManager;
+import com.orientechnologies.orient.client.binary.OChannelBinaryAsynchClient;
+import com.orientechnologies.orient.client.remote.message.OQueryResponse;
+import com.orientechnologies.orient.client.remote.message.OQueryStreamPageRequest;
+import com.orientechnologies.orient.enterprise.channel.binary.OChannelBinaryProtocol;
+
+import java.io.IOException;
+
+/**
+ * Streams the pages of a remote query on a channel reserved to it (protocol 39+). The client keeps up to <code>credits</code>
+ * page requests in flight: the server produces the next pages while the previous ones are on the wire and the client is
+ * processing them, so large result sets are transferred at the speed of the network instead of paying a round trip per page.
+ * Every page consumed gives a credit back to the server.
+ */
+public class ORemoteQueryStream {
+  private final OStorageRemote             storage;
+  private final OChannelBinaryAsynchClient network;
+  private final OStorageRemoteSession      session;
+  private final String                     queryId;
+  private final int                        recordsPerPage;
+  private final int                        credits;
+  private       int                        inFlight;
+  private       boolean                    lastPageReceived;
+  private       boolean                    closed;
+
+  /**
+   * @param network a channel acquired by the caller and locked for writing, it is released to the pool at the end of the stream
+   */
+  public ORemoteQueryStream(final OStorageRemote storage, final OChannelBinaryAsynchClient network,
+      final OStorageRemoteSession session, final String queryId, final int recordsPerPage, final int credits) {
+    this.storage = storage;
+    this.network = network;
+    this.session = session;
+    this.queryId = queryId;
+    this.recordsPerPage = recordsPerPage;
+    this.credits = credits;
+    // EVERY GRANT LOCKS THE CHANNEL FOR WRITING, THE CHANNEL IS NOT RETURNED TO THE POOL UNTIL THE STREAM IS CLOSED
+    network.unlock();
+  }
+
+  /**
+   * Returns the next page of the query, the following ones are requested before returning.
+   */
+  public OQueryResponse nextPage() throws IOException {
+    if (closed)
+      throw new IOException("Stream of query '" + queryId + "' is closed");
+
+    try {
+      grant();
+      final OQueryResponse response = readPage();
+      if (!response.isHasNextPage()) {
+        lastPageReceived = true;
+        close();
+      } else
+        grant();
+      return response;
+    } catch (IOException | RuntimeException e) {
+      abort();
+      throw e;
+    }
+  }
+
+  private void grant() throws IOException {
+    if (lastPageReceived || inFlight >= credits)
+      return;
+
+    network.acquireWriteLock();
+    try {
+      while (inFlight < credits) {
+        network.beginRequest(OChannelBinaryProtocol.REQUEST_QUERY_STREAM_PAGE, session);
+        new OQueryStreamPageRequest(queryId, recordsPerPage).write(network, session);
+        inFlight++;
+      }
+    } finally {
+      network.endRequest();
+    }
+  }
+
+  private OQueryResponse readPage() throws IOException {
+    final OQueryResponse response = new OQueryResponse();
+    try {
+      storage.beginResponse(network, session);
+      response.read(network, session);
+    } finally {
+      storage.endResponse(network);
+    }
+    inFlight--;
+    return response;
+  }
+
+  /**
+   * Stops the stream, the pages already requested are read and discarded and the channel goes back to the pool.
+   */
+  public void close() {
+    if (closed)
+      return;
+    closed = true;
+
+    try {
+      while (inFlight > 0)
+        readPage();
+    } catch (IOException | RuntimeException e) {
+      OLogManager.instance().debug(this, "Error on closing the stream of query '%s'", e, queryId);
+      storage.connectionManager.remove(network);
+      return;
+    }
+    storage.connectionManager.release(network);
+  }
+
+  private void abort() {
+    if (closed)
+      return;
+    closed = true;
+    // THE RESPONSES STILL IN FLIGHT CANNOT BE SKIPPED SAFELY: THE CHANNEL IS DISCARDED
+    storage.connectionManager.remove(network);
+  }
+}
@@ -0,0 +1,171 @@
+/*
+ *
+ *  *  Copyright 2010-2017 OrientDB LTD (http://orientdb.com)
+ *  *
+ *  *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  *  you may not use this file except in compliance with the License.
+ *  *  You may obtain a copy of the License at
+ *  *
+ *  *       http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  *  Unless required by applicable law or agreed to in writing, software
+ *  *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  *  See the License for the specific language governing permissions and
+ *  *  limitations under the License.
+ *  *
+ *  * For more information: http://orientdb.com
+ *
+ */
+package com.orientechnologies.orient.client.remote;
+
+import com.orientechnologies.orient.core.id.ORID;
+import com.orientechnologies.orient.core.storage.ORawBuffer;
+
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Client side cache of the records read from a remote database. The content is kept only while the push channel is connected,
+ * because it is the server that invalidates the records changed by the committed transactions. A read that races with an
+ * invalidation is not cached, so an outdated content is never stored after its invalidation was received.
+ * <p>
+ * The storage is shared by the sessions of all the users, and what a user reads depends on its roles and on the record level
+ * security, so the content is cached per user. A change to a security record (users, roles, policies) drops the whole cache.
+ */
+public class ORemoteRecordCache {
+  private final int                  maxSize;
+  private final Map<Key, ORawBuffer> records;
+  private final Set<String>          users = new HashSet<>();
+  private       Set<Integer>         clusterIds;
+  private       Set<Integer>         securityClusterIds;
+  private       boolean              active;
+  private       long                 invalidations;
+
+  private static final class Key {
+    private final String user;
+    private final ORID   rid;
+
+    private Key(final String user, final ORID rid) {
+      this.user = user;
+      this.rid = rid;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+      if (this == o)
+        return true;
+      if (!(o instanceof Key))
+        return false;
+      final Key other = (Key) o;
+      return user.equals(other.user) && rid.equals(other.rid);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(user, rid);
+    }
+  }
+
+  public ORemoteRecordCache(final int maxSize) {
+    this.maxSize = maxSize;
+    this.records = new LinkedHashMap<Key, ORawBuffer>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(final Map.Entry<Key, ORawBuffer> eldest) {
+        return size() > ORemoteRecordCache.this.maxSize;
+      }
+    };
+  }
+
+  /**
+   * @return a copy of the content cached for the user, null if the record is not cached
+   */
+  public synchronized ORawBuffer get(final String user, final ORID rid) {
+    if (!active || user == null)
+      return null;
+    final ORawBuffer buffer = records.get(new Key(user, rid));
+    if (buffer == null)
+      return null;
+    return new ORawBuffer(buffer.buffer.clone(), buffer.version, buffer.recordType);
+  }
+
+  /**
+   * Returns the invalidation counter to pass to {@link #put(String, ORID, ORawBuffer, long)} after the record is read from the
+   * server.
+   */
+  public synchronized long getInvalidations() {
+    return invalidations;
+  }
+
+  /**
+   * Caches the content read from the server, if no invalidation was received since the read started.
+   */
+  public synchronized void put(final String user, final ORID rid, final ORawBuffer buffer, final long invalidationsBeforeRead) {
+    if (!active || user == null || buffer == null || buffer.buffer == null || invalidations != invalidationsBeforeRead || !isCached(
+        rid))
+      return;
+    users.add(user);
+    records.put(new Key(user, rid.copy()), new ORawBuffer(buffer.buffer.clone(), buffer.version, buffer.recordType));
+  }
+
+  /**
+   * Removes the record for all the users if the cached version is older than the version received, a negative version removes
+   * it in any case. A change to a security record clears the cache.
+   */
+  public synchronized void invalidate(final ORID rid, final int version) {
+    if (securityClusterIds != null && securityClusterIds.contains(rid.getClusterId())) {
+      clear();
+      return;
+    }
+    invalidations++;
+    for (String user : users) {
+      final Key key = new Key(user, rid);
+      final ORawBuffer buffer = records.get(key);
+      if (buffer != null && (version < 0 || buffer.version < version))
+        records.remove(key);
+    }
+  }
+
+  public synchronized void clear() {
+    invalidations++;
+    records.clear();
+    users.clear();
+  }
+
+  /**
+   * Enables or disables the cache, the content is removed in any case.
+   */
+  public synchronized void setActive(final boolean active) {
+    clear();
+    this.active = active;
+  }
+
+  public synchronized boolean isActive() {
+    return active;
+  }
+
+  /**
+   * @param clusterIds the clusters to cache, null or empty for all the clusters
+   */
+  public synchronized void setClusterIds(final Set<Integer> clusterIds) {
+    this.clusterIds = clusterIds;
+  }
+
+  /**
+   * @param securityClusterIds the clusters of the security records, a change to any of them clears the cache
+   */
+  public synchronized void setSecurityClusterIds(final Set<Integer> securityClusterIds) {
+    this.securityClusterIds = securityClusterIds;
+  }
+
+  public synchronized int size() {
+    return records.size();
+  }
+
+  private boolean isCached(final ORID rid) {
+    return clusterIds == null || clusterIds.isEmpty() || clusterIds.contains(rid.getClusterId());
+  }
+}
@@ -30,6 +30,7 @@ import com.orientechnologies.common.util.OCallable;
 import com.orientechnologies.common.util.OCommonConst;
 import com.orientechnologies.orient.client.ONotSendRequestException;
 import com.orientechnologies.orient.client.binary.OChannelBinaryAsynchClient;
+import com.orientechnologies.orient.client.binary.OChannelBinaryPipeline;
 import com.orientechnologies.orient.client.remote.message.*;
 import com.orientechnologies.orient.core.command.OCommandOutputListener;
 import com.orientechnologies.orient.core.command.OCommandRequestAsynch;
@@ -50,7 +51,9 @@ import com.orientechnologies.orient.core.db.record.ORecordOperation;
 import com.orientechnologies.orient.core.exception.*;
 import com.orientechnologies.orient.core.id.ORID;
 import com.orientechnologies.orient.core.id.ORecordId;
+import com.orientechnologies.orient.core.metadata.security.ORole;
 import com.orientechnologies.orient.core.metadata.security.OTokenException;
+import com.orientechnologies.orient.core.metadata.security.OUser;
 import com.orientechnologies.orient.core.record.ORecordInternal;
 import com.orientechnologies.orient.core.record.impl.ODocument;
 import com.orientechnologies.orient.core.security.OCredentialInterceptor;
@@ -117,6 +120,8 @@ public class OStorageRemote extends OStorageAbstract implements OStorageProxy, O
   private       OContextConfiguration          clientConfiguration;
   private       int                            connectionRetry;
   private       int                            connectionRetryDelay;
+  private       boolean                        pipelining;
+  private final ORemoteRecordCache             recordCache;
   private       OCluster[]                     clusters                = OCommonConst.EMPTY_CLUSTER_ARRAY;
   private       int                            defaultClusterId;
   public        ORemoteConnectionManager       connectionManager;
@@ -148,6 +153,9 @@ public class OStorageRemote extends OStorageAbstract implements OStorageProxy, O
     }
     connectionRetry = clientConfiguration.getValueAsInteger(OGlobalConfiguration.NETWORK_SOCKET_RETRY);
     connectionRetryDelay = clientConfiguration.getValueAsInteger(OGlobalConfiguration.NETWORK_SOCKET_RETRY_DELAY);
+    pipelining = clientConfiguration.getValueAsBoolean(OGlobalConfiguration.CLIENT_CHANNEL_PIPELINING);
+    int nearCacheSize = clientConfiguration.getValueAsInteger(OGlobalConfiguration.CLIENT_NEAR_CACHE_SIZE);
+    recordCache = nearCacheSize > 0 ? new ORemoteRecordCache(nearCacheSize) : null;
     parseServerURLs();
 
     asynchExecutor = new OScheduledThreadPoolExecutorWithLogging(1);
@@ -225,6 +233,12 @@ public class OStorageRemote extends OStorageAbstract implements OStorageProxy, O
 
   public <T extends OBinaryResponse> T networkOperationRetryTimeout(final OBinaryRequest<T> request, final String errorMessage,
       int retry, int timeout) {
+    if (pipelining) {
+      final T response = pipelinedNetworkOperation(request, timeout);
+      if (response != null)
+        return response;
+    }
+
     return baseNetworkOperation((network, session) -> {
       try {
         try {
@@ -254,6 +268,38 @@ public class OStorageRemote extends OStorageAbstract implements OStorageProxy, O
     }, errorMessage, retry);
   }
 
+  /**
+   * Sends the request on a channel shared with the other sessions, see {@link OChannelBinaryPipeline}. Returns null when the request
+   * has to go through the standard path: the session is not open yet on the server, the server does not support pipelining, or
+   * the execution failed with an error that the standard path knows how to recover (reconnection, redirect, token renewal).
+   */
+  private <T extends OBinaryResponse> T pipelinedNetworkOperation(final OBinaryRequest<T> request, final int timeout) {
+    final OStorageRemoteSession session = getCurrentSession();
+    if (session.commandExecuting || (connectionStrategy == CONNECTION_STRATEGY.ROUND_ROBIN_REQUEST && !session.isStickToSession()))
+      return null;
+
+    final String serverUrl = session.getServerUrl();
+    if (serverUrl == null)
+      return null;
+    final OStorageRemoteNodeSession nodeSession = session.getServerSession(serverUrl);
+    if (nodeSession == null || !nodeSession.isValid())
+      return null;
+
+    try {
+      session.commandExecuting = true;
+      final OChannelBinaryPipeline pipeline = connectionManager.acquirePipeline(serverUrl, clientConfiguration);
+      if (pipeline == null)
+        return null;
+      return pipeline.execute(request, session, timeout);
+    } catch (ONotSendRequestException | ODistributedRedirectException | OModificationOperationProhibitedException
+        | OTokenSecurityException | OOfflineNodeException | OIOException | IOException e) {
+      OLogManager.instance().debug(this, "Pipelined request on %s failed, retrying on a dedicated channel", e, serverUrl);
+      return null;
+    } finally {
+      session.commandExecuting = false;
+    }
+  }
+
   public <T extends OBinaryResponse> T networkOperationNoRetry(final OBinaryRequest<T> request, final String errorMessage) {
     return networkOperationRetryTimeout(request, errorMessage, 0, 0);
   }
@@ -668,12 +714,90 @@ public class OStorageRemote extends OStorageAbstract implements OStorageProxy, O
       // PENDING NETWORK OPERATION, CAN'T EXECUTE IT NOW
       return new OStorageOperationResult<ORawBuffer>(null);
 
+    if (recordCache != null && !iIgnoreCache && iRid.isPersistent() && (iFetchPlan == null || iFetchPlan.isEmpty())) {
+      String user = getUserName();
+      ORawBuffer cached = recordCache.get(user, iRid);
+      if (cached != null)
+        return new OStorageOperationResult<ORawBuffer>(cached);
+      long invalidations = recordCache.getInvalidations();
+      OReadRecordRequest request = new OReadRecordRequest(false, iRid, iFetchPlan, false);
+      OReadRecordResponse response = networkOperation(request, "Error on read record " + iRid);
+      recordCache.put(user, iRid, response.getResult(), invalidations);
+      return new OStorageOperationResult<ORawBuffer>(response.getResult());
+    }
+
     OReadRecordRequest request = new OReadRecordRequest(iIgnoreCache, iRid, iFetchPlan, false);
     OReadRecordResponse response = networkOperation(request, "Error on read record " + iRid);
 
     return new OStorageOperationResult<ORawBuffer>(response.getResult());
   }
 
+  /**
+   * Reads many records with a single request if the server supports it (protocol 39+), with one request per record otherwise.
+   *
+   * @return the content of the records in the same order of the ids, null for the records not found
+   */
+  public List<ORawBuffer> readRecords(final List<ORecordId> rids) {
+    final List<ORawBuffer> result = new ArrayList<>(Collections.nCopies(rids.size(), null));
+    final List<ORecordId> toRead = new ArrayList<>(rids.size());
+    final List<Integer> toReadPositions = new ArrayList<>(rids.size());
+    final String user = recordCache != null ? getUserName() : null;
+    for (int i = 0; i < rids.size(); i++) {
+      ORawBuffer cached = recordCache != null ? recordCache.get(user, rids.get(i)) : null;
+      if (cached != null) {
+        result.set(i, cached);
+      } else {
+        toRead.add(rids.get(i));
+        toReadPositions.add(i);
+      }
+    }
+    if (toRead.isEmpty())
+      return result;
+
+    final long invalidations = recordCache != null ? recordCache.getInvalidations() : 0;
+    final OReadRecordsRequest request = new OReadRecordsRequest(toRead);
+    final OReadRecordsResponse response = baseNetworkOperation((network, session) -> {
+      if (network.getSrvProtocolVersion() < OChannelBinaryProtocol.PROTOCOL_VERSION_39) {
+        network.unlock();
+        connectionManager.release(network);
+        return null;
+      }
+      try {
+        try {
+          network.beginRequest(request.getCommand(), session);
+          request.write(network, session);
+        } finally {
+          network.endRequest();
+        }
+      } catch (IOException e) {
+        throw new ONotSendRequestException("Cannot send request on this channel");
+      }
+
+      OReadRecordsResponse readResponse = request.createResponse();
+      try {
+        beginResponse(network, session);
+        readResponse.read(network, session);
+      } finally {
+        endResponse(network);
+      }
+      connectionManager.release(network);
+      return readResponse;
+    }, "Error on read records", connectionRetry);
+
+    for (int i = 0; i < toRead.size(); i++) {
+      final ORawBuffer buffer;
+      if (response != null) {
+        buffer = response.getRecords().get(i);
+        if (recordCache != null && buffer != null)
+          recordCache.put(user, toRead.get(i), buffer, invalidations);
+      } else {
+        buffer = readRecord(toRead.get(i), null, false, false, null).getResult();
+      }
+      result.set(toReadPositions.get(i), buffer);
+    }
+    return result;
+  }
+
   @Override
   public String incrementalBackup(final String backupDirectory, OCallable<Void, Void> started) {
     OIncrementalBackupRequest request = new OIncrementalBackupRequest(backupDirectory);
@@ -715,6 +839,7 @@ public class OStorageRemote extends OStorageAbstract implements OStorageProxy, O
       };
     }
 
+    invalidateCachedRecord(iRid);
     OUpdateRecordRequest request = new OUpdateRecordRequest(iRid, iContent, iVersion, updateContent, iRecordType);
     OUpdateRecordResponse response = asyncNetworkOperationNoRetry(request, iMode, iRid, realCallback,
         "Error on update record " + iRid);
@@ -734,6 +859,7 @@ public class OStorageRemote extends OStorageAbstract implements OStorageProxy, O
     if (iCallback != null)
       realCallback = (iRID, response) -> iCallback.call(iRID, response.getResult());
 
+    invalidateCachedRecord(iRid);
     final ODeleteRecordRequest request = new ODeleteRecordRequest(iRid, iVersion);
     final ODeleteRecordResponse response = asyncNetworkOperationNoRetry(request, iMode, iRid, realCallback,
         "Error on delete record " + iRid);
@@ -751,6 +877,7 @@ public class OStorageRemote extends OStorageAbstract implements OStorageProxy, O
     if (callback != null)
       realCallback = (iRID, response) -> callback.call(iRID, response.getResult());
 
+    invalidateCachedRecord(recordId);
     final OCleanOutRecordRequest request = new OCleanOutRecordRequest(recordVersion, recordId);
     final OCleanOutRecordResponse response = asyncNetworkOperationNoRetry(request, iMode, recordId, realCallback,
         "Error on delete record " + recordId);
@@ -993,8 +1120,24 @@ public class OStorageRemote extends OStorageAbstract implements OStorageProxy, O
     if (recordsPerPage <= 0) {
       recordsPerPage = 100;
     }
-    OQueryNextPageRequest request = new OQueryNextPageRequest(rs.getQueryId(), recordsPerPage);
-    OQueryResponse response = networkOperation(request, "Error on fetching next page for statment: " + rs.getQueryId());
+    OQueryResponse response = null;
+    ORemoteQueryStream stream = rs.getStream();
+    if (stream == null && !rs.isStreamUnsupported())
+      stream = openQueryStream(rs, recordsPerPage);
+
+    if (stream != null) {
+      try {
+        response = stream.nextPage();
+      } catch (IOException e) {
+        rs.setStream(null);
+        throw OException.wrapException(new OStorageException("Error on fetching next page for statment: " + rs.getQueryId()), e);
+      }
+      if (!response.isHasNextPage())
+        rs.setStream(null);
+    } else {
+      OQueryNextPageRequest request = new OQueryNextPageRequest(rs.getQueryId(), recordsPerPage);
+      response = networkOperation(request, "Error on fetching next page for statment: " + rs.getQueryId());
+    }
 
     rs.fetched(response.getResult(), response.isHasNextPage(), response.getExecutionPlan(), response.getQueryStats());
     if (!response.isHasNextPage()) {
@@ -1003,12 +1146,52 @@ public class OStorageRemote extends OStorageAbstract implements OStorageProxy, O
     }
   }
 
+  /**
+   * Reserves a channel to stream the remaining pages of the result set, see {@link ORemoteQueryStream}. Returns null if streaming
+   * is disabled or not supported by the server: the pages are fetched one at a time.
+   */
+  private ORemoteQueryStream openQueryStream(final ORemoteResultSet rs, final int recordsPerPage) {
+    final int credits = clientConfiguration.getValueAsInteger(OGlobalConfiguration.QUERY_REMOTE_RESULTSET_STREAMING_CREDITS);
+    final OStorageRemoteSession session = getCurrentSession();
+    final String serverUrl = session.getServerUrl();
+    if (credits <= 0 || serverUrl == null) {
+      rs.setStreamUnsupported();
+      return null;
+    }
+    final OStorageRemoteNodeSession nodeSession = session.getServerSession(serverUrl);
+    if (nodeSession == null || !nodeSession.isValid()) {
+      rs.setStreamUnsupported();
+      return null;
+    }
+
+    final OChannelBinaryAsynchClient network = getNetwork(serverUrl);
+    if (network.getSrvProtocolVersion() < OChannelBinaryProtocol.PROTOCOL_VERSION_39) {
+      network.unlock();
+      connectionManager.release(network);
+      rs.setStreamUnsupported();
+      return null;
+    }
+
+    final ORemoteQueryStream stream = new ORemoteQueryStream(this, network, session, rs.getQueryId(), recordsPerPage, credits);
+    rs.setStream(stream);
+    return stream;
+  }
+
   public List<ORecordOperation> commit(final OTransactionInternal iTx) {
     unstickToSession();
     OCommit38Request request = new OCommit38Request(iTx.getId(), true, iTx.isUsingLog(), iTx.getRecordOperations(),
         iTx.getIndexOperations());
 
-    OCommit37Response response = networkOperationNoRetry(request, "Error on commit");
+    OCommit37Response response;
+    try {
+      response = networkOperationNoRetry(request, "Error on commit");
+    } finally {
+      // THE SERVER PUSH COMES LATER ON ANOTHER CHANNEL, THE CHANGES OF THIS CLIENT ARE INVALIDATED STRAIGHT AWAY
+      if (recordCache != null) {
+        for (ORecordOperation txEntry : iTx.getRecordOperations())
+          invalidateCachedRecord(txEntry.getRID());
+      }
+    }
     for (OCommit37Response.OCreatedRecordResponse created : response.getCreated()) {
       iTx.updateIdentityAfterCommit(created.getCurrentRid(), created.getCreatedRid());
       ORecordOperation rop = iTx.getRecordEntry(created.getCurrentRid());
@@ -1467,6 +1650,7 @@ public class OStorageRemote extends OStorageAbstract implements OStorageProxy, O
           subscribeIndexManager(session);
           subscribeFunctions(session);
           subscribeSequences(session);
+          subscribeRecords(session);
         }
       } finally {
         stateLock.releaseWriteLock();
@@ -1498,6 +1682,68 @@ public class OStorageRemote extends OStorageAbstract implements OStorageProxy, O
     pushThread.subscribe(new OSubscribeIndexManagerRequest(), nodeSession);
   }
 
+  /**
+   * Enables the client record cache only once the server confirmed it will push the invalidations.
+   */
+  private void subscribeRecords(OStorageRemoteSession nodeSession) {
+    if (recordCache == null)
+      return;
+    recordCache.setActive(false);
+    if (pushThread.getSrvProtocolVersion() < OChannelBinaryProtocol.PROTOCOL_VERSION_39)
+      return;
+
+    Set<Integer> clusterIds = new HashSet<>();
+    String clusters = clientConfiguration.getValueAsString(OGlobalConfiguration.CLIENT_NEAR_CACHE_CLUSTERS);
+    if (clusters != null) {
+      for (String clusterName : clusters.split(",")) {
+        clusterName = clusterName.trim();
+        if (clusterName.isEmpty())
+          continue;
+        int clusterId = getClusterIdByName(clusterName);
+        if (clusterId < 0)
+          OLogManager.instance().warn(this, "Cluster '%s' not found, it is not cached on the client", clusterName);
+        else
+          clusterIds.add(clusterId);
+      }
+      if (clusterIds.isEmpty() && !clusters.trim().isEmpty())
+        // NONE OF THE REQUESTED CLUSTERS EXISTS
+        return;
+    }
+
+    Set<Integer> securityClusterIds = new HashSet<>();
+    for (OCluster cluster : getClusterInstances()) {
+      if (cluster != null && isSecurityCluster(cluster.getName()))
+        securityClusterIds.add(cluster.getId());
+    }
+
+    // THE CHANGES TO THE SECURITY RECORDS ARE PUSHED ANYWAY, THEY CLEAR THE CACHE
+    Set<Integer> subscribed = new HashSet<>(clusterIds);
+    if (!clusterIds.isEmpty())
+      subscribed.addAll(securityClusterIds);
+    int[] ids = new int[subscribed.size()];
+    int i = 0;
+    for (Integer clusterId : subscribed)
+      ids[i++] = clusterId;
+    recordCache.setClusterIds(clusterIds);
+    recordCache.setSecurityClusterIds(securityClusterIds);
+    if (pushThread.subscribe(new OSubscribeRecordsRequest(ids), nodeSession) != null)
+      recordCache.setActive(true);
+  }
+
+  private static boolean isSecurityCluster(String clusterName) {
+    for (String securityClass : new String[] { OUser.CLASS_NAME, ORole.CLASS_NAME, "OSecurityPolicy" }) {
+      String name = securityClass.toLowerCase(Locale.ENGLISH);
+      if (clusterName.equals(name) || clusterName.startsWith(name + "_"))
+        return true;
+    }
+    return false;
+  }
+
+  private void invalidateCachedRecord(ORID rid) {
+    if (recordCache != null && rid != null)
+      recordCache.invalidate(rid, -1);
+  }
+
   protected void openRemoteDatabase(String currentURL) {
     do {
       do {
@@ -2033,6 +2279,8 @@ public class OStorageRemote extends OStorageAbstract implements OStorageProxy, O
       return new OPushFunctionsRequest();
     case OChannelBinaryProtocol.REQUEST_PUSH_SEQUENCES:
       return new OPushSequencesRequest();
+    case OChannelBinaryProtocol.REQUEST_PUSH_RECORDS:
+      return new OPushRecordsRequest();
 
     }
     return null;
@@ -2056,6 +2304,17 @@ public class OStorageRemote extends OStorageAbstract implements OStorageProxy, O
     return null;
   }
 
+  @Override
+  public OBinaryPushResponse executeUpdateRecords(OPushRecordsRequest request) {
+    if (recordCache != null) {
+      List<ORID> rids = request.getRids();
+      int[] versions = request.getVersions();
+      for (int i = 0; i < rids.size(); i++)
+        recordCache.invalidate(rids.get(i), versions[i]);
+    }
+    return null;
+  }
+
   @Override
   public OBinaryPushResponse executeUpdateStorageConfig(OPushStorageConfigurationRequest payload) {
     final OStorageConfiguration storageConfiguration = new OStorageConfigurationRemote(
@@ -2147,6 +2406,11 @@ public class OStorageRemote extends OStorageAbstract implements OStorageProxy, O
     if (aValidSession != null) {
       subscribeDistributedConfiguration(aValidSession);
       subscribeStorageConfiguration(aValidSession);
+      if (recordCache != null) {
+        // CALLED BY THE PUSH THREAD, THAT HAS TO BE FREE TO READ THE SUBSCRIBE RESPONSE
+        final OStorageRemoteSession session = aValidSession;
+        asynchExecutor.submit(() -> subscribeRecords(session));
+      }
     } else {
       OLogManager.instance().warn(this,
           "Cannot find a valid session for subscribe for event to host '%s' forward the subscribe for the next session open ",
@@ -2168,6 +2432,9 @@ public class OStorageRemote extends OStorageAbstract implements OStorageProxy, O
     if (this.connectionManager.getPool(((OChannelBinaryAsynchClient) network).getServerURL()) != null) {
       this.connectionManager.remove((OChannelBinaryAsynchClient) network);
     }
+    if (recordCache != null)
+      // INVALIDATIONS ARE LOST UNTIL THE PUSH CHANNEL IS BACK
+      recordCache.setActive(false);
     if (e instanceof InterruptedException) {
       for (OLiveQueryClientListener liveListener : liveQueryListener.values()) {
         liveListener.onEnd();
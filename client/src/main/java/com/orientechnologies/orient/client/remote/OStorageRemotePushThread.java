@@ -136,6 +136,10 @@ public class OStorageRemotePushThread extends Thread {
     return null;
   }
 
+  public synchronized int getSrvProtocolVersion() {
+    return ((OChannelBinaryAsynchClient) network).getSrvProtocolVersion();
+  }
+
   public void shutdown() {
     interrupt();
     pushHandler.returnSocket(this.network);
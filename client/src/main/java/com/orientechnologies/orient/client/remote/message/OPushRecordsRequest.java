@@ -0,0 +1,70 @@
+package com.orientechnologies.orient.client.remote.message;
+
+import com.orientechnologies.orient.client.remote.ORemotePushHandler;
+import com.orientechnologies.orient.core.id.ORID;
+import com.orientechnologies.orient.enterprise.channel.binary.OChannelBinaryProtocol;
+import com.orientechnologies.orient.enterprise.channel.binary.OChannelDataInput;
+import com.orientechnologies.orient.enterprise.channel.binary.OChannelDataOutput;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Invalidations of the records changed by a single commit: the new version of every updated record, -1 for the deleted ones.
+ */
+public class OPushRecordsRequest implements OBinaryPushRequest<OBinaryPushResponse> {
+  private List<ORID> rids;
+  private int[]      versions;
+
+  public OPushRecordsRequest(List<ORID> rids, int[] versions) {
+    this.rids = rids;
+    this.versions = versions;
+  }
+
+  public OPushRecordsRequest() {
+  }
+
+  @Override
+  public void write(OChannelDataOutput channel) throws IOException {
+    channel.writeInt(rids.size());
+    for (int i = 0; i < rids.size(); i++) {
+      channel.writeRID(rids.get(i));
+      channel.writeVersion(versions[i]);
+    }
+  }
+
+  @Override
+  public void read(OChannelDataInput network) throws IOException {
+    int size = network.readInt();
+    rids = new ArrayList<>(size);
+    versions = new int[size];
+    for (int i = 0; i < size; i++) {
+      rids.add(network.readRID());
+      versions[i] = network.readVersion();
+    }
+  }
+
+  @Override
+  public OBinaryPushResponse execute(ORemotePushHandler pushHandler) {
+    return pushHandler.executeUpdateRecords(this);
+  }
+
+  @Override
+  public OBinaryPushResponse createResponse() {
+    return null;
+  }
+
+  @Override
+  public byte getPushCommand() {
+    return OChannelBinaryProtocol.REQUEST_PUSH_RECORDS;
+  }
+
+  public List<ORID> getRids() {
+    return rids;
+  }
+
+  public int[] getVersions() {
+    return versions;
+  }
+}
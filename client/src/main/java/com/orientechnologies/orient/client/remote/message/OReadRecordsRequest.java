@@ -0,0 +1,89 @@
+/*
+ *
+ *  *  Copyright 2010-2017 OrientDB LTD (http://orientdb.com)
+ *  *
+ *  *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  *  you may not use this file except in compliance with the License.
+ *  *  You may obtain a copy of the License at
+ *  *
+ *  *       http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  *  Unless required by applicable law or agreed to in writing, software
+ *  *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  *  See the License for the specific language governing permissions and
+ *  *  limitations under the License.
+ *  *
+ *  * For more information: http://orientdb.com
+ *
+ */
+package com.orientechnologies.orient.client.remote.message;
+
+import com.orientechnologies.orient.client.binary.OBinaryRequestExecutor;
+import com.orientechnologies.orient.client.remote.OBinaryRequest;
+import com.orientechnologies.orient.client.remote.OBinaryResponse;
+import com.orientechnologies.orient.client.remote.OStorageRemoteSession;
+import com.orientechnologies.orient.core.id.ORecordId;
+import com.orientechnologies.orient.core.serialization.serializer.record.ORecordSerializer;
+import com.orientechnologies.orient.enterprise.channel.binary.OChannelBinaryProtocol;
+import com.orientechnologies.orient.enterprise.channel.binary.OChannelDataInput;
+import com.orientechnologies.orient.enterprise.channel.binary.OChannelDataOutput;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads many records in a single request (protocol 39+), the response contains the records in the same order of the ids.
+ */
+public final class OReadRecordsRequest implements OBinaryRequest<OReadRecordsResponse> {
+
+  private List<ORecordId> rids;
+
+  public OReadRecordsRequest(List<ORecordId> rids) {
+    this.rids = rids;
+  }
+
+  public OReadRecordsRequest() {
+  }
+
+  @Override
+  public void write(OChannelDataOutput network, OStorageRemoteSession session) throws IOException {
+    network.writeInt(rids.size());
+    for (ORecordId rid : rids) {
+      network.writeRID(rid);
+    }
+  }
+
+  public void read(OChannelDataInput channel, int protocolVersion, ORecordSerializer serializer) throws IOException {
+    int size = channel.readInt();
+    rids = new ArrayList<>(size);
+    for (int i = 0; i < size; i++) {
+      rids.add(channel.readRID());
+    }
+  }
+
+  @Override
+  public byte getCommand() {
+    return OChannelBinaryProtocol.REQUEST_RECORDS_LOAD;
+  }
+
+  @Override
+  public String getDescription() {
+    return "Load records";
+  }
+
+  @Override
+  public OReadRecordsResponse createResponse() {
+    return new OReadRecordsResponse();
+  }
+
+  @Override
+  public OBinaryResponse execute(OBinaryRequestExecutor executor) {
+    return executor.executeReadRecords(this);
+  }
+
+  public List<ORecordId> getRids() {
+    return rids;
+  }
+}
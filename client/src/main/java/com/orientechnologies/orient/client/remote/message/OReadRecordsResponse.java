@@ -0,0 +1,81 @@
+/*
+ *
+ *  *  Copyright 2010-2017 OrientDB LTD (http://orientdb.com)
+ *  *
+ *  *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  *  you may not use this file except in compliance with the License.
+ *  *  You may obtain a copy of the License at
+ *  *
+ *  *       http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  *  Unless required by applicable law or agreed to in writing, software
+ *  *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  *  See the License for the specific language governing permissions and
+ *  *  limitations under the License.
+ *  *
+ *  * For more information: http://orientdb.com
+ *
+ */
+package com.orientechnologies.orient.client.remote.message;
+
+import com.orientechnologies.orient.client.remote.OBinaryResponse;
+import com.orientechnologies.orient.client.remote.OStorageRemoteSession;
+import com.orientechnologies.orient.core.serialization.serializer.record.ORecordSerializer;
+import com.orientechnologies.orient.core.storage.ORawBuffer;
+import com.orientechnologies.orient.enterprise.channel.binary.OChannelDataInput;
+import com.orientechnologies.orient.enterprise.channel.binary.OChannelDataOutput;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+public final class OReadRecordsResponse implements OBinaryResponse {
+
+  private List<ORawBuffer> records;
+
+  public OReadRecordsResponse() {
+  }
+
+  /**
+   * @param records the content of the requested records, null for the records not found
+   */
+  public OReadRecordsResponse(List<ORawBuffer> records) {
+    this.records = records;
+  }
+
+  @Override
+  public void write(OChannelDataOutput channel, int protocolVersion, ORecordSerializer serializer) throws IOException {
+    channel.writeInt(records.size());
+    for (ORawBuffer record : records) {
+      if (record == null) {
+        channel.writeByte((byte) 0);
+      } else {
+        channel.writeByte((byte) 1);
+        channel.writeByte(record.recordType);
+        channel.writeVersion(record.version);
+        channel.writeBytes(record.buffer);
+      }
+    }
+  }
+
+  @Override
+  public void read(OChannelDataInput network, OStorageRemoteSession session) throws IOException {
+    int size = network.readInt();
+    records = new ArrayList<>(size);
+    for (int i = 0; i < size; i++) {
+      if (network.readByte() == 1) {
+        byte recordType = network.readByte();
+        int version = network.readVersion();
+        byte[] bytes = network.readBytes();
+        records.add(new ORawBuffer(bytes, version, recordType));
+      } else {
+        records.add(null);
+      }
+    }
+  }
+
+  public List<ORawBuffer> getRecords() {
+    return records;
+  }
+}
@@ -1,5 +1,6 @@
 package com.orientechnologies.orient.client.remote.message;
 
+import com.orientechnologies.orient.client.remote.ORemoteQueryStream;
 import com.orientechnologies.orient.core.db.document.ODatabaseDocumentRemote;
 import com.orientechnologies.orient.core.record.ORecord;
 import com.orientechnologies.orient.core.sql.executor.OExecutionPlan;
@@ -22,6 +23,8 @@ public class ORemoteResultSet implements OResultSet {
   private       Optional<OExecutionPlan> executionPlan;
   private       Map<String, Long>        queryStats;
   private       boolean                  hasNextPage;
+  private       ORemoteQueryStream       stream;
+  private       boolean                  streamUnsupported;
 
   public ORemoteResultSet(ODatabaseDocumentRemote db, String queryId, List<OResultInternal> currentPage,
       Optional<OExecutionPlan> executionPlan, Map<String, Long> queryStats, boolean hasNextPage) {
@@ -78,6 +81,11 @@ public class ORemoteResultSet implements OResultSet {
 
   @Override
   public void close() {
+    if (stream != null) {
+      // THE PAGES ALREADY REQUESTED ARE DISCARDED, CLOSING THE QUERY IS HARMLESS IF THE LAST ONE WAS AMONG THEM
+      stream.close();
+      stream = null;
+    }
     if (hasNextPage) {
       // CLOSES THE QUERY SERVER SIDE ONLY IF THERE IS ANOTHER PAGE. THE SERVER ALREADY AUTOMATICALLY CLOSES THE QUERY AFTER SENDING THE LAST PAGE
       db.closeQuery(queryId);
@@ -106,6 +114,22 @@ public class ORemoteResultSet implements OResultSet {
     return queryId;
   }
 
+  public ORemoteQueryStream getStream() {
+    return stream;
+  }
+
+  public void setStream(ORemoteQueryStream stream) {
+    this.stream = stream;
+  }
+
+  public boolean isStreamUnsupported() {
+    return streamUnsupported;
+  }
+
+  public void setStreamUnsupported() {
+    this.streamUnsupported = true;
+  }
+
   public void fetched(List<OResultInternal> result, boolean hasNextPage, Optional<OExecutionPlan> executionPlan,
       Map<String, Long> queryStats) {
     this.currentPage = result;
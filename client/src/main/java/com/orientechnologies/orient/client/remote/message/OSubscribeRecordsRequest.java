@@ -0,0 +1,67 @@
+package com.orientechnologies.orient.client.remote.message;
+
+import com.orientechnologies.orient.client.binary.OBinaryRequestExecutor;
+import com.orientechnologies.orient.client.remote.OBinaryRequest;
+import com.orientechnologies.orient.client.remote.OBinaryResponse;
+import com.orientechnologies.orient.client.remote.OStorageRemoteSession;
+import com.orientechnologies.orient.core.serialization.serializer.record.ORecordSerializer;
+import com.orientechnologies.orient.enterprise.channel.binary.OChannelBinaryProtocol;
+import com.orientechnologies.orient.enterprise.channel.binary.OChannelDataInput;
+import com.orientechnologies.orient.enterprise.channel.binary.OChannelDataOutput;
+
+import java.io.IOException;
+
+/**
+ * Subscribes to the invalidations of the records of the given clusters, an empty list subscribes to all the clusters.
+ */
+public class OSubscribeRecordsRequest implements OBinaryRequest<OSubscribeRecordsResponse> {
+  private int[] clusterIds;
+
+  public OSubscribeRecordsRequest(int[] clusterIds) {
+    this.clusterIds = clusterIds;
+  }
+
+  public OSubscribeRecordsRequest() {
+  }
+
+  @Override
+  public void write(OChannelDataOutput network, OStorageRemoteSession session) throws IOException {
+    network.writeInt(clusterIds.length);
+    for (int clusterId : clusterIds) {
+      network.writeInt(clusterId);
+    }
+  }
+
+  @Override
+  public void read(OChannelDataInput channel, int protocolVersion, ORecordSerializer serializer) throws IOException {
+    int size = channel.readInt();
+    clusterIds = new int[size];
+    for (int i = 0; i < size; i++) {
+      clusterIds[i] = channel.readInt();
+    }
+  }
+
+  @Override
+  public byte getCommand() {
+    return OChannelBinaryProtocol.SUBSCRIBE_PUSH_RECORDS;
+  }
+
+  @Override
+  public OSubscribeRecordsResponse createResponse() {
+    return new OSubscribeRecordsResponse();
+  }
+
+  @Override
+  public OBinaryResponse execute(OBinaryRequestExecutor executor) {
+    return executor.executeSubscribeRecords(this);
+  }
+
+  @Override
+  public String getDescription() {
+    return "Subscribe Records Invalidation";
+  }
+
+  public int[] getClusterIds() {
+    return clusterIds;
+  }
+}
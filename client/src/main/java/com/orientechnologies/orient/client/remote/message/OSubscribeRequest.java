@@ -58,6 +58,8 @@ public class OSubscribeRequest implements OBinaryRequest<OSubscribeResponse> {
       return new OSubscribeFunctionsRequest();
     case OChannelBinaryProtocol.SUBSCRIBE_PUSH_SEQUENCES:
       return new OSubscribeSequencesRequest();
+    case OChannelBinaryProtocol.SUBSCRIBE_PUSH_RECORDS:
+      return new OSubscribeRecordsRequest();
     }
 
     throw new ODatabaseException("Unknown message response for code:" + message);
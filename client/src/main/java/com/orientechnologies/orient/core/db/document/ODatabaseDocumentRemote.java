@@ -82,7 +82,9 @@ import com.orientechnologies.orient.core.tx.OTransactionIndexChanges;
 import com.orientechnologies.orient.core.tx.OTransactionOptimistic;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -792,6 +794,42 @@ public class ODatabaseDocumentRemote extends ODatabaseDocumentAbstract {
     }
   }
 
+  @Override
+  public <RET extends ORecord> List<RET> loadAll(final Collection<? extends ORID> rids) {
+    checkOpenness();
+    checkIfActive();
+    final List<ORID> ids = new ArrayList<>(rids);
+
+    // ONE REQUEST FOR ALL THE RECORDS NOT AVAILABLE IN THE TRANSACTION OR IN THE LOCAL CACHE
+    final List<ORecordId> toRead = new ArrayList<>();
+    for (ORID rid : ids) {
+      if (rid.isPersistent() && getTransaction().getRecord(rid) == null && getLocalCache().findRecord(rid) == null)
+        toRead.add((ORecordId) rid);
+    }
+    final Map<ORID, ORawBuffer> prefetched = new HashMap<>();
+    if (!toRead.isEmpty()) {
+      final List<ORawBuffer> buffers = storage.readRecords(toRead);
+      for (int i = 0; i < toRead.size(); i++)
+        prefetched.put(toRead.get(i), buffers.get(i));
+    }
+
+    final RecordReader reader = (recordStorage, rid, fetchPlan, ignoreCache, recordVersion) -> {
+      if (prefetched.containsKey(rid))
+        return prefetched.get(rid);
+      return recordStorage.readRecord(rid, fetchPlan, ignoreCache, isPrefetchRecords(), null).getResult();
+    };
+    final List<RET> result = new ArrayList<>(Collections.nCopies(ids.size(), null));
+    for (int index : sortByRid(ids)) {
+      try {
+        result.set(index, executeReadRecord((ORecordId) ids.get(index), null, -1, null, false, true, false,
+            OStorage.LOCKING_STRATEGY.DEFAULT, reader));
+      } catch (ORecordNotFoundException e) {
+        // LEFT NULL
+      }
+    }
+    return result;
+  }
+
   public String getClusterName(final ORecord record) {
     // DON'T ASSIGN CLUSTER WITH REMOTE: SERVER KNOWS THE RIGHT CLUSTER BASED ON LOCALITY
     return null;
@@ -5,8 +5,10 @@ import com.orientechnologies.orient.core.db.ODatabaseSession;
 import com.orientechnologies.orient.core.db.record.OIdentifiable;
 import com.orientechnologies.orient.core.id.ORID;
 import com.orientechnologies.orient.core.metadata.function.OFunction;
+import com.orientechnologies.orient.core.metadata.schema.OClass;
 import com.orientechnologies.orient.core.record.ORecord;
 import com.orientechnologies.orient.core.record.impl.ODocument;
+import com.orientechnologies.orient.core.sql.parser.OBooleanExpression;
 
 import java.util.Collections;
 import java.util.List;
@@ -240,6 +242,11 @@ public class OSecurityRemote implements OSecurityInternal {
     return false;
   }
 
+  @Override
+  public OBooleanExpression getReadPredicate(ODatabaseSession session, OClass clazz) {
+    return OBooleanExpression.TRUE;
+  }
+
   @Override
   public Set<OSecurityResourceProperty> getAllFilteredProperties(ODatabaseDocumentInternal database) {
     return Collections.EMPTY_SET;
@@ -0,0 +1,105 @@
+package com.orientechnologies.orient.client.remote;
+
+import com.orientechnologies.orient.core.id.ORecordId;
+import com.orientechnologies.orient.core.storage.ORawBuffer;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+public class ORemoteRecordCacheTest {
+
+  private ORemoteRecordCache cache;
+
+  @Before
+  public void before() {
+    cache = new ORemoteRecordCache(2);
+    cache.setActive(true);
+  }
+
+  @Test
+  public void testPutAndGet() {
+    ORecordId rid = new ORecordId(10, 1);
+    cache.put("admin", rid, new ORawBuffer(new byte[] { 1, 2 }, 3, (byte) 'd'), cache.getInvalidations());
+
+    ORawBuffer cached = cache.get("admin", new ORecordId(10, 1));
+    assertNotNull(cached);
+    assertEquals(3, cached.version);
+    // THE CALLER OWNS THE RETURNED CONTENT
+    cached.buffer[0] = 5;
+    assertEquals(1, cache.get("admin", rid).buffer[0]);
+  }
+
+  @Test
+  public void testInvalidateOnlyOlderVersions() {
+    ORecordId rid = new ORecordId(10, 1);
+    cache.put("admin", rid, new ORawBuffer(new byte[] { 1 }, 3, (byte) 'd'), cache.getInvalidations());
+    cache.invalidate(rid, 3);
+    assertNotNull(cache.get("admin", rid));
+    cache.invalidate(rid, 4);
+    assertNull(cache.get("admin", rid));
+
+    cache.put("admin", rid, new ORawBuffer(new byte[] { 1 }, 4, (byte) 'd'), cache.getInvalidations());
+    cache.invalidate(rid, -1);
+    assertNull(cache.get("admin", rid));
+  }
+
+  @Test
+  public void testReadRacingWithInvalidationIsNotCached() {
+    ORecordId rid = new ORecordId(10, 1);
+    long before = cache.getInvalidations();
+    cache.invalidate(rid, 4);
+    cache.put("admin", rid, new ORawBuffer(new byte[] { 1 }, 3, (byte) 'd'), before);
+    assertNull(cache.get("admin", rid));
+  }
+
+  @Test
+  public void testEviction() {
+    cache.put("admin", new ORecordId(10, 1), new ORawBuffer(new byte[] { 1 }, 1, (byte) 'd'), cache.getInvalidations());
+    cache.put("admin", new ORecordId(10, 2), new ORawBuffer(new byte[] { 1 }, 1, (byte) 'd'), cache.getInvalidations());
+    cache.get("admin", new ORecordId(10, 1));
+    cache.put("admin", new ORecordId(10, 3), new ORawBuffer(new byte[] { 1 }, 1, (byte) 'd'), cache.getInvalidations());
+    assertEquals(2, cache.size());
+    assertNotNull(cache.get("admin", new ORecordId(10, 1)));
+    assertNull(cache.get("admin", new ORecordId(10, 2)));
+  }
+
+  @Test
+  public void testClusterFilterAndInactive() {
+    cache.setClusterIds(Collections.singleton(11));
+    cache.put("admin", new ORecordId(10, 1), new ORawBuffer(new byte[] { 1 }, 1, (byte) 'd'), cache.getInvalidations());
+    assertNull(cache.get("admin", new ORecordId(10, 1)));
+
+    cache.put("admin", new ORecordId(11, 1), new ORawBuffer(new byte[] { 1 }, 1, (byte) 'd'), cache.getInvalidations());
+    assertNotNull(cache.get("admin", new ORecordId(11, 1)));
+    cache.setActive(false);
+    assertNull(cache.get("admin", new ORecordId(11, 1)));
+    assertEquals(0, cache.size());
+  }
+
+  @Test
+  public void testContentIsCachedPerUser() {
+    ORecordId rid = new ORecordId(10, 1);
+    cache.put("admin", rid, new ORawBuffer(new byte[] { 1 }, 1, (byte) 'd'), cache.getInvalidations());
+    cache.put("reader", rid, new ORawBuffer(new byte[] { 2 }, 1, (byte) 'd'), cache.getInvalidations());
+    assertEquals(1, cache.get("admin", rid).buffer[0]);
+    assertEquals(2, cache.get("reader", rid).buffer[0]);
+    assertNull(cache.get("writer", rid));
+
+    cache.invalidate(rid, 2);
+    assertNull(cache.get("admin", rid));
+    assertNull(cache.get("reader", rid));
+  }
+
+  @Test
+  public void testSecurityChangeClearsTheCache() {
+    cache.setSecurityClusterIds(Collections.singleton(5));
+    cache.put("admin", new ORecordId(10, 1), new ORawBuffer(new byte[] { 1 }, 1, (byte) 'd'), cache.getInvalidations());
+    cache.invalidate(new ORecordId(5, 0), 2);
+    assertEquals(0, cache.size());
+  }
+}
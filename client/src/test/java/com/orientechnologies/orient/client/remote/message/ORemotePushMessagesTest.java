@@ -5,6 +5,7 @@ import com.orientechnologies.orient.core.config.OStorageClusterConfiguration;
 import com.orientechnologies.orient.core.config.OStorageConfiguration;
 import com.orientechnologies.orient.core.config.OStorageEntryConfiguration;
 import com.orientechnologies.orient.core.db.*;
+import com.orientechnologies.orient.core.id.ORID;
 import com.orientechnologies.orient.core.id.ORecordId;
 import com.orientechnologies.orient.core.metadata.schema.OSchemaProxy;
 import com.orientechnologies.orient.core.record.impl.ODocument;
@@ -186,4 +187,38 @@ public class ORemotePushMessagesTest {
     assertEquals(((OUnsubscribeLiveQueryRequest) readRequest.getUnsubscribeRequest()).getMonitorId(), 10);
   }
 
+  @Test
+  public void testSubscribeRecordsRequest() throws IOException {
+    MockChannel channel = new MockChannel();
+    OSubscribeRequest request = new OSubscribeRequest(new OSubscribeRecordsRequest(new int[] { 10, 12 }));
+    request.write(channel, null);
+    channel.close();
+
+    OSubscribeRequest requestRead = new OSubscribeRequest();
+    requestRead.read(channel, 1, ORecordSerializerNetworkV37.INSTANCE);
+    int[] clusterIds = ((OSubscribeRecordsRequest) requestRead.getPushRequest()).getClusterIds();
+    assertEquals(clusterIds.length, 2);
+    assertEquals(clusterIds[0], 10);
+    assertEquals(clusterIds[1], 12);
+  }
+
+  @Test
+  public void testPushRecords() throws IOException {
+    MockChannel channel = new MockChannel();
+    List<ORID> rids = new ArrayList<>();
+    rids.add(new ORecordId(10, 20));
+    rids.add(new ORecordId(11, 21));
+    OPushRecordsRequest request = new OPushRecordsRequest(rids, new int[] { 3, -1 });
+    request.write(channel);
+    channel.close();
+
+    OPushRecordsRequest readRequest = new OPushRecordsRequest();
+    readRequest.read(channel);
+    assertEquals(readRequest.getRids().size(), 2);
+    assertEquals(readRequest.getRids().get(0), new ORecordId(10, 20));
+    assertEquals(readRequest.getRids().get(1), new ORecordId(11, 21));
+    assertEquals(readRequest.getVersions()[0], 3);
+    assertEquals(readRequest.getVersions()[1], -1);
+  }
+
 }
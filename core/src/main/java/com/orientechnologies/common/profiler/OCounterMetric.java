@@ -0,0 +1,68 @@
+/*
+ *
+ *  *  Copyright 2010-2016 OrientDB LTD (http://orientdb.com)
+ *  *
+ *  *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  *  you may not use this file except in compliance with the License.
+ *  *  You may obtain a copy of the License at
+ *  *
+ *  *       http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  *  Unless required by applicable law or agreed to in writing, software
+ *  *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  *  See the License for the specific language governing permissions and
+ *  *  limitations under the License.
+ *  *
+ *  * For more information: http://orientdb.com
+ *
+ */
+
+
+package com.orientechnologies.common.profiler;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counter of the {@link OMetricsRegistry}, striped by a {@link LongAdder} so concurrent increments do not contend on a single
+ * cache line.
+ */
+public class OCounterMetric implements OMetric {
+  private final String    name;
+  private final String    description;
+  private final LongAdder counter = new LongAdder();
+
+  OCounterMetric(final String name, final String description) {
+    this.name = name;
+    this.description = description;
+  }
+
+  public void increment() {
+    counter.increment();
+  }
+
+  public void add(final long delta) {
+    counter.add(delta);
+  }
+
+  public long get() {
+    return counter.sum();
+  }
+
+  @Override
+  public String getName() {
+    return name;
+  }
+
+  @Override
+  public String getDescription() {
+    return description;
+  }
+
+  @Override
+  public Map<String, Long> getValues() {
+    return Collections.singletonMap("count", get());
+  }
+}
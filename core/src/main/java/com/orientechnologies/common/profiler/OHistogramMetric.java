@@ -0,0 +1,197 @@
+/*
+ *
+ *  *  Copyright 2010-2016 OrientDB LTD (http://orientdb.com)
+ *  *
+ *  *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  *  you may not use this file except in compliance with the License.
+ *  *  You may obtain a copy of the License at
+ *  *
+ *  *       http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  *  Unless required by applicable law or agreed to in writing, software
+ *  *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  *  See the License for the specific language governing permissions and
+ *  *  limitations under the License.
+ *  *
+ *  * For more information: http://orientdb.com
+ *
+ */
+
+
+package com.orientechnologies.common.profiler;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency histogram of the {@link OMetricsRegistry}, with log-linear buckets in the style of HdrHistogram: every power of two is
+ * split in {@link #SUB_BUCKETS} linear buckets, so percentiles are reported with a relative error below 1/{@link #SUB_BUCKETS}
+ * whatever the magnitude of the values. Values are nanoseconds when the histogram is fed by {@link #startTimer()} and
+ * {@link #stopTimer(long)}.
+ * <p>
+ * Buckets are striped by thread, so concurrent recordings do not contend on the same counters. Values are accumulated since the
+ * creation of the histogram.
+ */
+public class OHistogramMetric implements OMetric {
+  private static final int SUB_BUCKET_BITS = 4;
+  private static final int SUB_BUCKETS     = 1 << SUB_BUCKET_BITS;
+
+  /**
+   * Values over 2^(MAX_EXPONENT + 1), about 36 minutes in nanoseconds, are recorded in the last bucket.
+   */
+  private static final int MAX_EXPONENT = 40;
+
+  static final int BUCKETS = (MAX_EXPONENT - SUB_BUCKET_BITS + 2) * SUB_BUCKETS;
+
+  private static final int MAX_STRIPES = 8;
+
+  /**
+   * Returned by {@link #startTimer()} when metrics are disabled.
+   */
+  private static final long NOT_STARTED = Long.MIN_VALUE;
+
+  private final String           name;
+  private final String           description;
+  private final OMetricsRegistry registry;
+
+  private final AtomicLongArray[] stripes;
+  private final int               stripeMask;
+  private final LongAdder         count = new LongAdder();
+  private final LongAdder         sum   = new LongAdder();
+  private final LongAccumulator   max   = new LongAccumulator(Math::max, 0);
+
+  OHistogramMetric(final String name, final String description, final OMetricsRegistry registry) {
+    this.name = name;
+    this.description = description;
+    this.registry = registry;
+
+    final int stripesCount = Integer.highestOneBit(Math.min(Runtime.getRuntime().availableProcessors(), MAX_STRIPES));
+    stripes = new AtomicLongArray[stripesCount];
+    for (int i = 0; i < stripesCount; i++) {
+      stripes[i] = new AtomicLongArray(BUCKETS);
+    }
+    stripeMask = stripesCount - 1;
+  }
+
+  /**
+   * @return start time to pass to {@link #stopTimer(long)}
+   */
+  public long startTimer() {
+    return registry.isEnabled() ? System.nanoTime() : NOT_STARTED;
+  }
+
+  /**
+   * Records the time elapsed from the given start, unless metrics were disabled when the timer was started.
+   *
+   * @param start value returned by {@link #startTimer()}
+   */
+  public void stopTimer(final long start) {
+    if (start != NOT_STARTED) {
+      record(System.nanoTime() - start);
+    }
+  }
+
+  public void record(final long value) {
+    final long normalized = Math.max(value, 0);
+    stripes[(int) Thread.currentThread().getId() & stripeMask].incrementAndGet(bucketOf(normalized));
+    count.increment();
+    sum.add(normalized);
+    max.accumulate(normalized);
+  }
+
+  public long getCount() {
+    return count.sum();
+  }
+
+  public long getMax() {
+    return max.get();
+  }
+
+  public long getMean() {
+    final long count = this.count.sum();
+    return count > 0 ? sum.sum() / count : 0;
+  }
+
+  /**
+   * @param percentile percentile to compute, between 0 and 100
+   *
+   * @return upper bound of the bucket that contains the percentile, or 0 if nothing has been recorded
+   */
+  public long getPercentile(final double percentile) {
+    final long[] buckets = new long[BUCKETS];
+    long total = 0;
+    for (final AtomicLongArray stripe : stripes) {
+      for (int i = 0; i < BUCKETS; i++) {
+        final long value = stripe.get(i);
+        buckets[i] += value;
+        total += value;
+      }
+    }
+
+    if (total == 0) {
+      return 0;
+    }
+
+    final long rank = Math.max(1, (long) Math.ceil(total * Math.min(percentile, 100.0) / 100.0));
+    long seen = 0;
+    for (int i = 0; i < BUCKETS; i++) {
+      seen += buckets[i];
+      if (seen >= rank) {
+        return Math.min(upperBoundOf(i), max.get());
+      }
+    }
+
+    return max.get();
+  }
+
+  @Override
+  public String getName() {
+    return name;
+  }
+
+  @Override
+  public String getDescription() {
+    return description;
+  }
+
+  @Override
+  public Map<String, Long> getValues() {
+    final Map<String, Long> values = new LinkedHashMap<>();
+    values.put("count", getCount());
+    values.put("mean", getMean());
+    values.put("max", getMax());
+    values.put("p50", getPercentile(50));
+    values.put("p90", getPercentile(90));
+    values.put("p99", getPercentile(99));
+    values.put("p999", getPercentile(99.9));
+    return values;
+  }
+
+  static int bucketOf(final long value) {
+    if (value < SUB_BUCKETS) {
+      return (int) value;
+    }
+
+    final int exponent = 63 - Long.numberOfLeadingZeros(value);
+    if (exponent > MAX_EXPONENT) {
+      return BUCKETS - 1;
+    }
+
+    final int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+    return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+  }
+
+  static long upperBoundOf(final int bucket) {
+    if (bucket < SUB_BUCKETS) {
+      return bucket;
+    }
+
+    final int shift = bucket / SUB_BUCKETS - 1;
+    final long lowerBound = (long) (SUB_BUCKETS + bucket % SUB_BUCKETS) << shift;
+    return lowerBound + (1L << shift) - 1;
+  }
+}
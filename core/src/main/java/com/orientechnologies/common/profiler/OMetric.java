@@ -0,0 +1,39 @@
+/*
+ *
+ *  *  Copyright 2010-2016 OrientDB LTD (http://orientdb.com)
+ *  *
+ *  *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  *  you may not use this file except in compliance with the License.
+ *  *  You may obtain a copy of the License at
+ *  *
+ *  *       http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  *  Unless required by applicable law or agreed to in writing, software
+ *  *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  *  See the License for the specific language governing permissions and
+ *  *  limitations under the License.
+ *  *
+ *  * For more information: http://orientdb.com
+ *
+ */
+
+
+package com.orientechnologies.common.profiler;
+
+import java.util.Map;
+
+/**
+ * Metric of the {@link OMetricsRegistry}. Metrics are registered once and kept by the code that updates them, so the hot paths
+ * never build or look up a name.
+ */
+public interface OMetric {
+  String getName();
+
+  String getDescription();
+
+  /**
+   * @return current values of the metric, by value name
+   */
+  Map<String, Long> getValues();
+}
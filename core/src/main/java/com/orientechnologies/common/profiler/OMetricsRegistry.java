@@ -0,0 +1,171 @@
+/*
+ *
+ *  *  Copyright 2010-2016 OrientDB LTD (http://orientdb.com)
+ *  *
+ *  *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  *  you may not use this file except in compliance with the License.
+ *  *  You may obtain a copy of the License at
+ *  *
+ *  *       http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  *  Unless required by applicable law or agreed to in writing, software
+ *  *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  *  See the License for the specific language governing permissions and
+ *  *  limitations under the License.
+ *  *
+ *  * For more information: http://orientdb.com
+ *
+ */
+
+
+package com.orientechnologies.common.profiler;
+
+import com.orientechnologies.common.log.OLogManager;
+import com.orientechnologies.orient.core.config.OGlobalConfiguration;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.InstanceNotFoundException;
+import javax.management.MBeanRegistrationException;
+import javax.management.MBeanServer;
+import javax.management.MalformedObjectNameException;
+import javax.management.NotCompliantMBeanException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+/**
+ * Registry of the always-on metrics of the engine: counters and latency histograms. Unlike the {@link OProfiler}, metrics are
+ * registered once by name and then updated through their handle, so recording a value neither builds a key nor looks it up.
+ * <p>
+ * Metrics are exposed by a JMX bean, see {@link OGlobalConfiguration#PROFILER_METRICS_JMX}, and by the HTTP server. Latency
+ * histograms can be turned off by {@link OGlobalConfiguration#PROFILER_METRICS_ENABLED}.
+ */
+public class OMetricsRegistry {
+  public static final String MBEAN_NAME = "com.orientechnologies.common.profiler:type=OMetricsRegistryMBean";
+
+  private static final OMetricsRegistry INSTANCE = new OMetricsRegistry();
+
+  private final    ConcurrentMap<String, OMetric> metrics           = new ConcurrentHashMap<>();
+  private final    AtomicBoolean                  mbeanIsRegistered = new AtomicBoolean();
+  private volatile boolean                        enabled           = OGlobalConfiguration.PROFILER_METRICS_ENABLED
+      .getValueAsBoolean();
+
+  public static OMetricsRegistry instance() {
+    return INSTANCE;
+  }
+
+  /**
+   * @return the counter registered with the given name, created if it does not exist yet
+   */
+  public OCounterMetric counter(final String name, final String description) {
+    return register(name, OCounterMetric.class, (n) -> new OCounterMetric(n, description));
+  }
+
+  /**
+   * @return the histogram registered with the given name, created if it does not exist yet
+   */
+  public OHistogramMetric histogram(final String name, final String description) {
+    return register(name, OHistogramMetric.class, (n) -> new OHistogramMetric(n, description, this));
+  }
+
+  /**
+   * Registers a metric which computes its values when read, replacing the one registered with the same name if any.
+   */
+  public void register(final OMetric metric) {
+    metrics.put(metric.getName(), metric);
+  }
+
+  private <T extends OMetric> T register(final String name, final Class<T> type, final Function<String, T> factory) {
+    final OMetric metric = metrics.computeIfAbsent(name, factory);
+    if (!type.isInstance(metric)) {
+      throw new IllegalArgumentException(
+          "Metric '" + name + "' is already registered as " + metric.getClass().getSimpleName() + ", not as " + type
+              .getSimpleName());
+    }
+    return type.cast(metric);
+  }
+
+  public OMetric getMetric(final String name) {
+    return metrics.get(name);
+  }
+
+  /**
+   * @return metrics by name, in name order
+   */
+  public SortedMap<String, OMetric> getMetrics() {
+    return new TreeMap<>(metrics);
+  }
+
+  /**
+   * Removes all the metrics whose name starts with the given prefix, e.g. the metrics of a dropped database. Handles still kept by
+   * their users keep working, but are not exported anymore.
+   */
+  public void unregister(final String prefix) {
+    metrics.keySet().removeIf((name) -> name.startsWith(prefix));
+  }
+
+  /**
+   * Removes the given metric, if it is still the one registered with its name.
+   */
+  public void unregister(final OMetric metric) {
+    metrics.remove(metric.getName(), metric);
+  }
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  public void setEnabled(final boolean enabled) {
+    this.enabled = enabled;
+  }
+
+  public void registerMBean() {
+    if (mbeanIsRegistered.compareAndSet(false, true)) {
+      try {
+        final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        final ObjectName mbeanName = new ObjectName(MBEAN_NAME);
+        if (!server.isRegistered(mbeanName)) {
+          server.registerMBean(new OMetricsRegistryMBean(this), mbeanName);
+        } else {
+          mbeanIsRegistered.set(false);
+          OLogManager.instance().warnNoDb(this,
+              "MBean with name %s has already registered. Probably your system was not shutdown correctly"
+                  + " or you have several running applications which use OrientDB engine inside", mbeanName.getCanonicalName());
+        }
+      } catch (MalformedObjectNameException | InstanceAlreadyExistsException | NotCompliantMBeanException | MBeanRegistrationException e) {
+        mbeanIsRegistered.set(false);
+        OLogManager.instance().warn(this, "Error during registration of metrics MBean", e);
+      }
+    }
+  }
+
+  public void unregisterMBean() {
+    if (mbeanIsRegistered.compareAndSet(true, false)) {
+      try {
+        ManagementFactory.getPlatformMBeanServer().unregisterMBean(new ObjectName(MBEAN_NAME));
+      } catch (MalformedObjectNameException | InstanceNotFoundException | MBeanRegistrationException e) {
+        OLogManager.instance().warn(this, "Error during unregistration of metrics MBean", e);
+      }
+    }
+  }
+
+  /**
+   * @return values of all the metrics, by "metric name.value name"
+   */
+  public SortedMap<String, Long> snapshot() {
+    final SortedMap<String, Long> snapshot = new TreeMap<>();
+    for (final OMetric metric : metrics.values()) {
+      for (final Map.Entry<String, Long> value : metric.getValues().entrySet()) {
+        snapshot.put(metric.getName() + "." + value.getKey(), value.getValue());
+      }
+    }
+    return snapshot;
+  }
+}
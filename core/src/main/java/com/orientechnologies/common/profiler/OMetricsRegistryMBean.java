@@ -0,0 +1,103 @@
+/*
+ *
+ *  *  Copyright 2010-2016 OrientDB LTD (http://orientdb.com)
+ *  *
+ *  *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  *  you may not use this file except in compliance with the License.
+ *  *  You may obtain a copy of the License at
+ *  *
+ *  *       http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  *  Unless required by applicable law or agreed to in writing, software
+ *  *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  *  See the License for the specific language governing permissions and
+ *  *  limitations under the License.
+ *  *
+ *  * For more information: http://orientdb.com
+ *
+ */
+
+
+package com.orientechnologies.common.profiler;
+
+import javax.management.Attribute;
+import javax.management.AttributeList;
+import javax.management.AttributeNotFoundException;
+import javax.management.DynamicMBean;
+import javax.management.InvalidAttributeValueException;
+import javax.management.MBeanAttributeInfo;
+import javax.management.MBeanConstructorInfo;
+import javax.management.MBeanInfo;
+import javax.management.MBeanNotificationInfo;
+import javax.management.MBeanOperationInfo;
+import javax.management.ReflectionException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+
+/**
+ * JMX bean which exposes the values of all the metrics of {@link OMetricsRegistry} as read only attributes named
+ * "metric name.value name", e.g. "db.demo.commit.p99". Attributes follow the metrics registered at the moment of the request.
+ */
+public class OMetricsRegistryMBean implements DynamicMBean {
+  private final OMetricsRegistry registry;
+
+  public OMetricsRegistryMBean(final OMetricsRegistry registry) {
+    this.registry = registry;
+  }
+
+  @Override
+  public Object getAttribute(final String attribute) throws AttributeNotFoundException {
+    final Long value = registry.snapshot().get(attribute);
+    if (value == null) {
+      throw new AttributeNotFoundException("Metric value " + attribute + " not found");
+    }
+    return value;
+  }
+
+  @Override
+  public void setAttribute(final Attribute attribute) throws AttributeNotFoundException, InvalidAttributeValueException {
+    throw new UnsupportedOperationException("Metrics are read only");
+  }
+
+  @Override
+  public AttributeList getAttributes(final String[] attributes) {
+    final SortedMap<String, Long> snapshot = registry.snapshot();
+    final AttributeList list = new AttributeList();
+    for (final String attribute : attributes) {
+      final Long value = snapshot.get(attribute);
+      if (value != null) {
+        list.add(new Attribute(attribute, value));
+      }
+    }
+    return list;
+  }
+
+  @Override
+  public AttributeList setAttributes(final AttributeList attributes) {
+    throw new UnsupportedOperationException("Metrics are read only");
+  }
+
+  @Override
+  public Object invoke(final String actionName, final Object[] params, final String[] signature) throws ReflectionException {
+    throw new UnsupportedOperationException("There are no operations on metrics");
+  }
+
+  @Override
+  public MBeanInfo getMBeanInfo() {
+    final List<MBeanAttributeInfo> attributes = new ArrayList<>();
+    for (final OMetric metric : registry.getMetrics().values()) {
+      for (final Map.Entry<String, Long> value : metric.getValues().entrySet()) {
+        attributes.add(
+            new MBeanAttributeInfo(metric.getName() + "." + value.getKey(), long.class.getName(), metric.getDescription(), true,
+                false, false));
+      }
+    }
+
+    return new MBeanInfo(OMetricsRegistryMBean.class.getName(), "Counters and latency histograms of the OrientDB engine",
+        attributes.toArray(new MBeanAttributeInfo[0]), new MBeanConstructorInfo[0], new MBeanOperationInfo[0],
+        new MBeanNotificationInfo[0]);
+  }
+}
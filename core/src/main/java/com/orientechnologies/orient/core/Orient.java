@@ -26,6 +26,7 @@ import com.orientechnologies.common.listener.OListenerManger;
 import com.orientechnologies.common.log.OLogManager;
 import com.orientechnologies.common.parser.OSystemVariableResolver;
 import com.orientechnologies.common.profiler.OAbstractProfiler;
+import com.orientechnologies.common.profiler.OMetricsRegistry;
 import com.orientechnologies.common.profiler.OProfiler;
 import com.orientechnologies.common.profiler.OProfilerStub;
 import com.orientechnologies.common.thread.OThreadPoolExecutorWithLogging;
@@ -294,6 +295,9 @@ public class Orient extends OListenerManger<OOrientListener> {
 
       registerEngines();
 
+      if (OGlobalConfiguration.PROFILER_METRICS_JMX.getValueAsBoolean())
+        OMetricsRegistry.instance().registerMBean();
+
       if (OGlobalConfiguration.ENVIRONMENT_DUMP_CFG_AT_STARTUP.getValueAsBoolean())
         OGlobalConfiguration.dumpConfiguration(System.out);
 
@@ -899,6 +903,7 @@ public class Orient extends OListenerManger<OOrientListener> {
     public void shutdown() throws Exception {
       // NOTE: DON'T REMOVE PROFILER TO AVOID NPE AROUND THE CODE IF ANY THREADS IS STILL WORKING
       profiler.shutdown();
+      OMetricsRegistry.instance().unregisterMBean();
     }
 
     @Override
@@ -19,6 +19,8 @@
  */
 package com.orientechnologies.orient.core.cache;
 
+import com.orientechnologies.common.profiler.OCounterMetric;
+import com.orientechnologies.common.profiler.OMetricsRegistry;
 import com.orientechnologies.orient.core.Orient;
 import com.orientechnologies.orient.core.config.OGlobalConfiguration;
 import com.orientechnologies.orient.core.db.ODatabaseRecordThreadLocal;
@@ -34,8 +36,8 @@ import com.orientechnologies.orient.core.record.ORecordVersionHelper;
  * @author Luca Garulli (l.garulli--(at)--orientdb.com)
  */
 public class OLocalRecordCache extends OAbstractRecordCache {
-  private String cacheHit;
-  private String cacheMiss;
+  private OCounterMetric cacheHit;
+  private OCounterMetric cacheMiss;
 
   public OLocalRecordCache() {
     super(Orient.instance().getLocalRecordCache().newInstance(OGlobalConfiguration.CACHE_LOCAL_IMPL.getValueAsString()));
@@ -48,8 +50,8 @@ public class OLocalRecordCache extends OAbstractRecordCache {
     profilerPrefix = "db." + db.getName() + ".cache.level1.";
     profilerMetadataPrefix = "db.*.cache.level1.";
 
-    cacheHit = profilerPrefix + "cache.found";
-    cacheMiss = profilerPrefix + "cache.notFound";
+    cacheHit = OMetricsRegistry.instance().counter(profilerPrefix + "cache.found", "Record found in Level1 Cache");
+    cacheMiss = OMetricsRegistry.instance().counter(profilerPrefix + "cache.notFound", "Record not found in Level1 Cache");
 
     super.startup();
   }
@@ -80,10 +82,9 @@ public class OLocalRecordCache extends OAbstractRecordCache {
     record = underlying.get(rid);
 
     if (record != null)
-      Orient.instance().getProfiler().updateCounter(cacheHit, "Record found in Level1 Cache", 1L, "db.*.cache.level1.cache.found");
+      cacheHit.increment();
     else
-      Orient.instance().getProfiler().updateCounter(cacheMiss, "Record not found in Level1 Cache", 1L,
-          "db.*.cache.level1.cache.notFound");
+      cacheMiss.increment();
 
     return record;
   }
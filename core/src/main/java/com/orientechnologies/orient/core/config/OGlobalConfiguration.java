@@ -21,6 +21,7 @@ package com.orientechnologies.orient.core.config;
 
 import com.orientechnologies.common.io.OFileUtils;
 import com.orientechnologies.common.log.OLogManager;
+import com.orientechnologies.common.profiler.OMetricsRegistry;
 import com.orientechnologies.common.profiler.OProfiler;
 import com.orientechnologies.common.util.OApi;
 import com.orientechnologies.orient.core.OConstants;
@@ -575,6 +576,22 @@ public enum OGlobalConfiguration { // ENVIRONMENT
   NETWORK_BINARY_DEBUG("network.binary.debug", "Debug mode: print all data incoming on the binary channel", Boolean.class, false,
       true),
 
+  NETWORK_BINARY_PIPELINE_WORKERS("network.binary.pipeline.workers",
+      "Number of server threads that execute the requests received in pipelined mode (protocol 39+)", Integer.class,
+      Runtime.getRuntime().availableProcessors() * 2),
+
+  NETWORK_BINARY_PIPELINE_MAX_IN_FLIGHT("network.binary.pipeline.maxInFlight",
+      "Maximum number of pipelined requests in execution for a single connection. When reached the server stops reading from the socket until a response is sent",
+      Integer.class, 64, true),
+
+  NETWORK_BINARY_SELECTOR("network.binary.selector",
+      "Serve the binary connections with an event loop instead of a thread per connection. Idle connections do not hold a thread. Ignored for SSL listeners",
+      Boolean.class, false),
+
+  NETWORK_BINARY_SELECTOR_WORKERS("network.binary.selector.workers",
+      "Number of server threads that execute the requests of the binary connections served by the event loop", Integer.class,
+      Runtime.getRuntime().availableProcessors() * 4),
+
   // HTTP
 
   /**
@@ -636,6 +653,18 @@ public enum OGlobalConfiguration { // ENVIRONMENT
   PROFILER_MEMORYCHECK_INTERVAL("profiler.memoryCheckInterval",
       "Checks the memory usage every configured milliseconds. Use 0 to disable it", Long.class, 120000),
 
+  @OApi(maturity = OApi.MATURITY.NEW)
+  PROFILER_METRICS_ENABLED("profiler.metrics.enabled",
+      "Records the latency histograms of the metrics registry (commits, page loads, WAL flushes, queries). "
+          + "Counters are always recorded", Boolean.class, true, new OConfigurationChangeCallback() {
+    public void change(final Object iCurrentValue, final Object iNewValue) {
+      OMetricsRegistry.instance().setEnabled((Boolean) iNewValue);
+    }
+  }),
+
+  @OApi(maturity = OApi.MATURITY.NEW)
+  PROFILER_METRICS_JMX("profiler.metrics.jmx", "Exposes the metrics registry as a JMX bean", Boolean.class, true),
+
   // SEQUENCES
 
   SEQUENCE_MAX_RETRY("sequence.maxRetry", "Maximum number of retries between attempt to change a sequence in concurrent mode",
@@ -698,6 +727,10 @@ public enum OGlobalConfiguration { // ENVIRONMENT
       "The size of a remote ResultSet page, ie. the number of records"
           + "that are fetched together during remote query execution. This has to be set on the client.", Integer.class, 1000),
 
+  QUERY_REMOTE_RESULTSET_STREAMING_CREDITS("query.remoteResultSet.streamingCredits",
+      "Number of pages of a remote ResultSet the server can send ahead of the client, so the next pages are transferred while the client "
+          + "processes the current one. 0 fetches one page at a time. This has to be set on the client.", Integer.class, 0),
+
   QUERY_REMOTE_SEND_EXECUTION_PLAN("query.remoteResultSet.sendExecutionPlan",
       "Send the execution plan details or not. False by default", Boolean.class, false),
 
@@ -734,6 +767,32 @@ public enum OGlobalConfiguration { // ENVIRONMENT
 
   QUERY_LIVE_SUPPORT("query.live.support", "Enable/Disable the support of live query. (Use false to disable)", Boolean.class, true),
 
+  QUERY_LIVE_DISPATCH_THREADS("query.live.dispatchThreads",
+      "Number of threads that deliver the changes to the live query subscribers. With more than one thread, every subscriber is "
+          + "bound to one of them, so it still receives its changes in order", Integer.class, 1),
+
+  QUERY_LIVE_QUEUE_SIZE("query.live.queueSize",
+      "Maximum number of changes waiting to be delivered to the live query subscribers. When the queue is full, the commits wait "
+          + "for the subscribers to catch up. (Use 0 for an unbounded queue)", Integer.class, 100000),
+
+  QUERY_RESULT_CACHE_SIZE("query.resultCache.size",
+      "Number of query results kept in cache, for the queries that start with the /*+ CACHE */ hint. Zero means cache disabled",
+      Integer.class, 1000),
+
+  QUERY_RESULT_CACHE_MAX_RESULTSET_SIZE("query.resultCache.maxResultsetSize",
+      "Maximum number of results of a query that can be kept in the query result cache", Integer.class, 1000),
+
+  QUERY_SLOW_LOG_SIZE("query.slowLog.size",
+      "Number of the most recent slow queries kept in memory, see 'SELECT FROM metadata:slowQueries'. Zero means slow query log "
+          + "disabled", Integer.class, 100),
+
+  QUERY_SLOW_LOG_THRESHOLD("query.slowLog.threshold", "Execution time (in ms) over which a query is kept in the slow query log",
+      Integer.class, 1000),
+
+  QUERY_PROFILING_SAMPLE_RATE("query.profiling.sampleRate",
+      "One query every N is executed with the profiling of its execution steps, that reports their costs in the slow query log. "
+          + "Zero means sampling disabled", Integer.class, 100),
+
   STATEMENT_CACHE_SIZE("statement.cacheSize", "Number of parsed SQL statements kept in cache. Zero means cache disabled",
       Integer.class, 100),
 
@@ -751,6 +810,24 @@ public enum OGlobalConfiguration { // ENVIRONMENT
   CLIENT_CHANNEL_MAX_POOL("client.channel.maxPool",
       "Maximum size of pool of network channels between client and server. A channel is a TCP/IP connection", Integer.class, 100),
 
+  /**
+   * Since 3.1, multiplexes the requests of concurrent sessions over few shared channels.
+   */
+  CLIENT_CHANNEL_PIPELINING("client.channel.pipelining",
+      "Sends the requests of concurrent sessions over few shared channels without waiting for the previous responses. Used only if the server supports protocol 39+",
+      Boolean.class, false),
+
+  CLIENT_CHANNEL_PIPELINED_CONNECTIONS("client.channel.pipelinedConnections",
+      "Number of shared channels opened against each server when pipelining is enabled", Integer.class, 2),
+
+  CLIENT_NEAR_CACHE_SIZE("client.nearCache.size",
+      "Maximum number of records kept in the client side cache of a remote database, the cached records are invalidated by the server "
+          + "after every commit that changes them. Used only if the server supports protocol 39+. 0 disables the cache", Integer.class,
+      0),
+
+  CLIENT_NEAR_CACHE_CLUSTERS("client.nearCache.clusters",
+      "Comma separated list of the cluster names cached by the client side cache, empty for all the clusters", String.class, ""),
+
   /**
    * Maximum time, where the client should wait for a connection from the pool, when all connections busy.
    */
@@ -950,6 +1027,40 @@ public enum OGlobalConfiguration { // ENVIRONMENT
       "Before asking for a delta sync, checks the integrity of the records touched by the last X transactions committed on local server.",
       Integer.class, 16),
 
+  /**
+   * @Since 3.1
+   */
+  @OApi(maturity = OApi.MATURITY.NEW) DISTRIBUTED_DELTA_SYNC_PARALLELISM("distributed.deltaSyncParallelism",
+      "Number of clusters read in parallel while the records changed after an LSN are streamed to a server that is resynchronizing. Use 1 to read them sequentially",
+      Integer.class, 4),
+
+  /**
+   * @Since 3.1
+   */
+  @OApi(maturity = OApi.MATURITY.NEW) DISTRIBUTED_READ_CONSISTENCY("distributed.readConsistency",
+      "Default consistency of the record reads: 'strong' reads by read quorum, 'bounded-staleness(<ms>)' reads from the local or the least loaded server that is at most <ms> behind, 'any' reads from any server. Can be overridden per session with the database property of the same name",
+      String.class, "strong", true),
+
+  /**
+   * @Since 3.1
+   */
+  @OApi(maturity = OApi.MATURITY.NEW) DISTRIBUTED_PUBLISH_READ_STATUS_EVERY("distributed.publishReadStatusEvery",
+      "Time in ms to publish the replication lag and the load of the local databases, used to route the reads that accept stale data. Set to 0 to disable it",
+      Long.class, 1000l),
+
+  /**
+   * @Since 3.1
+   */
+  @OApi(maturity = OApi.MATURITY.NEW) DISTRIBUTED_QUERY_PUSHDOWN("distributed.queryPushDown",
+      "Calculate projections, top-N ORDER BY/LIMIT and partial COUNT/SUM/MIN/MAX aggregates on the nodes of a sharded query, so that the coordinator only merges the partial results",
+      Boolean.class, true, true),
+
+  /**
+   * @Since 3.1
+   */
+  @OApi(maturity = OApi.MATURITY.NEW) DISTRIBUTED_QUERY_PAGE_SIZE("distributed.queryPageSize",
+      "Number of results that a node of a sharded query sends to the coordinator in a single page", Integer.class, 1000, true),
+
   /**
    * @Since 2.1
    */
@@ -973,6 +1084,15 @@ public enum OGlobalConfiguration { // ENVIRONMENT
   DB_DOCUMENT_SERIALIZER("db.document.serializer", "The default record serializer used by the document database", String.class,
       ORecordSerializerBinary.NAME),
 
+  @OApi(maturity = OApi.MATURITY.NEW) DB_DOCUMENT_SERIALIZER_BINARY_VERSION("db.document.serializer.binaryVersion",
+      "Version of the binary format used to write the documents: 1 is the format with the sequential header, 2 has an indexed "
+          + "header to read single fields without decoding the whole header. Records are always read with the format they were "
+          + "written with, but older servers and clients cannot read the records written with version 2", Integer.class, 1),
+
+  DB_DOCUMENT_SERIALIZER_SCRATCH_BUFFER_SIZE("db.document.serializer.scratchBufferSize",
+      "Maximum size in bytes of the temporary buffers every thread keeps to serialize documents. Larger documents are serialized "
+          + "in buffers allocated on demand", Integer.class, 64 * 1024),
+
   /**
    * @Since 2.2
    */
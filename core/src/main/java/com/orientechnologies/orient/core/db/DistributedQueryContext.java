@@ -3,6 +3,7 @@ package com.orientechnologies.orient.core.db;
 import com.orientechnologies.orient.core.sql.executor.OResult;
 import com.orientechnologies.orient.core.sql.executor.OResultSet;
 
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -12,6 +13,7 @@ public class DistributedQueryContext {
   private String     queryId;
   private ODatabase  db;
   private OResultSet resultSet;
+  private boolean    finished;
 
   public String getQueryId() {
     return queryId;
@@ -37,12 +39,30 @@ public class DistributedQueryContext {
     this.resultSet = resultSet;
   }
 
-  public List<OResult> fetchNextPage() {
+  public boolean isFinished() {
+    return finished;
+  }
+
+  /**
+   * returns up to pageSize results of the query. When there are no more results the query is closed, so the caller does not have to
+   * close it
+   *
+   * @param pageSize the maximum number of results to return
+   *
+   * @return the next page of results
+   */
+  public List<OResult> fetchNextPage(int pageSize) {
     ODatabaseDocumentInternal prev = ODatabaseRecordThreadLocal.instance().getIfDefined();
     try {
       db.activateOnCurrentThread();
-      resultSet.close();
-      db.close();
+      List<OResult> page = new ArrayList<>();
+      while (page.size() < pageSize && resultSet.hasNext()) {
+        page.add(resultSet.next());
+      }
+      if (!resultSet.hasNext()) {
+        internalClose();
+      }
+      return page;
     } finally {
       if (prev == null) {
         ODatabaseRecordThreadLocal.instance().remove();
@@ -50,16 +70,13 @@ public class DistributedQueryContext {
         ODatabaseRecordThreadLocal.instance().set(prev);
       }
     }
-    return null;
   }
 
   public void close() {
     ODatabaseDocumentInternal prev = ODatabaseRecordThreadLocal.instance().getIfDefined();
     try {
       db.activateOnCurrentThread();
-      resultSet.close();
-      db.close();
-      ((OSharedContextEmbedded) ((ODatabaseInternal) db).getSharedContext()).getActiveDistributedQueries().remove(queryId);
+      internalClose();
     } finally {
       if (prev == null) {
         ODatabaseRecordThreadLocal.instance().remove();
@@ -68,4 +85,14 @@ public class DistributedQueryContext {
       }
     }
   }
+
+  private void internalClose() {
+    if (finished) {
+      return;
+    }
+    finished = true;
+    ((OSharedContextEmbedded) ((ODatabaseInternal) db).getSharedContext()).getActiveDistributedQueries().remove(queryId);
+    resultSet.close();
+    db.close();
+  }
 }
@@ -35,7 +35,6 @@ import com.orientechnologies.orient.core.record.ORecord;
 import com.orientechnologies.orient.core.record.OVertex;
 import com.orientechnologies.orient.core.serialization.serializer.binary.OBinarySerializerFactory;
 import com.orientechnologies.orient.core.serialization.serializer.record.ORecordSerializer;
-import com.orientechnologies.orient.core.sql.executor.OExecutionPlan;
 import com.orientechnologies.orient.core.sql.executor.OResultSet;
 import com.orientechnologies.orient.core.storage.ORecordCallback;
 import com.orientechnologies.orient.core.storage.OStorage;
@@ -46,6 +45,7 @@ import com.orientechnologies.orient.core.tx.OTransactionAbstract;
 import com.orientechnologies.orient.core.tx.OTransactionInternal;
 
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ExecutionException;
 
@@ -197,15 +197,19 @@ public interface ODatabaseDocumentInternal extends ODatabaseSession, ODatabaseIn
   }
 
   /**
-   * sends an execution plan to a remote node for a remote query execution
+   * sends a query to a remote node of a sharded database, that executes it only on the given clusters
    *
    * @param nodeName        the node name
-   * @param executionPlan   the execution plan
+   * @param statement       the SELECT statement
+   * @param clusters        the clusters (data files) the node has to query
+   * @param pushDown        true if the node has to calculate the projections, the top-N sorting and the partial aggregates too,
+   *                        false if it only has to fetch and filter the records
    * @param inputParameters the input parameters for execution
    *
    * @return an OResultSet to fetch the results of the query execution
    */
-  default OResultSet queryOnNode(String nodeName, OExecutionPlan executionPlan, Map<Object, Object> inputParameters) {
+  default OResultSet queryOnNode(String nodeName, String statement, Set<String> clusters, boolean pushDown,
+      Map<Object, Object> inputParameters) {
     throw new UnsupportedOperationException();
   }
 
@@ -20,9 +20,33 @@
 package com.orientechnologies.orient.core.db;
 
 import com.orientechnologies.orient.core.db.document.ODatabaseDocument;
+import com.orientechnologies.orient.core.id.ORID;
+import com.orientechnologies.orient.core.record.ORecord;
+
+import java.util.Collection;
+import java.util.List;
 
 /**
  * Session for database operations with a specific user.
  */
 public interface ODatabaseSession extends ODatabaseDocument {
+
+  /**
+   * Loads many records at once. The records are read sorted by cluster and position, so the records stored close to each other are
+   * read together, and returned in the order of the ids passed. On a remote database the records not available locally are read
+   * with a single request.
+   *
+   * @param rids the ids of the records to load
+   *
+   * @return the loaded records, with null in place of the records not found
+   */
+  <RET extends ORecord> List<RET> loadAll(Collection<? extends ORID> rids);
+
+  /**
+   * Saves many records at once. If no transaction is active the records are saved in a new transaction, that on a remote database
+   * is sent to the server with a single request.
+   *
+   * @param records the records to save
+   */
+  void saveAll(Collection<? extends ORecord> records);
 }
@@ -15,7 +15,9 @@ import com.orientechnologies.orient.core.metadata.sequence.OSequenceLibraryImpl;
 import com.orientechnologies.orient.core.query.live.OLiveQueryHook;
 import com.orientechnologies.orient.core.query.live.OLiveQueryHookV2;
 import com.orientechnologies.orient.core.schedule.OSchedulerImpl;
+import com.orientechnologies.orient.core.sql.executor.OQueryResultCache;
 import com.orientechnologies.orient.core.sql.executor.OQueryStats;
+import com.orientechnologies.orient.core.sql.executor.OSlowQueryLog;
 import com.orientechnologies.orient.core.sql.parser.OExecutionPlanCache;
 import com.orientechnologies.orient.core.sql.parser.OStatementCache;
 import com.orientechnologies.orient.core.storage.OStorage;
@@ -40,6 +42,8 @@ public abstract class OSharedContext extends OListenerManger<OMetadataUpdateList
   protected OStatementCache                statementCache;
   protected OExecutionPlanCache            executionPlanCache;
   protected OQueryStats                    queryStats;
+  protected OQueryResultCache              queryResultCache;
+  protected OSlowQueryLog                  slowQueryLog;
   protected volatile boolean loaded = false;
 
   public OSharedContext() {
@@ -94,6 +98,14 @@ public abstract class OSharedContext extends OListenerManger<OMetadataUpdateList
     return queryStats;
   }
 
+  public OQueryResultCache getQueryResultCache() {
+    return queryResultCache;
+  }
+
+  public OSlowQueryLog getSlowQueryLog() {
+    return slowQueryLog;
+  }
+
   public abstract void load(ODatabaseDocumentInternal oDatabaseDocumentInternal);
 
   public abstract void reload(ODatabaseDocumentInternal database);
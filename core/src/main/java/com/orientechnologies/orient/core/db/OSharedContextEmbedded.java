@@ -1,5 +1,6 @@
 package com.orientechnologies.orient.core.db;
 
+import com.orientechnologies.common.profiler.OProfiler.METRIC_TYPE;
 import com.orientechnologies.orient.core.cache.OCommandCacheSoftRefs;
 import com.orientechnologies.orient.core.config.OGlobalConfiguration;
 import com.orientechnologies.orient.core.db.viewmanager.ViewManager;
@@ -15,7 +16,9 @@ import com.orientechnologies.orient.core.query.live.OLiveQueryHook;
 import com.orientechnologies.orient.core.query.live.OLiveQueryHookV2;
 import com.orientechnologies.orient.core.schedule.OSchedulerImpl;
 import com.orientechnologies.orient.core.security.OSecurityManager;
+import com.orientechnologies.orient.core.sql.executor.OQueryResultCache;
 import com.orientechnologies.orient.core.sql.executor.OQueryStats;
+import com.orientechnologies.orient.core.sql.executor.OSlowQueryLog;
 import com.orientechnologies.orient.core.sql.parser.OExecutionPlanCache;
 import com.orientechnologies.orient.core.sql.parser.OStatementCache;
 import com.orientechnologies.orient.core.storage.OStorage;
@@ -42,7 +45,8 @@ public class OSharedContextEmbedded extends OSharedContext {
     scheduler = new OSchedulerImpl();
     sequenceLibrary = new OSequenceLibraryImpl();
     liveQueryOps = new OLiveQueryHook.OLiveQueryOps();
-    liveQueryOpsV2 = new OLiveQueryHookV2.OLiveQueryOps();
+    liveQueryOpsV2 = new OLiveQueryHookV2.OLiveQueryOps(storage.getConfiguration().getContextConfiguration());
+    registerLiveQueryMetrics();
     commandCache = new OCommandCacheSoftRefs(storage.getUnderlying());
     statementCache = new OStatementCache(
         storage.getConfiguration().getContextConfiguration().getValueAsInteger(OGlobalConfiguration.STATEMENT_CACHE_SIZE));
@@ -52,6 +56,16 @@ public class OSharedContextEmbedded extends OSharedContext {
     this.registerListener(executionPlanCache);
 
     queryStats = new OQueryStats();
+    queryResultCache = new OQueryResultCache(
+        storage.getConfiguration().getContextConfiguration().getValueAsInteger(OGlobalConfiguration.QUERY_RESULT_CACHE_SIZE),
+        storage.getConfiguration().getContextConfiguration()
+            .getValueAsInteger(OGlobalConfiguration.QUERY_RESULT_CACHE_MAX_RESULTSET_SIZE));
+    this.registerListener(queryResultCache);
+    registerQueryResultCacheMetrics();
+    slowQueryLog = new OSlowQueryLog(
+        storage.getConfiguration().getContextConfiguration().getValueAsInteger(OGlobalConfiguration.QUERY_SLOW_LOG_SIZE),
+        storage.getConfiguration().getContextConfiguration().getValueAsInteger(OGlobalConfiguration.QUERY_PROFILING_SAMPLE_RATE),
+        storage.getConfiguration().getContextConfiguration().getValueAsInteger(OGlobalConfiguration.QUERY_SLOW_LOG_THRESHOLD));
     activeDistributedQueries = new HashMap<>();
     ((OAbstractPaginatedStorage) storage).setStorageConfigurationUpdateListener(update -> {
       for (OMetadataUpdateListener listener : browseListeners()) {
@@ -62,6 +76,43 @@ public class OSharedContextEmbedded extends OSharedContext {
     this.viewManager = new ViewManager(orientDB, storage.getName());
   }
 
+  private void registerLiveQueryMetrics() {
+    final String prefix = "db." + storage.getName() + ".liveQuery.";
+    PROFILER.registerHookValue(prefix + "queueDepth", "Number of changes waiting to be dispatched to the live queries",
+        METRIC_TYPE.SIZE, liveQueryOpsV2::getQueueDepth, "db.*.liveQuery.queueDepth");
+    PROFILER.registerHookValue(prefix + "pendingDeliveries", "Number of changes dispatched but not delivered to the live queries",
+        METRIC_TYPE.SIZE, liveQueryOpsV2::getPendingDeliveries, "db.*.liveQuery.pendingDeliveries");
+    PROFILER.registerHookValue(prefix + "dispatched", "Number of changes dispatched to the live queries", METRIC_TYPE.COUNTER,
+        liveQueryOpsV2::getDispatched, "db.*.liveQuery.dispatched");
+    PROFILER.registerHookValue(prefix + "delivered", "Number of changes delivered to the single live queries", METRIC_TYPE.COUNTER,
+        liveQueryOpsV2::getDelivered, "db.*.liveQuery.delivered");
+  }
+
+  private void unregisterLiveQueryMetrics() {
+    final String prefix = "db." + storage.getName() + ".liveQuery.";
+    PROFILER.unregisterHookValue(prefix + "queueDepth");
+    PROFILER.unregisterHookValue(prefix + "pendingDeliveries");
+    PROFILER.unregisterHookValue(prefix + "dispatched");
+    PROFILER.unregisterHookValue(prefix + "delivered");
+  }
+
+  private void registerQueryResultCacheMetrics() {
+    final String prefix = "db." + storage.getName() + ".queryResultCache.";
+    PROFILER.registerHookValue(prefix + "size", "Number of query results in cache", METRIC_TYPE.SIZE, queryResultCache::size,
+        "db.*.queryResultCache.size");
+    PROFILER.registerHookValue(prefix + "hits", "Number of queries answered by the query result cache", METRIC_TYPE.COUNTER,
+        queryResultCache::getHits, "db.*.queryResultCache.hits");
+    PROFILER.registerHookValue(prefix + "misses", "Number of cacheable queries not found in the query result cache",
+        METRIC_TYPE.COUNTER, queryResultCache::getMisses, "db.*.queryResultCache.misses");
+  }
+
+  private void unregisterQueryResultCacheMetrics() {
+    final String prefix = "db." + storage.getName() + ".queryResultCache.";
+    PROFILER.unregisterHookValue(prefix + "size");
+    PROFILER.unregisterHookValue(prefix + "hits");
+    PROFILER.unregisterHookValue(prefix + "misses");
+  }
+
   public synchronized void load(ODatabaseDocumentInternal database) {
     final long timer = PROFILER.startChrono();
 
@@ -100,6 +151,10 @@ public class OSharedContextEmbedded extends OSharedContext {
     executionPlanCache.invalidate();
     liveQueryOps.close();
     liveQueryOpsV2.close();
+    unregisterLiveQueryMetrics();
+    queryResultCache.clear();
+    unregisterQueryResultCacheMetrics();
+    slowQueryLog.clear();
     activeDistributedQueries.values().forEach(x -> x.close());
     loaded = false;
   }
@@ -990,6 +990,53 @@ public abstract class ODatabaseDocumentAbstract extends OListenerManger<ODatabas
     return (RET) currentTx.loadRecord(recordId, null, null, false);
   }
 
+  @Override
+  public <RET extends ORecord> List<RET> loadAll(final Collection<? extends ORID> rids) {
+    checkIfActive();
+    final List<ORID> ids = new ArrayList<>(rids);
+    final List<RET> result = new ArrayList<>(Collections.nCopies(ids.size(), null));
+    for (int index : sortByRid(ids)) {
+      try {
+        result.set(index, load(ids.get(index)));
+      } catch (ORecordNotFoundException e) {
+        // LEFT NULL
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Returns the positions of the ids sorted by cluster and position in the cluster.
+   */
+  protected static Integer[] sortByRid(final List<ORID> ids) {
+    final Integer[] order = new Integer[ids.size()];
+    for (int i = 0; i < order.length; i++)
+      order[i] = i;
+    Arrays.sort(order, (a, b) -> ids.get(a).compareTo(ids.get(b)));
+    return order;
+  }
+
+  @Override
+  public void saveAll(final Collection<? extends ORecord> records) {
+    checkIfActive();
+    if (getTransaction().isActive()) {
+      for (ORecord record : records)
+        save(record);
+      return;
+    }
+
+    begin();
+    try {
+      for (ORecord record : records)
+        save(record);
+      commit();
+    } catch (RuntimeException e) {
+      if (getTransaction().isActive())
+        rollback();
+      throw e;
+    }
+  }
+
   @SuppressWarnings("unchecked")
   @Override
   public <RET extends ORecord> RET load(final ORID iRecordId, final String iFetchPlan) {
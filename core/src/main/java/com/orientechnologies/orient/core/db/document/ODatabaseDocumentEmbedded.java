@@ -516,7 +516,8 @@ public class ODatabaseDocumentEmbedded extends ODatabaseDocumentAbstract impleme
     if (!statement.isIdempotent()) {
       throw new OCommandExecutionException("Cannot execute query on non idempotent statement: " + query);
     }
-    OResultSet original = statement.execute(this, args, true);
+    OResultSet original = getSharedContext().getQueryResultCache()
+        .execute(this, query, statement, args, () -> statement.execute(this, args, true));
     OLocalResultSetLifecycleDecorator result = new OLocalResultSetLifecycleDecorator(original);
     this.queryStarted(result.getQueryId(), result);
     result.addLifecycleListener(this);
@@ -532,7 +533,8 @@ public class ODatabaseDocumentEmbedded extends ODatabaseDocumentAbstract impleme
     if (!statement.isIdempotent()) {
       throw new OCommandExecutionException("Cannot execute query on non idempotent statement: " + query);
     }
-    OResultSet original = statement.execute(this, args, true);
+    OResultSet original = getSharedContext().getQueryResultCache()
+        .execute(this, query, statement, (Map<Object, Object>) args, () -> statement.execute(this, args, true));
     OLocalResultSetLifecycleDecorator result = new OLocalResultSetLifecycleDecorator(original);
     this.queryStarted(result.getQueryId(), result);
     result.addLifecycleListener(this);
@@ -762,16 +764,19 @@ public class ODatabaseDocumentEmbedded extends ODatabaseDocumentAbstract impleme
           microTransaction.commit();
           OLiveQueryHook.notifyForTxChanges(this);
           OLiveQueryHookV2.notifyForTxChanges(this);
+          getSharedContext().getQueryResultCache().notifyCommit(this);
         } catch (Exception e) {
           microTransaction.rollbackAfterFailedCommit();
           OLiveQueryHook.removePendingDatabaseOps(this);
           OLiveQueryHookV2.removePendingDatabaseOps(this);
+          getSharedContext().getQueryResultCache().discardChanges(this);
           throw e;
         }
       } else {
         microTransaction.rollback();
         OLiveQueryHook.removePendingDatabaseOps(this);
         OLiveQueryHookV2.removePendingDatabaseOps(this);
+        getSharedContext().getQueryResultCache().discardChanges(this);
       }
     } finally {
       if (!microTransaction.isActive())
@@ -976,6 +981,7 @@ public class ODatabaseDocumentEmbedded extends ODatabaseDocumentAbstract impleme
         }
 
         getSharedContext().getViewManager().recordAdded(clazz, doc, this);
+        getSharedContext().getQueryResultCache().addChange(this, clazz, doc, ORecordOperation.CREATED);
       }
 
       OLiveQueryHook.addOp(doc, ORecordOperation.CREATED, this);
@@ -1005,6 +1011,7 @@ public class ODatabaseDocumentEmbedded extends ODatabaseDocumentAbstract impleme
         }
 
         getSharedContext().getViewManager().recordUpdated(clazz, doc, this);
+        getSharedContext().getQueryResultCache().addChange(this, clazz, doc, ORecordOperation.UPDATED);
       }
       OLiveQueryHook.addOp(doc, ORecordOperation.UPDATED, this);
       OLiveQueryHookV2.addOp(doc, ORecordOperation.UPDATED, this);
@@ -1037,6 +1044,7 @@ public class ODatabaseDocumentEmbedded extends ODatabaseDocumentAbstract impleme
           OClassTrigger.onRecordAfterDelete(doc, this);
         }
         getSharedContext().getViewManager().recordDeleted(clazz, doc, this);
+        getSharedContext().getQueryResultCache().addChange(this, clazz, doc, ORecordOperation.DELETED);
       }
       OLiveQueryHook.addOp(doc, ORecordOperation.DELETED, this);
       OLiveQueryHookV2.addOp(doc, ORecordOperation.DELETED, this);
@@ -1098,6 +1106,7 @@ public class ODatabaseDocumentEmbedded extends ODatabaseDocumentAbstract impleme
     super.afterCommitOperations();
     OLiveQueryHook.notifyForTxChanges(this);
     OLiveQueryHookV2.notifyForTxChanges(this);
+    getSharedContext().getQueryResultCache().notifyCommit(this);
   }
 
   @Override
@@ -1105,6 +1114,7 @@ public class ODatabaseDocumentEmbedded extends ODatabaseDocumentAbstract impleme
     super.afterRollbackOperations();
     OLiveQueryHook.removePendingDatabaseOps(this);
     OLiveQueryHookV2.removePendingDatabaseOps(this);
+    getSharedContext().getQueryResultCache().discardChanges(this);
   }
 
   @Override
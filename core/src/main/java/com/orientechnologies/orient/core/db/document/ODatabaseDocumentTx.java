@@ -607,6 +607,18 @@ public class ODatabaseDocumentTx implements ODatabaseDocumentInternal {
     return internal.load(recordId);
   }
 
+  @Override
+  public <RET extends ORecord> List<RET> loadAll(Collection<? extends ORID> rids) {
+    checkOpenness();
+    return internal.loadAll(rids);
+  }
+
+  @Override
+  public void saveAll(Collection<? extends ORecord> records) {
+    checkOpenness();
+    internal.saveAll(records);
+  }
+
   @Override
   public <RET extends ORecord> RET load(ORID iRecordId, String iFetchPlan) {
     checkOpenness();
@@ -42,6 +42,7 @@ import com.orientechnologies.orient.core.record.ORecord;
 import com.orientechnologies.orient.core.record.impl.ODocument;
 import com.orientechnologies.orient.core.serialization.serializer.OJSONWriter;
 import com.orientechnologies.orient.core.sql.query.OSQLSynchQuery;
+import net.jpountz.lz4.LZ4FrameOutputStream;
 
 import java.io.FileOutputStream;
 import java.io.IOException;
@@ -49,21 +50,36 @@ import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.nio.file.Paths;
 import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.zip.Deflater;
 import java.util.zip.GZIPOutputStream;
 
 /**
  * Export data from a database to a file.
+ * <p>
+ * The file is compressed with GZIP, or with LZ4 when its name ends with {@value #LZ4_EXTENSION}, which is several times faster
+ * to write and to read back. With the {@code -parallel=<threads>} option the records of the clusters are read and serialized by
+ * multiple threads, each one with its own session; the file is the same as the one of a sequential export.
  *
  * @author Luca Garulli (l.garulli--(at)--orientdb.com)
  */
 public class ODatabaseExport extends ODatabaseImpExpAbstract {
-  public static final int VERSION = 12;
+  public static final int    VERSION       = 12;
+  public static final String LZ4_EXTENSION = ".lz4";
+
+  private static final int          PARALLEL_CHUNK_SIZE    = 1000;
+  private static final int          PARALLEL_QUEUED_CHUNKS = 16;
+  private static final List<String> END_OF_CLUSTER         = Collections.emptyList();
 
   protected OJSONWriter writer;
   protected long        recordExported;
   protected int         compressionLevel  = Deflater.BEST_SPEED;
   protected int         compressionBuffer = 16384;              // 16Kb
+  protected int         parallel          = 1;
 
   private final String tempFileName;
 
@@ -74,7 +90,7 @@ public class ODatabaseExport extends ODatabaseImpExpAbstract {
     if (fileName == null)
       throw new IllegalArgumentException("file name missing");
 
-    if (!fileName.endsWith(".gz")) {
+    if (!fileName.endsWith(".gz") && !fileName.endsWith(LZ4_EXTENSION)) {
       fileName += ".gz";
     }
     OFileUtils.prepareForFileCreationOrReplacement(Paths.get(fileName), this, "exporting");
@@ -82,13 +98,17 @@ public class ODatabaseExport extends ODatabaseImpExpAbstract {
     this.tempFileName = fileName + ".tmp";
     OFileUtils.prepareForFileCreationOrReplacement(Paths.get(tempFileName), this, "exporting");
 
-    final GZIPOutputStream gzipOS = new GZIPOutputStream(new FileOutputStream(tempFileName), compressionBuffer) {
-      {
-        def.setLevel(compressionLevel);
-      }
-    };
+    final OutputStream compressedOS;
+    if (fileName.endsWith(LZ4_EXTENSION))
+      compressedOS = new LZ4FrameOutputStream(new FileOutputStream(tempFileName));
+    else
+      compressedOS = new GZIPOutputStream(new FileOutputStream(tempFileName), compressionBuffer) {
+        {
+          def.setLevel(compressionLevel);
+        }
+      };
 
-    writer = new OJSONWriter(new OutputStreamWriter(gzipOS));
+    writer = new OJSONWriter(new OutputStreamWriter(compressedOS));
     writer.beginObject();
   }
 
@@ -171,18 +191,14 @@ public class ODatabaseExport extends ODatabaseImpExpAbstract {
       }
     }
 
-    final Set<ORID> brokenRids = new HashSet<>();
+    final Set<ORID> brokenRids = parallel > 1 ? Collections.newSetFromMap(new ConcurrentHashMap<>()) : new HashSet<>();
 
-    writer.beginCollection(level, true, "records");
-    int exportedClusters = 0;
+    // ids of the clusters to export, -1 for the clusters without a name
+    final List<Integer> clusterIds = new ArrayList<>();
     int maxClusterId = getMaxClusterId();
-    for (int i = 0; exportedClusters <= maxClusterId; ++i) {
+    for (int i = 0; i <= maxClusterId; ++i) {
       String clusterName = database.getClusterNameById(i);
 
-      exportedClusters++;
-
-      long clusterExportedRecordsTot = 0;
-
       if (clusterName != null) {
         // CHECK IF THE CLUSTER IS INCLUDED
         if (includeClusters != null) {
@@ -195,65 +211,61 @@ public class ODatabaseExport extends ODatabaseImpExpAbstract {
 
         if (excludeClusters != null && excludeClusters.contains(clusterName.toUpperCase(Locale.ENGLISH)))
           continue;
-
-        clusterExportedRecordsTot = database.countClusterElements(clusterName);
       } else if (includeClusters != null && !includeClusters.isEmpty())
         continue;
 
-      listener.onMessage("\n- Cluster " + (clusterName != null ? "'" + clusterName + "'" : "NULL") + " (id=" + i + ")...");
-
-      long clusterExportedRecordsCurrent = 0;
-      if (clusterName != null) {
-        ORecord rec = null;
-        try {
-          ORecordIteratorCluster<ORecord> it = database.browseCluster(clusterName);
-
-          for (; it.hasNext(); ) {
-
-            rec = it.next();
-            if (rec instanceof ODocument) {
-              // CHECK IF THE CLASS OF THE DOCUMENT IS INCLUDED
-              ODocument doc = (ODocument) rec;
-              final String className = doc.getClassName() != null ? doc.getClassName().toUpperCase(Locale.ENGLISH) : null;
-              if (includeClasses != null) {
-                if (!includeClasses.contains(className))
-                  continue;
-              } else if (excludeClasses != null) {
-                if (excludeClasses.contains(className))
-                  continue;
-              }
-            } else if (includeClasses != null && !includeClasses.isEmpty())
-              continue;
+      clusterIds.add(i);
+    }
 
-            if (exportRecord(clusterExportedRecordsTot, clusterExportedRecordsCurrent, rec, brokenRids))
-              clusterExportedRecordsCurrent++;
-          }
+    writer.beginCollection(level, true, "records");
+    if (parallel > 1) {
+      final long[] totals = exportClustersInParallel(clusterIds, brokenRids);
+      totalExportedRecords = totals[0];
+      totalFoundRecords = totals[1];
+    } else {
+      for (int clusterId : clusterIds) {
+        String clusterName = database.getClusterNameById(clusterId);
+        long clusterExportedRecordsTot = clusterName != null ? database.countClusterElements(clusterName) : 0;
+
+        listener
+            .onMessage("\n- Cluster " + (clusterName != null ? "'" + clusterName + "'" : "NULL") + " (id=" + clusterId + ")...");
+
+        long clusterExportedRecordsCurrent = 0;
+        if (clusterName != null) {
+          ORecord rec = null;
+          try {
+            ORecordIteratorCluster<ORecord> it = database.browseCluster(clusterName);
+
+            for (; it.hasNext(); ) {
+
+              rec = it.next();
+              if (!isRecordIncluded(rec))
+                continue;
+
+              if (exportRecord(clusterExportedRecordsTot, clusterExportedRecordsCurrent, rec, brokenRids))
+                clusterExportedRecordsCurrent++;
+            }
 
-          brokenRids.addAll(it.getBrokenRIDs());
-        } catch (IOException e) {
-          OLogManager.instance().error(this, "\nError on exporting record %s because of I/O problems", e, rec.getIdentity());
-          // RE-THROW THE EXCEPTION UP
-          throw e;
-        } catch (OIOException e) {
-          OLogManager.instance()
-              .error(this, "\nError on exporting record %s because of I/O problems", e, rec == null ? null : rec.getIdentity());
-          // RE-THROW THE EXCEPTION UP
-          throw e;
-        } catch (Exception t) {
-          if (rec != null) {
-            final byte[] buffer = rec.toStream();
-
-            OLogManager.instance().error(this,
-                "\nError on exporting record %s. It seems corrupted; size: %d bytes, raw content (as string):\n==========\n%s\n==========",
-                t, rec.getIdentity(), buffer.length, new String(buffer));
+            brokenRids.addAll(it.getBrokenRIDs());
+          } catch (IOException e) {
+            OLogManager.instance().error(this, "\nError on exporting record %s because of I/O problems", e, rec.getIdentity());
+            // RE-THROW THE EXCEPTION UP
+            throw e;
+          } catch (OIOException e) {
+            OLogManager.instance()
+                .error(this, "\nError on exporting record %s because of I/O problems", e, rec == null ? null : rec.getIdentity());
+            // RE-THROW THE EXCEPTION UP
+            throw e;
+          } catch (Exception t) {
+            logCorruptedRecord(rec, t);
           }
         }
-      }
 
-      listener.onMessage("OK (records=" + clusterExportedRecordsCurrent + "/" + clusterExportedRecordsTot + ")");
+        listener.onMessage("OK (records=" + clusterExportedRecordsCurrent + "/" + clusterExportedRecordsTot + ")");
 
-      totalExportedRecords += clusterExportedRecordsCurrent;
-      totalFoundRecords += clusterExportedRecordsTot;
+        totalExportedRecords += clusterExportedRecordsCurrent;
+        totalFoundRecords += clusterExportedRecordsTot;
+      }
     }
     writer.endCollection(level, true);
 
@@ -279,6 +291,94 @@ public class ODatabaseExport extends ODatabaseImpExpAbstract {
     return totalExportedRecords;
   }
 
+  /**
+   * Exports the clusters with a pool of threads. Every cluster is read by a thread with its own session, which serializes the
+   * records in chunks, while the current thread writes the chunks in the order of the clusters. At most {@link #parallel} clusters
+   * are read at the same time, so the memory used is bounded by the size of the queues of the chunks.
+   *
+   * @return the number of the exported records and the number of the records found in the clusters
+   */
+  private long[] exportClustersInParallel(final List<Integer> clusterIds, final Set<ORID> brokenRids) throws IOException {
+    long totalExportedRecords = 0;
+    long totalFoundRecords = 0;
+
+    final ExecutorService executor = Executors.newFixedThreadPool(parallel, r -> {
+      final Thread thread = new Thread(r, "OrientDB database export (" + database.getName() + ")");
+      thread.setDaemon(true);
+      return thread;
+    });
+    try {
+      final List<ClusterExportTask> tasks = new ArrayList<>(clusterIds.size());
+      for (int clusterId : clusterIds) {
+        final String clusterName = database.getClusterNameById(clusterId);
+        tasks.add(new ClusterExportTask(clusterId, clusterName, brokenRids));
+      }
+
+      // a task is submitted only when a thread is available for it, so the cluster written next is always being read
+      for (int i = 0; i < Math.min(parallel, tasks.size()); i++)
+        tasks.get(i).submit(executor);
+
+      for (int i = 0; i < tasks.size(); i++) {
+        final ClusterExportTask task = tasks.get(i);
+        listener.onMessage(
+            "\n- Cluster " + (task.clusterName != null ? "'" + task.clusterName + "'" : "NULL") + " (id=" + task.clusterId + ")...");
+
+        long clusterExportedRecordsCurrent = 0;
+        List<String> chunk;
+        while ((chunk = task.nextChunk()) != END_OF_CLUSTER) {
+          for (String json : chunk) {
+            if (useLineFeedForRecords)
+              writer.append("\n");
+
+            if (recordExported > 0)
+              writer.append(",");
+
+            writer.append(json);
+            recordExported++;
+          }
+          clusterExportedRecordsCurrent += chunk.size();
+        }
+
+        if (i + parallel < tasks.size())
+          tasks.get(i + parallel).submit(executor);
+
+        if (task.error != null) {
+          OLogManager.instance().error(this, "\nError on exporting cluster %s because of I/O problems", task.error, task.clusterName);
+          // RE-THROW THE EXCEPTION UP
+          throw task.error;
+        }
+
+        listener.onMessage("OK (records=" + clusterExportedRecordsCurrent + "/" + task.clusterExportedRecordsTot + ")");
+
+        totalExportedRecords += clusterExportedRecordsCurrent;
+        totalFoundRecords += task.clusterExportedRecordsTot;
+      }
+    } finally {
+      // interrupts the threads that are still reading when the export fails
+      executor.shutdownNow();
+    }
+
+    return new long[] { totalExportedRecords, totalFoundRecords };
+  }
+
+  private boolean isRecordIncluded(final ORecord rec) {
+    if (rec instanceof ODocument) {
+      // CHECK IF THE CLASS OF THE DOCUMENT IS INCLUDED
+      ODocument doc = (ODocument) rec;
+      final String className = doc.getClassName() != null ? doc.getClassName().toUpperCase(Locale.ENGLISH) : null;
+      if (includeClasses != null) {
+        if (!includeClasses.contains(className))
+          return false;
+      } else if (excludeClasses != null) {
+        if (excludeClasses.contains(className))
+          return false;
+      }
+    } else if (includeClasses != null && !includeClasses.isEmpty())
+      return false;
+
+    return true;
+  }
+
   public void close() {
     database.declareIntent(null);
 
@@ -318,6 +418,8 @@ public class ODatabaseExport extends ODatabaseImpExpAbstract {
       compressionLevel = Integer.parseInt(items.get(0));
     else if (option.equalsIgnoreCase("-compressionBuffer"))
       compressionBuffer = Integer.parseInt(items.get(0));
+    else if (option.equalsIgnoreCase("-parallel"))
+      parallel = Math.max(1, Integer.parseInt(items.get(0)));
     else
       super.parseSetting(option, items);
   }
@@ -618,42 +720,153 @@ public class ODatabaseExport extends ODatabaseImpExpAbstract {
   }
 
   private boolean exportRecord(long recordTot, long recordNum, ORecord rec, Set<ORID> brokenRids) throws IOException {
+    final String json = recordToJSON(rec, brokenRids);
+    if (json == null)
+      return false;
+
+    if (useLineFeedForRecords)
+      writer.append("\n");
+
+    if (recordExported > 0)
+      writer.append(",");
+
+    writer.append(json);
+
+    recordExported++;
+    recordNum++;
+
+    if (recordTot > 10 && (recordNum + 1) % (recordTot / 10) == 0)
+      listener.onMessage(".");
+
+    return true;
+  }
+
+  /**
+   * @return the JSON of the record, or null if the record is broken
+   */
+  private String recordToJSON(ORecord rec, Set<ORID> brokenRids) {
     if (rec != null)
       try {
         if (rec.getIdentity().isValid())
           rec.reload();
 
-        if (useLineFeedForRecords)
-          writer.append("\n");
+        return rec.toJSON("rid,type,version,class,attribSameRow,keepTypes,alwaysFetchEmbedded,dateAsLong");
+      } catch (Exception t) {
+        final ORID rid = rec.getIdentity().copy();
 
-        if (recordExported > 0)
-          writer.append(",");
+        if (rid != null) {
+          brokenRids.add(rid);
+        }
 
-        writer.append(rec.toJSON("rid,type,version,class,attribSameRow,keepTypes,alwaysFetchEmbedded,dateAsLong"));
+        logCorruptedRecord(rec, t);
+      }
 
-        recordExported++;
-        recordNum++;
+    return null;
+  }
 
-        if (recordTot > 10 && (recordNum + 1) % (recordTot / 10) == 0)
-          listener.onMessage(".");
+  private void logCorruptedRecord(ORecord rec, Exception t) {
+    if (rec != null) {
+      final byte[] buffer = rec.toStream();
 
-        return true;
-      } catch (Exception t) {
-        if (rec != null) {
-          final ORID rid = rec.getIdentity().copy();
+      OLogManager.instance().error(this,
+          "\nError on exporting record %s. It seems corrupted; size: %d bytes, raw content (as string):\n==========\n%s\n==========",
+          t, rec.getIdentity(), buffer.length, new String(buffer));
+    }
+  }
+
+  /**
+   * Reads the records of a cluster with its own session and serializes them in chunks for the thread that writes the file.
+   */
+  private final class ClusterExportTask implements Runnable {
+    private final int                         clusterId;
+    private final String                      clusterName;
+    private final Set<ORID>                   brokenRids;
+    private final BlockingQueue<List<String>> chunks = new ArrayBlockingQueue<>(PARALLEL_QUEUED_CHUNKS);
+
+    private          ODatabaseDocumentInternal session;
+    private          long                      clusterExportedRecordsTot;
+    private volatile IOException               error;
+
+    private ClusterExportTask(int clusterId, String clusterName, Set<ORID> brokenRids) {
+      this.clusterId = clusterId;
+      this.clusterName = clusterName;
+      this.brokenRids = brokenRids;
+    }
 
-          if (rid != null) {
-            brokenRids.add(rid);
+    private void submit(ExecutorService executor) {
+      if (clusterName != null) {
+        // the session is opened by the current thread, copy() leaves the database of the export active on it
+        clusterExportedRecordsTot = database.countClusterElements(clusterName);
+        session = database.copy();
+      }
+      executor.execute(this);
+    }
+
+    private List<String> nextChunk() throws IOException {
+      try {
+        return chunks.take();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new IOException("Export of cluster '" + clusterName + "' was interrupted", e);
+      }
+    }
+
+    @Override
+    public void run() {
+      boolean interrupted = false;
+      try {
+        if (session != null)
+          exportCluster();
+      } catch (InterruptedException ignore) {
+        // the export failed, nobody reads the chunks anymore
+        interrupted = true;
+      } finally {
+        if (session != null) {
+          session.activateOnCurrentThread();
+          session.close();
+        }
+
+        if (!interrupted)
+          try {
+            chunks.put(END_OF_CLUSTER);
+          } catch (InterruptedException ignore) {
+            // the export failed, nobody reads the chunks anymore
           }
+      }
+    }
 
-          final byte[] buffer = rec.toStream();
+    private void exportCluster() throws InterruptedException {
+      session.activateOnCurrentThread();
 
-          OLogManager.instance().error(this,
-              "\nError on exporting record %s. It seems corrupted; size: %d bytes, raw content (as string):\n==========\n%s\n==========",
-              t, rec.getIdentity(), buffer.length, new String(buffer));
+      List<String> chunk = new ArrayList<>(PARALLEL_CHUNK_SIZE);
+      ORecord rec = null;
+      try {
+        ORecordIteratorCluster<ORecord> it = session.browseCluster(clusterName);
+
+        for (; it.hasNext(); ) {
+          rec = it.next();
+          if (!isRecordIncluded(rec))
+            continue;
+
+          final String json = recordToJSON(rec, brokenRids);
+          if (json != null) {
+            chunk.add(json);
+            if (chunk.size() == PARALLEL_CHUNK_SIZE) {
+              chunks.put(chunk);
+              chunk = new ArrayList<>(PARALLEL_CHUNK_SIZE);
+            }
+          }
         }
+
+        brokenRids.addAll(it.getBrokenRIDs());
+      } catch (OIOException e) {
+        error = new IOException("Error on exporting record " + (rec == null ? null : rec.getIdentity()), e);
+      } catch (RuntimeException t) {
+        logCorruptedRecord(rec, t);
       }
 
-    return false;
+      if (!chunk.isEmpty())
+        chunks.put(chunk);
+    }
   }
 }
@@ -59,16 +59,24 @@ import com.orientechnologies.orient.core.serialization.serializer.record.string.
 import com.orientechnologies.orient.core.sql.executor.OResultSet;
 import com.orientechnologies.orient.core.storage.OPhysicalPosition;
 import com.orientechnologies.orient.core.storage.OStorage;
+import net.jpountz.lz4.LZ4FrameInputStream;
 
 import java.io.*;
 import java.lang.reflect.InvocationTargetException;
 import java.text.ParseException;
 import java.util.*;
 import java.util.Map.Entry;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.zip.GZIPInputStream;
 
 /**
  * Import data from a file into a database.
+ * <p>
+ * The file can be compressed with GZIP or LZ4, the format is detected from its first bytes. With the {@code -parallel=<threads>}
+ * option the indexes that are stale at the end of the import are rebuilt by multiple threads, each one with its own session.
  *
  * @author Luca Garulli (l.garulli--(at)--orientdb.com)
  */
@@ -78,6 +86,8 @@ public class ODatabaseImport extends ODatabaseImpExpAbstract {
 
   public static final int IMPORT_RECORD_DUMP_LAP_EVERY_MS = 5000;
 
+  private static final int LZ4_FRAME_MAGIC = 0x184D2204;
+
   private       Map<OPropertyImpl, String> linkedClasses   = new HashMap<>();
   private       Map<OClass, List<String>>  superClasses    = new HashMap<>();
   private final OJSONReader                jsonReader;
@@ -93,6 +103,7 @@ public class ODatabaseImport extends ODatabaseImpExpAbstract {
   private boolean migrateLinks       = true;
   private boolean merge              = false;
   private boolean rebuildIndexes     = true;
+  private int     parallel           = 1;
 
   private Set<String>         indexesToRebuild    = new HashSet<>();
   private Map<String, String> convertedClassNames = new HashMap<>();
@@ -111,17 +122,29 @@ public class ODatabaseImport extends ODatabaseImpExpAbstract {
     InputStream inStream;
     final BufferedInputStream bf = new BufferedInputStream(new FileInputStream(fileName));
     bf.mark(1024);
-    try {
-      inStream = new GZIPInputStream(bf, 16384); // 16KB
-    } catch (Exception ignore) {
-      bf.reset();
-      inStream = bf;
-    }
+    if (isLZ4Frame(bf))
+      inStream = new LZ4FrameInputStream(bf);
+    else
+      try {
+        inStream = new GZIPInputStream(bf, 16384); // 16KB
+      } catch (Exception ignore) {
+        bf.reset();
+        inStream = bf;
+      }
 
     jsonReader = new OJSONReader(new InputStreamReader(inStream));
     database.declareIntent(new OIntentMassiveInsert());
   }
 
+  private static boolean isLZ4Frame(final BufferedInputStream stream) throws IOException {
+    final byte[] magic = new byte[4];
+    final int read = stream.read(magic);
+    stream.reset();
+    // the magic number of the frame is stored in little endian order
+    return read == magic.length
+        && ((magic[0] & 0xFF) | (magic[1] & 0xFF) << 8 | (magic[2] & 0xFF) << 16 | (magic[3] & 0xFF) << 24) == LZ4_FRAME_MAGIC;
+  }
+
   public ODatabaseImport(final ODatabaseDocumentInternal database, final InputStream iStream,
       final OCommandOutputListener iListener) throws IOException {
     super(database, "streaming", iListener);
@@ -267,6 +290,7 @@ public class ODatabaseImport extends ODatabaseImpExpAbstract {
     OIndexManagerAbstract indexManager = database.getMetadata().getIndexManagerInternal();
 
     listener.onMessage("\nRebuild of stale indexes...");
+    final List<String> indexNames = new ArrayList<>();
     for (String indexName : indexesToRebuild) {
 
       if (indexManager.getIndex(database, indexName) == null) {
@@ -274,13 +298,61 @@ public class ODatabaseImport extends ODatabaseImpExpAbstract {
         continue;
       }
 
-      listener.onMessage("\nStart rebuild index " + indexName);
-      database.command("rebuild index " + indexName).close();
-      listener.onMessage("\nRebuild  of index " + indexName + " is completed.");
+      indexNames.add(indexName);
     }
+
+    if (parallel > 1 && indexNames.size() > 1)
+      rebuildIndexesInParallel(indexNames);
+    else
+      for (String indexName : indexNames)
+        rebuildIndex(database, indexName);
+
     listener.onMessage("\nStale indexes were rebuilt...");
   }
 
+  private void rebuildIndex(final ODatabaseDocumentInternal session, final String indexName) {
+    listener.onMessage("\nStart rebuild index " + indexName);
+    session.command("rebuild index " + indexName).close();
+    listener.onMessage("\nRebuild  of index " + indexName + " is completed.");
+  }
+
+  /**
+   * Rebuilds the indexes with a pool of threads. Every index is locked separately during its rebuild, so the indexes are filled
+   * at the same time, each one by a thread with its own session.
+   */
+  private void rebuildIndexesInParallel(final List<String> indexNames) {
+    final ExecutorService executor = Executors.newFixedThreadPool(Math.min(parallel, indexNames.size()), r -> {
+      final Thread thread = new Thread(r, "OrientDB database import (" + database.getName() + ")");
+      thread.setDaemon(true);
+      return thread;
+    });
+    try {
+      final List<Future<?>> futures = new ArrayList<>(indexNames.size());
+      for (String indexName : indexNames) {
+        // the session is opened by the current thread, copy() leaves the database of the import active on it
+        final ODatabaseDocumentInternal session = database.copy();
+        futures.add(executor.submit(() -> {
+          session.activateOnCurrentThread();
+          try {
+            rebuildIndex(session, indexName);
+          } finally {
+            session.close();
+          }
+        }));
+      }
+
+      for (Future<?> future : futures)
+        future.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw OException.wrapException(new ODatabaseImportException("Rebuild of indexes was interrupted"), e);
+    } catch (ExecutionException e) {
+      throw OException.wrapException(new ODatabaseImportException("Error on rebuilding indexes"), e.getCause());
+    } finally {
+      executor.shutdown();
+    }
+  }
+
   public ODatabaseImport removeExportImportRIDsMap() {
     listener.onMessage("\nDeleting RID Mapping table...");
 
@@ -349,6 +421,8 @@ public class ODatabaseImport extends ODatabaseImpExpAbstract {
       migrateLinks = Boolean.parseBoolean(items.get(0));
     else if (option.equalsIgnoreCase("-rebuildIndexes"))
       rebuildIndexes = Boolean.parseBoolean(items.get(0));
+    else if (option.equalsIgnoreCase("-parallel"))
+      parallel = Math.max(1, Integer.parseInt(items.get(0)));
     else
       super.parseSetting(option, items);
   }
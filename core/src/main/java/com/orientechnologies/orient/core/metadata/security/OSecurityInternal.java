@@ -5,9 +5,11 @@ import com.orientechnologies.orient.core.db.ODatabaseSession;
 import com.orientechnologies.orient.core.db.record.OIdentifiable;
 import com.orientechnologies.orient.core.id.ORID;
 import com.orientechnologies.orient.core.metadata.function.OFunction;
+import com.orientechnologies.orient.core.metadata.schema.OClass;
 import com.orientechnologies.orient.core.record.OElement;
 import com.orientechnologies.orient.core.record.ORecord;
 import com.orientechnologies.orient.core.record.impl.ODocument;
+import com.orientechnologies.orient.core.sql.parser.OBooleanExpression;
 
 import java.util.List;
 import java.util.Map;
@@ -146,6 +148,15 @@ public interface OSecurityInternal {
    */
   boolean isReadRestrictedBySecurityPolicy(ODatabaseSession session, String resource);
 
+  /**
+   * returns the predicate of the READ security policies that the records of a class have to satisfy to be visible to the current
+   * session
+   * @param session the session to check
+   * @param clazz the class of the records
+   * @return the predicate, {@link OBooleanExpression#TRUE} if the records of the class are not restricted
+   */
+  OBooleanExpression getReadPredicate(ODatabaseSession session, OClass clazz);
+
   /**
    * returns the list of all the filtered properties (for any role defined in the db)
    * @param database
@@ -968,9 +968,12 @@ public class OSecurityShared implements OSecurityInternal {
     if (record instanceof OElement) {
       OBooleanExpression beforePredicate = ((OElement) record).getSchemaType()
               .map(x -> OSecurityEngine.getPredicateForSecurityResource(session, this, "database.class.`" + x.getName() + "`", OSecurityPolicy.Scope.BEFORE_UPDATE)).orElse(null);
-      OResultInternal originalRecord = calculateOriginalValue(record);
-      if (!OSecurityEngine.evaluateSecuirtyPolicyPredicate(session, beforePredicate, originalRecord)) {
-        return false;
+      // THE ORIGINAL VALUES ARE CALCULATED ONLY WHEN A POLICY NEEDS THEM, IT DECODES ALL THE FIELDS OF THE RECORD
+      if (!OBooleanExpression.TRUE.equals(beforePredicate)) {
+        OResultInternal originalRecord = calculateOriginalValue(record);
+        if (!OSecurityEngine.evaluateSecuirtyPolicyPredicate(session, beforePredicate, originalRecord)) {
+          return false;
+        }
       }
 
       OBooleanExpression predicate = ((OElement) record).getSchemaType()
@@ -1047,6 +1050,17 @@ public class OSecurityShared implements OSecurityInternal {
     return true;
   }
 
+  @Override
+  public OBooleanExpression getReadPredicate(ODatabaseSession session, OClass clazz) {
+    if (session.getUser() == null) {
+      //executeNoAuth
+      return OBooleanExpression.TRUE;
+    }
+    OBooleanExpression predicate = OSecurityEngine
+        .getPredicateForSecurityResource(session, this, "database.class.`" + clazz.getName() + "`", OSecurityPolicy.Scope.READ);
+    return predicate == null ? OBooleanExpression.TRUE : predicate;
+  }
+
   @Override
   public synchronized Set<OSecurityResourceProperty> getAllFilteredProperties(ODatabaseDocumentInternal database) {
     if (filteredProperties == null) {
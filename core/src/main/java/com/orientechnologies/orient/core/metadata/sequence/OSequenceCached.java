@@ -27,8 +27,13 @@ import com.orientechnologies.orient.core.record.impl.ODocument;
 
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
+ * Sequence which reserves a range of values at once, so the sequence document is saved only once per {@link #getCacheSize()}
+ * values. Values of the reserved range are handed out without locks, see {@link CachedRange}; only the threads which reserve a
+ * new range, or handle a limit, a reset or a change of the parameters, synchronize on the sequence.
+ *
  * @author Matan Shukry (matanshukry@gmail.com)
  * @since 3/3/2015
  */
@@ -44,6 +49,12 @@ public class OSequenceCached extends OSequence {
   private boolean           recyclable;
   private String name = null;
 
+  /**
+   * Values of the current range which can be handed out without lock, {@code null} if the next value has to be computed under
+   * lock. While it is published {@link #cacheStart} is not up to date, see {@link #retireRange()}.
+   */
+  private volatile CachedRange range;
+
   public OSequenceCached() {
     this(null, null);
   }
@@ -71,6 +82,7 @@ public class OSequenceCached extends OSequence {
 
   @Override
   synchronized boolean updateParams(OSequence.CreateParams params, boolean executeViaDistributed) throws ODatabaseException {
+    retireRange();
     boolean any = super.updateParams(params, executeViaDistributed);
     if (!executeViaDistributed) {
       if (params.cacheSize != null && this.getCacheSize() != params.cacheSize) {
@@ -106,18 +118,60 @@ public class OSequenceCached extends OSequence {
   }
 
   private boolean signalToAllocateCache() {
+    final long current = currentValue();
     if (orderType == SequenceOrderType.ORDER_POSITIVE) {
-      if (cacheStart + increment > cacheEnd && !(limitValue != null && cacheStart + increment > limitValue)) {
+      if (current + increment > cacheEnd && !(limitValue != null && current + increment > limitValue)) {
         return true;
       }
     } else {
-      if (cacheStart - increment < cacheEnd && !(limitValue != null && cacheStart - increment < limitValue)) {
+      if (current - increment < cacheEnd && !(limitValue != null && current - increment < limitValue)) {
         return true;
       }
     }
     return false;
   }
 
+  private long currentValue() {
+    final CachedRange cachedRange = range;
+    if (cachedRange != null) {
+      return cachedRange.current.get();
+    }
+    return cacheStart;
+  }
+
+  /**
+   * Stops handing out values of the current range without lock and brings {@link #cacheStart} up to date. Has to be called under
+   * lock before the cache is changed.
+   */
+  private void retireRange() {
+    final CachedRange cachedRange = range;
+    if (cachedRange != null) {
+      cacheStart = cachedRange.retire();
+      range = null;
+    }
+  }
+
+  /**
+   * Publishes the rest of the cache, so the next values are handed out without lock. Ranges are not published when the next value
+   * needs more than an increment: first value after load, parameters to reload, or a limit of a non-recyclable sequence to warn
+   * about.
+   */
+  private void publishRange() {
+    if (firstCache || increment <= 0 || orderType == null || (limitValue != null && !recyclable) || getCrucialValueChanged()) {
+      return;
+    }
+
+    if (orderType == SequenceOrderType.ORDER_POSITIVE) {
+      final long bound = limitValue != null ? Math.min(cacheEnd, limitValue) : cacheEnd;
+      range = new CachedRange(cacheStart, bound, increment, true);
+    } else {
+      final long bound = limitValue != null ? Math.max(cacheEnd, limitValue) : cacheEnd;
+      if (bound > Long.MIN_VALUE) {
+        range = new CachedRange(cacheStart, bound, increment, false);
+      }
+    }
+  }
+
   private <T> T sendSequenceActionSetAndNext(long value) throws ExecutionException, InterruptedException {
     OSequenceAction action = new OSequenceAction(getName(), value);
     return tlDocument.get().getDatabase().sendSequenceAction(action);
@@ -132,6 +186,7 @@ public class OSequenceCached extends OSequence {
       //will later call nextWithNewCurrentValue with parameter executeViaDistributed == false
       //and that will cause deadlock
       synchronized (this) {
+        retireRange();
         cacheStart = currentValue;
         return nextWork();
       }
@@ -152,9 +207,17 @@ public class OSequenceCached extends OSequence {
 
   @Override
   public long next() throws OSequenceLimitReachedException, ODatabaseException {
+    final CachedRange cachedRange = range;
+    if (cachedRange != null) {
+      final long value = cachedRange.next();
+      if (value != CachedRange.EXHAUSTED) {
+        return value;
+      }
+    }
+
     boolean shouldGoOverDistributted = shouldGoOverDistrtibute();
     if (shouldGoOverDistributted) {
-      return nextWithNewCurrentValue(cacheStart, true);
+      return nextWithNewCurrentValue(currentValue(), true);
     }
     return nextWork();
   }
@@ -175,6 +238,7 @@ public class OSequenceCached extends OSequence {
           @Override
           public Long call() throws Exception {
             synchronized (OSequenceCached.this) {
+              retireRange();
 
               boolean detectedCrucialValueChange = false;
               if (getCrucialValueChanged()) {
@@ -232,6 +296,7 @@ public class OSequenceCached extends OSequence {
               }
 
               firstCache = false;
+              publishRange();
               return cacheStart;
             }
           }
@@ -250,7 +315,7 @@ public class OSequenceCached extends OSequence {
 
   @Override
   protected synchronized long currentWork() {
-    return this.cacheStart;
+    return currentValue();
   }
 
   @Override
@@ -269,6 +334,7 @@ public class OSequenceCached extends OSequence {
           @Override
           public Long call() throws Exception {
             synchronized (OSequenceCached.this) {
+              retireRange();
               long newValue = getStart();
               setValue(newValue);
               save(finalDb);
@@ -334,4 +400,54 @@ public class OSequenceCached extends OSequence {
     firstCache = false;
   }
 
+  /**
+   * Rest of the cache of a sequence, the last handed out value is moved forward by CAS. Values are handed out in the same order
+   * as under lock: a range ends where {@link #nextWork()} would have reserved a new range or reached the limit.
+   */
+  private static final class CachedRange {
+    private static final long EXHAUSTED = Long.MIN_VALUE;
+
+    private final AtomicLong current;
+    private final long       bound;
+    private final long       increment;
+    private final boolean    ascending;
+
+    private CachedRange(final long current, final long bound, final long increment, final boolean ascending) {
+      this.current = new AtomicLong(current);
+      this.bound = bound;
+      this.increment = increment;
+      this.ascending = ascending;
+    }
+
+    /**
+     * @return the next value or {@link #EXHAUSTED} if it is out of the range
+     */
+    private long next() {
+      while (true) {
+        final long value = current.get();
+        if (ascending ? value > bound - increment : value < bound + increment) {
+          return EXHAUSTED;
+        }
+
+        final long next = ascending ? value + increment : value - increment;
+        if (current.compareAndSet(value, next)) {
+          return next;
+        }
+      }
+    }
+
+    /**
+     * Exhausts the range.
+     *
+     * @return the last value handed out
+     */
+    private long retire() {
+      while (true) {
+        final long value = current.get();
+        if (current.compareAndSet(value, bound)) {
+          return value;
+        }
+      }
+    }
+  }
 }
\ No newline at end of file
@@ -21,13 +21,18 @@ package com.orientechnologies.orient.core.query.live;
 
 import com.orientechnologies.common.concur.resource.OCloseable;
 import com.orientechnologies.common.log.OLogManager;
+import com.orientechnologies.orient.core.config.OContextConfiguration;
+import com.orientechnologies.orient.core.config.OGlobalConfiguration;
 import com.orientechnologies.orient.core.db.ODatabaseInternal;
 import com.orientechnologies.orient.core.db.document.ODatabaseDocument;
 import com.orientechnologies.orient.core.db.record.OIdentifiable;
 import com.orientechnologies.orient.core.db.record.ORecordOperation;
 import com.orientechnologies.orient.core.db.record.ridbag.ORidBag;
 import com.orientechnologies.orient.core.exception.ODatabaseException;
+import com.orientechnologies.orient.core.metadata.schema.OClass;
+import com.orientechnologies.orient.core.metadata.schema.OImmutableClass;
 import com.orientechnologies.orient.core.record.impl.ODocument;
+import com.orientechnologies.orient.core.record.impl.ODocumentInternal;
 import com.orientechnologies.orient.core.sql.executor.OResult;
 import com.orientechnologies.orient.core.sql.executor.OResultInternal;
 
@@ -36,6 +41,7 @@ import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.LongAdder;
 
 import static com.orientechnologies.orient.core.config.OGlobalConfiguration.QUERY_LIVE_SUPPORT;
 
@@ -46,6 +52,10 @@ public class OLiveQueryHookV2 {
     public OResult after;
     public byte type;
     protected ODocument originalDoc;
+    /**
+     * lower case names of the class of the record and of its super classes, null if the subscribers are not known
+     */
+    protected Set<String> classNames;
 
     OLiveQueryOp(ODocument originalDoc, OResult before, OResult after, byte type) {
       this.originalDoc = originalDoc;
@@ -58,11 +68,36 @@ public class OLiveQueryHookV2 {
   public static class OLiveQueryOps implements OCloseable {
 
     protected Map<ODatabaseDocument, List<OLiveQueryOp>> pendingOps = new ConcurrentHashMap<ODatabaseDocument, List<OLiveQueryOp>>();
-    private OLiveQueryQueueThreadV2 queueThread = new OLiveQueryQueueThreadV2(this);
+    private final int dispatchThreads;
+    private final int maxQueueSize;
+    private volatile OLiveQueryQueueThreadV2 queueThread;
     private Object threadLock = new Object();
 
     private BlockingQueue<OLiveQueryOp> queue = new LinkedBlockingQueue<OLiveQueryOp>();
     private ConcurrentMap<Integer, OLiveQueryListenerV2> subscribers = new ConcurrentHashMap<Integer, OLiveQueryListenerV2>();
+    private final OLiveQuerySubscriptionIndex subscriptionIndex = new OLiveQuerySubscriptionIndex();
+
+    private final Object queueFull = new Object();
+    private volatile int waitingForRoom = 0;
+
+    private final LongAdder dispatched = new LongAdder();
+    private final LongAdder delivered = new LongAdder();
+
+    public OLiveQueryOps() {
+      this(OGlobalConfiguration.QUERY_LIVE_DISPATCH_THREADS.getValueAsInteger(),
+          OGlobalConfiguration.QUERY_LIVE_QUEUE_SIZE.getValueAsInteger());
+    }
+
+    public OLiveQueryOps(OContextConfiguration configuration) {
+      this(configuration.getValueAsInteger(OGlobalConfiguration.QUERY_LIVE_DISPATCH_THREADS),
+          configuration.getValueAsInteger(OGlobalConfiguration.QUERY_LIVE_QUEUE_SIZE));
+    }
+
+    private OLiveQueryOps(int dispatchThreads, int maxQueueSize) {
+      this.dispatchThreads = Math.max(1, dispatchThreads);
+      this.maxQueueSize = maxQueueSize;
+      this.queueThread = new OLiveQueryQueueThreadV2(this);
+    }
 
     @Override
     public void close() {
@@ -83,26 +118,124 @@ public class OLiveQueryHookV2 {
       return subscribers;
     }
 
+    /**
+     * returns the subscribers that could be interested in a change, the other subscribers would discard it
+     */
+    public Collection<OLiveQueryListenerV2> getSubscribers(OLiveQueryOp op) {
+      OResult record = op.type == ORecordOperation.DELETED ? op.before : op.after;
+      if (op.classNames == null || record == null) {
+        return subscribers.values();
+      }
+      Set<Integer> ids = subscriptionIndex.getCandidates(op.classNames, record);
+      List<OLiveQueryListenerV2> result = new ArrayList<>(ids.size());
+      for (Integer id : ids) {
+        OLiveQueryListenerV2 listener = subscribers.get(id);
+        if (listener != null) {
+          result.add(listener);
+        }
+      }
+      return result;
+    }
+
     public BlockingQueue<OLiveQueryOp> getQueue() {
       return queue;
     }
 
+    public int getDispatchThreads() {
+      return dispatchThreads;
+    }
+
+    /**
+     * Queues a change for the subscribers. When the queue is full the current thread waits for the subscribers to catch up,
+     * unless it is one of the threads that deliver the changes, that would wait for itself.
+     */
     public void enqueue(OLiveQueryHookV2.OLiveQueryOp item) {
+      if (maxQueueSize > 0 && queue.size() >= maxQueueSize && !OLiveQueryQueueThreadV2.isLiveQueryThread(Thread.currentThread())) {
+        waitForRoom();
+      }
       queue.offer(item);
     }
 
+    private void waitForRoom() {
+      synchronized (queueFull) {
+        waitingForRoom++;
+        try {
+          while (queue.size() >= maxQueueSize && queueThread.isAlive()) {
+            queueFull.wait(100);
+          }
+        } catch (InterruptedException ignore) {
+          Thread.currentThread().interrupt();
+        } finally {
+          waitingForRoom--;
+        }
+      }
+    }
+
+    /**
+     * called by the queue thread after it takes a change from the queue
+     */
+    protected void onDequeued() {
+      dispatched.increment();
+      if (waitingForRoom > 0 && queue.size() < maxQueueSize) {
+        synchronized (queueFull) {
+          queueFull.notifyAll();
+        }
+      }
+    }
+
+    protected void onDelivered(int listeners) {
+      delivered.add(listeners);
+    }
+
+    /**
+     * @return the number of changes waiting to be dispatched to the subscribers
+     */
+    public int getQueueDepth() {
+      return queue.size();
+    }
+
+    /**
+     * @return the number of changes dispatched but not yet delivered to the subscribers
+     */
+    public int getPendingDeliveries() {
+      return queueThread.getPendingDeliveries();
+    }
+
+    public long getDispatched() {
+      return dispatched.sum();
+    }
+
+    /**
+     * @return the number of times a change was offered to a subscriber
+     */
+    public long getDelivered() {
+      return delivered.sum();
+    }
+
     public Integer subscribe(Integer id, OLiveQueryListenerV2 iListener) {
       subscribers.put(id, iListener);
+      subscriptionIndex.add(id, iListener.getRoute());
       return id;
     }
 
     public void unsubscribe(Integer id) {
-      OLiveQueryListenerV2 res = subscribers.remove(id);
+      OLiveQueryListenerV2 res = removeSubscriber(id);
       if (res != null) {
         res.onLiveResultEnd();
       }
     }
 
+    /**
+     * removes a subscriber without notifying the end of the live query to it
+     */
+    public OLiveQueryListenerV2 removeSubscriber(Integer id) {
+      OLiveQueryListenerV2 res = subscribers.remove(id);
+      if (res != null) {
+        subscriptionIndex.remove(id);
+      }
+      return res;
+    }
+
     public boolean hasListeners() {
       return !subscribers.isEmpty();
     }
@@ -158,12 +291,30 @@ public class OLiveQueryHookV2 {
     // TODO sync
     if (list != null) {
       for (OLiveQueryOp item : list) {
+        item.classNames = routingClassNames(item.originalDoc);
         item.originalDoc = item.originalDoc.copy();
         ops.enqueue(item);
       }
     }
   }
 
+  private static Set<String> routingClassNames(ODocument document) {
+    if (document.getClassName() == null) {
+      return Collections.emptySet();
+    }
+    OImmutableClass clazz = ODocumentInternal.getImmutableSchemaClass(document);
+    if (clazz == null) {
+      // the class is not in the snapshot of the schema yet, all the subscribers receive the change
+      return null;
+    }
+    Set<String> result = new HashSet<>();
+    result.add(clazz.getName().toLowerCase(Locale.ENGLISH));
+    for (OClass superClass : clazz.getAllSuperClasses()) {
+      result.add(superClass.getName().toLowerCase(Locale.ENGLISH));
+    }
+    return result;
+  }
+
   public static void removePendingDatabaseOps(ODatabaseDocument database) {
     try {
       if (database.isClosed() || Boolean.FALSE.equals(database.getConfiguration().getValue(QUERY_LIVE_SUPPORT)))
@@ -29,4 +29,11 @@ public interface OLiveQueryListenerV2 {
   void onLiveResultEnd();
 
   int getToken();
+
+  /**
+   * @return the changes the listener can be interested in, null if it has to receive all the changes
+   */
+  default OLiveQueryRoute getRoute() {
+    return null;
+  }
 }
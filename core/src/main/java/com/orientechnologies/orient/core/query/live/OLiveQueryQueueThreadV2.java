@@ -21,13 +21,27 @@ package com.orientechnologies.orient.core.query.live;
 
 import com.orientechnologies.common.log.OLogManager;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
 /**
+ * Takes the changes from the queue of the live queries and delivers them to the subscribers that could be interested in them.
+ * With more than one dispatch thread, every subscriber is bound to one of the threads by its token, so the subscribers receive
+ * their changes in order while the slow ones do not hold up the others.
+ *
  * @author Luigi Dell'Aquila (l.dellaquila-(at)-orientdb.com)
  */
 public class OLiveQueryQueueThreadV2 extends Thread {
 
+  private static final int DISPATCH_QUEUE_SIZE = 1024;
+
   private final OLiveQueryHookV2.OLiveQueryOps ops;
 
+  private volatile DispatchThread[] dispatchThreads;
+
   private boolean stopped = false;
 
   public OLiveQueryQueueThreadV2(OLiveQueryHookV2.OLiveQueryOps ops) {
@@ -42,25 +56,109 @@ public class OLiveQueryQueueThreadV2 extends Thread {
 
   @Override
   public void run() {
-    while (!stopped) {
-      OLiveQueryHookV2.OLiveQueryOp next = null;
-      try {
-        next = ops.getQueue().take();
-      } catch (InterruptedException ignore) {
-        break;
+    if (ops.getDispatchThreads() > 1) {
+      DispatchThread[] threads = new DispatchThread[ops.getDispatchThreads()];
+      for (int i = 0; i < threads.length; i++) {
+        threads[i] = new DispatchThread(i);
+        threads[i].start();
       }
-      if (next == null) {
-        continue;
-      }
-      for (OLiveQueryListenerV2 listener : ops.getSubscribers().values()) {
+      dispatchThreads = threads;
+    }
+    try {
+      while (!stopped) {
+        OLiveQueryHookV2.OLiveQueryOp next = null;
         try {
-          listener.onLiveResult(next);
-        } catch (Exception e) {
-          OLogManager.instance().warn(this, "Error executing live query subscriber.", e);
+          next = ops.getQueue().take();
+        } catch (InterruptedException ignore) {
+          break;
+        }
+        ops.onDequeued();
+        if (next == null) {
+          continue;
         }
+        Collection<OLiveQueryListenerV2> listeners = ops.getSubscribers(next);
+        if (listeners.isEmpty()) {
+          continue;
+        }
+        if (dispatchThreads == null) {
+          deliver(next, listeners);
+        } else if (!dispatch(next, listeners)) {
+          break;
+        }
+      }
+    } finally {
+      stopDispatchThreads();
+    }
+  }
 
+  /**
+   * @return false if the thread was interrupted while waiting for room in the queue of a dispatch thread
+   */
+  private boolean dispatch(OLiveQueryHookV2.OLiveQueryOp op, Collection<OLiveQueryListenerV2> listeners) {
+    DispatchThread[] threads = dispatchThreads;
+    List<OLiveQueryListenerV2>[] byThread = new List[threads.length];
+    for (OLiveQueryListenerV2 listener : listeners) {
+      int thread = Math.floorMod(listener.getToken(), threads.length);
+      if (byThread[thread] == null) {
+        byThread[thread] = new ArrayList<>();
+      }
+      byThread[thread].add(listener);
+    }
+    try {
+      for (int i = 0; i < threads.length; i++) {
+        if (byThread[i] != null) {
+          final List<OLiveQueryListenerV2> threadListeners = byThread[i];
+          threads[i].queue.put(() -> deliver(op, threadListeners));
+        }
       }
+    } catch (InterruptedException ignore) {
+      return false;
     }
+    return true;
+  }
+
+  private void deliver(OLiveQueryHookV2.OLiveQueryOp op, Collection<OLiveQueryListenerV2> listeners) {
+    for (OLiveQueryListenerV2 listener : listeners) {
+      try {
+        listener.onLiveResult(op);
+      } catch (Exception e) {
+        OLogManager.instance().warn(this, "Error executing live query subscriber.", e);
+      }
+    }
+    ops.onDelivered(listeners.size());
+  }
+
+  private void stopDispatchThreads() {
+    DispatchThread[] threads = dispatchThreads;
+    if (threads == null) {
+      return;
+    }
+    dispatchThreads = null;
+    for (DispatchThread thread : threads) {
+      thread.interrupt();
+    }
+    for (DispatchThread thread : threads) {
+      try {
+        thread.join();
+      } catch (InterruptedException ignore) {
+        Thread.currentThread().interrupt();
+        return;
+      }
+    }
+  }
+
+  /**
+   * @return the number of changes waiting in the queues of the dispatch threads
+   */
+  public int getPendingDeliveries() {
+    DispatchThread[] threads = dispatchThreads;
+    int result = 0;
+    if (threads != null) {
+      for (DispatchThread thread : threads) {
+        result += thread.queue.size();
+      }
+    }
+    return result;
   }
 
   public void stopExecution() {
@@ -68,4 +166,31 @@ public class OLiveQueryQueueThreadV2 extends Thread {
     this.interrupt();
   }
 
+  /**
+   * @return true if the thread delivers the changes of the live queries, so it must never wait for room in the queue
+   */
+  public static boolean isLiveQueryThread(Thread thread) {
+    return thread instanceof OLiveQueryQueueThreadV2 || thread instanceof DispatchThread;
+  }
+
+  private static class DispatchThread extends Thread {
+    private final BlockingQueue<Runnable> queue = new ArrayBlockingQueue<>(DISPATCH_QUEUE_SIZE);
+
+    private DispatchThread(int id) {
+      setName("LiveQueryDispatchThreadV2-" + id);
+      setDaemon(true);
+    }
+
+    @Override
+    public void run() {
+      while (!isInterrupted()) {
+        try {
+          queue.take().run();
+        } catch (InterruptedException ignore) {
+          break;
+        }
+      }
+    }
+  }
+
 }
@@ -0,0 +1,59 @@
+/*
+ *
+ *  *  Copyright 2010-2016 OrientDB LTD (http://orientdb.com)
+ *  *
+ *  *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  *  you may not use this file except in compliance with the License.
+ *  *  You may obtain a copy of the License at
+ *  *
+ *  *       http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  *  Unless required by applicable law or agreed to in writing, software
+ *  *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  *  See the License for the specific language governing permissions and
+ *  *  limitations under the License.
+ *  *
+ *  * For more information: http://orientdb.com
+ *
+ */
+package com.orientechnologies.orient.core.query.live;
+
+/**
+ * Describes which changes a live query subscriber can be interested in, so that the changes are matched only against the
+ * subscribers that could accept them. A route is a necessary condition, the subscriber still filters the changes it receives.
+ */
+public class OLiveQueryRoute {
+
+  private final String className;
+  private final String fieldName;
+  private final Object value;
+
+  /**
+   * @param className the class of the records, the records of its subclasses are routed too
+   * @param fieldName a field that has to be equal to {@code value}, or null if there is no such condition
+   * @param value     the value of the field
+   */
+  public OLiveQueryRoute(String className, String fieldName, Object value) {
+    this.className = className;
+    this.fieldName = fieldName;
+    this.value = value;
+  }
+
+  public String getClassName() {
+    return className;
+  }
+
+  public String getFieldName() {
+    return fieldName;
+  }
+
+  public Object getValue() {
+    return value;
+  }
+
+  @Override
+  public String toString() {
+    return fieldName == null ? className : className + "[" + fieldName + " = " + value + "]";
+  }
+}
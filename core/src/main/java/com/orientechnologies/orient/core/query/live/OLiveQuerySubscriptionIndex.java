@@ -0,0 +1,170 @@
+/*
+ *
+ *  *  Copyright 2010-2016 OrientDB LTD (http://orientdb.com)
+ *  *
+ *  *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  *  you may not use this file except in compliance with the License.
+ *  *  You may obtain a copy of the License at
+ *  *
+ *  *       http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  *  Unless required by applicable law or agreed to in writing, software
+ *  *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  *  See the License for the specific language governing permissions and
+ *  *  limitations under the License.
+ *  *
+ *  * For more information: http://orientdb.com
+ *
+ */
+package com.orientechnologies.orient.core.query.live;
+
+import com.orientechnologies.orient.core.sql.executor.OResult;
+
+import java.util.*;
+
+/**
+ * Index of the live query subscribers by the class they are interested in and by the value of one of the fields of the class,
+ * used to find the subscribers that could accept a change without offering the change to all of them. The subscribers without a
+ * route are candidates for all the changes.
+ * <p>
+ * Only strings and integer numbers are indexed by value. As the equality operator of SQL converts the values before comparing
+ * them, a record value that has another type, or a value of the other indexed type, selects all the subscribers of the field.
+ */
+class OLiveQuerySubscriptionIndex {
+
+  private final Set<Integer>                  unrouted = new HashSet<>();
+  private final Map<String, ClassRoutes>      classes  = new HashMap<>();
+  private final Map<Integer, OLiveQueryRoute> routes   = new HashMap<>();
+
+  public synchronized void add(Integer id, OLiveQueryRoute route) {
+    remove(id);
+
+    if (route == null || route.getClassName() == null) {
+      unrouted.add(id);
+      return;
+    }
+
+    final String className = route.getClassName().toLowerCase(Locale.ENGLISH);
+    final Object key = route.getFieldName() == null ? null : toKey(route.getValue());
+    final OLiveQueryRoute normalized = new OLiveQueryRoute(className, key == null ? null : route.getFieldName(), key);
+
+    classes.computeIfAbsent(className, k -> new ClassRoutes()).add(normalized, id);
+    routes.put(id, normalized);
+  }
+
+  public synchronized void remove(Integer id) {
+    if (unrouted.remove(id))
+      return;
+
+    final OLiveQueryRoute route = routes.remove(id);
+    if (route != null) {
+      final ClassRoutes classRoutes = classes.get(route.getClassName());
+      if (classRoutes.remove(route, id))
+        classes.remove(route.getClassName());
+    }
+  }
+
+  /**
+   * @param classNames the lower case names of the class of the record and of its super classes
+   * @param record     the record that is matched by the subscribers
+   *
+   * @return the ids of the subscribers that could accept the record
+   */
+  public synchronized Set<Integer> getCandidates(Collection<String> classNames, OResult record) {
+    final Set<Integer> result = new HashSet<>(unrouted);
+    for (String className : classNames) {
+      final ClassRoutes classRoutes = classes.get(className);
+      if (classRoutes != null)
+        classRoutes.collect(record, result);
+    }
+    return result;
+  }
+
+  private static Object toKey(Object value) {
+    if (value instanceof String)
+      return value;
+    if (value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte)
+      return ((Number) value).longValue();
+    return null;
+  }
+
+  private static class ClassRoutes {
+    private final Set<Integer>             any    = new HashSet<>();
+    private final Map<String, FieldRoutes> fields = new HashMap<>();
+
+    private void add(OLiveQueryRoute route, Integer id) {
+      if (route.getFieldName() == null)
+        any.add(id);
+      else
+        fields.computeIfAbsent(route.getFieldName(), k -> new FieldRoutes()).add(route.getValue(), id);
+    }
+
+    /**
+     * @return true if there are no more subscribers for the class
+     */
+    private boolean remove(OLiveQueryRoute route, Integer id) {
+      if (route.getFieldName() == null)
+        any.remove(id);
+      else if (fields.get(route.getFieldName()).remove(route.getValue(), id))
+        fields.remove(route.getFieldName());
+      return any.isEmpty() && fields.isEmpty();
+    }
+
+    private void collect(OResult record, Set<Integer> result) {
+      result.addAll(any);
+      for (Map.Entry<String, FieldRoutes> field : fields.entrySet())
+        field.getValue().collect(record.getProperty(field.getKey()), result);
+    }
+  }
+
+  private static class FieldRoutes {
+    private final Map<Object, Set<Integer>> byValue = new HashMap<>();
+    private       int                       stringKeys;
+    private       int                       longKeys;
+
+    private void add(Object key, Integer id) {
+      if (byValue.computeIfAbsent(key, k -> new HashSet<>()).add(id)) {
+        if (key instanceof String)
+          stringKeys++;
+        else
+          longKeys++;
+      }
+    }
+
+    /**
+     * @return true if there are no more subscribers for the field
+     */
+    private boolean remove(Object key, Integer id) {
+      final Set<Integer> ids = byValue.get(key);
+      if (ids != null && ids.remove(id)) {
+        if (key instanceof String)
+          stringKeys--;
+        else
+          longKeys--;
+        if (ids.isEmpty())
+          byValue.remove(key);
+      }
+      return byValue.isEmpty();
+    }
+
+    private void collect(Object value, Set<Integer> result) {
+      final Object key = toKey(value);
+      if (key == null) {
+        for (Set<Integer> ids : byValue.values())
+          result.addAll(ids);
+        return;
+      }
+
+      final Set<Integer> ids = byValue.get(key);
+      if (ids != null)
+        result.addAll(ids);
+
+      // a value of the other type can still be equal once converted
+      if ((key instanceof String && longKeys > 0) || (key instanceof Long && stringKeys > 0))
+        for (Map.Entry<Object, Set<Integer>> entry : byValue.entrySet())
+          if (entry.getKey().getClass() != key.getClass())
+            result.addAll(entry.getValue());
+    }
+  }
+}
@@ -47,6 +47,7 @@ import com.orientechnologies.orient.core.record.*;
 import com.orientechnologies.orient.core.serialization.serializer.OStringSerializerHelper;
 import com.orientechnologies.orient.core.serialization.serializer.record.ORecordSerializer;
 import com.orientechnologies.orient.core.serialization.serializer.record.ORecordSerializerFactory;
+import com.orientechnologies.orient.core.serialization.serializer.record.binary.ORecordSerializerBinary;
 import com.orientechnologies.orient.core.serialization.serializer.record.binary.ORecordSerializerNetwork;
 import com.orientechnologies.orient.core.sql.OSQLHelper;
 import com.orientechnologies.orient.core.sql.executor.OResult;
@@ -88,6 +89,12 @@ public class ODocument extends ORecordAbstract
   protected           OPropertyAccess               propertyAccess;
   protected           OPropertyEncryption           propertyEncryption;
 
+  /**
+   * Source of the fields not decoded yet when the document became dirty. They are decoded from here on access, while the ones never
+   * accessed are copied by the serializer into the new record without decoding them.
+   */
+  private byte[] undecodedSource;
+
   /**
    * Internal constructor used on unmarshalling.
    */
@@ -424,7 +431,7 @@ public class ODocument extends ORecordAbstract
     }
 
     checkForLoading();
-    checkForFields();
+    checkForFieldToChange(iPropetyName);
 
     ODocumentEntry entry = fields.get(iPropetyName);
     final boolean knownProperty;
@@ -1375,7 +1382,7 @@ public class ODocument extends ORecordAbstract
     iFieldName = checkFieldName(iFieldName);
 
     checkForLoading();
-    checkForFields();
+    checkForFieldToChange(iFieldName);
 
     ODocumentEntry entry = fields.get(iFieldName);
     final boolean knownProperty;
@@ -1735,7 +1742,7 @@ public class ODocument extends ORecordAbstract
       getDirtyManager().setDirty(this);
 
     // THIS IS IMPORTANT TO BE SURE THAT FIELDS ARE LOADED BEFORE IT'S TOO LATE AND THE RECORD _SOURCE IS NULL
-    checkForFields();
+    retainSourceOrDecode();
 
     super.setDirty();
 
@@ -1776,7 +1783,7 @@ public class ODocument extends ORecordAbstract
     getDirtyManager().setDirty(this);
 
     // THIS IS IMPORTANT TO BE SURE THAT FIELDS ARE LOADED BEFORE IT'S TOO LATE AND THE RECORD _SOURCE IS NULL
-    checkForFields();
+    retainSourceOrDecode();
 
     super.setDirtyNoChanged();
   }
@@ -1787,6 +1794,7 @@ public class ODocument extends ORecordAbstract
 
     fields = null;
     fieldSize = 0;
+    undecodedSource = null;
     contentChanged = false;
     schema = null;
     fetchSchemaIfCan();
@@ -2107,7 +2115,8 @@ public class ODocument extends ORecordAbstract
    */
   public boolean deserializeFields(String... iFields) {
     List<String> additional = null;
-    if (source == null)
+    final byte[] buffer = source != null ? source : undecodedSource;
+    if (buffer == null)
       // ALREADY UNMARSHALLED OR JUST EMPTY
       return true;
 
@@ -2162,7 +2171,7 @@ public class ODocument extends ORecordAbstract
 
     status = ORecordElement.STATUS.UNMARSHALLING;
     try {
-      recordFormat.fromStream(source, this, iFields);
+      recordFormat.fromStream(buffer, this, iFields);
     } finally {
       status = ORecordElement.STATUS.LOADED;
     }
@@ -2182,9 +2191,11 @@ public class ODocument extends ORecordAbstract
 
       // NO FIELDS FOUND
       return false;
-    } else if (source != null)
+    } else {
       // FULL UNMARSHALLING
       source = null;
+      undecodedSource = null;
+    }
 
     return true;
   }
@@ -2340,7 +2351,12 @@ public class ODocument extends ORecordAbstract
   @Override
   public void validate() throws OValidationException {
     checkForLoading();
-    checkForFields();
+    // THE FIELDS STILL IN THE UNDECODED SOURCE ARE UNCHANGED: ONLY THEIR PRESENCE IS CHECKED, WITHOUT DECODING THEM
+    final Set<String> undecodedFields = getUndecodedFieldNames();
+    if (undecodedFields == null)
+      checkForFields();
+    else if (fields == null)
+      fields = ordered ? new LinkedHashMap<>() : new HashMap<>();
 
     autoConvertValues();
 
@@ -2356,7 +2372,7 @@ public class ODocument extends ORecordAbstract
     if (immutableSchemaClass != null) {
       if (immutableSchemaClass.isStrictMode()) {
         // CHECK IF ALL FIELDS ARE DEFINED
-        for (String f : fieldNames()) {
+        for (String f : undecodedFields == null ? fieldNames() : fieldNames(undecodedFields)) {
           if (immutableSchemaClass.getProperty(f) == null)
             throw new OValidationException(
                 "Found additional field '" + f + "'. It cannot be added because the schema class '" + immutableSchemaClass.getName()
@@ -2365,11 +2381,42 @@ public class ODocument extends ORecordAbstract
       }
 
       for (OProperty p : immutableSchemaClass.properties()) {
+        if (undecodedFields != null && undecodedFields.contains(p.getName()))
+          // PRESENT, AND NOT CHANGED SINCE IT WAS STORED
+          continue;
         validateField(this, (OImmutableProperty) p);
       }
     }
   }
 
+  /**
+   * @return the names of the fields not decoded yet, read from the header of the undecoded source without decoding their values,
+   * or null if the document has no undecoded source
+   */
+  private Set<String> getUndecodedFieldNames() {
+    if (source != null || undecodedSource == null)
+      return null;
+
+    final Set<String> names = new HashSet<>();
+    for (String name : recordFormat.getFieldNames(this, undecodedSource)) {
+      if (!rawContainsField(name))
+        names.add(name);
+    }
+    return names;
+  }
+
+  /**
+   * @return the names of the decoded fields that exist plus the given undecoded ones
+   */
+  private String[] fieldNames(final Set<String> undecodedFields) {
+    final List<String> names = new ArrayList<>(undecodedFields);
+    for (Entry<String, ODocumentEntry> entry : fields.entrySet()) {
+      if (entry.getValue().exists())
+        names.add(entry.getKey());
+    }
+    return names.toArray(new String[names.size()]);
+  }
+
   protected String toString(Set<ORecord> inspected) {
     if (inspected.contains(this))
       return "<recursion:rid=" + (recordId != null ? recordId : "null") + ">";
@@ -2514,6 +2561,7 @@ public class ODocument extends ORecordAbstract
   @Override
   protected ORecordAbstract fill(final ORID iRid, final int iVersion, final byte[] iBuffer, final boolean iDirty) {
     schema = null;
+    undecodedSource = null;
     fetchSchemaIfCan();
     return super.fill(iRid, iVersion, iBuffer, iDirty);
   }
@@ -2522,6 +2570,7 @@ public class ODocument extends ORecordAbstract
   protected ORecordAbstract fill(final ORID iRid, final int iVersion, final byte[] iBuffer, final boolean iDirty,
       ODatabaseDocumentInternal db) {
     schema = null;
+    undecodedSource = null;
     fetchSchemaIfCan(db);
     return super.fill(iRid, iVersion, iBuffer, iDirty, db);
   }
@@ -2529,6 +2578,7 @@ public class ODocument extends ORecordAbstract
   @Override
   protected void clearSource() {
     super.clearSource();
+    undecodedSource = null;
     schema = null;
   }
 
@@ -2751,11 +2801,17 @@ public class ODocument extends ORecordAbstract
   }
 
   protected byte[] toStream(final boolean iOnlyDelta) {
+    if (source == null && undecodedSource != null && !canReuseUndecodedSource(undecodedSource))
+      checkForFields();
+
     STATUS prev = status;
     status = STATUS.MARSHALLING;
     try {
-      if (source == null)
+      if (source == null) {
         source = recordFormat.toStream(this);
+        // THE NEW SOURCE CONTAINS ALL THE FIELDS: THE ONES NOT DECODED YET ARE READ FROM IT FROM NOW ON
+        undecodedSource = null;
+      }
     } finally {
       status = prev;
     }
@@ -2976,6 +3032,7 @@ public class ODocument extends ORecordAbstract
     if (fields != null)
       fields.clear();
     fieldSize = 0;
+    undecodedSource = null;
 
   }
 
@@ -2983,13 +3040,53 @@ public class ODocument extends ORecordAbstract
     if (fields == null)
       fields = ordered ? new LinkedHashMap<>() : new HashMap<>();
 
-    if (status == ORecordElement.STATUS.LOADED && source != null)
+    if (status == ORecordElement.STATUS.LOADED && (source != null || undecodedSource != null))
       // POPULATE FIELDS LAZY
       return deserializeFields(iFields);
 
     return true;
   }
 
+  /**
+   * Loads the field that is going to be changed. When the source can be read field by field only that field is decoded, otherwise
+   * all of them.
+   */
+  private void checkForFieldToChange(final String iFieldName) {
+    final byte[] buffer = source != null ? source : undecodedSource;
+    if (buffer != null && canReuseUndecodedSource(buffer))
+      checkForFields(iFieldName);
+    else
+      checkForFields();
+  }
+
+  /**
+   * Called before the document becomes dirty, when the source is about to be dropped. If the serializer can copy the fields not
+   * decoded yet straight into the new record the source is kept aside, otherwise all the fields are decoded.
+   */
+  private void retainSourceOrDecode() {
+    if (source == null && undecodedSource != null)
+      // ALREADY KEPT ASIDE BY A PREVIOUS CHANGE
+      return;
+
+    if (status == ORecordElement.STATUS.LOADED && source != null && canReuseUndecodedSource(source))
+      undecodedSource = source;
+    else
+      checkForFields();
+  }
+
+  private boolean canReuseUndecodedSource(final byte[] buffer) {
+    return recordFormat instanceof ORecordSerializerBinary && ((ORecordSerializerBinary) recordFormat)
+        .canReuseUndecodedFields(buffer);
+  }
+
+  protected byte[] getUndecodedSource() {
+    return undecodedSource;
+  }
+
+  protected Set<Entry<String, ODocumentEntry>> getDecodedEntries() {
+    return fields == null ? Collections.emptySet() : fields.entrySet();
+  }
+
   protected Object accessProperty(final String property) {
     if (checkForFields(property)) {
       if (propertyAccess == null || propertyAccess.isReadable(property)) {
@@ -89,6 +89,20 @@ public class ODocumentInternal {
     return document.getRawEntries();
   }
 
+  /**
+   * @return the fields decoded so far, without decoding the others
+   */
+  public static Set<Entry<String, ODocumentEntry>> decodedEntries(final ODocument document) {
+    return document.getDecodedEntries();
+  }
+
+  /**
+   * @return the source of the fields that were not decoded when the document became dirty, null if all the fields are decoded
+   */
+  public static byte[] undecodedSource(final ODocument document) {
+    return document.getUndecodedSource();
+  }
+
   public static List<Entry<String, ODocumentEntry>> filteredEntries(final ODocument document) {
     return document.getFilteredEntries();
   }
@@ -26,10 +26,12 @@ import com.orientechnologies.orient.core.db.record.OIdentifiable;
 import com.orientechnologies.orient.core.exception.OSecurityAccessException;
 import com.orientechnologies.orient.core.id.ORID;
 import com.orientechnologies.orient.core.metadata.function.OFunction;
+import com.orientechnologies.orient.core.metadata.schema.OClass;
 import com.orientechnologies.orient.core.metadata.security.*;
 import com.orientechnologies.orient.core.record.ORecord;
 import com.orientechnologies.orient.core.record.impl.ODocument;
 import com.orientechnologies.orient.core.security.OSecurityManager;
+import com.orientechnologies.orient.core.sql.parser.OBooleanExpression;
 
 import java.util.List;
 import java.util.Map;
@@ -286,6 +288,11 @@ public class OSymmetricKeySecurity implements OSecurityInternal {
     return delegate.isReadRestrictedBySecurityPolicy(session, resource);
   }
 
+  @Override
+  public OBooleanExpression getReadPredicate(ODatabaseSession session, OClass clazz) {
+    return delegate.getReadPredicate(session, clazz);
+  }
+
   @Override
   public Set<OSecurityResourceProperty> getAllFilteredProperties(ODatabaseDocumentInternal database) {
     return delegate.getAllFilteredProperties(database);
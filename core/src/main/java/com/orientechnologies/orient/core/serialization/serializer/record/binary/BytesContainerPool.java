@@ -0,0 +1,78 @@
+/*
+ *
+ *  *  Copyright 2010-2016 OrientDB LTD (http://orientdb.com)
+ *  *
+ *  *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  *  you may not use this file except in compliance with the License.
+ *  *  You may obtain a copy of the License at
+ *  *
+ *  *       http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  *  Unless required by applicable law or agreed to in writing, software
+ *  *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  *  See the License for the specific language governing permissions and
+ *  *  limitations under the License.
+ *  *
+ *  * For more information: http://orientdb.com
+ *
+ */
+
+package com.orientechnologies.orient.core.serialization.serializer.record.binary;
+
+import com.orientechnologies.orient.core.config.OGlobalConfiguration;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Per thread stack of the scratch buffers used while a record is serialized. The serialization of a document needs a few
+ * temporary buffers, one more set for every embedded document, that were allocated and grown from scratch for every record.
+ * <p>
+ * Buffers are acquired and released in LIFO order, so nested serializations (embedded documents) get their own buffers. Buffers
+ * that grew over {@link OGlobalConfiguration#DB_DOCUMENT_SERIALIZER_SCRATCH_BUFFER_SIZE} are not retained, so a thread never keeps
+ * the memory of the largest record it has ever written.
+ */
+final class BytesContainerPool {
+  private static final ThreadLocal<BytesContainerPool> POOL = ThreadLocal.withInitial(BytesContainerPool::new);
+
+  private static final int MAX_RETAINED_SIZE = OGlobalConfiguration.DB_DOCUMENT_SERIALIZER_SCRATCH_BUFFER_SIZE
+      .getValueAsInteger();
+
+  private final List<BytesContainer> containers = new ArrayList<>();
+  private       int                  used       = 0;
+
+  private BytesContainerPool() {
+  }
+
+  /**
+   * @return an empty container, to give back with {@link #release(BytesContainer)} once its content has been copied
+   */
+  static BytesContainer acquire() {
+    final BytesContainerPool pool = POOL.get();
+    final BytesContainer container;
+    if (pool.used < pool.containers.size()) {
+      container = pool.containers.get(pool.used);
+    } else {
+      container = new BytesContainer();
+      pool.containers.add(container);
+    }
+    pool.used++;
+    return container;
+  }
+
+  static void release(final BytesContainer container) {
+    final BytesContainerPool pool = POOL.get();
+    pool.used--;
+    assert pool.containers.get(pool.used) == container;
+
+    if (container.bytes.length > MAX_RETAINED_SIZE) {
+      pool.containers.set(pool.used, new BytesContainer());
+    } else {
+      // SERIALIZERS CAN RELY ON THE ALLOCATED BYTES BEING ZERO, AS IN A NEW ARRAY
+      Arrays.fill(container.bytes, 0, Math.min(container.offset, container.bytes.length), (byte) 0);
+      container.offset = 0;
+    }
+  }
+}
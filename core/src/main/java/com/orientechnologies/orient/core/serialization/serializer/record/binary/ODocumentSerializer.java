@@ -59,6 +59,17 @@ public interface ODocumentSerializer {
   <RET> RET deserializeFieldTyped(BytesContainer record, String iFieldName, boolean isEmbedded, OImmutableSchema schema,
       OPropertyEncryption encryption);
 
+  /**
+   * Same as {@link #deserializeFieldTyped(BytesContainer, String, boolean, OImmutableSchema, OPropertyEncryption)} for a record
+   * of a known class, so that the formats with an indexed header can look up the field by its property.
+   *
+   * @param iClass the class of the record, null if not known
+   */
+  default <RET> RET deserializeFieldTyped(BytesContainer record, String iFieldName, boolean isEmbedded, OClass iClass,
+      OImmutableSchema schema, OPropertyEncryption encryption) {
+    return deserializeFieldTyped(record, iFieldName, isEmbedded, schema, encryption);
+  }
+
   void deserializeDebug(BytesContainer bytes, ODatabaseDocumentInternal db, ORecordSerializationDebug debugInfo,
       OImmutableSchema schema);
 }
@@ -21,6 +21,7 @@
 package com.orientechnologies.orient.core.serialization.serializer.record.binary;
 
 import com.orientechnologies.common.log.OLogManager;
+import com.orientechnologies.orient.core.config.OGlobalConfiguration;
 import com.orientechnologies.orient.core.db.ODatabaseSession;
 import com.orientechnologies.orient.core.id.ORecordId;
 import com.orientechnologies.orient.core.record.ORecord;
@@ -30,6 +31,7 @@ import com.orientechnologies.orient.core.record.impl.ORecordFlat;
 import com.orientechnologies.orient.core.serialization.serializer.record.ORecordSerializer;
 import com.orientechnologies.orient.core.sql.executor.OResult;
 
+import java.util.Arrays;
 import java.util.Base64;
 
 public class ORecordSerializerBinary implements ORecordSerializer {
@@ -42,9 +44,10 @@ public class ORecordSerializerBinary implements ORecordSerializer {
   private final byte                  currentSerializerVersion;
 
   private void init() {
-    serializerByVersion = new ODocumentSerializer[2];
+    serializerByVersion = new ODocumentSerializer[3];
     serializerByVersion[0] = new ORecordSerializerBinaryV0();
     serializerByVersion[1] = new ORecordSerializerBinaryV1();
+    serializerByVersion[2] = new ORecordSerializerBinaryV2();
   }
 
   public ORecordSerializerBinary(byte serializerVersion) {
@@ -53,8 +56,16 @@ public class ORecordSerializerBinary implements ORecordSerializer {
   }
 
   public ORecordSerializerBinary() {
-    currentSerializerVersion = CURRENT_RECORD_VERSION;
     init();
+    // RECORDS ARE ALWAYS READ WITH THE VERSION THEY WERE WRITTEN WITH, THE CONFIGURATION ONLY CHOOSES THE VERSION OF NEW WRITES
+    final int configured = OGlobalConfiguration.DB_DOCUMENT_SERIALIZER_BINARY_VERSION.getValueAsInteger();
+    if (configured >= CURRENT_RECORD_VERSION && configured < serializerByVersion.length) {
+      currentSerializerVersion = (byte) configured;
+    } else {
+      OLogManager.instance().warn(this, "Unsupported record serializer version %d, using version %d", configured,
+          CURRENT_RECORD_VERSION);
+      currentSerializerVersion = CURRENT_RECORD_VERSION;
+    }
   }
 
   public int getNumberOfSupportedVersions() {
@@ -71,6 +82,15 @@ public class ORecordSerializerBinary implements ORecordSerializer {
     return currentSerializerVersion;
   }
 
+  /**
+   * Tells if a dirty document read from the given source can be written without decoding all its fields: the serializer of the
+   * current version copies the values of the fields never accessed from the source, so it has to be in the same format.
+   */
+  public boolean canReuseUndecodedFields(final byte[] source) {
+    return source.length > 0 && source[0] == currentSerializerVersion
+        && serializerByVersion[currentSerializerVersion] instanceof ORecordSerializerBinaryV2;
+  }
+
   public ODocumentSerializer getSerializer(final int iVersion) {
     return serializerByVersion[iVersion];
   }
@@ -124,15 +144,19 @@ public class ORecordSerializerBinary implements ORecordSerializer {
     } else {
       ODocument documentToSerialize = (ODocument) record;
 
-      final BytesContainer container = new BytesContainer();
-
-      // WRITE SERIALIZER VERSION
-      int pos = container.alloc(1);
-      container.bytes[pos] = currentSerializerVersion;
-      // SERIALIZE RECORD
-      serializerByVersion[currentSerializerVersion].serialize(documentToSerialize, container);
-
-      return container.fitBytes();
+      final BytesContainer container = BytesContainerPool.acquire();
+      try {
+        // WRITE SERIALIZER VERSION
+        int pos = container.alloc(1);
+        container.bytes[pos] = currentSerializerVersion;
+        // SERIALIZE RECORD
+        serializerByVersion[currentSerializerVersion].serialize(documentToSerialize, container);
+
+        // THE CONTAINER GOES BACK TO THE POOL: ALWAYS COPY, fitBytes() WOULD RETURN ITS ARRAY WHEN FULL
+        return Arrays.copyOf(container.bytes, container.offset);
+      } finally {
+        BytesContainerPool.release(container);
+      }
     }
   }
 
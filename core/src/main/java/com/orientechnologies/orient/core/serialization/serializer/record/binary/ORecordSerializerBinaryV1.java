@@ -376,22 +376,26 @@ public class ORecordSerializerBinaryV1 implements ODocumentSerializer {
     destinationBuffer.offset += sourceBuffer1.offset + sourceBuffer2.offset;
   }
 
-  private void serializeDocument(final ODocument document, final BytesContainer bytes, final OClass clazz, OImmutableSchema schema,
-      OPropertyEncryption encryption) {
+  protected void serializeDocument(final ODocument document, final BytesContainer bytes, final OClass clazz,
+      OImmutableSchema schema, OPropertyEncryption encryption) {
     //allocate space for header length
 
     final Map<String, OProperty> props = clazz != null ? clazz.propertiesMap() : null;
     final Set<Entry<String, ODocumentEntry>> fields = ODocumentInternal.rawEntries(document);
 
-    BytesContainer valuesBuffer = new BytesContainer();
-    BytesContainer headerBuffer = new BytesContainer();
-
-    serializeValues(headerBuffer, valuesBuffer, document, fields, props, schema, encryption);
-    int headerLength = headerBuffer.offset;
-    //write header length as soon as possible
-    OVarIntSerializer.write(bytes, headerLength);
-
-    merge(bytes, headerBuffer, valuesBuffer);
+    BytesContainer valuesBuffer = BytesContainerPool.acquire();
+    BytesContainer headerBuffer = BytesContainerPool.acquire();
+    try {
+      serializeValues(headerBuffer, valuesBuffer, document, fields, props, schema, encryption);
+      int headerLength = headerBuffer.offset;
+      //write header length as soon as possible
+      OVarIntSerializer.write(bytes, headerLength);
+
+      merge(bytes, headerBuffer, valuesBuffer);
+    } finally {
+      BytesContainerPool.release(headerBuffer);
+      BytesContainerPool.release(valuesBuffer);
+    }
   }
 
   public void serializeWithClassName(final ODocument document, final BytesContainer bytes) {
@@ -0,0 +1,523 @@
+/*
+ *
+ *  *  Copyright 2010-2016 OrientDB LTD (http://orientdb.com)
+ *  *
+ *  *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  *  you may not use this file except in compliance with the License.
+ *  *  You may obtain a copy of the License at
+ *  *
+ *  *       http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  *  Unless required by applicable law or agreed to in writing, software
+ *  *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  *  See the License for the specific language governing permissions and
+ *  *  limitations under the License.
+ *  *
+ *  * For more information: http://orientdb.com
+ *
+ */
+
+package com.orientechnologies.orient.core.serialization.serializer.record.binary;
+
+import com.orientechnologies.common.serialization.types.OIntegerSerializer;
+import com.orientechnologies.orient.core.collate.OCollate;
+import com.orientechnologies.orient.core.db.ODatabaseDocumentInternal;
+import com.orientechnologies.orient.core.exception.OSerializationException;
+import com.orientechnologies.orient.core.metadata.schema.*;
+import com.orientechnologies.orient.core.metadata.security.OPropertyEncryption;
+import com.orientechnologies.orient.core.record.ORecordInternal;
+import com.orientechnologies.orient.core.record.impl.ODocument;
+import com.orientechnologies.orient.core.record.impl.ODocumentEntry;
+import com.orientechnologies.orient.core.record.impl.ODocumentInternal;
+
+import java.util.*;
+import java.util.Map.Entry;
+import java.util.function.IntFunction;
+
+import static com.orientechnologies.orient.core.serialization.serializer.record.binary.HelperClasses.*;
+
+/**
+ * Record format with an indexed header: the header is a table of fixed size slots, the slots of the schema properties are sorted
+ * by global property id and the ones of the schemaless fields by field name, so a single field is found with a binary search
+ * instead of decoding all the header entries before it.
+ * <p>
+ * Layout:
+ * <pre>
+ * varint  number of property slots
+ * varint  number of named slots
+ * slots   [int key][int value offset][byte type], the key is the global property id or the offset of the name in the names area
+ * varint  length of the names area, then the names, as length prefixed UTF-8
+ * varint  length of the values area, then the values in slot order
+ * </pre>
+ * The length of a value is the distance to the value of the next slot, a zero length value is a null.
+ */
+public class ORecordSerializerBinaryV2 extends ORecordSerializerBinaryV1 {
+
+  private static final int SLOT_SIZE = 2 * OIntegerSerializer.INT_SIZE + 1;
+
+  private static final class Header {
+    private int properties;
+    private int named;
+    private int slotsStart;
+    private int namesStart;
+    private int valuesStart;
+    private int valuesLength;
+  }
+
+  private static final class Slot {
+    private final String         name;
+    private final ODocumentEntry entry;
+    private       byte[]         nameBytes;
+    private       int            key;
+    private       int            valueOffset;
+    private       OType          type;
+    private       byte[]         source;
+    private       int            sourceOffset;
+    private       int            sourceLength;
+
+    private Slot(String name, ODocumentEntry entry) {
+      this.name = name;
+      this.entry = entry;
+    }
+  }
+
+  @Override
+  protected void serializeDocument(final ODocument document, final BytesContainer bytes, final OClass clazz,
+      OImmutableSchema schema, OPropertyEncryption encryption) {
+    final Map<String, OProperty> props = clazz != null ? clazz.propertiesMap() : null;
+    final byte[] undecodedSource = ODocumentInternal.undecodedSource(document);
+
+    final List<Slot> properties = new ArrayList<>();
+    final List<Slot> named = new ArrayList<>();
+    final Set<Entry<String, ODocumentEntry>> fields = undecodedSource != null ?
+        ODocumentInternal.decodedEntries(document) :
+        ODocumentInternal.rawEntries(document);
+    for (Entry<String, ODocumentEntry> field : fields) {
+      final ODocumentEntry docEntry = field.getValue();
+      if (!docEntry.exists()) {
+        continue;
+      }
+      if (docEntry.property == null && props != null) {
+        OProperty prop = props.get(field.getKey());
+        if (prop != null && docEntry.type == prop.getType()) {
+          docEntry.property = prop;
+        }
+      }
+
+      final Slot slot = new Slot(field.getKey(), docEntry);
+      if (docEntry.property == null) {
+        slot.nameBytes = bytesFromString(field.getKey());
+        named.add(slot);
+      } else {
+        slot.key = docEntry.property.getId();
+        properties.add(slot);
+      }
+    }
+    if (undecodedSource != null) {
+      addUndecodedSlots(document, undecodedSource, properties, named);
+    }
+    properties.sort(Comparator.comparingInt(s -> s.key));
+    named.sort((s1, s2) -> compare(s1.nameBytes, 0, s1.nameBytes.length, s2.nameBytes, 0, s2.nameBytes.length));
+
+    final BytesContainer namesBuffer = BytesContainerPool.acquire();
+    final BytesContainer valuesBuffer = BytesContainerPool.acquire();
+    try {
+      for (Slot slot : named) {
+        slot.key = namesBuffer.offset;
+        writeBinary(namesBuffer, slot.nameBytes);
+      }
+
+      final OClass oClass = ODocumentInternal.getImmutableSchemaClass(document);
+      writeValues(valuesBuffer, properties, oClass, schema, encryption);
+      writeValues(valuesBuffer, named, oClass, schema, encryption);
+
+      OVarIntSerializer.write(bytes, properties.size());
+      OVarIntSerializer.write(bytes, named.size());
+      int pos = bytes.alloc((properties.size() + named.size()) * SLOT_SIZE);
+      for (Slot slot : properties) {
+        pos = writeSlot(bytes, pos, slot);
+      }
+      for (Slot slot : named) {
+        pos = writeSlot(bytes, pos, slot);
+      }
+      copy(bytes, namesBuffer);
+      copy(bytes, valuesBuffer);
+    } finally {
+      BytesContainerPool.release(valuesBuffer);
+      BytesContainerPool.release(namesBuffer);
+    }
+  }
+
+  /**
+   * Adds the fields of a dirty document that were never decoded, their values are copied from the source as they are.
+   */
+  private static void addUndecodedSlots(final ODocument document, final byte[] source, final List<Slot> properties,
+      final List<Slot> named) {
+    // SKIP THE SERIALIZER VERSION
+    final BytesContainer bytes = new BytesContainer(source).skip(1);
+    final Header header = readHeader(bytes);
+    for (int i = 0; i < header.properties + header.named; i++) {
+      final String fieldName = fieldName(bytes, header, i, id -> ODocumentInternal.getGlobalPropertyById(document, id));
+      if (ODocumentInternal.rawContainsField(document, fieldName)) {
+        // DECODED, SO CHANGED OR REMOVED: IT IS WRITTEN FROM THE DOCUMENT ENTRY
+        continue;
+      }
+      final Slot slot = new Slot(fieldName, null);
+      slot.type = type(bytes, header, i);
+      slot.source = source;
+      slot.sourceOffset = header.valuesStart + valueOffset(bytes, header, i);
+      slot.sourceLength = valueLength(bytes, header, i);
+      if (i < header.properties) {
+        slot.key = key(bytes, header, i);
+        properties.add(slot);
+      } else {
+        slot.nameBytes = bytesFromString(fieldName);
+        named.add(slot);
+      }
+    }
+  }
+
+  private void writeValues(final BytesContainer valuesBuffer, final List<Slot> slots, final OClass oClass,
+      final OImmutableSchema schema, final OPropertyEncryption encryption) {
+    for (Slot slot : slots) {
+      slot.valueOffset = valuesBuffer.offset;
+      if (slot.entry == null) {
+        final int start = valuesBuffer.alloc(slot.sourceLength);
+        System.arraycopy(slot.source, slot.sourceOffset, valuesBuffer.bytes, start, slot.sourceLength);
+        continue;
+      }
+      final Object value = slot.entry.value;
+      if (value != null) {
+        slot.type = getFieldType(slot.entry);
+        if (slot.type == null) {
+          throw new OSerializationException(
+              "Impossible serialize value of type " + value.getClass() + " with the ODocument binary serializer");
+        }
+        serializeValue(valuesBuffer, value, slot.type, getLinkedType(oClass, slot.type, slot.name), schema, encryption);
+      } else {
+        slot.type = OType.ANY;
+      }
+    }
+  }
+
+  private static int writeSlot(final BytesContainer bytes, int pos, final Slot slot) {
+    OIntegerSerializer.INSTANCE.serializeLiteral(slot.key, bytes.bytes, pos);
+    pos += OIntegerSerializer.INT_SIZE;
+    OIntegerSerializer.INSTANCE.serializeLiteral(slot.valueOffset, bytes.bytes, pos);
+    pos += OIntegerSerializer.INT_SIZE;
+    bytes.bytes[pos] = (byte) slot.type.getId();
+    return pos + 1;
+  }
+
+  private static void copy(final BytesContainer bytes, final BytesContainer source) {
+    OVarIntSerializer.write(bytes, source.offset);
+    final int start = bytes.alloc(source.offset);
+    System.arraycopy(source.bytes, 0, bytes.bytes, start, source.offset);
+  }
+
+  private static Header readHeader(final BytesContainer bytes) {
+    final Header header = new Header();
+    header.properties = OVarIntSerializer.readAsInteger(bytes);
+    header.named = OVarIntSerializer.readAsInteger(bytes);
+    header.slotsStart = bytes.offset;
+    bytes.skip((header.properties + header.named) * SLOT_SIZE);
+    final int namesLength = OVarIntSerializer.readAsInteger(bytes);
+    header.namesStart = bytes.offset;
+    bytes.skip(namesLength);
+    header.valuesLength = OVarIntSerializer.readAsInteger(bytes);
+    header.valuesStart = bytes.offset;
+    return header;
+  }
+
+  private static int key(final BytesContainer bytes, final Header header, final int slot) {
+    return OIntegerSerializer.INSTANCE.deserializeLiteral(bytes.bytes, header.slotsStart + slot * SLOT_SIZE);
+  }
+
+  private static int valueOffset(final BytesContainer bytes, final Header header, final int slot) {
+    return OIntegerSerializer.INSTANCE
+        .deserializeLiteral(bytes.bytes, header.slotsStart + slot * SLOT_SIZE + OIntegerSerializer.INT_SIZE);
+  }
+
+  private static OType type(final BytesContainer bytes, final Header header, final int slot) {
+    return OType.getById(bytes.bytes[header.slotsStart + slot * SLOT_SIZE + 2 * OIntegerSerializer.INT_SIZE]);
+  }
+
+  private static int valueLength(final BytesContainer bytes, final Header header, final int slot) {
+    final int end = slot + 1 < header.properties + header.named ? valueOffset(bytes, header, slot + 1) : header.valuesLength;
+    return end - valueOffset(bytes, header, slot);
+  }
+
+  private static String name(final BytesContainer bytes, final Header header, final int slot) {
+    final BytesContainer names = new BytesContainer(bytes.bytes, header.namesStart + key(bytes, header, slot));
+    final int len = OVarIntSerializer.readAsInteger(names);
+    return stringFromBytes(names.bytes, names.offset, len).intern();
+  }
+
+  private static String fieldName(final BytesContainer bytes, final Header header, final int slot,
+      final IntFunction<OGlobalProperty> globalProperties) {
+    if (slot >= header.properties) {
+      return name(bytes, header, slot);
+    }
+    final int id = key(bytes, header, slot);
+    final OGlobalProperty prop = globalProperties.apply(id);
+    if (prop == null) {
+      throw new OSerializationException("Missing property definition for property id '" + id + "'");
+    }
+    return prop.getName();
+  }
+
+  private static int compare(final byte[] b1, final int offset1, final int length1, final byte[] b2, final int offset2,
+      final int length2) {
+    final int len = Math.min(length1, length2);
+    for (int i = 0; i < len; i++) {
+      final int cmp = (b1[offset1 + i] & 0xFF) - (b2[offset2 + i] & 0xFF);
+      if (cmp != 0) {
+        return cmp;
+      }
+    }
+    return length1 - length2;
+  }
+
+  private static int searchProperty(final BytesContainer bytes, final Header header, final int id) {
+    int low = 0;
+    int high = header.properties - 1;
+    while (low <= high) {
+      final int mid = (low + high) >>> 1;
+      final int key = key(bytes, header, mid);
+      if (key < id) {
+        low = mid + 1;
+      } else if (key > id) {
+        high = mid - 1;
+      } else {
+        return mid;
+      }
+    }
+    return -1;
+  }
+
+  private static int searchName(final BytesContainer bytes, final Header header, final byte[] name) {
+    final BytesContainer names = new BytesContainer(bytes.bytes);
+    int low = header.properties;
+    int high = header.properties + header.named - 1;
+    while (low <= high) {
+      final int mid = (low + high) >>> 1;
+      names.offset = header.namesStart + key(bytes, header, mid);
+      final int len = OVarIntSerializer.readAsInteger(names);
+      final int cmp = compare(names.bytes, names.offset, len, name, 0, name.length);
+      if (cmp < 0) {
+        low = mid + 1;
+      } else if (cmp > 0) {
+        high = mid - 1;
+      } else {
+        return mid;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Looks up the slot of a field: by global id when the class defines the property, then by name, and as last resort scanning the
+   * property slots, for the fields written with the id of a property that is not in the class anymore.
+   *
+   * @return the slot index, -1 if the record does not contain the field
+   */
+  private static int findSlot(final BytesContainer bytes, final Header header, final String fieldName, final OClass clazz,
+      final IntFunction<OGlobalProperty> globalProperties) {
+    OProperty classProp = clazz != null ? clazz.getProperty(fieldName) : null;
+    if (classProp != null) {
+      final int slot = searchProperty(bytes, header, classProp.getId());
+      if (slot >= 0) {
+        return slot;
+      }
+    }
+    final int slot = searchName(bytes, header, bytesFromString(fieldName));
+    if (slot >= 0) {
+      return slot;
+    }
+    for (int i = 0; i < header.properties; i++) {
+      final OGlobalProperty prop = globalProperties.apply(key(bytes, header, i));
+      if (prop != null && fieldName.equals(prop.getName())) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  private Object readValue(final BytesContainer bytes, final Header header, final int slot, final ODocument document) {
+    bytes.offset = header.valuesStart + valueOffset(bytes, header, slot);
+    return deserializeValue(bytes, type(bytes, header, slot), document);
+  }
+
+  @Override
+  public void deserialize(final ODocument document, final BytesContainer bytes) {
+    final Header header = readHeader(bytes);
+    for (int i = 0; i < header.properties + header.named; i++) {
+      final String fieldName = fieldName(bytes, header, i, id -> ODocumentInternal.getGlobalPropertyById(document, id));
+      if (!ODocumentInternal.rawContainsField(document, fieldName)) {
+        if (valueLength(bytes, header, i) != 0) {
+          ODocumentInternal.rawField(document, fieldName, readValue(bytes, header, i, document), type(bytes, header, i));
+        } else {
+          ODocumentInternal.rawField(document, fieldName, null, null);
+        }
+      }
+    }
+
+    ORecordInternal.clearSource(document);
+
+    // EMBEDDED DOCUMENTS ARE READ INSIDE THE BUFFER OF THE OWNER: MOVE AFTER THE LAST VALUE
+    bytes.offset = header.valuesStart + header.valuesLength;
+  }
+
+  @Override
+  public void deserializePartial(final ODocument document, final BytesContainer bytes, final String[] iFields) {
+    final Header header = readHeader(bytes);
+    final OClass clazz = ODocumentInternal.getImmutableSchemaClass(document);
+    for (String field : iFields) {
+      if (ODocumentInternal.rawContainsField(document, field)) {
+        // ALREADY DECODED, MAYBE CHANGED SINCE
+        continue;
+      }
+      final int slot = findSlot(bytes, header, field, clazz, id -> ODocumentInternal.getGlobalPropertyById(document, id));
+      if (slot < 0) {
+        continue;
+      }
+      if (valueLength(bytes, header, slot) != 0) {
+        ODocumentInternal.rawField(document, field, readValue(bytes, header, slot, document), type(bytes, header, slot));
+      } else {
+        ODocumentInternal.rawField(document, field, null, null);
+      }
+    }
+  }
+
+  @Override
+  public OBinaryField deserializeField(final BytesContainer bytes, final OClass iClass, final String iFieldName,
+      boolean embedded, OImmutableSchema schema, OPropertyEncryption encryption) {
+    if (embedded) {
+      skipClassName(bytes);
+    }
+    final Header header = readHeader(bytes);
+    final int slot = findSlot(bytes, header, iFieldName, iClass, schema::getGlobalPropertyById);
+    if (slot < 0) {
+      return null;
+    }
+    final OType type = type(bytes, header, slot);
+    if (valueLength(bytes, header, slot) == 0 || !getComparator().isBinaryComparable(type)) {
+      return null;
+    }
+    bytes.offset = header.valuesStart + valueOffset(bytes, header, slot);
+
+    OCollate collate = null;
+    if (slot < header.properties && iClass != null) {
+      final OProperty classProp = iClass.getProperty(iFieldName);
+      collate = classProp != null ? classProp.getCollate() : null;
+    }
+    return new OBinaryField(iFieldName, type, bytes, collate);
+  }
+
+  @Override
+  public <RET> RET deserializeFieldTyped(BytesContainer bytes, String iFieldName, boolean isEmbedded, OImmutableSchema schema,
+      OPropertyEncryption encryption) {
+    return deserializeFieldTyped(bytes, iFieldName, isEmbedded, null, schema, encryption);
+  }
+
+  @Override
+  public <RET> RET deserializeFieldTyped(BytesContainer bytes, String iFieldName, boolean isEmbedded, OClass iClass,
+      OImmutableSchema schema, OPropertyEncryption encryption) {
+    OClass clazz = iClass;
+    if (isEmbedded) {
+      // EMBEDDED DOCUMENTS CARRY THEIR CLASS NAME
+      final String className = readString(bytes);
+      if (clazz == null && !className.isEmpty() && schema != null) {
+        clazz = schema.getClass(className);
+      }
+    }
+    return deserializeFieldTyped(bytes, iFieldName, clazz, schema);
+  }
+
+  @Override
+  protected <RET> RET deserializeFieldTypedLoopAndReturn(BytesContainer bytes, String iFieldName, final OImmutableSchema schema,
+      OPropertyEncryption encryption) {
+    return deserializeFieldTyped(bytes, iFieldName, null, schema);
+  }
+
+  /**
+   * @param clazz the class of the record, to find the field by property id with a binary search; null if not known
+   */
+  private <RET> RET deserializeFieldTyped(BytesContainer bytes, String iFieldName, final OClass clazz,
+      final OImmutableSchema schema) {
+    final Header header = readHeader(bytes);
+    final int slot = findSlot(bytes, header, iFieldName, clazz, schema::getGlobalPropertyById);
+    if (slot < 0) {
+      return null;
+    }
+    final int fieldLength = valueLength(bytes, header, slot);
+    if (fieldLength == 0) {
+      return null;
+    }
+    bytes.offset = header.valuesStart + valueOffset(bytes, header, slot);
+    Object value = deserializeValue(bytes, type(bytes, header, slot), null, false, fieldLength, false, schema);
+    //noinspection unchecked
+    return (RET) value;
+  }
+
+  @Override
+  public String[] getFieldNames(ODocument reference, final BytesContainer bytes, boolean embedded) {
+    if (embedded) {
+      skipClassName(bytes);
+    }
+    final Header header = readHeader(bytes);
+    final String[] result = new String[header.properties + header.named];
+    for (int i = 0; i < result.length; i++) {
+      result[i] = fieldName(bytes, header, i, id -> ODocumentInternal.getGlobalPropertyById(reference, id));
+    }
+    return result;
+  }
+
+  @Override
+  public void deserializeDebug(BytesContainer bytes, ODatabaseDocumentInternal db, ORecordSerializationDebug debugInfo,
+      OImmutableSchema schema) {
+    debugInfo.properties = new ArrayList<>();
+    final Header header;
+    try {
+      header = readHeader(bytes);
+    } catch (RuntimeException ex) {
+      debugInfo.readingFailure = true;
+      debugInfo.readingException = ex;
+      debugInfo.failPosition = bytes.offset;
+      return;
+    }
+
+    for (int i = 0; i < header.properties + header.named; i++) {
+      final ORecordSerializationDebugProperty debugProperty = new ORecordSerializationDebugProperty();
+      debugInfo.properties.add(debugProperty);
+      try {
+        if (i < header.properties) {
+          debugProperty.globalId = key(bytes, header, i);
+          final OGlobalProperty prop = schema.getGlobalPropertyById(debugProperty.globalId);
+          debugProperty.name = prop != null ? prop.getName() : null;
+        } else {
+          debugProperty.name = name(bytes, header, i);
+        }
+        debugProperty.type = type(bytes, header, i);
+        debugProperty.valuePos = header.valuesStart + valueOffset(bytes, header, i);
+      } catch (RuntimeException ex) {
+        debugInfo.readingFailure = true;
+        debugInfo.readingException = ex;
+        debugInfo.failPosition = bytes.offset;
+        return;
+      }
+
+      if (valueLength(bytes, header, i) != 0) {
+        bytes.offset = debugProperty.valuePos;
+        try {
+          debugProperty.value = deserializeValue(bytes, debugProperty.type, new ODocument());
+        } catch (RuntimeException ex) {
+          debugProperty.faildToRead = true;
+          debugProperty.readingException = ex;
+          debugProperty.failPosition = bytes.offset;
+        }
+      }
+    }
+  }
+}
@@ -19,6 +19,7 @@ import com.orientechnologies.orient.core.db.ODatabaseSession;
 import com.orientechnologies.orient.core.id.ORID;
 import com.orientechnologies.orient.core.id.ORecordId;
 import com.orientechnologies.orient.core.metadata.OMetadataInternal;
+import com.orientechnologies.orient.core.metadata.schema.OClass;
 import com.orientechnologies.orient.core.metadata.schema.OImmutableSchema;
 import com.orientechnologies.orient.core.record.OEdge;
 import com.orientechnologies.orient.core.record.OElement;
@@ -81,7 +82,9 @@ public class OResultBinary implements OResult {
   public <T> T getProperty(String name) {
     BytesContainer bytes = new BytesContainer(this.bytes);
     bytes.skip(offset);
-    return (T) serializer.deserializeFieldTyped(bytes, name, !id.isPresent(), schema, null);
+    // THE CLASS OF A RECORD IS NOT IN ITS CONTENT, IT IS THE CLASS OF ITS CLUSTER
+    OClass clazz = id.isPresent() && schema != null ? schema.getClassByClusterId(id.get().getClusterId()) : null;
+    return (T) serializer.deserializeFieldTyped(bytes, name, !id.isPresent(), clazz, schema, null);
   }
 
   @Override
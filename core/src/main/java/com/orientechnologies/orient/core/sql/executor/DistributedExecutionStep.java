@@ -1,29 +1,46 @@
 package com.orientechnologies.orient.core.sql.executor;
 
 import com.orientechnologies.common.concur.OTimeoutException;
+import com.orientechnologies.common.exception.OException;
+import com.orientechnologies.orient.core.Orient;
 import com.orientechnologies.orient.core.command.OCommandContext;
 import com.orientechnologies.orient.core.db.ODatabaseDocumentInternal;
+import com.orientechnologies.orient.core.db.ODatabaseRecordThreadLocal;
+import com.orientechnologies.orient.core.exception.OCommandExecutionException;
 
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 
 /**
+ * Executes a part of a sharded query on a remote node. The node receives the statement and the clusters it has to query, plans
+ * its part of the query with {@link OSelectExecutionPlanner#createShardExecutionPlan(OCommandContext, Set, boolean, boolean)} and
+ * sends back the results one page at a time.
+ * <p>
  * Created by luigidellaquila on 08/05/17.
  */
 public class DistributedExecutionStep extends AbstractExecutionStep {
 
   private final OSelectExecutionPlan subExecuitonPlan;
   private final String               nodeName;
+  private final String               statement;
+  private final Set<String>          clusters;
+  private final boolean              pushDown;
 
-  private boolean inited;
+  private Future<OResultSet>        pendingResultSet;
+  private OResultSet                remoteResultSet;
+  private ODatabaseDocumentInternal taskDatabase;
 
-  private OResultSet remoteResultSet;
-
-  public DistributedExecutionStep(OSelectExecutionPlan subExecutionPlan, String nodeName, OCommandContext ctx,
-      boolean profilingEnabled) {
+  public DistributedExecutionStep(OSelectExecutionPlan subExecutionPlan, String nodeName, String statement, Set<String> clusters,
+      boolean pushDown, OCommandContext ctx, boolean profilingEnabled) {
     super(ctx, profilingEnabled);
     this.subExecuitonPlan = subExecutionPlan;
     this.nodeName = nodeName;
+    this.statement = statement;
+    this.clusters = clusters;
+    this.pushDown = pushDown;
   }
 
   @Override
@@ -31,14 +48,20 @@ public class DistributedExecutionStep extends AbstractExecutionStep {
     init(ctx);
     getPrev().ifPresent(x -> x.syncPull(ctx, nRecords));
     return new OResultSet() {
+      private int localCount = 0;
+
       @Override
       public boolean hasNext() {
-        throw new UnsupportedOperationException("Implement distributed execution step!");
+        return localCount < nRecords && remoteResultSet.hasNext();
       }
 
       @Override
       public OResult next() {
-        throw new UnsupportedOperationException("Implement distributed execution step!");
+        if (!hasNext()) {
+          throw new IllegalStateException();
+        }
+        localCount++;
+        return remoteResultSet.next();
       }
 
       @Override
@@ -58,24 +81,77 @@ public class DistributedExecutionStep extends AbstractExecutionStep {
     };
   }
 
-  public void init(OCommandContext ctx) {
-    if (!inited) {
-      inited = true;
-      this.remoteResultSet = sendSerializedExecutionPlan(nodeName, subExecuitonPlan, ctx);
+  /**
+   * sends the query to the remote node without waiting for the first page of results, so that more nodes can work concurrently
+   */
+  public void start(OCommandContext ctx) {
+    if (pendingResultSet != null || remoteResultSet != null) {
+      return;
     }
+    // the request is sent on behalf of the user of the current database, with a session of its own: a session cannot be used by
+    // more threads at the same time
+    final ODatabaseDocumentInternal db = ((ODatabaseDocumentInternal) ctx.getDatabase()).copy();
+    final Map<Object, Object> params = ctx.getInputParameters();
+    taskDatabase = db;
+    pendingResultSet = Orient.instance().submit(() -> {
+      db.activateOnCurrentThread();
+      try {
+        return db.queryOnNode(nodeName, statement, clusters, pushDown, params);
+      } finally {
+        ODatabaseRecordThreadLocal.instance().remove();
+      }
+    });
   }
 
-  private OResultSet sendSerializedExecutionPlan(String nodeName, OExecutionPlan serializedExecutionPlan, OCommandContext ctx) {
-    ODatabaseDocumentInternal db = (ODatabaseDocumentInternal) ctx.getDatabase();
-    return db.queryOnNode(nodeName, serializedExecutionPlan, ctx.getInputParameters());
+  public void init(OCommandContext ctx) {
+    if (remoteResultSet == null) {
+      start(ctx);
+      try {
+        this.remoteResultSet = pendingResultSet.get();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw OException.wrapException(new OCommandExecutionException("Interrupted while executing the query on node " + nodeName), e);
+      } catch (ExecutionException e) {
+        if (e.getCause() instanceof RuntimeException) {
+          throw (RuntimeException) e.getCause();
+        }
+        throw OException.wrapException(new OCommandExecutionException("Error executing the query on node " + nodeName), e.getCause());
+      } finally {
+        pendingResultSet = null;
+      }
+    }
   }
 
   @Override
   public void close() {
     super.close();
+    if (this.remoteResultSet == null && this.pendingResultSet != null) {
+      try {
+        this.remoteResultSet = pendingResultSet.get();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      } catch (ExecutionException e) {
+        // NOTHING TO CLOSE
+      }
+      pendingResultSet = null;
+    }
     if (this.remoteResultSet != null) {
       this.remoteResultSet.close();
     }
+    if (taskDatabase != null) {
+      final ODatabaseDocumentInternal current = ODatabaseRecordThreadLocal.instance().getIfDefined();
+      try {
+        taskDatabase.activateOnCurrentThread();
+        taskDatabase.close();
+      } finally {
+        taskDatabase = null;
+        if (current != null) {
+          current.activateOnCurrentThread();
+        } else {
+          ODatabaseRecordThreadLocal.instance().remove();
+        }
+      }
+    }
   }
 
   @Override
@@ -0,0 +1,69 @@
+package com.orientechnologies.orient.core.sql.executor;
+
+import com.orientechnologies.common.concur.OTimeoutException;
+import com.orientechnologies.orient.core.command.OCommandContext;
+import com.orientechnologies.orient.core.db.ODatabaseDocumentInternal;
+import com.orientechnologies.orient.core.metadata.security.ORole;
+import com.orientechnologies.orient.core.metadata.security.ORule;
+
+import java.util.Collections;
+import java.util.Iterator;
+
+/**
+ * Returns the queries of the slow query log of the database, the most recent first. The log has the statements and the
+ * parameters of all the users, so it can be read only by the users that can update the database.
+ *
+ * @see OSlowQueryLog
+ */
+public class FetchFromSlowQueryLogStep extends AbstractExecutionStep {
+
+  private Iterator<OSlowQueryLog.Entry> entries = null;
+  private long                          cost    = 0;
+
+  public FetchFromSlowQueryLogStep(OCommandContext ctx, boolean profilingEnabled) {
+    super(ctx, profilingEnabled);
+  }
+
+  @Override
+  public OResultSet syncPull(OCommandContext ctx, int nRecords) throws OTimeoutException {
+    getPrev().ifPresent(x -> x.syncPull(ctx, nRecords));
+    long begin = profilingEnabled ? System.nanoTime() : 0;
+    try {
+      if (entries == null) {
+        ((ODatabaseDocumentInternal) ctx.getDatabase()).checkSecurity(ORule.ResourceGeneric.DATABASE, ORole.PERMISSION_UPDATE);
+        OSlowQueryLog log = OSlowQueryLog.get(ctx.getDatabase());
+        entries = log == null ? Collections.emptyIterator() : log.getEntries().iterator();
+      }
+
+      OInternalResultSet result = new OInternalResultSet();
+      for (int i = 0; i < nRecords && entries.hasNext(); i++) {
+        result.add(entries.next().toResult());
+      }
+      return result;
+    } finally {
+      if (profilingEnabled) {
+        cost += (System.nanoTime() - begin);
+      }
+    }
+  }
+
+  @Override
+  public void reset() {
+    entries = null;
+  }
+
+  @Override
+  public String prettyPrint(int depth, int indent) {
+    String spaces = OExecutionStepInternal.getIndent(depth, indent);
+    String result = spaces + "+ FETCH SLOW QUERY LOG";
+    if (profilingEnabled) {
+      result += " (" + getCostFormatted() + ")";
+    }
+    return result;
+  }
+
+  @Override
+  public long getCost() {
+    return cost;
+  }
+}
@@ -0,0 +1,91 @@
+package com.orientechnologies.orient.core.sql.executor;
+
+import com.orientechnologies.common.concur.OTimeoutException;
+import com.orientechnologies.orient.core.command.OCommandContext;
+import com.orientechnologies.orient.core.db.ODatabaseDocumentInternal;
+import com.orientechnologies.orient.core.db.ODatabaseInternal;
+import com.orientechnologies.orient.core.metadata.security.ORole;
+import com.orientechnologies.orient.core.metadata.security.ORule;
+import com.orientechnologies.orient.core.storage.OStorage;
+import com.orientechnologies.orient.core.storage.impl.local.OAbstractPaginatedStorage;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Returns the statistics of the durable components (clusters, indexes...) of the storage, one record per component. The
+ * statistics describe the load of the whole server, so they can be read only by the users that can update the database.
+ *
+ * @see OAbstractPaginatedStorage#getComponentStatistics()
+ */
+public class FetchFromStorageStatsStep extends AbstractExecutionStep {
+
+  private Iterator<Map.Entry<String, Map<String, Long>>> components = null;
+  private long                                           cost       = 0;
+
+  public FetchFromStorageStatsStep(OCommandContext ctx, boolean profilingEnabled) {
+    super(ctx, profilingEnabled);
+  }
+
+  @Override
+  public OResultSet syncPull(OCommandContext ctx, int nRecords) throws OTimeoutException {
+    getPrev().ifPresent(x -> x.syncPull(ctx, nRecords));
+    long begin = profilingEnabled ? System.nanoTime() : 0;
+    try {
+      if (components == null) {
+        ((ODatabaseDocumentInternal) ctx.getDatabase()).checkSecurity(ORule.ResourceGeneric.DATABASE, ORole.PERMISSION_UPDATE);
+        components = Collections.emptyIterator();
+        if (ctx.getDatabase() instanceof ODatabaseInternal) {
+          OStorage storage = ((ODatabaseInternal) ctx.getDatabase()).getStorage().getUnderlying();
+          if (storage instanceof OAbstractPaginatedStorage) {
+            components = ((OAbstractPaginatedStorage) storage).getComponentStatistics().entrySet().iterator();
+          }
+        }
+      }
+
+      OInternalResultSet result = new OInternalResultSet();
+      for (int i = 0; i < nRecords && components.hasNext(); i++) {
+        result.add(toResult(components.next()));
+      }
+      return result;
+    } finally {
+      if (profilingEnabled) {
+        cost += (System.nanoTime() - begin);
+      }
+    }
+  }
+
+  private static OResult toResult(Map.Entry<String, Map<String, Long>> component) {
+    OResultInternal result = new OResultInternal();
+    result.setProperty("name", component.getKey());
+    for (Map.Entry<String, Long> value : component.getValue().entrySet()) {
+      result.setProperty(value.getKey(), value.getValue());
+    }
+
+    long accesses = component.getValue().get("pageReads") + component.getValue().get("pageWrites");
+    long misses = component.getValue().get("cacheMisses");
+    result.setProperty("cacheHitRate", accesses == 0 ? null : Math.max(0, accesses - misses) / (double) accesses);
+    return result;
+  }
+
+  @Override
+  public void reset() {
+    components = null;
+  }
+
+  @Override
+  public String prettyPrint(int depth, int indent) {
+    String spaces = OExecutionStepInternal.getIndent(depth, indent);
+    String result = spaces + "+ FETCH STORAGE STATISTICS";
+    if (profilingEnabled) {
+      result += " (" + getCostFormatted() + ")";
+    }
+    return result;
+  }
+
+  @Override
+  public long getCost() {
+    return cost;
+  }
+}
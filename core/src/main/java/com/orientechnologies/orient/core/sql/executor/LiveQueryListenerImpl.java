@@ -1,6 +1,7 @@
 package com.orientechnologies.orient.core.sql.executor;
 
 import com.orientechnologies.common.util.OCallable;
+import com.orientechnologies.orient.core.collate.ODefaultCollate;
 import com.orientechnologies.orient.core.command.OBasicCommandContext;
 import com.orientechnologies.orient.core.command.OCommandContext;
 import com.orientechnologies.orient.core.db.ODatabaseDocumentInternal;
@@ -12,13 +13,14 @@ import com.orientechnologies.orient.core.db.record.ORecordOperation;
 import com.orientechnologies.orient.core.exception.OCommandExecutionException;
 import com.orientechnologies.orient.core.id.ORecordId;
 import com.orientechnologies.orient.core.metadata.schema.OClass;
+import com.orientechnologies.orient.core.metadata.schema.OProperty;
 import com.orientechnologies.orient.core.query.live.OLiveQueryHookV2;
 import com.orientechnologies.orient.core.query.live.OLiveQueryListenerV2;
+import com.orientechnologies.orient.core.query.live.OLiveQueryRoute;
 import com.orientechnologies.orient.core.sql.OSQLEngine;
-import com.orientechnologies.orient.core.sql.parser.OSelectStatement;
-import com.orientechnologies.orient.core.sql.parser.OStatement;
-import com.orientechnologies.orient.core.sql.parser.OWhereClause;
+import com.orientechnologies.orient.core.sql.parser.*;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -39,6 +41,7 @@ public class LiveQueryListenerImpl implements OLiveQueryListenerV2 {
   private       List<ORecordId>  rids;
 
   private final Map<Object, Object> params;
+  private       OLiveQueryRoute     route;
 
   private              int    token;
   private static final Random random = new Random();
@@ -80,6 +83,7 @@ public class LiveQueryListenerImpl implements OLiveQueryListenerV2 {
     synchronized (random) {
       token = random.nextInt();// TODO do something better ;-)!
     }
+    route = calculateRoute((ODatabaseDocumentInternal) db);
     OLiveQueryHookV2.subscribe(token, this, (ODatabaseInternal) db);
 
     OCommandContext ctx = new OBasicCommandContext();
@@ -119,6 +123,62 @@ public class LiveQueryListenerImpl implements OLiveQueryListenerV2 {
     return token;
   }
 
+  @Override
+  public OLiveQueryRoute getRoute() {
+    return route;
+  }
+
+  /**
+   * Routes the live query by its target class and, if the WHERE condition requires it, by the value of a field. The value is
+   * used only if it is a constant or an input parameter and the field has no collate, as the route matches exact values.
+   */
+  private OLiveQueryRoute calculateRoute(ODatabaseDocumentInternal db) {
+    if (className == null) {
+      return null;
+    }
+    OWhereClause where = statement.getWhereClause();
+    if (where != null) {
+      List<OAndBlock> flattened = where.flatten();
+      if (flattened.size() == 1) {
+        OBasicCommandContext ctx = new OBasicCommandContext();
+        ctx.setInputParameters(params);
+        for (OBooleanExpression condition : flattened.get(0).getSubBlocks()) {
+          if (condition instanceof OBinaryCondition) {
+            OBinaryCondition binaryCondition = (OBinaryCondition) condition;
+            if (binaryCondition.getOperator() instanceof OEqualsCompareOperator && binaryCondition.getLeft().isBaseIdentifier()
+                && binaryCondition.getRight().isLiteralOrInputParameter()) {
+              String fieldName = binaryCondition.getLeft().getDefaultAlias().getStringValue();
+              Object value = binaryCondition.getRight().execute((OResult) null, ctx);
+              if (value != null && !hasCollate(db, fieldName)) {
+                return new OLiveQueryRoute(className, fieldName, value);
+              }
+            }
+          }
+        }
+      }
+    }
+    return new OLiveQueryRoute(className, null, null);
+  }
+
+  /**
+   * @return true if the field has a collate other than the default one in the class of the query or in one of its subclasses
+   */
+  private boolean hasCollate(ODatabaseDocumentInternal db, String fieldName) {
+    OClass clazz = db.getMetadata().getImmutableSchemaSnapshot().getClass(className);
+    if (clazz == null) {
+      return true;
+    }
+    List<OClass> classes = new ArrayList<>(clazz.getAllSubclasses());
+    classes.add(clazz);
+    for (OClass c : classes) {
+      OProperty property = c.getProperty(fieldName);
+      if (property != null && property.getCollate() != null && !ODefaultCollate.NAME.equals(property.getCollate().getName())) {
+        return true;
+      }
+    }
+    return false;
+  }
+
   @Override
   public void onLiveResult(OLiveQueryHookV2.OLiveQueryOp iRecord) {
     execDb.activateOnCurrentThread();
@@ -0,0 +1,206 @@
+package com.orientechnologies.orient.core.sql.executor;
+
+import com.orientechnologies.common.concur.OTimeoutException;
+import com.orientechnologies.orient.core.command.OCommandContext;
+import com.orientechnologies.orient.core.exception.OCommandExecutionException;
+import com.orientechnologies.orient.core.sql.OSQLEngine;
+import com.orientechnologies.orient.core.sql.functions.OSQLFunction;
+import com.orientechnologies.orient.core.sql.parser.*;
+
+import java.util.*;
+
+/**
+ * Merges the partial aggregates calculated by the nodes of a sharded query. Each node returns one row per GROUP BY key, with the
+ * partial value of every aggregate projection; this step groups them again and merges the partial values with {@link
+ * OSQLFunction#mergeDistributedResult(List)}. The result has the same shape as the one of {@link AggregateProjectionCalculationStep}.
+ *
+ * @see OSelectExecutionPlanner
+ */
+public class MergeAggregateProjectionStep extends AbstractExecutionStep {
+
+  /**
+   * aggregate functions whose partial results can be merged without knowing the single values
+   */
+  private static final Set<String> MERGEABLE_FUNCTIONS = new HashSet<>(Arrays.asList("count", "sum", "min", "max"));
+
+  private final OProjection projection;
+  private final OGroupBy    groupBy;
+
+  private List<OResultInternal> finalResults = null;
+
+  private int  nextItem = 0;
+  private long cost     = 0;
+
+  public MergeAggregateProjectionStep(OProjection projection, OGroupBy groupBy, OCommandContext ctx, boolean profilingEnabled) {
+    super(ctx, profilingEnabled);
+    this.projection = projection;
+    this.groupBy = groupBy;
+  }
+
+  /**
+   * @param projection an aggregate projection, as split by the query planner
+   *
+   * @return true if all the aggregate functions of the projection can be calculated partially and then merged
+   */
+  public static boolean canMerge(OProjection projection) {
+    for (OProjectionItem item : projection.getItems()) {
+      if (item.isAggregate()) {
+        String function = getFunctionName(item);
+        if (function == null || !MERGEABLE_FUNCTIONS.contains(function.toLowerCase(Locale.ENGLISH))) {
+          return false;
+        }
+      }
+    }
+    return true;
+  }
+
+  private static String getFunctionName(OProjectionItem item) {
+    OExpression exp = item.getExpression();
+    if (exp == null || !(exp.getMathExpression() instanceof OBaseExpression)) {
+      return null;
+    }
+    OBaseExpression base = (OBaseExpression) exp.getMathExpression();
+    if (base.getModifier() != null || base.getIdentifier() == null || base.getIdentifier().getSuffix() != null) {
+      return null;
+    }
+    OLevelZeroIdentifier levelZero = base.getIdentifier().getLevelZero();
+    if (levelZero == null || levelZero.getFunctionCall() == null) {
+      return null;
+    }
+    return levelZero.getFunctionCall().getName().getStringValue();
+  }
+
+  @Override
+  public OResultSet syncPull(OCommandContext ctx, int nRecords) throws OTimeoutException {
+    if (finalResults == null) {
+      executeMerge(ctx, nRecords);
+    }
+
+    return new OResultSet() {
+      private int localNext = 0;
+
+      @Override
+      public boolean hasNext() {
+        return localNext < nRecords && nextItem < finalResults.size();
+      }
+
+      @Override
+      public OResult next() {
+        if (!hasNext()) {
+          throw new IllegalStateException();
+        }
+        OResult result = finalResults.get(nextItem);
+        nextItem++;
+        localNext++;
+        return result;
+      }
+
+      @Override
+      public void close() {
+
+      }
+
+      @Override
+      public Optional<OExecutionPlan> getExecutionPlan() {
+        return Optional.empty();
+      }
+
+      @Override
+      public Map<String, Long> getQueryStats() {
+        return null;
+      }
+    };
+  }
+
+  private void executeMerge(OCommandContext ctx, int nRecords) {
+    if (!prev.isPresent()) {
+      throw new OCommandExecutionException("Cannot merge partial aggregates without a previous result");
+    }
+    //the key is the GROUP BY key, the value contains the list of partial values of each aggregate
+    Map<List, OResultInternal> partialResults = new LinkedHashMap<>();
+    OExecutionStepInternal prevStep = prev.get();
+    OResultSet lastRs = prevStep.syncPull(ctx, nRecords);
+    while (lastRs.hasNext()) {
+      collect(lastRs.next(), partialResults, ctx);
+      if (!lastRs.hasNext()) {
+        lastRs = prevStep.syncPull(ctx, nRecords);
+      }
+    }
+
+    long begin = profilingEnabled ? System.nanoTime() : 0;
+    try {
+      Map<String, OSQLFunction> functions = new HashMap<>();
+      for (OProjectionItem item : projection.getItems()) {
+        if (item.isAggregate()) {
+          functions.put(item.getProjectionAliasAsString(), OSQLEngine.getInstance().getFunction(getFunctionName(item)));
+        }
+      }
+      finalResults = new ArrayList<>(partialResults.values());
+      for (OResultInternal item : finalResults) {
+        for (Map.Entry<String, OSQLFunction> function : functions.entrySet()) {
+          List<Object> partials = (List<Object>) item.getTemporaryProperty(function.getKey());
+          item.setTemporaryProperty(function.getKey(), function.getValue().mergeDistributedResult(partials));
+        }
+      }
+    } finally {
+      if (profilingEnabled) {
+        cost += (System.nanoTime() - begin);
+      }
+    }
+  }
+
+  private void collect(OResult next, Map<List, OResultInternal> partialResults, OCommandContext ctx) {
+    long begin = profilingEnabled ? System.nanoTime() : 0;
+    try {
+      List<Object> key = new ArrayList<>();
+      if (groupBy != null) {
+        for (OExpression item : groupBy.getItems()) {
+          key.add(item.execute(next, ctx));
+        }
+      }
+      OResultInternal merged = partialResults.get(key);
+      if (merged == null) {
+        merged = new OResultInternal();
+        partialResults.put(key, merged);
+      }
+
+      for (OProjectionItem proj : projection.getItems()) {
+        String alias = proj.getProjectionAliasAsString();
+        if (proj.isAggregate()) {
+          List<Object> partials = (List<Object>) merged.getTemporaryProperty(alias);
+          if (partials == null) {
+            partials = new ArrayList<>();
+            merged.setTemporaryProperty(alias, partials);
+          }
+          Object partial = next.getProperty(alias);
+          if (partial != null) {
+            partials.add(partial);
+          }
+        } else {
+          merged.setProperty(alias, next.getProperty(alias));
+        }
+      }
+    } finally {
+      if (profilingEnabled) {
+        cost += (System.nanoTime() - begin);
+      }
+    }
+  }
+
+  @Override
+  public String prettyPrint(int depth, int indent) {
+    String spaces = OExecutionStepInternal.getIndent(depth, indent);
+    String result = spaces + "+ MERGE PARTIAL AGGREGATES";
+    if (profilingEnabled) {
+      result += " (" + getCostFormatted() + ")";
+    }
+    result +=
+        "\n" + spaces + "      " + projection.toString() + "" + (groupBy == null ? "" : (spaces + "\n  " + groupBy.toString()));
+    return result;
+  }
+
+  @Override
+  public long getCost() {
+    return cost;
+  }
+}
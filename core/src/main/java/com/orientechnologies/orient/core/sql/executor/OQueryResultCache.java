@@ -0,0 +1,633 @@
+package com.orientechnologies.orient.core.sql.executor;
+
+import com.orientechnologies.orient.core.collate.ODefaultCollate;
+import com.orientechnologies.orient.core.command.OBasicCommandContext;
+import com.orientechnologies.orient.core.config.OStorageConfiguration;
+import com.orientechnologies.orient.core.db.ODatabaseDocumentInternal;
+import com.orientechnologies.orient.core.db.OMetadataUpdateListener;
+import com.orientechnologies.orient.core.db.document.ODatabaseDocument;
+import com.orientechnologies.orient.core.db.record.ORecordOperation;
+import com.orientechnologies.orient.core.index.OIndexManagerAbstract;
+import com.orientechnologies.orient.core.metadata.schema.OClass;
+import com.orientechnologies.orient.core.metadata.schema.OImmutableClass;
+import com.orientechnologies.orient.core.metadata.schema.OProperty;
+import com.orientechnologies.orient.core.metadata.schema.OSchemaShared;
+import com.orientechnologies.orient.core.metadata.security.OSecurityUser;
+import com.orientechnologies.orient.core.record.ORecord;
+import com.orientechnologies.orient.core.record.impl.ODocument;
+import com.orientechnologies.orient.core.sql.parser.*;
+import com.orientechnologies.orient.core.storage.cache.chm.FrequencySketch;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Cache of the results of the queries executed with the new SQL executor. Only the queries that start with the {@value #HINT}
+ * hint are cached, and only if they read a single class and depend only on the fields of its records: no LET, no subqueries, no
+ * method calls or traversals in the projections, and conditions made of simple comparisons between fields and constant values.
+ * <p>
+ * The entries are invalidated when a transaction that changed the class of the query commits. The equality conditions of the
+ * query are compared with the values of the changed records before and after the transaction, so a change invalidates only the
+ * queries that could have returned the record. The number of entries is bounded, and they are evicted with a W-TinyLFU policy: a
+ * small LRU window for the new entries, and a main LRU segment where an entry is admitted only if it is used more often than the
+ * one it replaces.
+ */
+public class OQueryResultCache implements OMetadataUpdateListener {
+  public static final String HINT = "/*+ CACHE */";
+
+  private final int maxEntries;
+  private final int maxResultsetSize;
+  private final int windowSize;
+
+  private final LinkedHashMap<Key, Entry>   window         = new LinkedHashMap<>(16, 0.75f, true);
+  private final LinkedHashMap<Key, Entry>   main           = new LinkedHashMap<>(16, 0.75f, true);
+  private final Map<String, Set<Entry>>     entriesByClass = new HashMap<>();
+  private final FrequencySketch             sketch         = new FrequencySketch();
+  /**
+   * class name -> epoch of the last commit that changed it
+   */
+  private final Map<String, Long>           epochs         = new HashMap<>();
+  private       long                        lastEpoch      = 0;
+  private       long                        clearedAt      = 0;
+  private final Map<ODatabaseDocument, PendingChanges> pending = new ConcurrentHashMap<>();
+
+  private final AtomicLong hits   = new AtomicLong();
+  private final AtomicLong misses = new AtomicLong();
+
+  public OQueryResultCache(int maxEntries, int maxResultsetSize) {
+    this.maxEntries = Math.max(0, maxEntries);
+    this.maxResultsetSize = maxResultsetSize;
+    this.windowSize = Math.max(1, this.maxEntries / 100);
+    if (this.maxEntries > 0) {
+      sketch.ensureCapacity(this.maxEntries);
+    }
+  }
+
+  public boolean isEnabled() {
+    return maxEntries > 0;
+  }
+
+  /**
+   * @return true if the query text starts with a hint comment that contains CACHE
+   */
+  public static boolean hasCacheHint(String query) {
+    String text = query.trim();
+    if (!text.startsWith("/*+")) {
+      return false;
+    }
+    int end = text.indexOf("*/");
+    if (end < 0) {
+      return false;
+    }
+    for (String hint : text.substring(3, end).trim().split("\\s+")) {
+      if ("CACHE".equalsIgnoreCase(hint)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  public OResultSet execute(ODatabaseDocumentInternal db, String query, OStatement statement, Object[] args,
+      Supplier<OResultSet> execution) {
+    Map<Object, Object> params = new HashMap<>();
+    if (args != null) {
+      for (int i = 0; i < args.length; i++) {
+        params.put(i, args[i]);
+      }
+    }
+    return execute(db, query, statement, params, execution);
+  }
+
+  /**
+   * Returns the results of a query from the cache, or executes it with the given supplier and caches its results.
+   */
+  public OResultSet execute(ODatabaseDocumentInternal db, String query, OStatement statement, Map<Object, Object> params,
+      Supplier<OResultSet> execution) {
+    if (!isEnabled() || !(statement instanceof OSelectStatement) || !hasCacheHint(query) || db.getTransaction().isActive()) {
+      return execution.get();
+    }
+    OBasicCommandContext ctx = new OBasicCommandContext();
+    ctx.setDatabase(db);
+    ctx.setInputParameters(params);
+    Target target = analyze(db, (OSelectStatement) statement, ctx);
+    if (target == null) {
+      return execution.get();
+    }
+
+    OSecurityUser user = db.getUser();
+    Key key = new Key(user == null ? null : user.getName(), db.getSharedContext().getSecurity().getVersion(db), query,
+        params == null ? Collections.emptyMap() : new HashMap<>(params));
+    long epoch;
+    synchronized (this) {
+      sketch.increment(key.hashCode());
+      Entry entry = window.get(key);
+      if (entry == null) {
+        entry = main.get(key);
+      }
+      if (entry != null) {
+        hits.incrementAndGet();
+        return new BufferedResultSet(copy(entry.results), null);
+      }
+      epoch = getEpoch(target.className);
+    }
+    misses.incrementAndGet();
+
+    OResultSet original = execution.get();
+    List<OResult> fetched = new ArrayList<>();
+    while (original.hasNext()) {
+      if (fetched.size() >= maxResultsetSize) {
+        // too big to be cached, the rest of the results is streamed
+        return new BufferedResultSet(fetched, original);
+      }
+      fetched.add(original.next());
+    }
+    original.close();
+
+    Entry entry = new Entry(key, target.className, target.conditions, copy(fetched));
+    synchronized (this) {
+      if (epoch == getEpoch(target.className)) {
+        put(entry);
+      }
+    }
+    return new BufferedResultSet(fetched, null);
+  }
+
+  /**
+   * Records a change of a transaction, it invalidates the cached queries when the transaction commits.
+   */
+  public void addChange(ODatabaseDocument db, OImmutableClass clazz, ODocument doc, byte type) {
+    if (!isEnabled()) {
+      return;
+    }
+    Set<String> classNames = new HashSet<>();
+    classNames.add(clazz.getName().toLowerCase(Locale.ENGLISH));
+    for (OClass superClass : clazz.getAllSuperClasses()) {
+      classNames.add(superClass.getName().toLowerCase(Locale.ENGLISH));
+    }
+
+    Set<String> watchedFields = null;
+    synchronized (this) {
+      for (String className : classNames) {
+        Set<Entry> entries = entriesByClass.get(className);
+        if (entries != null) {
+          if (watchedFields == null) {
+            watchedFields = new HashSet<>();
+          }
+          for (Entry entry : entries) {
+            watchedFields.addAll(entry.conditions.keySet());
+          }
+        }
+      }
+    }
+
+    PendingChanges changes = pending.computeIfAbsent(db, x -> new PendingChanges());
+    changes.classNames.addAll(classNames);
+    if (watchedFields == null) {
+      // nothing cached on these classes yet, the queries cached before the commit are all invalidated
+      changes.unwatchedClassNames.addAll(classNames);
+      return;
+    }
+
+    Map<String, Object> before = null;
+    Map<String, Object> after = null;
+    if (type != ORecordOperation.CREATED) {
+      before = new HashMap<>();
+      Set<String> dirtyFields = new HashSet<>(Arrays.asList(doc.getDirtyFields()));
+      for (String field : watchedFields) {
+        before.put(field, dirtyFields.contains(field) ? doc.getOriginalValue(field) : doc.getProperty(field));
+      }
+    }
+    if (type != ORecordOperation.DELETED) {
+      after = new HashMap<>();
+      for (String field : watchedFields) {
+        after.put(field, doc.getProperty(field));
+      }
+    }
+    changes.changes.add(new Change(classNames, before, after));
+  }
+
+  /**
+   * Invalidates the cached queries affected by the changes of the transaction just committed by a database.
+   */
+  public void notifyCommit(ODatabaseDocument db) {
+    PendingChanges changes = pending.remove(db);
+    if (changes == null) {
+      return;
+    }
+    synchronized (this) {
+      for (String className : changes.classNames) {
+        epochs.put(className, ++lastEpoch);
+      }
+      for (String className : changes.unwatchedClassNames) {
+        Set<Entry> entries = entriesByClass.get(className);
+        if (entries != null) {
+          for (Entry entry : new ArrayList<>(entries)) {
+            remove(entry);
+          }
+        }
+      }
+      for (Change change : changes.changes) {
+        for (String className : change.classNames) {
+          Set<Entry> entries = entriesByClass.get(className);
+          if (entries != null) {
+            for (Entry entry : new ArrayList<>(entries)) {
+              if (matches(entry.conditions, change.before) || matches(entry.conditions, change.after)) {
+                remove(entry);
+              }
+            }
+          }
+        }
+      }
+    }
+  }
+
+  public void discardChanges(ODatabaseDocument db) {
+    pending.remove(db);
+  }
+
+  public synchronized void clear() {
+    window.clear();
+    main.clear();
+    entriesByClass.clear();
+    epochs.clear();
+    clearedAt = ++lastEpoch;
+  }
+
+  public synchronized int size() {
+    return window.size() + main.size();
+  }
+
+  public long getHits() {
+    return hits.get();
+  }
+
+  public long getMisses() {
+    return misses.get();
+  }
+
+  private long getEpoch(String className) {
+    Long epoch = epochs.get(className);
+    return epoch == null ? clearedAt : Math.max(epoch, clearedAt);
+  }
+
+  private void put(Entry entry) {
+    Entry previous = window.remove(entry.key);
+    if (previous == null) {
+      previous = main.remove(entry.key);
+    }
+    if (previous != null) {
+      unregister(previous);
+    }
+    window.put(entry.key, entry);
+    entriesByClass.computeIfAbsent(entry.className, x -> new HashSet<>()).add(entry);
+
+    if (window.size() > windowSize) {
+      Iterator<Entry> windowIterator = window.values().iterator();
+      Entry candidate = windowIterator.next();
+      windowIterator.remove();
+      if (main.size() < maxEntries - windowSize) {
+        main.put(candidate.key, candidate);
+        return;
+      }
+      Iterator<Entry> mainIterator = main.values().iterator();
+      Entry victim = mainIterator.hasNext() ? mainIterator.next() : null;
+      if (victim != null && sketch.frequency(candidate.key.hashCode()) > sketch.frequency(victim.key.hashCode())) {
+        mainIterator.remove();
+        unregister(victim);
+        main.put(candidate.key, candidate);
+      } else {
+        unregister(candidate);
+      }
+    }
+  }
+
+  private void remove(Entry entry) {
+    if (window.remove(entry.key) == null) {
+      main.remove(entry.key);
+    }
+    unregister(entry);
+  }
+
+  private void unregister(Entry entry) {
+    Set<Entry> entries = entriesByClass.get(entry.className);
+    if (entries != null) {
+      entries.remove(entry);
+      if (entries.isEmpty()) {
+        entriesByClass.remove(entry.className);
+      }
+    }
+  }
+
+  /**
+   * @return false only if the values of the record do not satisfy the equality conditions of a query
+   */
+  private static boolean matches(Map<String, Object> conditions, Map<String, Object> values) {
+    if (values == null) {
+      return false;
+    }
+    for (Map.Entry<String, Object> condition : conditions.entrySet()) {
+      if (!values.containsKey(condition.getKey())) {
+        // the field was not watched when the change happened
+        continue;
+      }
+      Object value = values.get(condition.getKey());
+      if (value == null) {
+        return false;
+      }
+      Object valueKey = toKey(value);
+      Object conditionKey = toKey(condition.getValue());
+      if (valueKey != null && conditionKey != null && valueKey.getClass() == conditionKey.getClass() && !valueKey
+          .equals(conditionKey)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static Object toKey(Object value) {
+    if (value instanceof String) {
+      return value;
+    }
+    if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+      return ((Number) value).longValue();
+    }
+    return null;
+  }
+
+  /**
+   * @return the class and the equality conditions of a query, null if the query cannot be cached
+   */
+  static Target analyze(ODatabaseDocumentInternal db, OSelectStatement statement, OBasicCommandContext ctx) {
+    OFromClause from = statement.getTarget();
+    if (from == null || from.getItem() == null || from.getItem().getIdentifier() == null || from.getItem().getModifier() != null) {
+      return null;
+    }
+    if (statement.getLetClause() != null || statement.getLockRecord() != null) {
+      return null;
+    }
+    OClass clazz = db.getMetadata().getImmutableSchemaSnapshot().getClass(from.getItem().getIdentifier().getStringValue());
+    if (clazz == null) {
+      return null;
+    }
+
+    if (statement.getProjection() != null) {
+      for (OProjectionItem item : statement.getProjection().getItems()) {
+        if (!isCacheable(item)) {
+          return null;
+        }
+      }
+    }
+    if (statement.getGroupBy() != null) {
+      for (OExpression item : statement.getGroupBy().getItems()) {
+        if (!item.isBaseIdentifier()) {
+          return null;
+        }
+      }
+    }
+    if (statement.getOrderBy() != null && statement.getOrderBy().getItems() != null) {
+      for (OOrderByItem item : statement.getOrderBy().getItems()) {
+        if (item.getModifier() != null || item.getRid() != null) {
+          return null;
+        }
+      }
+    }
+
+    Map<String, Object> conditions = new HashMap<>();
+    if (statement.getWhereClause() != null) {
+      List<OAndBlock> flattened = statement.getWhereClause().flatten();
+      for (OAndBlock block : flattened) {
+        for (OBooleanExpression condition : block.getSubBlocks()) {
+          if (!(condition instanceof OBinaryCondition)) {
+            return null;
+          }
+          OBinaryCondition binaryCondition = (OBinaryCondition) condition;
+          // VALUES LIKE sysdate() ARE CALCULATED AT EACH EXECUTION, THE CACHED RESULT WOULD NOT FOLLOW THEM
+          if (!binaryCondition.getLeft().isBaseIdentifier() || !binaryCondition.getRight().isLiteralOrInputParameter()) {
+            return null;
+          }
+          if (flattened.size() == 1 && binaryCondition.getOperator() instanceof OEqualsCompareOperator) {
+            String fieldName = binaryCondition.getLeft().getDefaultAlias().getStringValue();
+            Object value = binaryCondition.getRight().execute((OResult) null, ctx);
+            // A FIELD WITH A COLLATE IS NOT COMPARED BY EXACT VALUE, ANY CHANGE OF THE FIELD MAY MATCH
+            if (value != null && !hasCollate(clazz, fieldName)) {
+              conditions.put(fieldName, value);
+            }
+          }
+        }
+      }
+    }
+    return new Target(clazz.getName().toLowerCase(Locale.ENGLISH), conditions);
+  }
+
+  /**
+   * @return true if the field has a collate other than the default one in the class or in one of its subclasses
+   */
+  private static boolean hasCollate(OClass clazz, String fieldName) {
+    List<OClass> classes = new ArrayList<>(clazz.getAllSubclasses());
+    classes.add(clazz);
+    for (OClass c : classes) {
+      OProperty property = c.getProperty(fieldName);
+      if (property != null && property.getCollate() != null && !ODefaultCollate.NAME.equals(property.getCollate().getName())) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static boolean isCacheable(OProjectionItem item) {
+    if (item.isAll()) {
+      return true;
+    }
+    if (item.getNestedProjection() != null || item.isExpand()) {
+      return false;
+    }
+    if (item.getExpression().isBaseIdentifier()) {
+      return true;
+    }
+    if (!item.isAggregate()) {
+      return false;
+    }
+    // aggregate functions of the fields of the records, eg. count(*) or max(price)
+    if (!(item.getExpression().getMathExpression() instanceof OBaseExpression)) {
+      return false;
+    }
+    OBaseExpression base = (OBaseExpression) item.getExpression().getMathExpression();
+    if (base.getModifier() != null || base.getIdentifier() == null || base.getIdentifier().getSuffix() != null) {
+      return false;
+    }
+    OLevelZeroIdentifier levelZero = base.getIdentifier().getLevelZero();
+    if (levelZero == null || levelZero.getFunctionCall() == null) {
+      return false;
+    }
+    for (OExpression param : levelZero.getFunctionCall().getParams()) {
+      if (!param.isBaseIdentifier() && !"*".equals(param.toString())) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static List<OResult> copy(List<OResult> results) {
+    List<OResult> copy = new ArrayList<>(results.size());
+    for (OResult result : results) {
+      ORecord record = result.isElement() || result.isBlob() ? result.getRecord().orElse(null) : null;
+      if (record != null) {
+        copy.add(new OResultInternal(record.copy()));
+      } else {
+        OResultInternal item = new OResultInternal();
+        for (String name : result.getPropertyNames()) {
+          item.setProperty(name, result.getProperty(name));
+        }
+        copy.add(item);
+      }
+    }
+    return copy;
+  }
+
+  @Override
+  public void onSchemaUpdate(String database, OSchemaShared schema) {
+    clear();
+  }
+
+  @Override
+  public void onIndexManagerUpdate(String database, OIndexManagerAbstract indexManager) {
+    clear();
+  }
+
+  @Override
+  public void onFunctionLibraryUpdate(String database) {
+    clear();
+  }
+
+  @Override
+  public void onSequenceLibraryUpdate(String database) {
+    clear();
+  }
+
+  @Override
+  public void onStorageConfigurationUpdate(String database, OStorageConfiguration update) {
+    clear();
+  }
+
+  static class Target {
+    final String              className;
+    final Map<String, Object> conditions;
+
+    Target(String className, Map<String, Object> conditions) {
+      this.className = className;
+      this.conditions = conditions;
+    }
+  }
+
+  private static class Key {
+    private final String              user;
+    private final long                securityVersion;
+    private final String              query;
+    private final Map<Object, Object> params;
+
+    private Key(String user, long securityVersion, String query, Map<Object, Object> params) {
+      this.user = user;
+      this.securityVersion = securityVersion;
+      this.query = query;
+      this.params = params;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o)
+        return true;
+      if (o == null || getClass() != o.getClass())
+        return false;
+      Key key = (Key) o;
+      return securityVersion == key.securityVersion && Objects.equals(user, key.user) && query.equals(key.query) && params
+          .equals(key.params);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(user, securityVersion, query, params);
+    }
+  }
+
+  private static class Entry {
+    private final Key                 key;
+    private final String              className;
+    private final Map<String, Object> conditions;
+    private final List<OResult>       results;
+
+    private Entry(Key key, String className, Map<String, Object> conditions, List<OResult> results) {
+      this.key = key;
+      this.className = className;
+      this.conditions = conditions;
+      this.results = results;
+    }
+  }
+
+  private static class Change {
+    private final Set<String>         classNames;
+    private final Map<String, Object> before;
+    private final Map<String, Object> after;
+
+    private Change(Set<String> classNames, Map<String, Object> before, Map<String, Object> after) {
+      this.classNames = classNames;
+      this.before = before;
+      this.after = after;
+    }
+  }
+
+  private static class PendingChanges {
+    private final Set<String>  classNames          = new HashSet<>();
+    private final Set<String>  unwatchedClassNames = new HashSet<>();
+    private final List<Change> changes             = new ArrayList<>();
+  }
+
+  /**
+   * Results already fetched, followed by the ones still in the original result set, if any.
+   */
+  private static class BufferedResultSet implements OResultSet {
+    private final List<OResult> fetched;
+    private final OResultSet    rest;
+    private       int           next = 0;
+
+    private BufferedResultSet(List<OResult> fetched, OResultSet rest) {
+      this.fetched = fetched;
+      this.rest = rest;
+    }
+
+    @Override
+    public boolean hasNext() {
+      return next < fetched.size() || (rest != null && rest.hasNext());
+    }
+
+    @Override
+    public OResult next() {
+      if (next < fetched.size()) {
+        return fetched.get(next++);
+      }
+      if (rest == null) {
+        throw new NoSuchElementException();
+      }
+      return rest.next();
+    }
+
+    @Override
+    public void close() {
+      next = fetched.size();
+      if (rest != null) {
+        rest.close();
+      }
+    }
+
+    @Override
+    public Optional<OExecutionPlan> getExecutionPlan() {
+      return rest == null ? Optional.empty() : rest.getExecutionPlan();
+    }
+
+    @Override
+    public Map<String, Long> getQueryStats() {
+      return rest == null ? new HashMap<>() : rest.getQueryStats();
+    }
+  }
+}
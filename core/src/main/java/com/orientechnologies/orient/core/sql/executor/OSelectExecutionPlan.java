@@ -32,6 +32,10 @@ public class OSelectExecutionPlan implements OInternalExecutionPlan {
     lastStep.close();
   }
 
+  public OCommandContext getContext() {
+    return ctx;
+  }
+
   @Override
   public OResultSet fetchNext(int n) {
     return lastStep.syncPull(ctx, n);
@@ -3,6 +3,7 @@ package com.orientechnologies.orient.core.sql.executor;
 import com.orientechnologies.common.util.OPair;
 import com.orientechnologies.orient.core.command.OBasicCommandContext;
 import com.orientechnologies.orient.core.command.OCommandContext;
+import com.orientechnologies.orient.core.config.OGlobalConfiguration;
 import com.orientechnologies.orient.core.db.ODatabase;
 import com.orientechnologies.orient.core.db.ODatabaseDocumentInternal;
 import com.orientechnologies.orient.core.db.ODatabaseInternal;
@@ -17,6 +18,9 @@ import com.orientechnologies.orient.core.index.OIndexDefinition;
 import com.orientechnologies.orient.core.metadata.OMetadataInternal;
 import com.orientechnologies.orient.core.metadata.schema.*;
 import com.orientechnologies.orient.core.metadata.security.OSecurityInternal;
+import com.orientechnologies.orient.core.metadata.security.OSecurityResourceProperty;
+import com.orientechnologies.orient.core.metadata.security.OSecurityRole;
+import com.orientechnologies.orient.core.metadata.security.OSecurityUser;
 import com.orientechnologies.orient.core.sql.OCommandExecutorSQLAbstract;
 import com.orientechnologies.orient.core.sql.parser.*;
 
@@ -60,8 +64,10 @@ public class OSelectExecutionPlanner {
 
   public OInternalExecutionPlan createExecutionPlan(OCommandContext ctx, boolean enableProfiling, boolean useCache) {
     ODatabaseDocumentInternal db = (ODatabaseDocumentInternal) ctx.getDatabase();
+    String planCacheKey = null;
     if (useCache && !enableProfiling && statement.executinPlanCanBeCached()) {
-      OExecutionPlan plan = OExecutionPlanCache.get(statement.getOriginalStatement(), ctx, db);
+      planCacheKey = getPlanCacheKey(ctx);
+      OExecutionPlan plan = OExecutionPlanCache.get(planCacheKey, ctx, db);
       if (plan != null) {
         return (OInternalExecutionPlan) plan;
       }
@@ -72,6 +78,8 @@ public class OSelectExecutionPlanner {
     init();
     OSelectExecutionPlan result = new OSelectExecutionPlan(ctx);
 
+    handleSecurityPredicate(info, ctx);
+
     if (info.expand && info.distinct) {
       throw new OCommandExecutionException("Cannot execute a statement with DISTINCT expand(), please use a subquery");
     }
@@ -97,7 +105,10 @@ public class OSelectExecutionPlanner {
 
     handleWhere(result, info, ctx, enableProfiling);
 
-    // TODO optimization: in most cases the projections can be calculated on remote nodes
+    if (isShardedOnRemoteNodes(info, ctx) && OGlobalConfiguration.DISTRIBUTED_QUERY_PUSHDOWN.getValueAsBoolean()) {
+      handleShardedPushDown(info, ctx, enableProfiling);
+    }
+
     buildDistributedExecutionPlan(result, info, ctx, enableProfiling);
 
     handleLockRecord(result, info, ctx, enableProfiling);
@@ -106,8 +117,176 @@ public class OSelectExecutionPlanner {
 
     if (useCache && !enableProfiling && statement.executinPlanCanBeCached() && result.canBeCached()
         && OExecutionPlanCache.getLastInvalidation(db) < planningStart) {
-      OExecutionPlanCache.put(statement.getOriginalStatement(), result, (ODatabaseDocumentInternal) ctx.getDatabase());
+      OExecutionPlanCache.put(planCacheKey, result, (ODatabaseDocumentInternal) ctx.getDatabase());
+    }
+    return result;
+  }
+
+  /**
+   * the plan of a query on a class restricted by security policies contains the predicates of the roles of the user (see {@link
+   * #handleSecurityPredicate(QueryPlanningInfo, OCommandContext)}), so it is cached per role set and per version of the policies
+   */
+  private String getPlanCacheKey(OCommandContext ctx) {
+    String key = statement.getOriginalStatement();
+    OIdentifier targetClass = statement.getTarget() == null || statement.getTarget().getItem() == null ?
+        null :
+        statement.getTarget().getItem().getIdentifier();
+    ODatabaseDocumentInternal db = (ODatabaseDocumentInternal) ctx.getDatabase();
+    if (key == null || targetClass == null || db.getUser() == null || db.getClass(targetClass.getStringValue()) == null
+        || !securityPoliciesExistForClass(targetClass, ctx)) {
+      return key;
+    }
+    List<String> roles = new ArrayList<>();
+    for (OSecurityRole role : db.getUser().getRoles()) {
+      roles.add(role.getName());
+    }
+    Collections.sort(roles);
+    return key + " $roles:" + roles + " $securityVersion:" + db.getSharedContext().getSecurity().getVersion(db);
+  }
+
+  /**
+   * ANDs to the WHERE clause the conditions of the READ security policies of the target class that can be checked on the fields of
+   * the records, so that they can be used to choose the indexes, eg. "tenant = 'acme'". The policies are still checked on every
+   * record when it's loaded, so the conditions that are not pushed down (eg. on linked records or on $currentUser) are still
+   * applied.
+   */
+  private void handleSecurityPredicate(QueryPlanningInfo info, OCommandContext ctx) {
+    OIdentifier targetClass = info.target == null || info.target.getItem() == null ? null : info.target.getItem().getIdentifier();
+    ODatabaseDocumentInternal db = (ODatabaseDocumentInternal) ctx.getDatabase();
+    if (targetClass == null || db.getUser() == null) {
+      return;
+    }
+    OClass clazz = db.getMetadata().getImmutableSchemaSnapshot().getClass(targetClass.getStringValue());
+    if (clazz == null) {
+      return;
+    }
+
+    // the records of the subclasses are checked against the policies of their own class
+    List<OClass> classes = new ArrayList<>();
+    classes.add(clazz);
+    classes.addAll(clazz.getAllSubclasses());
+    OSecurityInternal security = db.getSharedContext().getSecurity();
+    Set<OSecurityResourceProperty> filteredProperties = security.getAllFilteredProperties(db);
+    Map<String, OBooleanExpression> pushedDown = new LinkedHashMap<>();
+    for (OClass c : classes) {
+      OBooleanExpression predicate = security.getReadPredicate(db, c);
+      if (OBooleanExpression.FALSE.equals(predicate)) {
+        // no record of this class is visible
+        continue;
+      }
+      OBooleanExpression condition = OBooleanExpression.TRUE.equals(predicate) ?
+          null :
+          getIndexableSecurityCondition(predicate.copy(), c, filteredProperties);
+      if (condition == null) {
+        return;
+      }
+      pushedDown.put(condition.toString(), condition);
+    }
+    if (pushedDown.isEmpty()) {
+      return;
+    }
+
+    OBooleanExpression condition;
+    if (pushedDown.size() == 1) {
+      condition = pushedDown.values().iterator().next();
+    } else {
+      OOrBlock orBlock = new OOrBlock(-1);
+      orBlock.getSubBlocks().addAll(pushedDown.values());
+      condition = orBlock;
+    }
+    if (info.whereClause == null) {
+      info.whereClause = new OWhereClause(-1);
+      info.whereClause.setBaseExpression(condition);
+    } else {
+      OAndBlock andBlock = new OAndBlock(-1);
+      andBlock.getSubBlocks().add(info.whereClause.getBaseExpression());
+      andBlock.getSubBlocks().add(condition);
+      info.whereClause.setBaseExpression(andBlock);
+    }
+  }
+
+  /**
+   * returns a condition that every record that satisfies a security predicate also satisfies, made only of comparisons between the
+   * fields of the record and constant values, or null if there is none
+   */
+  private static OBooleanExpression getIndexableSecurityCondition(OBooleanExpression predicate, OClass clazz,
+      Set<OSecurityResourceProperty> filteredProperties) {
+    OBasicCommandContext emptyCtx = new OBasicCommandContext();
+    OOrBlock result = new OOrBlock(-1);
+    for (OAndBlock andBlock : predicate.flatten()) {
+      OAndBlock indexable = new OAndBlock(-1);
+      for (OBooleanExpression condition : andBlock.getSubBlocks()) {
+        if (condition instanceof OBinaryCondition) {
+          OBinaryCondition binaryCondition = (OBinaryCondition) condition;
+          if (binaryCondition.getLeft().isBaseIdentifier() && binaryCondition.getRight().isEarlyCalculated(emptyCtx)
+              && !isFilteredProperty(clazz, binaryCondition.getLeft().getDefaultAlias().getStringValue(), filteredProperties)) {
+            indexable.getSubBlocks().add(binaryCondition);
+          }
+        }
+      }
+      if (indexable.getSubBlocks().isEmpty()) {
+        return null;
+      }
+      result.getSubBlocks().add(indexable.getSubBlocks().size() == 1 ? indexable.getSubBlocks().get(0) : indexable);
+    }
+    if (result.getSubBlocks().isEmpty()) {
+      return null;
+    }
+    return result.getSubBlocks().size() == 1 ? result.getSubBlocks().get(0) : result;
+  }
+
+  /**
+   * the query sees the value of a property filtered by a security policy as null, while the security predicate sees the real one
+   */
+  private static boolean isFilteredProperty(OClass clazz, String propertyName, Set<OSecurityResourceProperty> filteredProperties) {
+    for (OSecurityResourceProperty property : filteredProperties) {
+      if (!"*".equals(property.getPropertyName()) && !property.getPropertyName().equals(propertyName)) {
+        continue;
+      }
+      if (property.isAllClasses() || clazz.isSubClassOf(property.getClassName())) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * creates the execution plan for the part of a sharded query that a node executes on its own clusters, as it is planned by the
+   * coordinator in {@link #createExecutionPlan(OCommandContext, boolean, boolean)}: the records are fetched and filtered and, if
+   * pushDown is true, the projections, the top-N sorting and the partial aggregates are calculated as well.
+   *
+   * @param ctx              the query context
+   * @param clusters         the clusters (data files) to query
+   * @param pushDown         true if the coordinator expects projections and partial aggregates from this node
+   * @param enableProfiling  true to enable the profiling of the execution
+   *
+   * @return the execution plan of the node
+   */
+  public OInternalExecutionPlan createShardExecutionPlan(OCommandContext ctx, Set<String> clusters, boolean pushDown,
+      boolean enableProfiling) {
+    init();
+    OSelectExecutionPlan result = new OSelectExecutionPlan(ctx);
+
+    optimizeQuery(info, ctx);
+
+    String localNode = ((ODatabaseDocumentInternal) ctx.getDatabase()).getLocalNodeName();
+    info.serverToClusters = new LinkedHashMap<>();
+    info.serverToClusters.put(localNode, clusters);
+    info.distributedFetchExecutionPlans = new LinkedHashMap<>();
+    info.distributedFetchExecutionPlans.put(localNode, new OSelectExecutionPlan(ctx));
+
+    handleFetchFromTarger(result, info, ctx, enableProfiling);
+
+    // with a global LET the coordinator does everything but the raw fetch
+    if (info.globalLetClause == null || info.globalLetClause.getItems().isEmpty()) {
+      handleLet(result, info, ctx, enableProfiling);
+      handleWhere(result, info, ctx, enableProfiling);
+      if (pushDown) {
+        handleShardedPushDown(info, ctx, enableProfiling);
+      }
     }
+
+    buildDistributedExecutionPlan(result, info, ctx, enableProfiling);
     return result;
   }
 
@@ -173,8 +352,7 @@ public class OSelectExecutionPlanner {
         //everything is executed on a single remote node
         String node = info.distributedFetchExecutionPlans.keySet().iterator().next();
         OSelectExecutionPlan subPlan = info.distributedFetchExecutionPlans.get(node);
-        DistributedExecutionStep step = new DistributedExecutionStep(subPlan, node, ctx, enableProfiling);
-        result.chain(step);
+        result.chain(createDistributedStep(subPlan, node, info, ctx, enableProfiling));
       }
       info.distributedFetchExecutionPlans = null;
     } else {
@@ -184,9 +362,8 @@ public class OSelectExecutionPlanner {
         if (entry.getKey().equals(currentNode)) {
           subPlans.add(entry.getValue());
         } else {
-          DistributedExecutionStep step = new DistributedExecutionStep(entry.getValue(), entry.getKey(), ctx, enableProfiling);
           OSelectExecutionPlan subPlan = new OSelectExecutionPlan(ctx);
-          subPlan.chain(step);
+          subPlan.chain(createDistributedStep(entry.getValue(), entry.getKey(), info, ctx, enableProfiling));
           subPlans.add(subPlan);
         }
       }
@@ -195,6 +372,107 @@ public class OSelectExecutionPlanner {
     info.distributedPlanCreated = true;
   }
 
+  private DistributedExecutionStep createDistributedStep(OSelectExecutionPlan subPlan, String node, QueryPlanningInfo info,
+      OCommandContext ctx, boolean enableProfiling) {
+    String statementText = statement.getOriginalStatement();
+    if (statementText == null) {
+      statementText = statement.toString();
+    }
+    return new DistributedExecutionStep(subPlan, node, statementText, info.serverToClusters.get(node), info.shardedPushDown, ctx,
+        enableProfiling);
+  }
+
+  /**
+   * @return true if at least a part of the query has to be executed by a remote node
+   */
+  private boolean isShardedOnRemoteNodes(QueryPlanningInfo info, OCommandContext ctx) {
+    if (info.distributedFetchExecutionPlans == null) {
+      return false;
+    }
+    String currentNode = ((ODatabaseDocumentInternal) ctx.getDatabase()).getLocalNodeName();
+    for (String node : info.distributedFetchExecutionPlans.keySet()) {
+      if (!node.equals(currentNode)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * adds to each sharded plan the part of the query that does not need the records of the other nodes, so that the nodes send
+   * back less data and the coordinator has less work to do:
+   * <ul>
+   * <li>for aggregate queries with only COUNT, SUM, MIN and MAX, the partial aggregates for each GROUP BY key, that the coordinator
+   * merges with a {@link MergeAggregateProjectionStep}</li>
+   * <li>for the other queries, the projections and, with a LIMIT, the top SKIP + LIMIT records in the ORDER BY order; the
+   * coordinator then sorts the results of all the nodes and applies SKIP and LIMIT again</li>
+   * </ul>
+   * The coordinator and the nodes execute this same method on the same statement, so they agree on the shape of the partial
+   * results.
+   */
+  private static void handleShardedPushDown(QueryPlanningInfo info, OCommandContext ctx, boolean profilingEnabled) {
+    if (info.distributedPlanCreated || info.globalLetPresent || info.expand || info.unwind != null || info.distinct
+        || info.lockRecord != null) {
+      return;
+    }
+    if (info.aggregateProjection != null) {
+      if (!MergeAggregateProjectionStep.canMerge(info.aggregateProjection)) {
+        return;
+      }
+      OProjection partialAggregate = info.aggregateProjection.copy();
+      if (info.groupBy != null) {
+        // the coordinator needs the GROUP BY keys to merge the partial aggregates of the same group
+        Set<String> aliases = partialAggregate.getAllAliases();
+        for (OExpression exp : info.groupBy.getItems()) {
+          OIdentifier alias = exp.getDefaultAlias();
+          if (!aliases.contains(alias.getStringValue())) {
+            partialAggregate.getItems().add(new OProjectionItem(exp.copy(), alias, null));
+          }
+        }
+      }
+      // the aggregates are temporary properties, they have to become actual properties to be sent to the coordinator
+      OProjection export = new OProjection(-1);
+      export.setItems(new ArrayList<>());
+      for (String alias : partialAggregate.getAllAliases()) {
+        export.getItems().add(new OProjectionItem(new OExpression(new OIdentifier(alias)), new OIdentifier(alias), null));
+      }
+
+      for (OSelectExecutionPlan shardedPlan : info.distributedFetchExecutionPlans.values()) {
+        if (info.preAggregateProjection != null) {
+          shardedPlan.chain(new ProjectionCalculationStep(info.preAggregateProjection.copy(), ctx, profilingEnabled));
+        }
+        shardedPlan.chain(new AggregateProjectionCalculationStep(partialAggregate.copy(),
+            info.groupBy == null ? null : info.groupBy.copy(), ctx, profilingEnabled));
+        shardedPlan.chain(new ProjectionCalculationStep(export.copy(), ctx, profilingEnabled));
+      }
+      info.preAggregateProjection = null;
+    } else {
+      Integer maxResults = getMaxResults(info, ctx);
+      boolean sort =
+          !info.orderApplied && info.orderBy != null && info.orderBy.getItems() != null && info.orderBy.getItems().size() > 0;
+      for (OSelectExecutionPlan shardedPlan : info.distributedFetchExecutionPlans.values()) {
+        if (info.projection != null) {
+          shardedPlan.chain(new ProjectionCalculationStep(info.projection.copy(), ctx, profilingEnabled));
+        }
+        if (maxResults != null) {
+          if (sort) {
+            shardedPlan.chain(new OrderByStep(info.orderBy.copy(), maxResults, ctx, profilingEnabled));
+          } else {
+            OLimit limit = new OLimit(-1);
+            OInteger num = new OInteger(-1);
+            num.setValue(maxResults);
+            limit.setNum(num);
+            shardedPlan.chain(new LimitExecutionStep(limit, ctx, profilingEnabled));
+          }
+        }
+      }
+      if (info.projection != null) {
+        info.projectionsCalculated = true;
+      }
+    }
+    info.shardedPushDown = true;
+  }
+
   /**
    * based on the cluster/server map and the query target, this method tries to find an optimal strategy to execute the query on the
    * cluster.
@@ -671,7 +949,11 @@ public class OSelectExecutionPlanner {
         result.chain(new ProjectionCalculationStep(info.preAggregateProjection, ctx, profilingEnabled));
       }
       if (info.aggregateProjection != null) {
-        result.chain(new AggregateProjectionCalculationStep(info.aggregateProjection, info.groupBy, ctx, profilingEnabled));
+        if (info.shardedPushDown) {
+          result.chain(new MergeAggregateProjectionStep(info.aggregateProjection, info.groupBy, ctx, profilingEnabled));
+        } else {
+          result.chain(new AggregateProjectionCalculationStep(info.aggregateProjection, info.groupBy, ctx, profilingEnabled));
+        }
         if (isCountOnly(info) && info.groupBy == null) {
           result.chain(new GuaranteeEmptyCountStep(info.aggregateProjection.getItems().get(0), ctx, profilingEnabled));
         }
@@ -1437,6 +1719,10 @@ public class OSelectExecutionPlanner {
       plan.chain(new FetchFromStorageMetadataStep(ctx, profilingEnabled));
     } else if (metadata.getName().equalsIgnoreCase(OCommandExecutorSQLAbstract.METADATA_DATABASE)) {
       plan.chain(new FetchFromDatabaseMetadataStep(ctx, profilingEnabled));
+    } else if (metadata.getName().equalsIgnoreCase(OCommandExecutorSQLAbstract.METADATA_SLOW_QUERIES)) {
+      plan.chain(new FetchFromSlowQueryLogStep(ctx, profilingEnabled));
+    } else if (metadata.getName().equalsIgnoreCase(OCommandExecutorSQLAbstract.METADATA_STORAGE_STATS)) {
+      plan.chain(new FetchFromStorageStatsStep(ctx, profilingEnabled));
     } else {
       throw new UnsupportedOperationException("Invalid metadata: " + metadata.getName());
     }
@@ -1544,6 +1830,19 @@ public class OSelectExecutionPlanner {
 
   public static void handleOrderBy(OSelectExecutionPlan plan, QueryPlanningInfo info, OCommandContext ctx,
       boolean profilingEnabled) {
+    Integer maxResults = getMaxResults(info, ctx);
+    if (!info.orderApplied && info.orderBy != null && info.orderBy.getItems() != null && info.orderBy.getItems().size() > 0) {
+      plan.chain(new OrderByStep(info.orderBy, maxResults, ctx, profilingEnabled));
+      if (info.projectionAfterOrderBy != null) {
+        plan.chain(new ProjectionCalculationStep(info.projectionAfterOrderBy, ctx, profilingEnabled));
+      }
+    }
+  }
+
+  /**
+   * @return the maximum number of records the query needs before SKIP and LIMIT are applied, null if there is no LIMIT
+   */
+  private static Integer getMaxResults(QueryPlanningInfo info, OCommandContext ctx) {
     int skipSize = info.skip == null ? 0 : info.skip.getValue(ctx);
     if (skipSize < 0) {
       throw new OCommandExecutionException("Cannot execute a query with a negative SKIP");
@@ -1556,12 +1855,7 @@ public class OSelectExecutionPlanner {
     if (info.expand || info.unwind != null) {
       maxResults = null;
     }
-    if (!info.orderApplied && info.orderBy != null && info.orderBy.getItems() != null && info.orderBy.getItems().size() > 0) {
-      plan.chain(new OrderByStep(info.orderBy, maxResults, ctx, profilingEnabled));
-      if (info.projectionAfterOrderBy != null) {
-        plan.chain(new ProjectionCalculationStep(info.projectionAfterOrderBy, ctx, profilingEnabled));
-      }
-    }
+    return maxResults;
   }
 
   /**
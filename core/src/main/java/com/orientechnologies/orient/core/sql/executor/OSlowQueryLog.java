@@ -0,0 +1,197 @@
+package com.orientechnologies.orient.core.sql.executor;
+
+import com.orientechnologies.orient.core.db.ODatabase;
+import com.orientechnologies.orient.core.db.ODatabaseInternal;
+import com.orientechnologies.orient.core.db.OSharedContext;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Bounded log of the most recent slow queries of a database, with their execution plan, parameters and timings. It can be read
+ * with <code>SELECT FROM metadata:slowQueries</code>.
+ * <p>
+ * Every query is timed by its result set, but the execution steps measure their own cost only when the plan is created with
+ * profiling enabled, which costs a clock read per record. So only one query every {@link #getSampleRate()} is executed with a
+ * profiled plan. When a query is slow and was not profiled, the next execution of the same statement is profiled, so the log soon
+ * has the cost of every step of the slow statements.
+ */
+public class OSlowQueryLog {
+  private final int  sampleRate;
+  private final long thresholdNanos;
+
+  private final Entry[]     entries;
+  private       int         next   = 0;
+  private       long        logged = 0;
+  private final Set<String> profileNext;
+
+  public OSlowQueryLog(int size, int sampleRate, long thresholdMillis) {
+    this.entries = new Entry[Math.max(0, size)];
+    this.sampleRate = sampleRate;
+    this.thresholdNanos = thresholdMillis * 1_000_000;
+    this.profileNext = ConcurrentHashMap.newKeySet();
+  }
+
+  public static OSlowQueryLog get(ODatabase db) {
+    if (!(db instanceof ODatabaseInternal)) {
+      return null;
+    }
+    OSharedContext sharedContext = ((ODatabaseInternal) db).getSharedContext();
+    return sharedContext == null ? null : sharedContext.getSlowQueryLog();
+  }
+
+  /**
+   * @return true if the query has to be executed with a profiled plan
+   */
+  public static boolean profile(ODatabase db, String statement) {
+    OSlowQueryLog log = get(db);
+    return log != null && log.profile(statement);
+  }
+
+  public boolean isEnabled() {
+    return entries.length > 0;
+  }
+
+  public int getSampleRate() {
+    return sampleRate;
+  }
+
+  public boolean profile(String statement) {
+    if (!isEnabled()) {
+      return false;
+    }
+    if (statement != null && !profileNext.isEmpty() && profileNext.remove(statement)) {
+      return true;
+    }
+    return sampleRate > 0 && ThreadLocalRandom.current().nextInt(sampleRate) == 0;
+  }
+
+  public boolean isSlow(long executionNanos) {
+    return isEnabled() && executionNanos >= thresholdNanos;
+  }
+
+  /**
+   * Logs a query that took more than the threshold. Call it only when {@link #isSlow(long)} is true.
+   *
+   * @param plan     the execution plan, with the costs of the steps if it was profiled
+   * @param profiled true if the plan was created with profiling enabled
+   */
+  public void log(String statement, Map<Object, Object> params, OExecutionPlan plan, boolean profiled, long executionNanos,
+      long rows) {
+    Map<String, String> parameters = new LinkedHashMap<>();
+    if (params != null) {
+      // VALUES ARE KEPT AS STRINGS, SO THE LOG DOES NOT RETAIN RECORDS
+      for (Map.Entry<Object, Object> param : params.entrySet()) {
+        parameters.put(String.valueOf(param.getKey()), String.valueOf(param.getValue()));
+      }
+    }
+    Entry entry = new Entry(new Date(), statement, parameters, plan.prettyPrint(0, 2), profiled, executionNanos, rows);
+
+    if (!profiled && entries.length > profileNext.size()) {
+      profileNext.add(statement);
+    }
+
+    synchronized (this) {
+      entries[next] = entry;
+      next = (next + 1) % entries.length;
+      logged++;
+    }
+  }
+
+  /**
+   * @return the logged queries, the most recent first
+   */
+  public synchronized List<Entry> getEntries() {
+    List<Entry> result = new ArrayList<>(entries.length);
+    for (int i = 1; i <= entries.length; i++) {
+      Entry entry = entries[(next - i + entries.length) % entries.length];
+      if (entry == null) {
+        break;
+      }
+      result.add(entry);
+    }
+    return result;
+  }
+
+  /**
+   * @return number of queries logged since the creation of the log, including the ones no longer kept
+   */
+  public synchronized long getLogged() {
+    return logged;
+  }
+
+  public synchronized void clear() {
+    for (int i = 0; i < entries.length; i++) {
+      entries[i] = null;
+    }
+    next = 0;
+    profileNext.clear();
+  }
+
+  public static class Entry {
+    private final Date                timestamp;
+    private final String              statement;
+    private final Map<String, String> parameters;
+    private final String              plan;
+    private final boolean             profiled;
+    private final long                executionNanos;
+    private final long                rows;
+
+    Entry(Date timestamp, String statement, Map<String, String> parameters, String plan, boolean profiled, long executionNanos,
+        long rows) {
+      this.timestamp = timestamp;
+      this.statement = statement;
+      this.parameters = parameters;
+      this.plan = plan;
+      this.profiled = profiled;
+      this.executionNanos = executionNanos;
+      this.rows = rows;
+    }
+
+    public Date getTimestamp() {
+      return timestamp;
+    }
+
+    public String getStatement() {
+      return statement;
+    }
+
+    public Map<String, String> getParameters() {
+      return parameters;
+    }
+
+    public String getPlan() {
+      return plan;
+    }
+
+    public boolean isProfiled() {
+      return profiled;
+    }
+
+    public long getExecutionNanos() {
+      return executionNanos;
+    }
+
+    public long getRows() {
+      return rows;
+    }
+
+    public OResult toResult() {
+      OResultInternal result = new OResultInternal();
+      result.setProperty("timestamp", timestamp);
+      result.setProperty("statement", statement);
+      result.setProperty("parameters", parameters);
+      result.setProperty("executionTimeMillis", executionNanos / 1_000_000);
+      result.setProperty("rows", rows);
+      result.setProperty("profiled", profiled);
+      result.setProperty("plan", plan);
+      return result;
+    }
+  }
+}
@@ -3,6 +3,7 @@ package com.orientechnologies.orient.core.sql.executor;
 import com.orientechnologies.common.concur.OTimeoutException;
 import com.orientechnologies.orient.core.command.OCommandContext;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -16,6 +17,7 @@ public class ParallelExecStep extends AbstractExecutionStep {
 
   private int        current          = 0;
   private OResultSet currentResultSet = null;
+  private boolean    started          = false;
 
   public ParallelExecStep(List<OInternalExecutionPlan> subExecuitonPlans, OCommandContext ctx, boolean profilingEnabled) {
     super(ctx, profilingEnabled);
@@ -25,6 +27,13 @@ public class ParallelExecStep extends AbstractExecutionStep {
   @Override
   public OResultSet syncPull(OCommandContext ctx, int nRecords) throws OTimeoutException {
     getPrev().ifPresent(x -> x.syncPull(ctx, nRecords));
+    if (!started) {
+      started = true;
+      // the sub-plans are consumed one after the other, but the nodes of a sharded query can all start working right away
+      for (DistributedExecutionStep step : getDistributedSteps()) {
+        step.start(ctx);
+      }
+    }
     return new OResultSet() {
       private int localCount = 0;
 
@@ -74,6 +83,26 @@ public class ParallelExecStep extends AbstractExecutionStep {
     };
   }
 
+  private List<DistributedExecutionStep> getDistributedSteps() {
+    List<DistributedExecutionStep> result = new ArrayList<>();
+    for (OInternalExecutionPlan plan : subExecutionPlans) {
+      for (OExecutionStep step : plan.getSteps()) {
+        if (step instanceof DistributedExecutionStep) {
+          result.add((DistributedExecutionStep) step);
+        }
+      }
+    }
+    return result;
+  }
+
+  @Override
+  public void close() {
+    super.close();
+    for (DistributedExecutionStep step : getDistributedSteps()) {
+      step.close();
+    }
+  }
+
   void fetchNext(OCommandContext ctx, int nRecords) {
     do {
       if (current >= subExecutionPlans.size()) {
@@ -37,6 +37,12 @@ public class QueryPlanningInfo {
    */
   public boolean distributedPlanCreated = false;
 
+  /**
+   * set to true when the nodes of a sharded execution plan calculate the projections or the partial aggregates, so the coordinator
+   * only has to merge them
+   */
+  protected boolean shardedPushDown = false;
+
   protected OFromClause     target;
   protected OWhereClause    whereClause;
   protected List<OAndBlock> flattenedWhereClause;
@@ -69,6 +75,7 @@ public class QueryPlanningInfo {
 //    Map<String, OSelectExecutionPlan> distributedFetchExecutionPlans;//TODO!
 
     result.distributedPlanCreated = this.distributedPlanCreated;
+    result.shardedPushDown = this.shardedPushDown;
     result.target = this.target;
     result.whereClause = this.whereClause;
     result.flattenedWhereClause = this.flattenedWhereClause;
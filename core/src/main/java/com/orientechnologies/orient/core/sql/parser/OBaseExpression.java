@@ -230,6 +230,10 @@ public class OBaseExpression extends OMathExpression {
     return identifier != null && modifier == null ? identifier.getCollate(currentRecord, ctx) : null;
   }
 
+  public boolean isLiteralOrInputParameter() {
+    return modifier == null && (number != null || inputParam != null || string != null);
+  }
+
   public boolean isEarlyCalculated(OCommandContext ctx) {
     if (number != null || inputParam != null || string != null) {
       return true;
@@ -152,6 +152,20 @@ public class OExpression extends SimpleNode {
     return false;
   }
 
+  /**
+   * @return true if the expression is a constant (number, string, boolean, null or RID) or an input parameter, so that, unlike
+   * other early calculated expressions like sysdate(), its value is the same for all the executions with the same parameters
+   */
+  public boolean isLiteralOrInputParameter() {
+    if (isNull || booleanValue != null || rid != null) {
+      return true;
+    }
+    if (mathExpression instanceof OBaseExpression) {
+      return ((OBaseExpression) mathExpression).isLiteralOrInputParameter();
+    }
+    return false;
+  }
+
   public boolean isEarlyCalculated(OCommandContext ctx) {
     if (this.mathExpression != null) {
       return this.mathExpression.isEarlyCalculated(ctx);
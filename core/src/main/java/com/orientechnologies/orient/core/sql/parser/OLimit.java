@@ -57,6 +57,11 @@ public class OLimit extends SimpleNode {
     throw new OCommandExecutionException("No value for LIMIT");
   }
 
+  public void setNum(OInteger num) {
+    this.num = num;
+    this.inputParam = null;
+  }
+
   public OLimit copy() {
     OLimit result = new OLimit(-1);
     result.num = num == null ? null : num.copy();
@@ -1,5 +1,7 @@
 package com.orientechnologies.orient.core.sql.parser;
 
+import com.orientechnologies.common.profiler.OHistogramMetric;
+import com.orientechnologies.common.profiler.OMetricsRegistry;
 import com.orientechnologies.orient.core.Orient;
 import com.orientechnologies.orient.core.db.ODatabaseDocumentInternal;
 import com.orientechnologies.orient.core.db.ODatabaseRecordThreadLocal;
@@ -8,6 +10,8 @@ import com.orientechnologies.orient.core.sql.executor.OExecutionPlan;
 import com.orientechnologies.orient.core.sql.executor.OInternalExecutionPlan;
 import com.orientechnologies.orient.core.sql.executor.OResult;
 import com.orientechnologies.orient.core.sql.executor.OResultSet;
+import com.orientechnologies.orient.core.sql.executor.OSelectExecutionPlan;
+import com.orientechnologies.orient.core.sql.executor.OSlowQueryLog;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -17,23 +21,39 @@ import java.util.Optional;
  * Created by luigidellaquila on 07/07/16.
  */
 public class OLocalResultSet implements OResultSet {
+  private static final OHistogramMetric EXECUTION_LATENCY = OMetricsRegistry.instance()
+      .histogram("query.execution", "Execution time of queries, from the first to the last fetched record (nanoseconds)");
 
   private OResultSet lastFetch = null;
   private final OInternalExecutionPlan executionPlan;
+  private final boolean profiled;
   private boolean finished = false;
+  private boolean slowQueryChecked = false;
+  private boolean latencyRecorded  = false;
 
   long totalExecutionTime = 0;
   long startTime = 0;
+  long executionNanos = 0;
+  long rows = 0;
 
 
 
   public OLocalResultSet(OInternalExecutionPlan executionPlan) {
+    this(executionPlan, false);
+  }
+
+  /**
+   * @param profiled true if the execution plan was created with profiling enabled, so its steps report their costs
+   */
+  public OLocalResultSet(OInternalExecutionPlan executionPlan, boolean profiled) {
     this.executionPlan = executionPlan;
+    this.profiled = profiled;
     fetchNext();
   }
 
   private boolean fetchNext() {
     long begin = System.currentTimeMillis();
+    long beginNanos = System.nanoTime();
     try {
       if(lastFetch == null) {
         startTime = begin;
@@ -47,6 +67,11 @@ public class OLocalResultSet implements OResultSet {
       return true;
     } finally {
       totalExecutionTime += (System.currentTimeMillis() - begin);
+      executionNanos += System.nanoTime() - beginNanos;
+      if (finished) {
+        recordLatency();
+        checkSlowQuery();
+      }
     }
   }
 
@@ -72,9 +97,34 @@ public class OLocalResultSet implements OResultSet {
         throw new IllegalStateException();
       }
     }
+    rows++;
     return lastFetch.next();
   }
 
+  private void recordLatency() {
+    if (latencyRecorded) {
+      return;
+    }
+    latencyRecorded = true;
+    if (OMetricsRegistry.instance().isEnabled()) {
+      EXECUTION_LATENCY.record(executionNanos);
+    }
+  }
+
+  private void checkSlowQuery() {
+    if (slowQueryChecked || executionPlan.getStatement() == null) {
+      return;
+    }
+    slowQueryChecked = true;
+    final OSlowQueryLog slowQueryLog = OSlowQueryLog.get(ODatabaseRecordThreadLocal.instance().getIfDefined());
+    if (slowQueryLog != null && slowQueryLog.isSlow(executionNanos)) {
+      final Map<Object, Object> params = executionPlan instanceof OSelectExecutionPlan ?
+          ((OSelectExecutionPlan) executionPlan).getContext().getInputParameters() :
+          null;
+      slowQueryLog.log(executionPlan.getStatement(), params, executionPlan, profiled, executionNanos, rows);
+    }
+  }
+
   private void logProfiling() {
     if (executionPlan.getStatement() != null && Orient.instance().getProfiler().isRecording()) {
       final ODatabaseDocumentInternal db = ODatabaseRecordThreadLocal.instance().getIfDefined();
@@ -99,6 +149,9 @@ public class OLocalResultSet implements OResultSet {
 
   @Override
   public void close() {
+    // A QUERY CLOSED BEFORE THE END IS STILL MEASURED AND CHECKED, WITH THE TIME SPENT SO FAR
+    recordLatency();
+    checkSlowQuery();
     executionPlan.close();
   }
 
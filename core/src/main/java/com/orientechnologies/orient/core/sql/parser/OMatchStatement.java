@@ -147,14 +147,15 @@ public class OMatchStatement extends OStatement implements OCommandExecutor, OIt
       }
     }
     ctx.setInputParameters(params);
+    boolean profile = OSlowQueryLog.profile(db, originalStatement);
     OInternalExecutionPlan executionPlan;
-    if (usePlanCache) {
+    if (usePlanCache && !profile) {
       executionPlan = createExecutionPlan(ctx, false);
     } else {
-      executionPlan = createExecutionPlanNoCache(ctx, false);
+      executionPlan = createExecutionPlanNoCache(ctx, profile);
     }
 
-    return new OLocalResultSet(executionPlan);
+    return new OLocalResultSet(executionPlan, profile);
   }
 
   @Override
@@ -165,14 +166,15 @@ public class OMatchStatement extends OStatement implements OCommandExecutor, OIt
     }
     ctx.setDatabase(db);
     ctx.setInputParameters(params);
+    boolean profile = OSlowQueryLog.profile(db, originalStatement);
     OInternalExecutionPlan executionPlan;
-    if (usePlanCache) {
+    if (usePlanCache && !profile) {
       executionPlan = createExecutionPlan(ctx, false);
     } else {
-      executionPlan = createExecutionPlanNoCache(ctx, false);
+      executionPlan = createExecutionPlanNoCache(ctx, profile);
     }
 
-    return new OLocalResultSet(executionPlan);
+    return new OLocalResultSet(executionPlan, profile);
   }
 
   public OInternalExecutionPlan createExecutionPlan(OCommandContext ctx, boolean enableProfiling) {
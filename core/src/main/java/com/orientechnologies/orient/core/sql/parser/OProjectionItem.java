@@ -324,6 +324,10 @@ public class OProjectionItem extends SimpleNode {
     }
   }
 
+  public ONestedProjection getNestedProjection() {
+    return nestedProjection;
+  }
+
   public void setNestedProjection(ONestedProjection nestedProjection) {
     this.nestedProjection = nestedProjection;
   }
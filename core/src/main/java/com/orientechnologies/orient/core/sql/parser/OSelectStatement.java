@@ -15,6 +15,7 @@ import com.orientechnologies.orient.core.storage.OStorage;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
 
 public class OSelectStatement extends OStatement {
 
@@ -262,14 +263,15 @@ public class OSelectStatement extends OStatement {
       }
     }
     ctx.setInputParameters(params);
+    boolean profile = OSlowQueryLog.profile(db, originalStatement);
     OInternalExecutionPlan executionPlan;
-    if(usePlanCache) {
+    if(usePlanCache && !profile) {
       executionPlan = createExecutionPlan(ctx, false);
     }else{
-      executionPlan = createExecutionPlanNoCache(ctx, false);
+      executionPlan = createExecutionPlanNoCache(ctx, profile);
     }
 
-    OLocalResultSet result = new OLocalResultSet(executionPlan);
+    OLocalResultSet result = new OLocalResultSet(executionPlan, profile);
     return result;
   }
 
@@ -281,17 +283,33 @@ public class OSelectStatement extends OStatement {
     }
     ctx.setDatabase(db);
     ctx.setInputParameters(params);
+    boolean profile = OSlowQueryLog.profile(db, originalStatement);
     OInternalExecutionPlan executionPlan;
-    if(usePlanCache) {
+    if(usePlanCache && !profile) {
       executionPlan = createExecutionPlan(ctx, false);
     }else{
-      executionPlan = createExecutionPlanNoCache(ctx, false);
+      executionPlan = createExecutionPlanNoCache(ctx, profile);
     }
 
-    OLocalResultSet result = new OLocalResultSet(executionPlan);
+    OLocalResultSet result = new OLocalResultSet(executionPlan, profile);
     return result;
   }
 
+  /**
+   * executes the part of this query that a node of a sharded database calculates on its own clusters
+   *
+   * @see OSelectExecutionPlanner#createShardExecutionPlan(OCommandContext, Set, boolean, boolean)
+   */
+  public OResultSet executeShard(ODatabase db, Map params, Set<String> clusters, boolean pushDown) {
+    OBasicCommandContext ctx = new OBasicCommandContext();
+    ctx.setDatabase(db);
+    ctx.setInputParameters(params);
+    OSelectExecutionPlanner planner = new OSelectExecutionPlanner(this);
+    OInternalExecutionPlan executionPlan = planner.createShardExecutionPlan(ctx, clusters, pushDown, false);
+    executionPlan.setStatement(this.originalStatement);
+    return new OLocalResultSet(executionPlan);
+  }
+
   public OInternalExecutionPlan createExecutionPlan(OCommandContext ctx, boolean enableProfiling) {
     OSelectExecutionPlanner planner = new OSelectExecutionPlanner(this);
     OInternalExecutionPlan result = planner.createExecutionPlan(ctx, enableProfiling, true);
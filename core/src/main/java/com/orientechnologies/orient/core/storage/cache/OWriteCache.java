@@ -26,6 +26,7 @@ import com.orientechnologies.orient.core.storage.cache.local.OBackgroundExceptio
 import com.orientechnologies.orient.core.storage.impl.local.OLowDiskSpaceListener;
 import com.orientechnologies.orient.core.storage.impl.local.OPageIsBrokenListener;
 import com.orientechnologies.orient.core.storage.impl.local.paginated.wal.OLogSequenceNumber;
+import com.orientechnologies.orient.core.storage.impl.local.statistic.OFileStatistic;
 
 import java.io.IOException;
 import java.nio.file.Path;
@@ -216,4 +217,11 @@ public interface OWriteCache {
   void create() throws IOException;
 
   void open() throws IOException;
+
+  /**
+   * @param fileId External file id.
+   *
+   * @return I/O counters of the given file or {@code null} if this cache does not track them.
+   */
+  OFileStatistic getFileStatistic(long fileId);
 }
@@ -31,6 +31,8 @@ import com.orientechnologies.common.directmemory.OPointer;
 import com.orientechnologies.common.exception.OException;
 import com.orientechnologies.common.io.OIOUtils;
 import com.orientechnologies.common.log.OLogManager;
+import com.orientechnologies.common.profiler.OHistogramMetric;
+import com.orientechnologies.common.profiler.OMetricsRegistry;
 import com.orientechnologies.common.serialization.types.OBinarySerializer;
 import com.orientechnologies.common.serialization.types.OIntegerSerializer;
 import com.orientechnologies.common.serialization.types.OLongSerializer;
@@ -59,6 +61,7 @@ import com.orientechnologies.orient.core.storage.impl.local.OLowDiskSpaceListene
 import com.orientechnologies.orient.core.storage.impl.local.OPageIsBrokenListener;
 import com.orientechnologies.orient.core.storage.impl.local.paginated.wal.OLogSequenceNumber;
 import com.orientechnologies.orient.core.storage.impl.local.paginated.wal.OWriteAheadLog;
+import com.orientechnologies.orient.core.storage.impl.local.statistic.OFileStatistic;
 
 import javax.crypto.*;
 import javax.crypto.spec.IvParameterSpec;
@@ -344,6 +347,13 @@ public final class OWOWCache extends OAbstractWriteCache implements OWriteCache,
 
   private final String storageName;
 
+  private final OHistogramMetric pageLoadLatency;
+
+  /**
+   * I/O counters of the files by internal file id.
+   */
+  private final ConcurrentHashMap<Integer, OFileStatistic> fileStatistics = new ConcurrentHashMap<>();
+
   private volatile OChecksumMode checksumMode;
 
   /**
@@ -431,6 +441,8 @@ public final class OWOWCache extends OAbstractWriteCache implements OWriteCache,
 
       this.stringSerializer = stringSerializer;
       this.storageName = storageName;
+      this.pageLoadLatency = OMetricsRegistry.instance()
+          .histogram("db." + storageName + ".page.load", "Latency of page reads from the data files (nanoseconds)");
 
       this.doubleWriteLog = doubleWriteLog;
 
@@ -1083,6 +1095,9 @@ public final class OWOWCache extends OAbstractWriteCache implements OWriteCache,
   public OCachePointer load(final long fileId, final long startPageIndex, final OModifiableBoolean cacheHit,
       final boolean verifyChecksums) throws IOException {
     final int intId = extractFileId(fileId);
+    final OFileStatistic fileStatistic = fileStatistic(intId);
+    fileStatistic.onCacheMiss();
+
     filesLock.acquireReadLock();
     try {
       final PageKey pageKey = new PageKey(intId, startPageIndex);
@@ -1093,6 +1108,7 @@ public final class OWOWCache extends OAbstractWriteCache implements OWriteCache,
 
       //page is not cached load it from file
       if (pagePointer == null) {
+        fileStatistic.onDiskRead();
         try {
           //load requested page and preload requested amount of pages
           final OCachePointer filePagePointer = loadFileContent(intId, startPageIndex, verifyChecksums);
@@ -1117,6 +1133,20 @@ public final class OWOWCache extends OAbstractWriteCache implements OWriteCache,
     }
   }
 
+  @Override
+  public OFileStatistic getFileStatistic(final long fileId) {
+    return fileStatistic(extractFileId(fileId));
+  }
+
+  private OFileStatistic fileStatistic(final int intId) {
+    final OFileStatistic fileStatistic = fileStatistics.get(intId);
+    if (fileStatistic != null) {
+      return fileStatistic;
+    }
+
+    return fileStatistics.computeIfAbsent(intId, (id) -> new OFileStatistic());
+  }
+
   @Override
   public int allocateNewPage(final long fileId) throws IOException {
     filesLock.acquireReadLock();
@@ -1230,6 +1260,8 @@ public final class OWOWCache extends OAbstractWriteCache implements OWriteCache,
       if (file != null) {
         writeNameIdEntry(new NameFileIdEntry(file.first, -intId, file.second), true);
       }
+
+      fileStatistics.remove(intId);
     } finally {
       filesLock.releaseWriteLock();
     }
@@ -2051,7 +2083,9 @@ public final class OWOWCache extends OAbstractWriteCache implements OWriteCache,
           assert buffer.position() == 0;
           assert buffer.order() == ByteOrder.nativeOrder();
 
+          final long loadStart = pageLoadLatency.startTimer();
           fileClassic.read(pagePosition, buffer, false);
+          pageLoadLatency.stopTimer(loadStart);
 
           if (verifyChecksums && (checksumMode == OChecksumMode.StoreAndVerify || checksumMode == OChecksumMode.StoreAndThrow
               || checksumMode == OChecksumMode.StoreAndSwitchReadOnlyMode)) {
@@ -2834,6 +2868,7 @@ public final class OWOWCache extends OAbstractWriteCache implements OWriteCache,
 
         final List<ORawPair<Long, ByteBuffer>> fileBuffers = buffersByFileId.computeIfAbsent(fileId, (id) -> new ArrayList<>());
         fileBuffers.add(new ORawPair<>(((long) pageIndex) * pageSize, containerBuffer));
+        fileStatistic(extractFileId(fileId)).onDiskWrite(chunk.size());
 
         chunkPositions[i] = pageIndex;
         chunkFileIds[i] = internalFileId(fileId);
@@ -62,6 +62,7 @@ import com.orientechnologies.orient.core.storage.impl.local.OLowDiskSpaceListene
 import com.orientechnologies.orient.core.storage.impl.local.OPageIsBrokenListener;
 import com.orientechnologies.orient.core.storage.impl.local.paginated.wal.OLogSequenceNumber;
 import com.orientechnologies.orient.core.storage.impl.local.paginated.wal.OWriteAheadLog;
+import com.orientechnologies.orient.core.storage.impl.local.statistic.OFileStatistic;
 import net.jpountz.lz4.LZ4Factory;
 import net.jpountz.lz4.LZ4FastDecompressor;
 
@@ -1572,6 +1573,11 @@ public final class AppendOnlyCompressedWriteCache extends OAbstractWriteCache
     return id;
   }
 
+  @Override
+  public OFileStatistic getFileStatistic(final long fileId) {
+    return null;
+  }
+
   public long getCacheOverflowCount() {
     return cacheOverflowCountSum.sum();
   }
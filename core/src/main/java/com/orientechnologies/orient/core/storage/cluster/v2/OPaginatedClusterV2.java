@@ -342,18 +342,12 @@ public final class OPaginatedClusterV2 extends OPaginatedCluster {
           addAtomicOperationMetadata(new ORecordId(id, clusterPosition), atomicOperation);
           return createPhysicalPosition(recordType, clusterPosition, addEntryResult.recordVersion);
         } else {
-          final int entrySize = content.length + OIntegerSerializer.INT_SIZE + OByteSerializer.BYTE_SIZE;
+          // THE ENTRY IS THE HEADER FOLLOWED BY THE CONTENT, CHUNKS ARE COPIED FROM BOTH WITHOUT BUILDING THE WHOLE ENTRY
+          final byte[] entryHeader = new byte[OByteSerializer.BYTE_SIZE + OIntegerSerializer.INT_SIZE];
+          entryHeader[0] = recordType;
+          OIntegerSerializer.INSTANCE.serializeNative(content.length, entryHeader, OByteSerializer.BYTE_SIZE);
 
-          int fullEntryPosition = 0;
-          final byte[] fullEntry = new byte[entrySize];
-
-          fullEntry[fullEntryPosition] = recordType;
-          fullEntryPosition++;
-
-          OIntegerSerializer.INSTANCE.serializeNative(content.length, fullEntry, fullEntryPosition);
-          fullEntryPosition += OIntegerSerializer.INT_SIZE;
-
-          System.arraycopy(content, 0, fullEntry, fullEntryPosition, content.length);
+          final int entrySize = content.length + entryHeader.length;
 
           long prevPageRecordPointer = -1;
           long firstPageIndex = -1;
@@ -368,7 +362,7 @@ public final class OPaginatedClusterV2 extends OPaginatedCluster {
 
           do {
             final byte[] entryContent = new byte[to - from + OByteSerializer.BYTE_SIZE + OLongSerializer.LONG_SIZE];
-            System.arraycopy(fullEntry, from, entryContent, 0, to - from);
+            copyEntryRange(entryHeader, content, from, entryContent, to - from);
 
             if (from > 0) {
               entryContent[entryContent.length - OLongSerializer.LONG_SIZE - OByteSerializer.BYTE_SIZE] = 0;
@@ -404,8 +398,8 @@ public final class OPaginatedClusterV2 extends OPaginatedCluster {
             prevPageRecordPointer = addedPagePointer;
             from = to;
             to = to + (OClusterPage.MAX_RECORD_SIZE - OLongSerializer.LONG_SIZE - OByteSerializer.BYTE_SIZE);
-            if (to > fullEntry.length) {
-              to = fullEntry.length;
+            if (to > entrySize) {
+              to = entrySize;
             }
 
           } while (from < to);
@@ -1320,6 +1314,21 @@ public final class OPaginatedClusterV2 extends OPaginatedCluster {
     return convertRecordChunksToSingleChunk(recordChunks, contentSize);
   }
 
+  /**
+   * Copies a range of the entry made of the given header followed by the record content.
+   */
+  private static void copyEntryRange(final byte[] header, final byte[] content, final int from, final byte[] destination,
+      final int length) {
+    int copied = 0;
+    if (from < header.length) {
+      copied = Math.min(header.length - from, length);
+      System.arraycopy(header, from, destination, 0, copied);
+    }
+    if (copied < length) {
+      System.arraycopy(content, from + copied - header.length, destination, copied, length - copied);
+    }
+  }
+
   private static byte[] convertRecordChunksToSingleChunk(final List<byte[]> recordChunks, final int contentSize) {
     final byte[] fullContent;
     if (recordChunks.size() == 1) {
@@ -27,6 +27,8 @@ import com.orientechnologies.common.exception.OHighLevelException;
 import com.orientechnologies.common.io.OIOException;
 import com.orientechnologies.common.log.OLogManager;
 import com.orientechnologies.common.profiler.ModifiableLongProfileHookValue;
+import com.orientechnologies.common.profiler.OHistogramMetric;
+import com.orientechnologies.common.profiler.OMetricsRegistry;
 import com.orientechnologies.common.profiler.OProfiler;
 import com.orientechnologies.common.serialization.types.OBinarySerializer;
 import com.orientechnologies.common.serialization.types.OIntegerSerializer;
@@ -91,10 +93,13 @@ import com.orientechnologies.orient.core.storage.impl.local.paginated.ORecordSer
 import com.orientechnologies.orient.core.storage.impl.local.paginated.OStorageTransaction;
 import com.orientechnologies.orient.core.storage.impl.local.paginated.atomicoperations.OAtomicOperation;
 import com.orientechnologies.orient.core.storage.impl.local.paginated.atomicoperations.OAtomicOperationsManager;
+import com.orientechnologies.orient.core.storage.impl.local.paginated.base.ODurableComponent;
 import com.orientechnologies.orient.core.storage.impl.local.paginated.base.ODurablePage;
 import com.orientechnologies.orient.core.storage.impl.local.paginated.wal.*;
 import com.orientechnologies.orient.core.storage.impl.local.paginated.wal.cas.CASDiskWriteAheadLog;
 import com.orientechnologies.orient.core.storage.impl.local.paginated.wal.common.WriteableWALRecord;
+import com.orientechnologies.orient.core.storage.impl.local.statistic.OComponentStatistic;
+import com.orientechnologies.orient.core.storage.impl.local.statistic.OComponentStatisticMetric;
 import com.orientechnologies.orient.core.storage.impl.local.statistic.OPerformanceStatisticManager;
 import com.orientechnologies.orient.core.storage.impl.local.statistic.OSessionStoragePerformanceStatistic;
 import com.orientechnologies.orient.core.storage.index.engine.OHashTableIndexEngine;
@@ -112,8 +117,13 @@ import java.io.*;
 import java.nio.charset.StandardCharsets;
 import java.text.SimpleDateFormat;
 import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -135,6 +145,9 @@ public abstract class OAbstractPaginatedStorage extends OStorageAbstract
     OFreezableStorageComponent, OPageIsBrokenListener {
   private static final int WAL_RESTORE_REPORT_INTERVAL = 30 * 1000; // milliseconds
 
+  private static final int        DELTA_SYNC_READ_AHEAD     = 1024;
+  private static final ORawBuffer DELTA_SYNC_DELETED_RECORD = new ORawBuffer();
+
   private static final Comparator<ORecordOperation> COMMIT_RECORD_OPERATION_COMPARATOR = Comparator
       .comparing(o -> o.getRecord().getIdentity());
 
@@ -171,6 +184,7 @@ public abstract class OAbstractPaginatedStorage extends OStorageAbstract
 
   protected volatile OWriteAheadLog          writeAheadLog;
   private            OStorageRecoverListener recoverListener;
+  private final      List<OStorageCommitListener> commitListeners = new CopyOnWriteArrayList<>();
 
   protected volatile OReadCache  readCache;
   protected volatile OWriteCache writeCache;
@@ -212,6 +226,16 @@ public abstract class OAbstractPaginatedStorage extends OStorageAbstract
   private final OModifiableLong txCommit       = new OModifiableLong();
   private final OModifiableLong txRollback     = new OModifiableLong();
 
+  private final OHistogramMetric          commitLatency;
+  private final OComponentStatisticMetric componentsMetric;
+
+  /**
+   * Instances of the durable components of the storage, to collect their statistics. Instances are weakly referenced, so the ones
+   * of dropped clusters and indexes go away with them.
+   */
+  private final Set<ODurableComponent> durableComponents = Collections
+      .synchronizedSet(Collections.newSetFromMap(new WeakHashMap<>()));
+
   private final AtomicInteger sessionCount  = new AtomicInteger(0);
   private final AtomicLong    lastCloseTime = new AtomicLong(System.currentTimeMillis());
 
@@ -223,6 +247,8 @@ public abstract class OAbstractPaginatedStorage extends OStorageAbstract
     recordVersionManager = new OPartitionedLockManager<>();
 
     registerProfilerHooks();
+    commitLatency = OMetricsRegistry.instance().histogram("db." + name + ".commit", "Latency of transaction commits (nanoseconds)");
+    componentsMetric = new OComponentStatisticMetric("db." + name + ".components", this);
     sbTreeCollectionManager = new OSBTreeCollectionManagerShared(this);
   }
 
@@ -320,6 +346,7 @@ public abstract class OAbstractPaginatedStorage extends OStorageAbstract
         openIndexes();
 
         status = STATUS.OPEN;
+        OMetricsRegistry.instance().register(componentsMetric);
 
         final String cs = configuration.getConflictStrategy();
         if (cs != null) {
@@ -542,6 +569,7 @@ public abstract class OAbstractPaginatedStorage extends OStorageAbstract
         preCreateSteps();
 
         status = STATUS.OPEN;
+        OMetricsRegistry.instance().register(componentsMetric);
 
         // ADD THE METADATA CLUSTER TO STORE INTERNAL STUFF
         doAddCluster(OMetadataDefault.CLUSTER_INTERNAL_NAME);
@@ -1108,37 +1136,21 @@ public abstract class OAbstractPaginatedStorage extends OStorageAbstract
 
           dataOutputStream.writeLong(sortedRids.size());
 
-          long exportedRecord = 1;
-
-          for (ORID rid : sortedRids) {
-            final OCluster cluster = clusters.get(rid.getClusterId());
-
-            dataOutputStream.writeInt(rid.getClusterId());
-            dataOutputStream.writeLong(rid.getClusterPosition());
-
-            if (cluster.getPhysicalPosition(new OPhysicalPosition(rid.getClusterPosition())) == null) {
-              dataOutputStream.writeBoolean(true);
-              OLogManager.instance().debug(this, "Exporting deleted record %s", rid);
-            } else {
-              final ORawBuffer rawBuffer = cluster.readRecord(rid.getClusterPosition(), false);
-              assert rawBuffer != null;
-
-              dataOutputStream.writeBoolean(false);
-              dataOutputStream.writeInt(rawBuffer.version);
-              dataOutputStream.writeByte(rawBuffer.recordType);
-              dataOutputStream.writeInt(rawBuffer.buffer.length);
-              dataOutputStream.write(rawBuffer.buffer);
-
-              OLogManager.instance()
-                  .debug(this, "Exporting modified record rid=%s type=%d size=%d v=%d - buffer size=%d", rid, rawBuffer.recordType,
-                      rawBuffer.buffer.length, rawBuffer.version, dataOutputStream.size());
-            }
+          final List<List<ORID>> ridsByCluster = groupByCluster(sortedRids);
+          final int parallelism = Math.min(ridsByCluster.size(),
+              configuration.getContextConfiguration().getValueAsInteger(OGlobalConfiguration.DISTRIBUTED_DELTA_SYNC_PARALLELISM));
 
-            if (outputListener != null) {
-              outputListener.onMessage("exporting record " + exportedRecord + "/" + totalRecords);
+          if (parallelism < 2) {
+            long exportedRecord = 1;
+            for (ORID rid : sortedRids) {
+              writeDeltaRecord(dataOutputStream, rid, readDeltaRecord(rid));
+              if (outputListener != null) {
+                outputListener.onMessage("exporting record " + exportedRecord + "/" + totalRecords);
+              }
+              exportedRecord++;
             }
-
-            exportedRecord++;
+          } else {
+            writeDeltaContentInParallel(dataOutputStream, outputListener, ridsByCluster, parallelism, totalRecords);
           }
         }
       } finally {
@@ -1152,6 +1164,117 @@ public abstract class OAbstractPaginatedStorage extends OStorageAbstract
 
   }
 
+  private static List<List<ORID>> groupByCluster(final SortedSet<ORID> sortedRids) {
+    final List<List<ORID>> result = new ArrayList<>();
+    List<ORID> current = null;
+    for (ORID rid : sortedRids) {
+      if (current == null || current.get(0).getClusterId() != rid.getClusterId()) {
+        current = new ArrayList<>();
+        result.add(current);
+      }
+      current.add(rid);
+    }
+    return result;
+  }
+
+  /**
+   * The records of every cluster are read by a pool of threads, each one a cluster at a time, ahead of the writer that keeps
+   * the order of the sorted rids. On large deltas this overlaps the reads of pages not in cache instead of waiting for them one
+   * by one.
+   */
+  private void writeDeltaContentInParallel(final DataOutputStream dataOutputStream, final OCommandOutputListener outputListener,
+      final List<List<ORID>> ridsByCluster, final int parallelism, final int totalRecords) throws IOException {
+    final ExecutorService readers = Executors.newFixedThreadPool(parallelism, r -> {
+      final Thread thread = new Thread(r, "OrientDB Delta Sync Reader (" + name + ")");
+      thread.setDaemon(true);
+      return thread;
+    });
+    try {
+      final List<BlockingQueue<Object>> queues = new ArrayList<>(ridsByCluster.size());
+      for (final List<ORID> rids : ridsByCluster) {
+        final BlockingQueue<Object> queue = new ArrayBlockingQueue<>(DELTA_SYNC_READ_AHEAD);
+        queues.add(queue);
+        // THE POOL RUNS THE CLUSTERS IN ORDER, SO THE ONE THE WRITER IS WAITING FOR IS ALWAYS STARTED
+        readers.execute(() -> {
+          try {
+            for (ORID rid : rids) {
+              final ORawBuffer buffer = readDeltaRecord(rid);
+              queue.put(buffer != null ? buffer : DELTA_SYNC_DELETED_RECORD);
+            }
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+          } catch (IOException | RuntimeException e) {
+            try {
+              queue.put(e);
+            } catch (InterruptedException ie) {
+              Thread.currentThread().interrupt();
+            }
+          }
+        });
+      }
+
+      long exportedRecord = 1;
+      for (int i = 0; i < ridsByCluster.size(); i++) {
+        final BlockingQueue<Object> queue = queues.get(i);
+        for (ORID rid : ridsByCluster.get(i)) {
+          final Object read;
+          try {
+            read = queue.take();
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new OInterruptedException("Interrupted while exporting records of delta sync");
+          }
+          if (read instanceof Exception) {
+            throw OException.wrapException(new OStorageException("Error on reading record " + rid + " for delta sync"),
+                (Exception) read);
+          }
+          writeDeltaRecord(dataOutputStream, rid, read == DELTA_SYNC_DELETED_RECORD ? null : (ORawBuffer) read);
+
+          if (outputListener != null) {
+            outputListener.onMessage("exporting record " + exportedRecord + "/" + totalRecords);
+          }
+          exportedRecord++;
+        }
+      }
+    } finally {
+      readers.shutdownNow();
+    }
+  }
+
+  /**
+   * @return the content of the record, or null if it has been deleted
+   */
+  private ORawBuffer readDeltaRecord(final ORID rid) throws IOException {
+    final OCluster cluster = clusters.get(rid.getClusterId());
+    if (cluster.getPhysicalPosition(new OPhysicalPosition(rid.getClusterPosition())) == null) {
+      return null;
+    }
+    final ORawBuffer rawBuffer = cluster.readRecord(rid.getClusterPosition(), false);
+    assert rawBuffer != null;
+    return rawBuffer;
+  }
+
+  private static void writeDeltaRecord(final DataOutputStream dataOutputStream, final ORID rid, final ORawBuffer rawBuffer)
+      throws IOException {
+    dataOutputStream.writeInt(rid.getClusterId());
+    dataOutputStream.writeLong(rid.getClusterPosition());
+
+    if (rawBuffer == null) {
+      dataOutputStream.writeBoolean(true);
+      OLogManager.instance().debug(OAbstractPaginatedStorage.class, "Exporting deleted record %s", rid);
+    } else {
+      dataOutputStream.writeBoolean(false);
+      dataOutputStream.writeInt(rawBuffer.version);
+      dataOutputStream.writeByte(rawBuffer.recordType);
+      dataOutputStream.writeInt(rawBuffer.buffer.length);
+      dataOutputStream.write(rawBuffer.buffer);
+
+      OLogManager.instance().debug(OAbstractPaginatedStorage.class,
+          "Exporting modified record rid=%s type=%d size=%d v=%d - buffer size=%d", rid, rawBuffer.recordType,
+          rawBuffer.buffer.length, rawBuffer.version, dataOutputStream.size());
+    }
+  }
+
   /**
    * This method finds all the records changed in the last X transactions.
    *
@@ -1593,6 +1716,39 @@ public abstract class OAbstractPaginatedStorage extends OStorageAbstract
     return performanceStatisticManager;
   }
 
+  public void registerDurableComponent(final ODurableComponent durableComponent) {
+    durableComponents.add(durableComponent);
+  }
+
+  /**
+   * Collects the statistics of the durable components of the storage. Statistics of the instances which share the same files,
+   * like the ridbag trees, are summed.
+   *
+   * @return counters by full component name, see {@link OComponentStatistic#aggregate(Collection, OWriteCache)}
+   */
+  public SortedMap<String, Map<String, Long>> getComponentStatistics() {
+    checkOpenness();
+
+    final List<ODurableComponent> components;
+    synchronized (durableComponents) {
+      components = new ArrayList<>(durableComponents);
+    }
+
+    final Map<String, List<OComponentStatistic>> statisticsByName = new HashMap<>();
+    for (final ODurableComponent component : components) {
+      final OComponentStatistic statistic = component.getStatistic();
+      if (statistic.hasFiles()) {
+        statisticsByName.computeIfAbsent(component.getFullName(), (name) -> new ArrayList<>()).add(statistic);
+      }
+    }
+
+    final SortedMap<String, Map<String, Long>> result = new TreeMap<>();
+    for (final Map.Entry<String, List<OComponentStatistic>> entry : statisticsByName.entrySet()) {
+      result.put(entry.getKey(), OComponentStatistic.aggregate(entry.getValue(), writeCache));
+    }
+    return result;
+  }
+
   /**
    * Starts to gather information about storage performance for current thread. Details which performance characteristics are
    * gathered can be found at {@link OSessionStoragePerformanceStatistic}.
@@ -1849,6 +2005,8 @@ public abstract class OAbstractPaginatedStorage extends OStorageAbstract
     //  OAbstractPaginatedStorage.commit(com.orientechnologies.orient.core.storage.impl.local.OMicroTransaction)
 
     try {
+      final long commitStart = commitLatency.startTimer();
+
       checkOpenness();
       checkLowDiskSpaceRequestsAndReadOnlyConditions();
 
@@ -2044,6 +2202,11 @@ public abstract class OAbstractPaginatedStorage extends OStorageAbstract
                 transaction.getId(), database.getName(), result);
       }
 
+      if (!commitListeners.isEmpty()) {
+        notifyCommitListeners(result);
+      }
+
+      commitLatency.stopTimer(commitStart);
       return result;
     } catch (final RuntimeException ee) {
       throw logAndPrepareForRethrow(ee);
@@ -4280,6 +4443,24 @@ public abstract class OAbstractPaginatedStorage extends OStorageAbstract
     }
   }
 
+  public void registerCommitListener(final OStorageCommitListener commitListener) {
+    commitListeners.add(commitListener);
+  }
+
+  public void unregisterCommitListener(final OStorageCommitListener commitListener) {
+    commitListeners.remove(commitListener);
+  }
+
+  private void notifyCommitListeners(final List<ORecordOperation> operations) {
+    for (final OStorageCommitListener listener : commitListeners) {
+      try {
+        listener.onCommit(operations);
+      } catch (final Exception e) {
+        OLogManager.instance().error(this, "Error on notifying commit listener %s", e, listener);
+      }
+    }
+  }
+
   @SuppressWarnings("unused")
   protected abstract File createWalTempDirectory();
 
@@ -5046,6 +5227,12 @@ public abstract class OAbstractPaginatedStorage extends OStorageAbstract
 
         postCloseSteps(onDelete, jvmError.get() != null);
         transaction = null;
+
+        // THE METRIC KEEPS THE STORAGE REACHABLE, SO IT IS REGISTERED ONLY WHILE THE STORAGE IS OPEN
+        OMetricsRegistry.instance().unregister(componentsMetric);
+        if (onDelete) {
+          OMetricsRegistry.instance().unregister("db." + name + ".");
+        }
       } else {
         OLogManager.instance()
             .errorNoDb(this, "Because of JVM error happened inside of storage it can not be properly closed", null);
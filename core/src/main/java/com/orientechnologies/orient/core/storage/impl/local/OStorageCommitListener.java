@@ -0,0 +1,13 @@
+package com.orientechnologies.orient.core.storage.impl.local;
+
+import com.orientechnologies.orient.core.db.record.ORecordOperation;
+
+import java.util.List;
+
+/**
+ * Allows listeners to be notified of the record operations applied by every committed transaction. It is invoked on the thread
+ * that committed, after the storage locks are released, so implementations must be quick and copy what they need.
+ */
+public interface OStorageCommitListener {
+  void onCommit(List<ORecordOperation> operations);
+}
@@ -25,6 +25,7 @@ import com.orientechnologies.orient.core.exception.OStorageException;
 import com.orientechnologies.orient.core.storage.cache.*;
 import com.orientechnologies.orient.core.storage.impl.local.paginated.base.ODurablePage;
 import com.orientechnologies.orient.core.storage.impl.local.paginated.wal.*;
+import com.orientechnologies.orient.core.storage.impl.local.statistic.OFileStatistic;
 import com.orientechnologies.orient.core.storage.index.sbtreebonsai.local.OBonsaiBucketPointer;
 
 import java.io.IOException;
@@ -427,6 +428,7 @@ final class OAtomicOperationBinaryTracking implements OAtomicOperation {
                   + "as result data can be incorrectly restored after crash, this operation is not recommended to be used");
         }
 
+        final OFileStatistic fileStatistic = writeCache.getFileStatistic(fileId);
         final Iterator<Map.Entry<Long, OCacheEntryChanges>> filePageChangesIterator = fileChanges.pageChangesMap.entrySet()
             .iterator();
         while (filePageChangesIterator.hasNext()) {
@@ -436,9 +438,14 @@ final class OAtomicOperationBinaryTracking implements OAtomicOperation {
             final long pageIndex = filePageChangesEntry.getKey();
             final OCacheEntryChanges filePageChanges = filePageChangesEntry.getValue();
 
-            final OLogSequenceNumber changesLSN = writeAheadLog
-                .log(new OUpdatePageRecord(pageIndex, fileId, operationUnitId, filePageChanges.changes));
+            final OUpdatePageRecord updatePageRecord = new OUpdatePageRecord(pageIndex, fileId, operationUnitId,
+                filePageChanges.changes);
+            final OLogSequenceNumber changesLSN = writeAheadLog.log(updatePageRecord);
             filePageChanges.setChangeLSN(changesLSN);
+
+            if (fileStatistic != null) {
+              fileStatistic.onWalWrite(updatePageRecord.serializedSize());
+            }
           } else {
             filePageChangesIterator.remove();
           }
@@ -111,7 +111,7 @@ public class OAtomicOperationsManager {
   public OAtomicOperation startAtomicOperation(ODurableComponent durableComponent, boolean trackNonTxOperations)
       throws IOException {
     if (durableComponent != null) {
-      return startAtomicOperation(durableComponent.getLockName(), trackNonTxOperations);
+      return startAtomicOperation(durableComponent.getLockName(), durableComponent, trackNonTxOperations);
     }
 
     return startAtomicOperation((String) null, trackNonTxOperations);
@@ -139,12 +139,17 @@ public class OAtomicOperationsManager {
    * @return Instance of active atomic operation.
    */
   public OAtomicOperation startAtomicOperation(String lockName, boolean trackNonTxOperations) throws IOException {
+    return startAtomicOperation(lockName, null, trackNonTxOperations);
+  }
+
+  private OAtomicOperation startAtomicOperation(String lockName, ODurableComponent durableComponent,
+      boolean trackNonTxOperations) throws IOException {
     OAtomicOperation operation = currentOperation.get();
     if (operation != null) {
       operation.incrementCounter();
 
       if (lockName != null) {
-        acquireExclusiveLockTillOperationComplete(operation, lockName);
+        acquireExclusiveLockTillOperationComplete(operation, lockName, durableComponent);
       }
 
       return operation;
@@ -189,7 +194,7 @@ public class OAtomicOperationsManager {
     }
 
     if (lockName != null) {
-      acquireExclusiveLockTillOperationComplete(operation, lockName);
+      acquireExclusiveLockTillOperationComplete(operation, lockName, durableComponent);
     }
 
     try {
@@ -439,11 +444,26 @@ public class OAtomicOperationsManager {
    * @param lockName  the lock name to acquire.
    */
   public void acquireExclusiveLockTillOperationComplete(OAtomicOperation operation, String lockName) {
+    acquireExclusiveLockTillOperationComplete(operation, lockName, null);
+  }
+
+  /**
+   * Acquires exclusive lock with the given lock name in the given atomic operation, the wait for the lock is accounted in the
+   * statistic of the {@code durableComponent} if it is not {@code null}.
+   */
+  private void acquireExclusiveLockTillOperationComplete(OAtomicOperation operation, String lockName,
+      ODurableComponent durableComponent) {
     if (operation.containsInLockedObjects(lockName)) {
       return;
     }
 
-    lockManager.acquireLock(lockName, OOneEntryPerKeyLockManager.LOCK.EXCLUSIVE);
+    if (durableComponent == null) {
+      lockManager.acquireLock(lockName, OOneEntryPerKeyLockManager.LOCK.EXCLUSIVE);
+    } else {
+      final long start = System.nanoTime();
+      lockManager.acquireLock(lockName, OOneEntryPerKeyLockManager.LOCK.EXCLUSIVE);
+      durableComponent.getStatistic().onLockAcquired(System.nanoTime() - start);
+    }
     operation.addLockedObject(lockName);
   }
 
@@ -453,13 +473,15 @@ public class OAtomicOperationsManager {
   public void acquireExclusiveLockTillOperationComplete(ODurableComponent durableComponent) {
     final OAtomicOperation operation = currentOperation.get();
     assert operation != null;
-    acquireExclusiveLockTillOperationComplete(operation, durableComponent.getLockName());
+    acquireExclusiveLockTillOperationComplete(operation, durableComponent.getLockName(), durableComponent);
   }
 
   public void acquireReadLock(ODurableComponent durableComponent) {
     assert durableComponent.getLockName() != null;
 
+    final long start = System.nanoTime();
     lockManager.acquireLock(durableComponent.getLockName(), OOneEntryPerKeyLockManager.LOCK.SHARED);
+    durableComponent.getStatistic().onLockAcquired(System.nanoTime() - start);
   }
 
   public void releaseReadLock(ODurableComponent durableComponent) {
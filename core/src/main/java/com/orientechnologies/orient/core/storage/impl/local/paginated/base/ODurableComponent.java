@@ -27,6 +27,7 @@ import com.orientechnologies.orient.core.storage.cache.OWriteCache;
 import com.orientechnologies.orient.core.storage.impl.local.OAbstractPaginatedStorage;
 import com.orientechnologies.orient.core.storage.impl.local.paginated.atomicoperations.OAtomicOperation;
 import com.orientechnologies.orient.core.storage.impl.local.paginated.atomicoperations.OAtomicOperationsManager;
+import com.orientechnologies.orient.core.storage.impl.local.statistic.OComponentStatistic;
 
 import java.io.IOException;
 
@@ -64,6 +65,8 @@ public abstract class ODurableComponent extends OSharedResourceAdaptive {
 
   private final String lockName;
 
+  private final OComponentStatistic statistic = new OComponentStatistic();
+
   public ODurableComponent(final OAbstractPaginatedStorage storage, final String name, final String extension,
       final String lockName) {
     super(true);
@@ -77,6 +80,8 @@ public abstract class ODurableComponent extends OSharedResourceAdaptive {
     this.readCache = storage.getReadCache();
     this.writeCache = storage.getWriteCache();
     this.lockName = lockName;
+
+    storage.registerDurableComponent(this);
   }
 
   public String getLockName() {
@@ -100,6 +105,10 @@ public abstract class ODurableComponent extends OSharedResourceAdaptive {
     return extension;
   }
 
+  public OComponentStatistic getStatistic() {
+    return statistic;
+  }
+
   protected void endAtomicOperation(final boolean rollback) throws IOException {
     atomicOperationsManager.endAtomicOperation(rollback);
   }
@@ -122,6 +131,8 @@ public abstract class ODurableComponent extends OSharedResourceAdaptive {
 
   protected OCacheEntry loadPageForWrite(final OAtomicOperation atomicOperation, final long fileId, final long pageIndex,
       final boolean checkPinnedPages, final boolean verifyCheckSum) throws IOException {
+    statistic.onPageWrite();
+
     if (atomicOperation == null) {
       return readCache.loadForWrite(fileId, pageIndex, checkPinnedPages, writeCache, true, null);
     }
@@ -136,6 +147,8 @@ public abstract class ODurableComponent extends OSharedResourceAdaptive {
 
   protected OCacheEntry loadPageForRead(final OAtomicOperation atomicOperation, final long fileId, final long pageIndex,
       final boolean checkPinnedPages, final int pageCount) throws IOException {
+    statistic.onPageRead();
+
     if (atomicOperation == null) {
       return readCache.loadForRead(fileId, pageIndex, checkPinnedPages, writeCache, true);
     }
@@ -144,6 +157,8 @@ public abstract class ODurableComponent extends OSharedResourceAdaptive {
   }
 
   protected OCacheEntry addPage(final OAtomicOperation atomicOperation, final long fileId) throws IOException {
+    statistic.onPageWrite();
+
     if (atomicOperation == null) {
       return readCache.allocateNewPage(fileId, writeCache, null);
     }
@@ -168,22 +183,32 @@ public abstract class ODurableComponent extends OSharedResourceAdaptive {
   }
 
   protected long addFile(final OAtomicOperation atomicOperation, final String fileName) throws IOException {
+    final long fileId;
     if (atomicOperation == null) {
-      return readCache.addFile(fileName, writeCache);
+      fileId = readCache.addFile(fileName, writeCache);
+    } else {
+      fileId = atomicOperation.addFile(fileName);
     }
 
-    return atomicOperation.addFile(fileName);
+    statistic.addFile(fileId);
+    return fileId;
   }
 
   protected long openFile(final OAtomicOperation atomicOperation, final String fileName) throws IOException {
+    final long fileId;
     if (atomicOperation == null) {
-      return writeCache.loadFile(fileName);
+      fileId = writeCache.loadFile(fileName);
+    } else {
+      fileId = atomicOperation.loadFile(fileName);
     }
 
-    return atomicOperation.loadFile(fileName);
+    statistic.addFile(fileId);
+    return fileId;
   }
 
   protected void deleteFile(final OAtomicOperation atomicOperation, final long fileId) throws IOException {
+    statistic.removeFile(fileId);
+
     if (atomicOperation == null) {
       readCache.deleteFile(fileId, writeCache);
     } else {
@@ -6,6 +6,8 @@ import com.orientechnologies.common.directmemory.OPointer;
 import com.orientechnologies.common.exception.OException;
 import com.orientechnologies.common.io.OIOUtils;
 import com.orientechnologies.common.log.OLogManager;
+import com.orientechnologies.common.profiler.OHistogramMetric;
+import com.orientechnologies.common.profiler.OMetricsRegistry;
 import com.orientechnologies.common.serialization.types.OIntegerSerializer;
 import com.orientechnologies.common.serialization.types.OLongSerializer;
 import com.orientechnologies.common.thread.OScheduledThreadPoolExecutorWithLogging;
@@ -203,6 +205,8 @@ public final class CASDiskWriteAheadLog implements OWriteAheadLog {
   private final LongAdder threadsWaitingSum   = new LongAdder();
   private final LongAdder threadsWaitingCount = new LongAdder();
 
+  private final OHistogramMetric fsyncLatency;
+
   private long reportTs = -1;
 
   private volatile boolean stopWrite = false;
@@ -245,6 +249,8 @@ public final class CASDiskWriteAheadLog implements OWriteAheadLog {
 
     this.fileStore = Files.getFileStore(walLocation);
     this.storageName = storageName;
+    this.fsyncLatency = OMetricsRegistry.instance()
+        .histogram("db." + storageName + ".wal.flush", "Latency of WAL flushes, fsync included (nanoseconds)");
 
     if (allowDirectIO) {
       blockSize = OIOUtils.calculateBlockSize(walLocation.toAbsolutePath().toString());
@@ -2024,6 +2030,8 @@ public final class CASDiskWriteAheadLog implements OWriteAheadLog {
                   startTs = System.nanoTime();
                 }
 
+                final long flushStart = fsyncLatency.startTimer();
+
                 final int cqSize = fileCloseQueueSize.get();
                 if (cqSize > 0) {
                   int counter = 0;
@@ -2060,6 +2068,8 @@ public final class CASDiskWriteAheadLog implements OWriteAheadLog {
 
                 fireEventsFor(flushedLSN);
 
+                fsyncLatency.stopTimer(flushStart);
+
                 if (printPerformanceStatistic) {
                   final long endTs = System.nanoTime();
                   //noinspection NonAtomicOperationOnVolatileField
@@ -0,0 +1,116 @@
+/*
+ *  *  Copyright 2016 OrientDB LTD (info(at)orientdb.com)
+ *  *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  *  you may not use this file except in compliance with the License.
+ *  *  You may obtain a copy of the License at
+ *  *          http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  *  See the License for the specific language governing permissions and
+ *  *  limitations under the License.
+ *  *
+ *  *  For more information: http://orientdb.com
+ *
+ */
+
+package com.orientechnologies.orient.core.storage.impl.local.statistic;
+
+import com.orientechnologies.orient.core.storage.cache.OWriteCache;
+import com.orientechnologies.orient.core.storage.impl.local.paginated.base.ODurableComponent;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Always-on counters of a {@link ODurableComponent}: page accesses and waits on the component lock. Together with the
+ * {@link OFileStatistic} of the files of the component they tell which cluster or index thrashes the cache.
+ */
+public final class OComponentStatistic {
+  private final LongAdder pageReads        = new LongAdder();
+  private final LongAdder pageWrites       = new LongAdder();
+  private final LongAdder lockAcquisitions = new LongAdder();
+  private final LongAdder lockWaitTime     = new LongAdder();
+
+  private final Set<Long> fileIds = ConcurrentHashMap.newKeySet();
+
+  public void onPageRead() {
+    pageReads.increment();
+  }
+
+  public void onPageWrite() {
+    pageWrites.increment();
+  }
+
+  /**
+   * @param waitTime time spent to acquire the lock of the component, in nanoseconds
+   */
+  public void onLockAcquired(final long waitTime) {
+    lockAcquisitions.increment();
+    lockWaitTime.add(waitTime);
+  }
+
+  public void addFile(final long fileId) {
+    fileIds.add(fileId);
+  }
+
+  public void removeFile(final long fileId) {
+    fileIds.remove(fileId);
+  }
+
+  public boolean hasFiles() {
+    return !fileIds.isEmpty();
+  }
+
+  /**
+   * Sums the counters of the given statistics, e.g. of all the instances of the same component, and of their files.
+   *
+   * @return counters by name, lock wait time in microseconds
+   */
+  public static Map<String, Long> aggregate(final Collection<OComponentStatistic> statistics, final OWriteCache writeCache) {
+    long pageReads = 0;
+    long pageWrites = 0;
+    long lockAcquisitions = 0;
+    long lockWaitTime = 0;
+
+    final Set<Long> fileIds = new HashSet<>();
+    for (final OComponentStatistic statistic : statistics) {
+      pageReads += statistic.pageReads.sum();
+      pageWrites += statistic.pageWrites.sum();
+      lockAcquisitions += statistic.lockAcquisitions.sum();
+      lockWaitTime += statistic.lockWaitTime.sum();
+      fileIds.addAll(statistic.fileIds);
+    }
+
+    long cacheMisses = 0;
+    long diskReads = 0;
+    long diskWrites = 0;
+    long walBytes = 0;
+    for (final long fileId : fileIds) {
+      final OFileStatistic fileStatistic = writeCache.getFileStatistic(fileId);
+      if (fileStatistic != null) {
+        cacheMisses += fileStatistic.getCacheMisses();
+        diskReads += fileStatistic.getDiskReads();
+        diskWrites += fileStatistic.getDiskWrites();
+        walBytes += fileStatistic.getWalBytes();
+      }
+    }
+
+    final Map<String, Long> values = new LinkedHashMap<>();
+    values.put("pageReads", pageReads);
+    values.put("pageWrites", pageWrites);
+    values.put("cacheMisses", cacheMisses);
+    values.put("diskReads", diskReads);
+    values.put("diskWrites", diskWrites);
+    values.put("walBytes", walBytes);
+    values.put("lockAcquisitions", lockAcquisitions);
+    values.put("lockWaitTime", lockWaitTime / 1000);
+    return values;
+  }
+}
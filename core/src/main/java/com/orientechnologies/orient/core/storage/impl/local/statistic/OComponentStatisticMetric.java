@@ -0,0 +1,66 @@
+/*
+ *  *  Copyright 2016 OrientDB LTD (info(at)orientdb.com)
+ *  *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  *  you may not use this file except in compliance with the License.
+ *  *  You may obtain a copy of the License at
+ *  *          http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  *  See the License for the specific language governing permissions and
+ *  *  limitations under the License.
+ *  *
+ *  *  For more information: http://orientdb.com
+ *
+ */
+
+package com.orientechnologies.orient.core.storage.impl.local.statistic;
+
+import com.orientechnologies.common.profiler.OMetric;
+import com.orientechnologies.common.profiler.OMetricsRegistry;
+import com.orientechnologies.orient.core.storage.OStorage;
+import com.orientechnologies.orient.core.storage.impl.local.OAbstractPaginatedStorage;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Exports the statistics of the durable components of a storage by the {@link OMetricsRegistry}, as values named
+ * "component name.counter name".
+ */
+public final class OComponentStatisticMetric implements OMetric {
+  private final String                    name;
+  private final OAbstractPaginatedStorage storage;
+
+  public OComponentStatisticMetric(final String name, final OAbstractPaginatedStorage storage) {
+    this.name = name;
+    this.storage = storage;
+  }
+
+  @Override
+  public String getName() {
+    return name;
+  }
+
+  @Override
+  public String getDescription() {
+    return "Page accesses, cache misses, I/O, WAL bytes and lock waits (microseconds) of the clusters and indexes";
+  }
+
+  @Override
+  public Map<String, Long> getValues() {
+    if (storage.getStatus() != OStorage.STATUS.OPEN) {
+      return Collections.emptyMap();
+    }
+
+    final Map<String, Long> values = new LinkedHashMap<>();
+    for (final Map.Entry<String, Map<String, Long>> component : storage.getComponentStatistics().entrySet()) {
+      for (final Map.Entry<String, Long> value : component.getValue().entrySet()) {
+        values.put(component.getKey() + "." + value.getKey(), value.getValue());
+      }
+    }
+    return values;
+  }
+}
@@ -0,0 +1,72 @@
+/*
+ *  *  Copyright 2016 OrientDB LTD (info(at)orientdb.com)
+ *  *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  *  you may not use this file except in compliance with the License.
+ *  *  You may obtain a copy of the License at
+ *  *          http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  *  See the License for the specific language governing permissions and
+ *  *  limitations under the License.
+ *  *
+ *  *  For more information: http://orientdb.com
+ *
+ */
+
+package com.orientechnologies.orient.core.storage.impl.local.statistic;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Always-on I/O counters of a single file of the write cache. Unlike the {@link OSessionStoragePerformanceStatistic} they are not
+ * bound to a session, so they tell which file thrashes the cache whatever the thread which caused it.
+ */
+public final class OFileStatistic {
+  private final LongAdder cacheMisses = new LongAdder();
+  private final LongAdder diskReads   = new LongAdder();
+  private final LongAdder diskWrites  = new LongAdder();
+  private final LongAdder walBytes    = new LongAdder();
+
+  /**
+   * Page requested by the read cache, because it was not in it.
+   */
+  public void onCacheMiss() {
+    cacheMisses.increment();
+  }
+
+  public void onDiskRead() {
+    diskReads.increment();
+  }
+
+  public void onDiskWrite(final int pages) {
+    diskWrites.add(pages);
+  }
+
+  public void onWalWrite(final long bytes) {
+    walBytes.add(bytes);
+  }
+
+  public long getCacheMisses() {
+    return cacheMisses.sum();
+  }
+
+  public long getDiskReads() {
+    return diskReads.sum();
+  }
+
+  /**
+   * @return amount of pages written to the disk
+   */
+  public long getDiskWrites() {
+    return diskWrites.sum();
+  }
+
+  /**
+   * @return amount of bytes of page changes logged to the WAL
+   */
+  public long getWalBytes() {
+    return walBytes.sum();
+  }
+}
@@ -31,6 +31,7 @@ import com.orientechnologies.orient.core.storage.cache.local.OBackgroundExceptio
 import com.orientechnologies.orient.core.storage.impl.local.OLowDiskSpaceListener;
 import com.orientechnologies.orient.core.storage.impl.local.OPageIsBrokenListener;
 import com.orientechnologies.orient.core.storage.impl.local.paginated.wal.OLogSequenceNumber;
+import com.orientechnologies.orient.core.storage.impl.local.statistic.OFileStatistic;
 import com.orientechnologies.orient.core.storage.impl.local.statistic.OPerformanceStatisticManager;
 import com.orientechnologies.orient.core.storage.impl.local.statistic.OSessionStoragePerformanceStatistic;
 
@@ -676,6 +677,11 @@ public final class ODirectMemoryOnlyDiskCache extends OAbstractWriteCache implem
 
   }
 
+  @Override
+  public OFileStatistic getFileStatistic(final long fileId) {
+    return null;
+  }
+
   @Override
   public final OCachePointer load(final long fileId, final long startPageIndex, final OModifiableBoolean cacheHit,
       final boolean verifyChecksums) {
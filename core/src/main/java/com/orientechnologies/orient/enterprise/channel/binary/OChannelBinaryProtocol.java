@@ -74,6 +74,8 @@ public class OChannelBinaryProtocol {
   public static final byte REQUEST_QUERY                             = 45;                 // since 3.0
   public static final byte REQUEST_CLOSE_QUERY                       = 46;                 // since 3.0
   public static final byte REQUEST_QUERY_NEXT_PAGE                   = 47;                 // since 3.0
+  public static final byte REQUEST_QUERY_STREAM_PAGE                 = 48;                 // since 3.1
+  public static final byte REQUEST_RECORDS_LOAD                      = 49;                 // since 3.1
 
   public static final byte REQUEST_TX_COMMIT   = 60;
   public static final byte REQUEST_TX_BEGIN    = 61;
@@ -102,6 +104,7 @@ public class OChannelBinaryProtocol {
   public static final byte SUBSCRIBE_PUSH                 = 100;
   public static final byte UNSUBSCRIBE_PUSH               = 101;
   public static final byte EXPERIMENTAL                   = 102;
+  public static final byte REQUEST_PIPELINED              = 103;                // since 3.1
 
   // REMOTE SB-TREE COLLECTIONS
   public static final byte REQUEST_CREATE_SBTREE_BONSAI            = 110;
@@ -121,6 +124,7 @@ public class OChannelBinaryProtocol {
   public static final byte RESPONSE_STATUS_OK    = 0;
   public static final byte RESPONSE_STATUS_ERROR = 1;
   public static final byte PUSH_DATA             = 3;
+  public static final byte RESPONSE_PIPELINED    = 4;                 // since 3.1
 
   // CONSTANTS
   public static final short RECORD_NULL = -2;
@@ -146,8 +150,9 @@ public class OChannelBinaryProtocol {
   public static final int PROTOCOL_VERSION_36 = 36;                 //ABILITY TO CREATE DATABASE FROM INCREMENTAL BACKUP
   public static final int PROTOCOL_VERSION_37 = 37;
   public static final int PROTOCOL_VERSION_38 = 38;
+  public static final int PROTOCOL_VERSION_39 = 39;                 // PIPELINED REQUESTS WITH OUT OF ORDER RESPONSES
 
-  public static final int CURRENT_PROTOCOL_VERSION          = PROTOCOL_VERSION_38;
+  public static final int CURRENT_PROTOCOL_VERSION          = PROTOCOL_VERSION_39;
   public static final int OLDEST_SUPPORTED_PROTOCOL_VERSION = PROTOCOL_VERSION_26;
 
   //This are specific messages inside the subscribe message
@@ -161,6 +166,7 @@ public class OChannelBinaryProtocol {
   public static final byte SUBSCRIBE_PUSH_INDEX_MANAGER  = 5;
   public static final byte SUBSCRIBE_PUSH_FUNCTIONS      = 6;
   public static final byte SUBSCRIBE_PUSH_SEQUENCES      = 7;
+  public static final byte SUBSCRIBE_PUSH_RECORDS        = 8;                 // since 3.1
 
   //Used by the client to identify what data was pushed
   public static final byte REQUEST_PUSH_DISTRIB_CONFIG = 80;
@@ -170,6 +176,7 @@ public class OChannelBinaryProtocol {
   public static final byte REQUEST_PUSH_INDEX_MANAGER  = 84;
   public static final byte REQUEST_PUSH_FUNCTIONS      = 85;
   public static final byte REQUEST_PUSH_SEQUENCES      = 86;
+  public static final byte REQUEST_PUSH_RECORDS        = 87;                 // since 3.1
 
   // Default encoding, in future will be possible to have other encodings
   public static final byte ENCODING_DEFAULT = 0;
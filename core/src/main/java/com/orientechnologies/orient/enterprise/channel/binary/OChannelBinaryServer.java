@@ -25,6 +25,8 @@ import java.io.BufferedOutputStream;
 import java.io.DataInputStream;
 import java.io.DataOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.net.Socket;
 
 import com.orientechnologies.orient.core.config.OContextConfiguration;
@@ -32,14 +34,23 @@ import com.orientechnologies.orient.core.config.OContextConfiguration;
 public class OChannelBinaryServer extends OChannelBinary {
 
   public OChannelBinaryServer(final Socket iSocket, final OContextConfiguration iConfig) throws IOException {
+    this(iSocket, iSocket.getInputStream(), iSocket.getOutputStream(), iConfig);
+  }
+
+  /**
+   * Creates the channel on streams provided by the caller instead of the socket ones, used when the socket belongs to a
+   * non-blocking {@link java.nio.channels.SocketChannel}.
+   */
+  public OChannelBinaryServer(final Socket iSocket, final InputStream iInput, final OutputStream iOutput,
+      final OContextConfiguration iConfig) throws IOException {
     super(iSocket, iConfig);
 
     if (socketBufferSize > 0) {
-      inStream = new BufferedInputStream(socket.getInputStream(), socketBufferSize);
-      outStream = new BufferedOutputStream(socket.getOutputStream(), socketBufferSize);
+      inStream = new BufferedInputStream(iInput, socketBufferSize);
+      outStream = new BufferedOutputStream(iOutput, socketBufferSize);
     } else {
-      inStream = new BufferedInputStream(socket.getInputStream());
-      outStream = new BufferedOutputStream(socket.getOutputStream());
+      inStream = new BufferedInputStream(iInput);
+      outStream = new BufferedOutputStream(iOutput);
     }
 
     out = new DataOutputStream(outStream);
@@ -0,0 +1,48 @@
+package com.orientechnologies.common.profiler;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class OHistogramMetricTest {
+
+  @Test
+  public void testBuckets() {
+    for (long value : new long[] { 0, 1, 15, 16, 17, 31, 32, 33, 1000, 123456789L, 1L << 40, (1L << 41) - 1 }) {
+      final int bucket = OHistogramMetric.bucketOf(value);
+      Assert.assertTrue(bucket < OHistogramMetric.BUCKETS);
+      Assert.assertTrue(OHistogramMetric.upperBoundOf(bucket) >= value);
+      Assert.assertTrue(bucket == 0 || OHistogramMetric.upperBoundOf(bucket - 1) < value);
+    }
+    Assert.assertEquals(OHistogramMetric.BUCKETS - 1, OHistogramMetric.bucketOf(Long.MAX_VALUE));
+  }
+
+  @Test
+  public void testPercentiles() {
+    final OHistogramMetric histogram = OMetricsRegistry.instance().histogram("test.histogram.percentiles", "test");
+    for (int i = 1; i <= 1000; i++) {
+      histogram.record(i * 1000L);
+    }
+
+    Assert.assertEquals(1000, histogram.getCount());
+    Assert.assertEquals(1000000, histogram.getMax());
+    Assert.assertEquals(500500, histogram.getMean());
+
+    // BUCKETS HAVE A RELATIVE ERROR BELOW 1/16
+    final long p99 = histogram.getPercentile(99);
+    Assert.assertTrue(p99 >= 990000 && p99 <= 990000 * 17 / 16);
+    final long p50 = histogram.getPercentile(50);
+    Assert.assertTrue(p50 >= 500000 && p50 <= 500000 * 17 / 16);
+    Assert.assertEquals(1000000, histogram.getPercentile(100));
+    OMetricsRegistry.instance().unregister("test.histogram.");
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testTypeMismatch() {
+    OMetricsRegistry.instance().counter("test.mismatch", "test");
+    try {
+      OMetricsRegistry.instance().histogram("test.mismatch", "test");
+    } finally {
+      OMetricsRegistry.instance().unregister("test.mismatch");
+    }
+  }
+}
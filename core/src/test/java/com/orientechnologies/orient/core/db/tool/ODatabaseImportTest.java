@@ -4,6 +4,7 @@ import com.orientechnologies.orient.core.command.OCommandOutputListener;
 import com.orientechnologies.orient.core.db.ODatabaseDocumentInternal;
 import com.orientechnologies.orient.core.db.document.ODatabaseDocument;
 import com.orientechnologies.orient.core.db.document.ODatabaseDocumentTx;
+import com.orientechnologies.orient.core.record.impl.ODocument;
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -78,4 +79,43 @@ public class ODatabaseImportTest {
     dbImp.drop();
   }
 
+  @Test
+  public void exportImportParallel() throws IOException {
+    ODatabaseDocument db = new ODatabaseDocumentTx("memory:" + ODatabaseImportTest.class.getSimpleName() + "_parallel");
+    db.create();
+    db.getMetadata().getSchema().createClass("SimpleClass");
+    db.getMetadata().getSchema().createClass("OtherClass");
+    for (int i = 0; i < 2500; i++) {
+      new ODocument("SimpleClass").field("value", i).save();
+      new ODocument("OtherClass").field("value", i).save();
+    }
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    ODatabaseExport export = new ODatabaseExport((ODatabaseDocumentInternal) db, output, new OCommandOutputListener() {
+      @Override
+      public void onMessage(String iText) {
+      }
+    });
+
+    export.setOptions(" -parallel=3");
+    export.exportDatabase();
+    db.activateOnCurrentThread();
+    db.drop();
+
+    ODatabaseDocument dbImp = new ODatabaseDocumentTx("memory:import_" + ODatabaseImportTest.class.getSimpleName() + "_parallel");
+    dbImp.create();
+    ODatabaseImport importer = new ODatabaseImport((ODatabaseDocumentInternal) dbImp,
+        new ByteArrayInputStream(output.toByteArray()), new OCommandOutputListener() {
+      @Override
+      public void onMessage(String iText) {
+      }
+    });
+    importer.setOptions(" -parallel=2");
+    importer.importDatabase();
+
+    dbImp.activateOnCurrentThread();
+    Assert.assertEquals(2500, dbImp.countClass("SimpleClass"));
+    Assert.assertEquals(2500, dbImp.countClass("OtherClass"));
+    dbImp.drop();
+  }
+
 }
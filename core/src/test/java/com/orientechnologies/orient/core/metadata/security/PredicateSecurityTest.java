@@ -459,4 +459,40 @@ public class PredicateSecurityTest {
 
   }
 
+  @Test
+  public void testSqlReadPushedToIndex() {
+    OSecurityInternal security = ((ODatabaseInternal) db).getSharedContext().getSecurity();
+
+    OClass person = db.createClass("Person");
+    person.createProperty("name", OType.STRING);
+    db.command("create index Person.name on Person (name) NOTUNIQUE");
+
+    OSecurityPolicy policy = security.createSecurityPolicy(db, "testPolicy");
+    policy.setActive(true);
+    policy.setReadRule("name = 'foo'");
+    security.saveSecurityPolicy(db, policy);
+    security.setSecurityPolicy(db, security.getRole(db, "reader"), "database.class.Person", policy);
+
+    OElement elem = db.newElement("Person");
+    elem.setProperty("name", "foo");
+    db.save(elem);
+
+    elem = db.newElement("Person");
+    elem.setProperty("name", "bar");
+    db.save(elem);
+
+    // the plan of the admin has no security condition, it must not be reused for the reader
+    OResultSet rs = db.query("select from Person");
+    Assert.assertEquals(2, rs.stream().count());
+    rs.close();
+
+    db.close();
+    this.db = orient.open(DB_NAME, "reader", "reader");
+
+    rs = db.query("select from Person");
+    String plan = rs.getExecutionPlan().get().prettyPrint(0, 2);
+    Assert.assertEquals(1, rs.stream().count());
+    rs.close();
+    Assert.assertTrue(plan, plan.contains("FETCH FROM INDEX Person.name"));
+  }
 }
@@ -14,10 +14,16 @@ import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExternalResource;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -147,6 +153,44 @@ public class OSequenceTest {
     assertThat(myseq.next()).isEqualTo(1);
   }
 
+  @Test
+  public void shouldCachedSequenceGiveUniqueValuesMT() throws Exception {
+    OSequence.CreateParams params = new OSequence.CreateParams().setStart(0L).setCacheSize(10);
+    sequences.createSequence("mtCachedSeq", OSequence.SEQUENCE_TYPE.CACHED, params);
+    final int count = 2000;
+    final int threads = 4;
+    final Set<Long> values = ConcurrentHashMap.newKeySet();
+    final AtomicInteger errors = new AtomicInteger(0);
+    ExecutorService service = Executors.newFixedThreadPool(threads);
+
+    List<Future<?>> futures = new ArrayList<>();
+    for (int i = 0; i < threads; i++) {
+      futures.add(service.submit(() -> {
+        ODatabaseDocument databaseDocument = new ODatabaseDocumentTx("memory:" + OSequenceTest.class.getSimpleName());
+        databaseDocument.open("admin", "admin");
+        try {
+          OSequence mtSeq = databaseDocument.getMetadata().getSequenceLibrary().getSequence("mtCachedSeq");
+          for (int j = 0; j < count / threads; j++) {
+            if (!values.add(mtSeq.next())) {
+              errors.incrementAndGet();
+            }
+          }
+        } finally {
+          databaseDocument.close();
+        }
+      }));
+    }
+    for (Future<?> future : futures) {
+      future.get();
+    }
+    service.shutdown();
+    db.activateOnCurrentThread();
+
+    assertThat(errors.get()).isEqualTo(0);
+    assertThat(values).hasSize(count);
+    assertThat(sequences.getSequence("mtCachedSeq").current()).isEqualTo(Collections.max(values));
+  }
+
   @Test
   @Ignore
   public void shouldSequenceMTNoTx() throws Exception {
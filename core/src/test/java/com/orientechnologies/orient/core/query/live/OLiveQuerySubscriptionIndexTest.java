@@ -0,0 +1,59 @@
+package com.orientechnologies.orient.core.query.live;
+
+import com.orientechnologies.orient.core.sql.executor.OResultInternal;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+
+public class OLiveQuerySubscriptionIndexTest {
+
+  @Test
+  public void testRouteByClassAndValue() {
+    OLiveQuerySubscriptionIndex index = new OLiveQuerySubscriptionIndex();
+    index.add(1, null);
+    index.add(2, new OLiveQueryRoute("Foo", null, null));
+    index.add(3, new OLiveQueryRoute("Foo", "tenantId", "a"));
+    index.add(4, new OLiveQueryRoute("Foo", "tenantId", "b"));
+    index.add(5, new OLiveQueryRoute("Bar", null, null));
+    index.add(6, new OLiveQueryRoute("Base", "tenantId", "a"));
+
+    Assert.assertEquals(new HashSet<>(Arrays.asList(1, 2, 3)),
+        index.getCandidates(Collections.singleton("foo"), record("tenantId", "a")));
+    Assert.assertEquals(new HashSet<>(Arrays.asList(1, 2, 3, 6)),
+        index.getCandidates(Arrays.asList("foo", "base"), record("tenantId", "a")));
+    Assert.assertEquals(new HashSet<>(Arrays.asList(1, 5)), index.getCandidates(Collections.singleton("bar"), record("x", 1)));
+    Assert.assertEquals(Collections.singleton(1), index.getCandidates(Collections.emptySet(), record("tenantId", "a")));
+
+    index.remove(3);
+    index.remove(1);
+    Assert.assertEquals(Collections.singleton(2), index.getCandidates(Collections.singleton("foo"), record("tenantId", "a")));
+  }
+
+  @Test
+  public void testValueConversions() {
+    OLiveQuerySubscriptionIndex index = new OLiveQuerySubscriptionIndex();
+    index.add(1, new OLiveQueryRoute("Foo", "x", 5));
+    index.add(2, new OLiveQueryRoute("Foo", "x", 6L));
+
+    // integers of any size share the same key
+    Assert.assertEquals(Collections.singleton(1), index.getCandidates(Collections.singleton("foo"), record("x", 5L)));
+
+    // values that are not indexed select all the subscribers of the field
+    Assert.assertEquals(new HashSet<>(Arrays.asList(1, 2)), index.getCandidates(Collections.singleton("foo"), record("x", 5.0)));
+    Assert.assertEquals(new HashSet<>(Arrays.asList(1, 2)), index.getCandidates(Collections.singleton("foo"), record("x", null)));
+
+    // a string can be equal to a number once converted
+    index.add(3, new OLiveQueryRoute("Foo", "x", "7"));
+    Assert.assertEquals(new HashSet<>(Arrays.asList(1, 2, 3)), index.getCandidates(Collections.singleton("foo"), record("x", "7")));
+    Assert.assertEquals(new HashSet<>(Arrays.asList(2, 3)), index.getCandidates(Collections.singleton("foo"), record("x", 6)));
+  }
+
+  private static OResultInternal record(String field, Object value) {
+    OResultInternal result = new OResultInternal();
+    result.setProperty(field, value);
+    return result;
+  }
+}
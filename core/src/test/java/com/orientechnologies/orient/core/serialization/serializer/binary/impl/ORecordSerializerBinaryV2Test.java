@@ -0,0 +1,140 @@
+package com.orientechnologies.orient.core.serialization.serializer.binary.impl;
+
+import com.orientechnologies.orient.core.db.document.ODatabaseDocumentTx;
+import com.orientechnologies.orient.core.id.ORecordId;
+import com.orientechnologies.orient.core.metadata.schema.OClass;
+import com.orientechnologies.orient.core.metadata.schema.OType;
+import com.orientechnologies.orient.core.record.ORecordInternal;
+import com.orientechnologies.orient.core.record.impl.ODocument;
+import com.orientechnologies.orient.core.record.impl.ODocumentEntry;
+import com.orientechnologies.orient.core.record.impl.ODocumentInternal;
+import com.orientechnologies.orient.core.serialization.serializer.record.binary.ORecordSerializerBinary;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+public class ORecordSerializerBinaryV2Test {
+
+  private ODatabaseDocumentTx     db;
+  private ORecordSerializerBinary v1;
+  private ORecordSerializerBinary v2;
+
+  @Before
+  public void before() {
+    db = new ODatabaseDocumentTx("memory:" + ORecordSerializerBinaryV2Test.class.getSimpleName()).create();
+    OClass clazz = db.getMetadata().getSchema().createClass("TestClass");
+    clazz.createProperty("name", OType.STRING);
+    clazz.createProperty("age", OType.INTEGER);
+    v1 = new ORecordSerializerBinary((byte) 1);
+    v2 = new ORecordSerializerBinary((byte) 2);
+  }
+
+  @After
+  public void after() {
+    db.drop();
+  }
+
+  private ODocument newDocument() {
+    ODocument doc = new ODocument("TestClass");
+    doc.field("name", "foo");
+    doc.field("age", 20);
+    doc.field("zeta", "last");
+    doc.field("alpha", 1L);
+    doc.field("empty", (Object) null);
+    ODocument embedded = new ODocument();
+    embedded.field("inner", "value");
+    doc.field("embedded", embedded, OType.EMBEDDED);
+    doc.field("after", "after");
+    return doc;
+  }
+
+  @Test
+  public void testReadBothVersions() {
+    ODocument doc = newDocument();
+    for (byte[] bytes : Arrays.asList(v1.toStream(doc), v2.toStream(doc))) {
+      // THE VERSION OF THE RECORD IS THE FIRST BYTE, SO ANY INSTANCE READS BOTH FORMATS
+      ODocument read = (ODocument) v2.fromStream(bytes, new ODocument(), null);
+      Assert.assertEquals("foo", read.field("name"));
+      Assert.assertEquals(20, (int) read.field("age"));
+      Assert.assertEquals("last", read.field("zeta"));
+      Assert.assertEquals(1L, (long) read.field("alpha"));
+      Assert.assertTrue(read.containsField("empty"));
+      Assert.assertNull(read.field("empty"));
+      Assert.assertEquals("value", ((ODocument) read.field("embedded")).field("inner"));
+      Assert.assertEquals("after", read.field("after"));
+    }
+  }
+
+  @Test
+  public void testPartialAndFieldNames() {
+    ODocument doc = newDocument();
+    byte[] bytes = v2.toStream(doc);
+    Assert.assertEquals(2, bytes[0]);
+
+    ODocument partial = (ODocument) v2.fromStream(bytes, new ODocument(), new String[] { "zeta", "age", "missing" });
+    Assert.assertEquals(new HashSet<>(Arrays.asList("zeta", "age")), new HashSet<>(Arrays.asList(partial.fieldNames())));
+    Assert.assertEquals("last", partial.field("zeta"));
+    Assert.assertEquals(20, (int) partial.field("age"));
+
+    Assert.assertEquals(new HashSet<>(Arrays.asList(doc.fieldNames())),
+        new HashSet<>(Arrays.asList(v2.getFieldNames(doc, bytes))));
+  }
+
+  @Test
+  public void testChangeWithoutDecodingAllFields() {
+    byte[] bytes = v2.toStream(newDocument());
+
+    ODocument loaded = new ODocument();
+    ORecordInternal.setRecordSerializer(loaded, v2);
+    ORecordInternal.fill(loaded, new ORecordId(1, 1), 1, bytes, false);
+    loaded.field("age", 21);
+    loaded.field("added", "new");
+    Assert.assertEquals(2, ODocumentInternal.decodedEntries(loaded).size());
+
+    ODocument read = (ODocument) v2.fromStream(loaded.toStream(), new ODocument(), null);
+    Assert.assertEquals(21, (int) read.field("age"));
+    Assert.assertEquals("new", read.field("added"));
+    Assert.assertEquals("foo", read.field("name"));
+    Assert.assertEquals("last", read.field("zeta"));
+    Assert.assertTrue(read.containsField("empty"));
+    Assert.assertEquals("value", ((ODocument) read.field("embedded")).field("inner"));
+    Assert.assertEquals("after", read.field("after"));
+  }
+
+  @Test
+  public void testSaveWithoutDecodingAllFields() {
+    db.setSerializer(v2);
+    ODocument doc = newDocument();
+    db.save(doc);
+    db.getLocalCache().clear();
+
+    ODocument loaded = db.load(doc.getIdentity());
+    loaded.field("age", 21);
+    loaded.field("added", "new");
+    db.save(loaded);
+
+    // NEITHER THE VALIDATION NOR THE HOOKS RUN BY THE SAVE DECODED THE OTHER FIELDS
+    Set<String> decoded = new HashSet<>();
+    for (Map.Entry<String, ODocumentEntry> entry : ODocumentInternal.decodedEntries(loaded)) {
+      decoded.add(entry.getKey());
+    }
+    Assert.assertEquals(new HashSet<>(Arrays.asList("age", "added")), decoded);
+
+    db.getLocalCache().clear();
+    ODocument reloaded = db.load(doc.getIdentity());
+    Assert.assertEquals(21, (int) reloaded.field("age"));
+    Assert.assertEquals("new", reloaded.field("added"));
+    Assert.assertEquals("foo", reloaded.field("name"));
+    Assert.assertEquals("last", reloaded.field("zeta"));
+    Assert.assertEquals(1L, (long) reloaded.field("alpha"));
+    Assert.assertTrue(reloaded.containsField("empty"));
+    Assert.assertEquals("value", ((ODocument) reloaded.field("embedded")).field("inner"));
+    Assert.assertEquals("after", reloaded.field("after"));
+  }
+}
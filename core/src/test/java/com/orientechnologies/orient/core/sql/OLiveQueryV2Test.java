@@ -28,6 +28,7 @@ import com.orientechnologies.orient.core.db.record.OIdentifiable;
 import com.orientechnologies.orient.core.id.ORID;
 import com.orientechnologies.orient.core.metadata.schema.OClass;
 import com.orientechnologies.orient.core.metadata.schema.OSchema;
+import com.orientechnologies.orient.core.metadata.schema.OType;
 import com.orientechnologies.orient.core.record.impl.ODocument;
 import com.orientechnologies.orient.core.sql.executor.OResult;
 import com.orientechnologies.orient.core.sql.query.OSQLSynchQuery;
@@ -125,6 +126,35 @@ public class OLiveQueryV2Test {
     }
   }
 
+  @Test
+  public void testLiveInsertOnCaseInsensitiveField() throws InterruptedException {
+    ODatabaseDocumentTx db = new ODatabaseDocumentTx("memory:OLiveQueryV2TestCi");
+    db.activateOnCurrentThread();
+    db.create();
+    try {
+      OClass clazz = db.getMetadata().getSchema().createClass("test");
+      clazz.createProperty("name", OType.STRING).setCollate("ci");
+      MyLiveQueryListener listener = new MyLiveQueryListener(new CountDownLatch(2));
+
+      OLiveQueryMonitor monitor = db.live("select from test where name = 'foo'", listener);
+      Assert.assertNotNull(monitor);
+
+      db.command("insert into test set name = 'FOO', surname = 'bar'").close();
+      db.command("insert into test set name = 'bar', surname = 'bar'").close();
+      db.command("insert into test set name = 'Foo', surname = 'baz'").close();
+
+      Assert.assertTrue(listener.latch.await(1, TimeUnit.MINUTES));
+      monitor.unSubscribe();
+
+      Assert.assertEquals(listener.ops.size(), 2);
+      for (OResult doc : listener.ops) {
+        Assert.assertEquals(((String) doc.getProperty("name")).toLowerCase(), "foo");
+      }
+    } finally {
+      db.drop();
+    }
+  }
+
   @Test
   public void testRestrictedLiveInsert() throws ExecutionException, InterruptedException {
     ODatabaseDocumentTx db = new ODatabaseDocumentTx("memory:OLiveQueryTest");
@@ -0,0 +1,80 @@
+package com.orientechnologies.orient.core.sql.executor;
+
+import com.orientechnologies.common.concur.OTimeoutException;
+import com.orientechnologies.orient.core.command.OBasicCommandContext;
+import com.orientechnologies.orient.core.command.OCommandContext;
+import com.orientechnologies.orient.core.sql.parser.OSelectStatement;
+import com.orientechnologies.orient.core.sql.parser.OrientSql;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.util.HashMap;
+import java.util.Map;
+
+public class MergeAggregateProjectionStepTest {
+
+  @Test
+  public void testMerge() throws Exception {
+    OSelectStatement stm = parse("select count(*) as c, sum(x) as s, min(x) as mn, max(x) as mx, name from Foo group by name");
+    OCommandContext ctx = new OBasicCommandContext();
+    MergeAggregateProjectionStep step = new MergeAggregateProjectionStep(stm.getProjection(), stm.getGroupBy(), ctx, false);
+
+    // partial aggregates of two nodes, the first one has no "bar"
+    AbstractExecutionStep prev = new AbstractExecutionStep(ctx, false) {
+      boolean done = false;
+
+      @Override
+      public OResultSet syncPull(OCommandContext ctx, int nRecords) throws OTimeoutException {
+        OInternalResultSet result = new OInternalResultSet();
+        if (!done) {
+          result.add(partial("foo", 2L, 10, 3, 7));
+          result.add(partial("foo", 3L, 5, 1, 2));
+          result.add(partial("bar", 1L, 4, 4, 4));
+          done = true;
+        }
+        return result;
+      }
+    };
+    step.setPrevious(prev);
+
+    Map<String, OResultInternal> byName = new HashMap<>();
+    OResultSet res = step.syncPull(ctx, 10);
+    while (res.hasNext()) {
+      OResultInternal item = (OResultInternal) res.next();
+      byName.put(item.getProperty("name"), item);
+    }
+    Assert.assertEquals(2, byName.size());
+
+    OResultInternal foo = byName.get("foo");
+    Assert.assertEquals(5L, foo.getTemporaryProperty("c"));
+    Assert.assertEquals(15, ((Number) foo.getTemporaryProperty("s")).intValue());
+    Assert.assertEquals(1, foo.getTemporaryProperty("mn"));
+    Assert.assertEquals(7, foo.getTemporaryProperty("mx"));
+
+    OResultInternal bar = byName.get("bar");
+    Assert.assertEquals(1L, bar.getTemporaryProperty("c"));
+    Assert.assertEquals(4, bar.getTemporaryProperty("mx"));
+  }
+
+  @Test
+  public void testCanMerge() throws Exception {
+    Assert.assertTrue(MergeAggregateProjectionStep.canMerge(parse("select count(*), max(a), name from Foo").getProjection()));
+    Assert.assertFalse(MergeAggregateProjectionStep.canMerge(parse("select avg(a) from Foo").getProjection()));
+    Assert.assertFalse(MergeAggregateProjectionStep.canMerge(parse("select count(*), list(a) from Foo").getProjection()));
+  }
+
+  private static OResultInternal partial(String name, long count, int sum, int min, int max) {
+    OResultInternal item = new OResultInternal();
+    item.setProperty("name", name);
+    item.setProperty("c", count);
+    item.setProperty("s", sum);
+    item.setProperty("mn", min);
+    item.setProperty("mx", max);
+    return item;
+  }
+
+  private static OSelectStatement parse(String query) throws Exception {
+    return (OSelectStatement) new OrientSql(new ByteArrayInputStream(query.getBytes())).parse();
+  }
+}
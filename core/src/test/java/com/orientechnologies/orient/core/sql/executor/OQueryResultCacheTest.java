@@ -0,0 +1,159 @@
+package com.orientechnologies.orient.core.sql.executor;
+
+import com.orientechnologies.orient.core.command.OBasicCommandContext;
+import com.orientechnologies.orient.core.db.ODatabaseDocumentInternal;
+import com.orientechnologies.orient.core.db.document.ODatabaseDocumentTx;
+import com.orientechnologies.orient.core.metadata.schema.OClass;
+import com.orientechnologies.orient.core.metadata.schema.OType;
+import com.orientechnologies.orient.core.record.OElement;
+import com.orientechnologies.orient.core.sql.parser.OSelectStatement;
+import com.orientechnologies.orient.core.sql.parser.OrientSql;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.util.HashMap;
+
+public class OQueryResultCacheTest {
+  static ODatabaseDocumentInternal db;
+
+  @BeforeClass
+  public static void beforeClass() {
+    db = new ODatabaseDocumentTx("memory:OQueryResultCacheTest");
+    db.create();
+  }
+
+  @AfterClass
+  public static void afterClass() {
+    db.close();
+  }
+
+  @Test
+  public void testHint() {
+    Assert.assertTrue(OQueryResultCache.hasCacheHint("/*+ CACHE */ select from Foo"));
+    Assert.assertTrue(OQueryResultCache.hasCacheHint("  /*+ cache */select from Foo"));
+    Assert.assertFalse(OQueryResultCache.hasCacheHint("/* CACHE */ select from Foo"));
+    Assert.assertFalse(OQueryResultCache.hasCacheHint("select from Foo"));
+  }
+
+  @Test
+  public void testHitAndInvalidation() {
+    String className = "testHitAndInvalidation";
+    db.createClass(className);
+    insert(className, "a", 1);
+    insert(className, "b", 2);
+
+    OQueryResultCache cache = db.getSharedContext().getQueryResultCache();
+    String query = OQueryResultCache.HINT + " select from " + className + " where name = ?";
+    Assert.assertEquals(1, count(query, "a"));
+    long hits = cache.getHits();
+    Assert.assertEquals(1, count(query, "a"));
+    Assert.assertEquals(hits + 1, cache.getHits());
+
+    // a record that cannot match the condition does not invalidate the query
+    insert(className, "c", 3);
+    Assert.assertEquals(1, count(query, "a"));
+    Assert.assertEquals(hits + 2, cache.getHits());
+
+    insert(className, "a", 4);
+    Assert.assertEquals(2, count(query, "a"));
+    Assert.assertEquals(hits + 2, cache.getHits());
+
+    db.command("update " + className + " set name = 'b' where value = 4").close();
+    Assert.assertEquals(1, count(query, "a"));
+  }
+
+  @Test
+  public void testNoHint() {
+    String className = "testNoHint";
+    db.createClass(className);
+    insert(className, "a", 1);
+
+    OQueryResultCache cache = db.getSharedContext().getQueryResultCache();
+    long misses = cache.getMisses();
+    Assert.assertEquals(1, count("select from " + className + " where name = ?", "a"));
+    Assert.assertEquals(1, count("select from " + className + " where name = ?", "a"));
+    Assert.assertEquals(misses, cache.getMisses());
+  }
+
+  @Test
+  public void testAnalyze() {
+    db.createClass("testAnalyze");
+    Assert.assertNotNull(analyze("select name, count(*) from testAnalyze where name = 'a' and value > 3 group by name"));
+    Assert.assertEquals("a", analyze("select from testAnalyze where name = 'a' and value > 3").conditions.get("name"));
+    Assert.assertTrue(analyze("select from testAnalyze where name = 'a' or value > 3").conditions.isEmpty());
+    Assert.assertNull(analyze("select name.toUpperCase() from testAnalyze"));
+    Assert.assertNull(analyze("select from testAnalyze where name in (select name from V)"));
+    Assert.assertNull(analyze("select from testAnalyze let $a = 1"));
+    Assert.assertNull(analyze("select from NotExistingClass"));
+    // calculated at each execution
+    Assert.assertNull(analyze("select from testAnalyze where date < sysdate()"));
+  }
+
+  @Test
+  public void testAnalyzeCollate() {
+    OClass clazz = db.createClass("testAnalyzeCollate");
+    clazz.createProperty("name", OType.STRING).setCollate("ci");
+    OQueryResultCache.Target target = analyze("select from testAnalyzeCollate where name = 'a' and surname = 'b'");
+    Assert.assertNotNull(target);
+    // any change of a field with a collate may match
+    Assert.assertFalse(target.conditions.containsKey("name"));
+    Assert.assertEquals("b", target.conditions.get("surname"));
+  }
+
+  @Test
+  public void testEviction() {
+    String className = "testEviction";
+    db.createClass(className);
+    insert(className, "a", 1);
+
+    OQueryResultCache cache = new OQueryResultCache(2, 10);
+    for (int i = 0; i < 10; i++) {
+      String query = OQueryResultCache.HINT + " select from " + className + " where value = " + i;
+      cache.execute(db, query, parse(query), new HashMap<>(), () -> db.query(query)).close();
+    }
+    Assert.assertTrue(cache.size() <= 2);
+  }
+
+  @Test
+  public void testMaxResultsetSize() {
+    String className = "testMaxResultsetSize";
+    db.createClass(className);
+    for (int i = 0; i < 5; i++) {
+      insert(className, "a", i);
+    }
+
+    OQueryResultCache cache = new OQueryResultCache(10, 3);
+    String query = OQueryResultCache.HINT + " select from " + className;
+    OResultSet result = cache.execute(db, query, parse(query), new HashMap<>(), () -> db.query(query));
+    Assert.assertEquals(5, result.stream().count());
+    Assert.assertEquals(0, cache.size());
+  }
+
+  private static void insert(String className, String name, int value) {
+    OElement element = db.newElement(className);
+    element.setProperty("name", name);
+    element.setProperty("value", value);
+    element.save();
+  }
+
+  private static long count(String query, Object... args) {
+    try (OResultSet result = db.query(query, args)) {
+      return result.stream().count();
+    }
+  }
+
+  private static OQueryResultCache.Target analyze(String query) {
+    return OQueryResultCache.analyze(db, parse(query), new OBasicCommandContext());
+  }
+
+  private static OSelectStatement parse(String query) {
+    try {
+      return (OSelectStatement) new OrientSql(new ByteArrayInputStream(query.getBytes())).parse();
+    } catch (Exception e) {
+      throw new IllegalArgumentException(e);
+    }
+  }
+}
@@ -0,0 +1,89 @@
+package com.orientechnologies.orient.core.sql.executor;
+
+import com.orientechnologies.orient.core.config.OGlobalConfiguration;
+import com.orientechnologies.orient.core.db.ODatabaseSession;
+import com.orientechnologies.orient.core.db.ODatabaseType;
+import com.orientechnologies.orient.core.db.OrientDB;
+import com.orientechnologies.orient.core.db.OrientDBConfig;
+import com.orientechnologies.orient.core.exception.OSecurityAccessException;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.List;
+
+public class OSlowQueryLogTest {
+
+  private OrientDB         orientDB;
+  private ODatabaseSession db;
+
+  @Before
+  public void before() {
+    orientDB = new OrientDB("embedded:",
+        OrientDBConfig.builder().addConfig(OGlobalConfiguration.QUERY_SLOW_LOG_THRESHOLD, 0)
+            .addConfig(OGlobalConfiguration.QUERY_PROFILING_SAMPLE_RATE, 1).build());
+    orientDB.create(OSlowQueryLogTest.class.getSimpleName(), ODatabaseType.MEMORY);
+    db = orientDB.open(OSlowQueryLogTest.class.getSimpleName(), "admin", "admin");
+  }
+
+  @After
+  public void after() {
+    db.close();
+    orientDB.drop(OSlowQueryLogTest.class.getSimpleName());
+    orientDB.close();
+  }
+
+  @Test
+  public void testLogAndQuery() {
+    db.createClass("testLogAndQuery");
+    db.command("insert into testLogAndQuery set name = 'a'").close();
+    db.command("insert into testLogAndQuery set name = 'b'").close();
+    try (OResultSet result = db.query("select from testLogAndQuery where name = ?", "a")) {
+      Assert.assertEquals(1, result.stream().count());
+    }
+
+    try (OResultSet result = db.query("select from metadata:slowQueries")) {
+      OResult logged = result.next();
+      Assert.assertEquals("select from testLogAndQuery where name = ?", logged.getProperty("statement"));
+      Assert.assertEquals(Collections.singletonMap("0", "a"), logged.getProperty("parameters"));
+      Assert.assertEquals(1L, (long) logged.getProperty("rows"));
+      Assert.assertTrue(logged.getProperty("profiled"));
+      Assert.assertTrue(((String) logged.getProperty("plan")).contains("μs"));
+    }
+  }
+
+  @Test
+  public void testReadOnlyByAdmin() {
+    try (ODatabaseSession reader = orientDB.open(OSlowQueryLogTest.class.getSimpleName(), "reader", "reader")) {
+      try (OResultSet result = reader.query("select from metadata:slowQueries")) {
+        result.hasNext();
+        Assert.fail("the slow query log was read by a reader");
+      } catch (OSecurityAccessException e) {
+        // EXPECTED
+      }
+    }
+  }
+
+  @Test
+  public void testRing() {
+    OSlowQueryLog log = new OSlowQueryLog(2, 0, 10);
+    Assert.assertFalse(log.isSlow(9_999_999));
+    Assert.assertTrue(log.isSlow(10_000_000));
+
+    OExecutionPlan plan = new OSelectExecutionPlan(null);
+    for (int i = 0; i < 3; i++) {
+      log.log("select " + i, null, plan, false, 10_000_000, i);
+    }
+    List<OSlowQueryLog.Entry> entries = log.getEntries();
+    Assert.assertEquals(2, entries.size());
+    Assert.assertEquals("select 2", entries.get(0).getStatement());
+    Assert.assertEquals("select 1", entries.get(1).getStatement());
+    Assert.assertEquals(3, log.getLogged());
+
+    // A SLOW QUERY THAT WAS NOT PROFILED IS PROFILED AT ITS NEXT EXECUTION
+    Assert.assertTrue(log.profile("select 0"));
+    Assert.assertFalse(log.profile("select 0"));
+  }
+}
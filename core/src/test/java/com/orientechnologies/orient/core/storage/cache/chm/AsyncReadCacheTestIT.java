@@ -13,6 +13,7 @@ import com.orientechnologies.orient.core.storage.cache.local.OBackgroundExceptio
 import com.orientechnologies.orient.core.storage.impl.local.OLowDiskSpaceListener;
 import com.orientechnologies.orient.core.storage.impl.local.OPageIsBrokenListener;
 import com.orientechnologies.orient.core.storage.impl.local.paginated.wal.OLogSequenceNumber;
+import com.orientechnologies.orient.core.storage.impl.local.statistic.OFileStatistic;
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -515,6 +516,11 @@ public class AsyncReadCacheTestIT {
     @Override
     public void open() throws IOException {
     }
+
+    @Override
+    public OFileStatistic getFileStatistic(long fileId) {
+      return null;
+    }
   }
 
   private static final class ScrambledZipfianGenerator {
@@ -0,0 +1,92 @@
+package com.orientechnologies.orient.core.storage.impl.local;
+
+import com.orientechnologies.common.io.OFileUtils;
+import com.orientechnologies.orient.core.config.OGlobalConfiguration;
+import com.orientechnologies.orient.core.db.ODatabaseDocumentInternal;
+import com.orientechnologies.orient.core.db.ODatabaseSession;
+import com.orientechnologies.orient.core.db.ODatabaseType;
+import com.orientechnologies.orient.core.db.OrientDB;
+import com.orientechnologies.orient.core.db.OrientDBConfig;
+import com.orientechnologies.orient.core.record.OElement;
+import com.orientechnologies.orient.core.storage.impl.local.paginated.wal.OLogSequenceNumber;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+public class ODeltaSyncExportTest {
+
+  private File             directory;
+  private OrientDB         orientDB;
+  private ODatabaseSession session;
+
+  @Before
+  public void before() {
+    directory = new File(System.getProperty("buildDirectory", "./target"), ODeltaSyncExportTest.class.getSimpleName());
+    OFileUtils.deleteRecursively(directory);
+    OrientDBConfig config = OrientDBConfig.builder().addConfig(OGlobalConfiguration.STORAGE_TRACK_CHANGED_RECORDS_IN_WAL, true)
+        .build();
+    orientDB = new OrientDB("embedded:" + directory.getAbsolutePath(), config);
+    orientDB.create("test", ODatabaseType.PLOCAL);
+    session = orientDB.open("test", "admin", "admin");
+    for (int i = 0; i < 4; i++) {
+      session.createClass("Delta" + i);
+    }
+  }
+
+  @After
+  public void after() {
+    OGlobalConfiguration.DISTRIBUTED_DELTA_SYNC_PARALLELISM
+        .setValue(OGlobalConfiguration.DISTRIBUTED_DELTA_SYNC_PARALLELISM.getDefValue());
+    session.close();
+    orientDB.drop("test");
+    orientDB.close();
+    OFileUtils.deleteRecursively(directory);
+  }
+
+  @Test
+  public void testParallelExportMatchesSequential() throws Exception {
+    OAbstractPaginatedStorage storage = (OAbstractPaginatedStorage) ((ODatabaseDocumentInternal) session).getStorage();
+    OLogSequenceNumber startLsn = storage.getWALInstance().end();
+
+    List<OElement> saved = new ArrayList<>();
+    for (int i = 0; i < 2000; i++) {
+      OElement element = session.newElement("Delta" + (i % 4));
+      element.setProperty("value", i);
+      saved.add(session.save(element));
+    }
+    for (int i = 0; i < saved.size(); i += 7) {
+      session.delete(saved.get(i));
+    }
+
+    OGlobalConfiguration.DISTRIBUTED_DELTA_SYNC_PARALLELISM.setValue(1);
+    byte[] sequential = readAll(storage.recordsChangedAfterLSN(startLsn, null).getInputStream());
+    OGlobalConfiguration.DISTRIBUTED_DELTA_SYNC_PARALLELISM.setValue(4);
+    byte[] parallel = readAll(storage.recordsChangedAfterLSN(startLsn, null).getInputStream());
+
+    assertEquals(2000, new DataInputStream(new ByteArrayInputStream(parallel)).readLong());
+    assertArrayEquals(sequential, parallel);
+  }
+
+  private static byte[] readAll(InputStream input) throws IOException {
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    byte[] buffer = new byte[8192];
+    int read;
+    while ((read = input.read(buffer)) != -1) {
+      output.write(buffer, 0, read);
+    }
+    input.close();
+    return output.toByteArray();
+  }
+}
@@ -0,0 +1,73 @@
+package com.orientechnologies.orient.core.storage.impl.local.statistic;
+
+import com.orientechnologies.orient.core.db.document.ODatabaseDocumentTx;
+import com.orientechnologies.orient.core.exception.OSecurityAccessException;
+import com.orientechnologies.orient.core.metadata.schema.OClass;
+import com.orientechnologies.orient.core.metadata.schema.OType;
+import com.orientechnologies.orient.core.record.OElement;
+import com.orientechnologies.orient.core.sql.executor.OResult;
+import com.orientechnologies.orient.core.sql.executor.OResultSet;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+public class OComponentStatisticTest {
+  private ODatabaseDocumentTx db;
+
+  @Before
+  public void before() {
+    db = new ODatabaseDocumentTx("memory:" + OComponentStatisticTest.class.getSimpleName());
+    db.create();
+  }
+
+  @After
+  public void after() {
+    db.drop();
+  }
+
+  @Test
+  public void testStorageStats() {
+    OClass clazz = db.createClass("StatsTest");
+    clazz.createProperty("name", OType.STRING).createIndex(OClass.INDEX_TYPE.NOTUNIQUE);
+    for (int i = 0; i < 10; i++) {
+      OElement element = db.newElement("StatsTest");
+      element.setProperty("name", "name" + i);
+      element.save();
+    }
+    db.query("select from StatsTest where name = 'name1'").close();
+
+    Map<String, OResult> components = new HashMap<>();
+    try (OResultSet result = db.query("select from metadata:storageStats")) {
+      result.stream().forEach((row) -> components.put(row.getProperty("name"), row));
+    }
+
+    OResult cluster = components.get(db.getClusterNameById(clazz.getDefaultClusterId()) + ".pcl");
+    Assert.assertNotNull(cluster);
+    Assert.assertTrue((long) cluster.getProperty("pageWrites") > 0);
+    Assert.assertTrue((long) cluster.getProperty("lockAcquisitions") > 0);
+
+    // THE FILE EXTENSION DEPENDS ON THE INDEX ENGINE
+    long indexPageReads = components.entrySet().stream().filter((entry) -> entry.getKey().startsWith("StatsTest.name."))
+        .mapToLong((entry) -> entry.getValue().getProperty("pageReads")).sum();
+    Assert.assertTrue(indexPageReads > 0);
+  }
+
+  @Test
+  public void testStorageStatsReadOnlyByAdmin() {
+    ODatabaseDocumentTx reader = new ODatabaseDocumentTx(db.getURL());
+    reader.open("reader", "reader");
+    try (OResultSet result = reader.query("select from metadata:storageStats")) {
+      result.hasNext();
+      Assert.fail("the storage statistics were read by a reader");
+    } catch (OSecurityAccessException e) {
+      // EXPECTED
+    } finally {
+      reader.close();
+      db.activateOnCurrentThread();
+    }
+  }
+}
@@ -1,5 +1,6 @@
 package com.orientechnologies.orient.distributed.impl;
 
+import com.orientechnologies.common.log.OLogManager;
 import com.orientechnologies.orient.core.db.ODatabaseInternal;
 import com.orientechnologies.orient.core.db.ODatabaseSession;
 import com.orientechnologies.orient.core.db.OrientDBInternal;
@@ -23,7 +24,16 @@ public class OPersistentOperationalLogV1 implements OOperationLog {
   private long term;
   private AtomicLong lastFlushed = new AtomicLong(-1);
   private AtomicLong lastWritten = new AtomicLong(-1);
-  private AtomicLong paralledThreads = new AtomicLong(0);
+
+  /**
+   * Group commit: writers append their entry under the <code>inc</code> monitor and then wait on this monitor until the flusher
+   * thread made it durable. A single fsync covers all the entries written since the previous one.
+   */
+  private final Object flushLock = new Object();
+  private final Thread flusher;
+  private volatile boolean closed;
+  // INCREMENTED WHEN THE LOG IS TRUNCATED, A SYNC STARTED BEFORE DOES NOT COVER THE ENTRIES WRITTEN AFTER
+  private long truncations;
 
   private OLogId lastId;
 
@@ -102,6 +112,9 @@ public class OPersistentOperationalLogV1 implements OOperationLog {
     this.stream = initStream(info);
     inc = readLastLogId();
     loadLastId();
+    this.flusher = new Thread(this::flushLoop, "OrientDB OpLog Flusher (" + storageFolder + ")");
+    this.flusher.setDaemon(true);
+    this.flusher.start();
   }
 
   private DataOutputStream initStream(OpLogInfo info) {
@@ -128,9 +141,11 @@ public class OPersistentOperationalLogV1 implements OOperationLog {
     File infoFile = new File(storagePath, OPLOG_INFO_FILE);
     OpLogInfo result = new OpLogInfo();
     if (infoFile.exists()) {
-      info = new OpLogInfo();
-      info.fromStream(new FileInputStream(infoFile));
-//      writeInfo(infoFile, result);
+      try (FileInputStream stream = new FileInputStream(infoFile)) {
+        result.fromStream(stream);
+      } catch (IOException e) {
+        throw new ODistributedException("Cannot read oplog info: " + e.getMessage());
+      }
     } else {
       initNewInfoFile(infoFile, result);
     }
@@ -273,7 +288,6 @@ public class OPersistentOperationalLogV1 implements OOperationLog {
 //      throw new IllegalStateException("Cannot log on a non-leader node");
     }
     OLogId result;
-    paralledThreads.incrementAndGet();
     synchronized (inc) {
       result = createLogId();
       write(result, request);
@@ -282,13 +296,7 @@ public class OPersistentOperationalLogV1 implements OOperationLog {
       lastId = result;
     }
 
-    if (paralledThreads.get() > 1) {
-      sleep(0, 100_000);
-    } else {
-      Thread.yield();
-    }
-    flush(result);
-    paralledThreads.decrementAndGet();
+    waitFlushed(result);
     return result;
   }
 
@@ -296,26 +304,85 @@ public class OPersistentOperationalLogV1 implements OOperationLog {
     return new OLogId(inc.incrementAndGet(), term, lastPersistentLog().getTerm());
   }
 
-  private void flush(OLogId log) {
-    synchronized (inc) {
-      if (lastFlushed.get() >= log.getId()) {
-        return;
+  /**
+   * Wakes up the flusher and waits until the entry is durable.
+   */
+  private void waitFlushed(OLogId log) {
+    synchronized (flushLock) {
+      flushLock.notifyAll();
+      while (lastFlushed.get() < log.getId() && !closed) {
+        try {
+          flushLock.wait();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          throw new ODistributedException("Interrupted while waiting for oplog entry " + log.getId() + " to be flushed");
+        }
       }
+    }
+  }
 
+  private void flushLoop() {
+    while (true) {
+      synchronized (flushLock) {
+        while (!closed && lastFlushed.get() >= lastWritten.get()) {
+          try {
+            flushLock.wait();
+          } catch (InterruptedException e) {
+            return;
+          }
+        }
+        if (closed) {
+          return;
+        }
+      }
+
+      long target;
+      long epoch;
+      FileOutputStream output;
+      synchronized (inc) {
+        target = lastWritten.get();
+        output = fileOutput;
+        synchronized (flushLock) {
+          epoch = truncations;
+        }
+      }
       try {
-        this.fileOutput.getFD().sync();
-        lastFlushed.set(lastWritten.get());
+        // OUTSIDE THE WRITE LOCK: THE NEXT ENTRIES ARE APPENDED WHILE THIS BATCH IS SYNCED
+        output.getFD().sync();
       } catch (IOException e) {
-        e.printStackTrace();
+        boolean segmentClosed;
+        synchronized (inc) {
+          // IF THE SEGMENT WAS CLOSED MEANWHILE, IT WAS SYNCED BEFORE BEING CLOSED
+          segmentClosed = output != fileOutput;
+        }
+        if (!segmentClosed) {
+          OLogManager.instance().error(this, "Cannot flush oplog", e);
+          // WAIT WITHOUT HOLDING THE WRITE LOCK, SO THE WRITERS CAN KEEP APPENDING
+          synchronized (flushLock) {
+            try {
+              flushLock.wait(100);
+            } catch (InterruptedException ie) {
+              return;
+            }
+          }
+          continue;
+        }
+      }
+      synchronized (flushLock) {
+        if (epoch == truncations && lastFlushed.get() < target) {
+          lastFlushed.set(target);
+        }
+        flushLock.notifyAll();
       }
     }
   }
 
-  public void sleep(long millis, int nanos) {
-    try {
-      Thread.sleep(millis, nanos);
-    } catch (InterruptedException e) {
-
+  private void markFlushed(long id) {
+    synchronized (flushLock) {
+      truncations++;
+      lastFlushed.set(id);
+      lastWritten.set(id);
+      flushLock.notifyAll();
     }
   }
 
@@ -325,43 +392,32 @@ public class OPersistentOperationalLogV1 implements OOperationLog {
       throw new IllegalStateException("Attempt to log received OpLog package on master node");
     }
 
-    paralledThreads.incrementAndGet();
-    try {
-      synchronized (inc) {
-        if (logId.getId() > lastPersistentLog().getId() + 1) {
-          return false;
-        }
-        if (tryTruncateLogHead(logId)) {
-          return false;
-        }
-        if (logId.getId() < lastPersistentLog().getId()) {
-          // already received, not truncated, so it's just a duplicate
-          return true;
-        }
-        if (logId.getId() != lastPersistentLog().getId() + 1) {
-          return false;
-        }
-        if (logId.getPreviousIdTerm() != -1 && logId.getPreviousIdTerm() != lastPersistentLog().getTerm()) {
-          return false;
-        }
-        this.term = logId.getTerm();
-        write(logId, request);
-        inc.incrementAndGet();
-        inc.notifyAll();
-        lastWritten.set(logId.getId());
-        this.lastId = logId;
+    synchronized (inc) {
+      if (logId.getId() > lastPersistentLog().getId() + 1) {
+        return false;
       }
-
-      if (paralledThreads.get() > 1) {
-        sleep(0, 100_000);
-      } else {
-        Thread.yield();
+      if (tryTruncateLogHead(logId)) {
+        return false;
+      }
+      if (logId.getId() < lastPersistentLog().getId()) {
+        // already received, not truncated, so it's just a duplicate
+        return true;
       }
-      flush(logId);
-    } finally {
-      paralledThreads.decrementAndGet();
+      if (logId.getId() != lastPersistentLog().getId() + 1) {
+        return false;
+      }
+      if (logId.getPreviousIdTerm() != -1 && logId.getPreviousIdTerm() != lastPersistentLog().getTerm()) {
+        return false;
+      }
+      this.term = logId.getTerm();
+      write(logId, request);
+      inc.incrementAndGet();
+      inc.notifyAll();
+      lastWritten.set(logId.getId());
+      this.lastId = logId;
     }
 
+    waitFlushed(logId);
     return true;
   }
 
@@ -472,6 +528,8 @@ public class OPersistentOperationalLogV1 implements OOperationLog {
     writeInfo(infoFile, info);
     if (stream != null) {
       try {
+        // THE FLUSHER ONLY SYNCS THE CURRENT SEGMENT: THE PREVIOUS ONE IS MADE DURABLE BEFORE SWITCHING
+        fileOutput.getFD().sync();
         stream.close();
       } catch (IOException e) {
         e.printStackTrace();
@@ -520,8 +578,18 @@ public class OPersistentOperationalLogV1 implements OOperationLog {
   }
 
   public void close() {
+    synchronized (flushLock) {
+      closed = true;
+      flushLock.notifyAll();
+    }
+    try {
+      flusher.join();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
     if (stream != null) {
       try {
+        fileOutput.getFD().sync();
         stream.close();
       } catch (IOException e) {
         e.printStackTrace();
@@ -537,6 +605,7 @@ public class OPersistentOperationalLogV1 implements OOperationLog {
       case TOO_OLD:
         removeAllLogFiles();
         inc.set(id.getId());
+        markFlushed(id.getId());
         break;
       case INVALID:
         break;
@@ -573,50 +642,45 @@ public class OPersistentOperationalLogV1 implements OOperationLog {
         }
       }
     }
-    removeAfterInFile(newLastFileId, id.getId());
+    truncateFile(newLastFileId, id.getId());
 
     inc.set(id.getId());
     createNewStreamFile();
+    markFlushed(id.getId());
   }
 
   /**
+   * Truncates the segment right after the last entry to keep, walking the entry headers without deserializing them.
+   *
    * @param fileId     the file ID
    * @param untilLogId last log ID to be kept
    */
-  private void removeAfterInFile(int fileId, long untilLogId) {
-    String oldFilePath = storagePath + File.separator + OPLOG_FILE.replace("$NUM$", "" + fileId);
-    File oldFile = new File(oldFilePath);
-    String newFilePath = storagePath + File.separator + OPLOG_FILE.replace("$NUM$", "" + fileId) + "_temp";
-    File newFile = new File(newFilePath);
-    if (newFile.exists()) {
-      newFile.delete();
-    }
-    try {
-      newFile.createNewFile();
-
-      FileOutputStream outFileStream = new FileOutputStream(newFile);
-      DataInputStream readStream = new DataInputStream(new FileInputStream(oldFile));
-      DataOutputStream writeStream = new DataOutputStream(outFileStream);
-
-      OOperationLogEntry record = readRecord(readStream);
-      while (record != null && record.getLogId().getId() <= untilLogId) {
-        writeRecord(writeStream, record.getLogId(), record.getRequest());
-        record = readRecord(readStream);
-      }
-      readStream.close();
-      outFileStream.getFD().sync();
-      writeStream.close();
-
-      File oldFileCopy = new File(oldFile.toString() + "_copy");
-      if (oldFileCopy.exists()) {
-        oldFileCopy.delete();
+  private void truncateFile(int fileId, long untilLogId) {
+    String filePath = calculateLogFileFullPath(fileId);
+    try (RandomAccessFile file = new RandomAccessFile(filePath, "rw")) {
+      long length = file.length();
+      long position = 0;
+      // ID, TERM, PREVIOUS TERM, PACKET SIZE
+      while (position + 28 <= length) {
+        file.seek(position);
+        long logId = file.readLong();
+        if (logId > untilLogId) {
+          break;
+        }
+        file.seek(position + 24);
+        int totalPacketSize = file.readInt();
+        // PACKET, LENGTH AGAIN, MAGIC
+        long next = position + 28 + totalPacketSize + 16;
+        if (next > length) {
+          break;
+        }
+        position = next;
       }
-      oldFile.renameTo(oldFileCopy);
-      newFile.renameTo(new File(oldFilePath));
-      oldFileCopy.delete();
+      file.setLength(position);
+      file.getChannel().force(true);
       this.lastId = null;
     } catch (IOException e) {
-      throw new ODistributedException("Cannot find oplog file: " + oldFilePath);
+      throw new ODistributedException("Cannot truncate oplog file " + filePath + ": " + e.getMessage());
     }
   }
 
@@ -5,64 +5,172 @@ import com.orientechnologies.orient.core.id.ORID;
 import com.orientechnologies.orient.distributed.impl.coordinator.ODistributedLockManager;
 
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
 
+/**
+ * Lock manager partitioned in stripes by the hash of the lock keys. A lock request takes only the stripes of its keys, always in
+ * ascending stripe order, and enqueues all its keys before releasing them: two requests sharing a key enqueue in the same order on
+ * all the keys they share, so they can't wait for each other. Requests on disjoint stripes never contend. The callbacks are
+ * executed after the stripes are released.
+ */
 public class ODistributedLockManagerImpl implements ODistributedLockManager {
 
-  private Map<OLockKey, Queue<OWaitingTracker>> locks = new ConcurrentHashMap<>();
+  private static final class OLockStripe {
+    private final ReentrantLock                           lock  = new ReentrantLock();
+    private final Map<OLockKey, Deque<OWaitingTracker>> locks = new HashMap<>();
+  }
+
+  private final OLockStripe[] stripes;
+  private final int           mask;
+
+  private final LongAdder lockRequests          = new LongAdder();
+  private final LongAdder contendedLockRequests = new LongAdder();
+  private final LongAdder waitTimeNanos         = new LongAdder();
+
+  public ODistributedLockManagerImpl() {
+    this(Runtime.getRuntime().availableProcessors() * 4);
+  }
+
+  public ODistributedLockManagerImpl(int concurrencyLevel) {
+    int size = 1;
+    while (size < concurrencyLevel)
+      size <<= 1;
+    stripes = new OLockStripe[size];
+    for (int i = 0; i < size; i++)
+      stripes[i] = new OLockStripe();
+    mask = size - 1;
+  }
 
+  private int stripeIndex(OLockKey key) {
+    int h = key.hashCode();
+    h ^= (h >>> 16);
+    return h & mask;
+  }
+
+  /**
+   * Enqueues the tracker on the key, the caller holds the stripe of the key.
+   */
   private void lock(OLockKey key, OWaitingTracker waitingTracker) {
-    Queue<OWaitingTracker> queue = locks.get(key);
+    Map<OLockKey, Deque<OWaitingTracker>> locks = stripes[stripeIndex(key)].locks;
+    Deque<OWaitingTracker> queue = locks.get(key);
     if (queue == null) {
-      locks.put(key, new LinkedList<>());
+      locks.put(key, new ArrayDeque<>());
     } else {
       queue.add(waitingTracker);
       waitingTracker.waitOne();
     }
   }
 
-  private synchronized void unlock(OLockGuard guard) {
-    Queue<OWaitingTracker> result = locks.get(guard.getKey());
-    assert result != null : guard.getKey().toString();
-    OWaitingTracker waiting = result.poll();
-    if (waiting != null) {
-      waiting.unlockOne();
-    } else {
-      locks.remove(guard.getKey());
+  /**
+   * Releases the key, the caller holds the stripe of the key.
+   *
+   * @return the next owner of the key, or null if nobody is waiting for it
+   */
+  private OWaitingTracker unlock(OLockKey key) {
+    Map<OLockKey, Deque<OWaitingTracker>> locks = stripes[stripeIndex(key)].locks;
+    Deque<OWaitingTracker> queue = locks.get(key);
+    assert queue != null : key.toString();
+    OWaitingTracker waiting = queue.poll();
+    if (waiting == null) {
+      locks.remove(key);
     }
+    return waiting;
   }
 
-  public synchronized void lock(SortedSet<ORID> rids, SortedSet<OPair<String, String>> indexKeys, OnLocksAcquired acquired) {
-    List<OLockGuard> guards = new ArrayList<>();
+  private void lockKeys(List<OLockKey> keys, OnLocksAcquired acquired) {
     OWaitingTracker waitingTracker = new OWaitingTracker(acquired);
-    for (ORID rid : rids) {
-      ORIDLockKey key = new ORIDLockKey(rid);
-      lock(key, waitingTracker);
-      guards.add(new OLockGuard(key));
+    List<OLockGuard> guards = new ArrayList<>(keys.size());
+    boolean contended;
+    int[] stripeIds = sortedStripes(keys);
+    for (int stripeId : stripeIds)
+      stripes[stripeId].lock.lock();
+    try {
+      for (OLockKey key : keys) {
+        lock(key, waitingTracker);
+        guards.add(new OLockGuard(key));
+      }
+      contended = waitingTracker.isWaiting();
+    } finally {
+      for (int i = stripeIds.length - 1; i >= 0; i--)
+        stripes[stripeIds[i]].lock.unlock();
     }
+    lockRequests.increment();
+    if (contended)
+      contendedLockRequests.increment();
+    waitingTracker.setGuards(guards);
+    waitingTracker.acquireIfNoWaiting();
+  }
+
+  private int[] sortedStripes(Collection<OLockKey> keys) {
+    BitSet ids = new BitSet(stripes.length);
+    for (OLockKey key : keys)
+      ids.set(stripeIndex(key));
+    return ids.stream().toArray();
+  }
 
+  public void lock(SortedSet<ORID> rids, SortedSet<OPair<String, String>> indexKeys, OnLocksAcquired acquired) {
+    List<OLockKey> keys = new ArrayList<>(rids.size() + indexKeys.size());
+    for (ORID rid : rids) {
+      keys.add(new ORIDLockKey(rid));
+    }
     for (OPair<String, String> indexKey : indexKeys) {
-      OIndexKeyLockKey key = new OIndexKeyLockKey(indexKey);
-      lock(key, waitingTracker);
-      guards.add(new OLockGuard(key));
+      keys.add(new OIndexKeyLockKey(indexKey));
     }
-    waitingTracker.setGuards(guards);
-    waitingTracker.acquireIfNoWaiting();
+    lockKeys(keys, acquired);
   }
 
-  public synchronized void unlock(List<OLockGuard> guards) {
+  public void unlock(List<OLockGuard> guards) {
+    List<OLockKey> keys = new ArrayList<>(guards.size());
     for (OLockGuard guard : guards) {
-      unlock(guard);
+      keys.add(guard.getKey());
+    }
+    List<OWaitingTracker> next = new ArrayList<>();
+    int[] stripeIds = sortedStripes(keys);
+    for (int stripeId : stripeIds)
+      stripes[stripeId].lock.lock();
+    try {
+      for (OLockKey key : keys) {
+        OWaitingTracker waiting = unlock(key);
+        if (waiting != null) {
+          next.add(waiting);
+        }
+      }
+    } finally {
+      for (int i = stripeIds.length - 1; i >= 0; i--)
+        stripes[stripeIds[i]].lock.unlock();
+    }
+    for (OWaitingTracker waiting : next) {
+      long waited = waiting.unlockOne();
+      if (waited >= 0) {
+        waitTimeNanos.add(waited);
+      }
     }
   }
 
   @Override
-  public synchronized void lockResource(String name, OnLocksAcquired acquired) {
-    OWaitingTracker waitingTracker = new OWaitingTracker(acquired);
-    OResourceLockKey key = new OResourceLockKey(name);
-    OLockGuard guard = new OLockGuard(key);
-    lock(key, waitingTracker);
-    waitingTracker.setGuards(Collections.singletonList(guard));
-    waitingTracker.acquireIfNoWaiting();
+  public void lockResource(String name, OnLocksAcquired acquired) {
+    lockKeys(Collections.singletonList(new OResourceLockKey(name)), acquired);
+  }
+
+  /**
+   * @return the number of lock requests received
+   */
+  public long getLockRequests() {
+    return lockRequests.sum();
+  }
+
+  /**
+   * @return the number of lock requests that found at least one of their keys already locked
+   */
+  public long getContendedLockRequests() {
+    return contendedLockRequests.sum();
+  }
+
+  /**
+   * @return the total time the contended lock requests waited for their keys, in nanoseconds
+   */
+  public long getWaitTimeNanos() {
+    return waitTimeNanos.sum();
   }
-}
\ No newline at end of file
+}
@@ -1,10 +1,13 @@
 package com.orientechnologies.orient.distributed.impl.coordinator.lock;
 
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 class OWaitingTracker {
-  private       int              waitingCount = 0;
+  // THE EXTRA ONE IS RELEASED ONCE ALL THE KEYS ARE ENQUEUED, SO AN UNLOCK CAN'T EXECUTE THE CALLBACK BEFORE THE GUARDS ARE SET
+  private final AtomicInteger    waitingCount = new AtomicInteger(1);
   private final OnLocksAcquired  toExecute;
+  private final long             requestedAt  = System.nanoTime();
   private       List<OLockGuard> guards;
 
   public OWaitingTracker(OnLocksAcquired toExecute) {
@@ -12,19 +15,33 @@ class OWaitingTracker {
   }
 
   public void waitOne() {
-    this.waitingCount++;
+    this.waitingCount.incrementAndGet();
   }
 
-  public void unlockOne() {
-    this.waitingCount--;
-    this.acquireIfNoWaiting();
+  public boolean isWaiting() {
+    return this.waitingCount.get() > 1;
+  }
+
+  /**
+   * @return the time waited for the locks in nanoseconds if this was the last lock missing, -1 otherwise
+   */
+  public long unlockOne() {
+    return release();
   }
 
   public void acquireIfNoWaiting() {
-    assert this.waitingCount >= 0;
-    if (this.waitingCount == 0) {
+    release();
+  }
+
+  private long release() {
+    int waiting = this.waitingCount.decrementAndGet();
+    assert waiting >= 0;
+    if (waiting == 0) {
+      long waited = System.nanoTime() - requestedAt;
       this.toExecute.execute(guards);
+      return waited;
     }
+    return -1;
   }
 
   public void setGuards(List<OLockGuard> guards) {
@@ -0,0 +1,75 @@
+package com.orientechnologies.orient.distributed.impl.coordinator.network;
+
+import com.orientechnologies.orient.core.db.config.ONodeIdentity;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.orientechnologies.orient.distributed.impl.network.binary.OBinaryDistributedMessage.DISTRIBUTED_OPERATION_BATCH;
+import static com.orientechnologies.orient.distributed.impl.network.binary.OBinaryDistributedMessage.DISTRIBUTED_OPERATION_REQUEST;
+import static com.orientechnologies.orient.distributed.impl.network.binary.OBinaryDistributedMessage.DISTRIBUTED_OPERATION_RESPONSE;
+
+/**
+ * Frame that carries many operation requests and responses of different transactions addressed to the same node, they are
+ * executed one by one in the order they were sent.
+ */
+public class ONetworkOperationBatch implements ODistributedMessage {
+  private List<ODistributedMessage> messages;
+
+  public ONetworkOperationBatch(List<ODistributedMessage> messages) {
+    this.messages = messages;
+  }
+
+  public ONetworkOperationBatch() {
+  }
+
+  @Override
+  public void write(DataOutput output) throws IOException {
+    output.writeInt(messages.size());
+    for (ODistributedMessage message : messages) {
+      output.writeByte(message.getCommand());
+      message.write(output);
+    }
+  }
+
+  @Override
+  public void read(DataInput input) throws IOException {
+    int size = input.readInt();
+    messages = new ArrayList<>(size);
+    for (int i = 0; i < size; i++) {
+      byte command = input.readByte();
+      ODistributedMessage message;
+      switch (command) {
+      case DISTRIBUTED_OPERATION_REQUEST:
+        message = new OOperationRequest();
+        break;
+      case DISTRIBUTED_OPERATION_RESPONSE:
+        message = new OOperationResponse();
+        break;
+      default:
+        throw new IOException("Unexpected message " + command + " in operation batch");
+      }
+      message.read(input);
+      messages.add(message);
+    }
+  }
+
+  @Override
+  public byte getCommand() {
+    return DISTRIBUTED_OPERATION_BATCH;
+  }
+
+  @Override
+  public void execute(ONodeIdentity sender, OCoordinatedExecutor executor) {
+    for (ODistributedMessage message : messages) {
+      message.execute(sender, executor);
+    }
+  }
+
+  public List<ODistributedMessage> getMessages() {
+    return messages;
+  }
+}
@@ -1,9 +1,12 @@
 package com.orientechnologies.orient.distributed.impl.network.binary;
 
+import com.orientechnologies.common.log.OLogManager;
 import com.orientechnologies.orient.core.db.config.ONodeIdentity;
 import com.orientechnologies.orient.distributed.impl.coordinator.network.*;
 import com.orientechnologies.orient.distributed.impl.structural.raft.OFullConfiguration;
 import com.orientechnologies.orient.distributed.impl.structural.raft.ORaftOperation;
+import com.orientechnologies.orient.client.remote.OBinaryRequest;
+import com.orientechnologies.orient.server.distributed.ORemoteServerChannel;
 import com.orientechnologies.orient.server.distributed.ORemoteServerController;
 import com.orientechnologies.orient.distributed.impl.coordinator.*;
 import com.orientechnologies.orient.distributed.impl.coordinator.transaction.OSessionOperationId;
@@ -12,11 +15,33 @@ import com.orientechnologies.orient.distributed.impl.structural.OStructuralNodeR
 import com.orientechnologies.orient.distributed.impl.structural.OStructuralSubmitRequest;
 import com.orientechnologies.orient.distributed.impl.structural.OStructuralSubmitResponse;
 
-public class ODistributedChannelBinaryProtocol implements ODistributedChannel {
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class ODistributedChannelBinaryProtocol implements ODistributedChannel, ORemoteServerChannel.OBinaryRequestSource {
+
+  protected static final int MAX_BATCH_SIZE     = 256;
+  protected static final int MAX_RESEND_ATTEMPTS = 3;
 
   private ONodeIdentity           nodeIdentity;
   private ORemoteServerController controller;
 
+  /**
+   * Operation requests and responses are queued and taken by the writer thread of the channel. The messages queued while it is
+   * writing are coalesced in a single {@link ONetworkOperationBatch} frame, so the transactions are pipelined without a network
+   * write each.
+   */
+  private final Deque<ODistributedMessage> pendingOperations = new ConcurrentLinkedDeque<>();
+  private final AtomicBoolean              writerScheduled   = new AtomicBoolean();
+  private final AtomicInteger              failedAttempts    = new AtomicInteger();
+  // ONLY ACCESSED BY THE WRITER THREAD
+  private       List<ODistributedMessage>  inFlight;
+
   public ODistributedChannelBinaryProtocol(ONodeIdentity nodeIdentity, ORemoteServerController remoteServer) {
     this.nodeIdentity = nodeIdentity;
     this.controller = remoteServer;
@@ -24,12 +49,72 @@ public class ODistributedChannelBinaryProtocol implements ODistributedChannel {
 
   @Override
   public void sendRequest(String database, OLogId id, ONodeRequest nodeRequest) {
-    controller.sendBinaryRequest(new OBinaryDistributedMessage(nodeIdentity, new OOperationRequest(database, id, nodeRequest)));
+    sendOperation(new OOperationRequest(database, id, nodeRequest));
   }
 
   @Override
   public void sendResponse(String database, OLogId id, ONodeResponse nodeResponse) {
-    controller.sendBinaryRequest(new OBinaryDistributedMessage(nodeIdentity, new OOperationResponse(database, id, nodeResponse)));
+    sendOperation(new OOperationResponse(database, id, nodeResponse));
+  }
+
+  private void sendOperation(ODistributedMessage message) {
+    pendingOperations.add(message);
+    if (writerScheduled.compareAndSet(false, true)) {
+      controller.sendBinaryRequests(this);
+    }
+  }
+
+  /**
+   * Called by the writer thread: takes everything queued since the previous frame, up to {@link #MAX_BATCH_SIZE} messages.
+   */
+  @Override
+  public OBinaryRequest next() {
+    if (inFlight != null) {
+      // THE PREVIOUS BATCH WAS SENT
+      failedAttempts.set(0);
+    }
+    List<ODistributedMessage> batch = new ArrayList<>();
+    ODistributedMessage next;
+    while (batch.size() < MAX_BATCH_SIZE && (next = pendingOperations.poll()) != null) {
+      batch.add(next);
+    }
+    if (batch.isEmpty()) {
+      writerScheduled.set(false);
+      // RE-CHECK AFTER RELEASING: A MESSAGE QUEUED JUST BEFORE THE RELEASE WOULD BE LEFT BEHIND OTHERWISE
+      if (pendingOperations.isEmpty() || !writerScheduled.compareAndSet(false, true)) {
+        inFlight = null;
+        return null;
+      }
+      return next();
+    }
+    inFlight = batch;
+    ODistributedMessage message = batch.size() == 1 ? batch.get(0) : new ONetworkOperationBatch(batch);
+    return new OBinaryDistributedMessage(nodeIdentity, message);
+  }
+
+  /**
+   * The batch is put back in front of the queue, in the original order, and the writer is scheduled again to send it. After
+   * {@link #MAX_RESEND_ATTEMPTS} consecutive failures the queued messages are left to be sent with the next operation.
+   */
+  @Override
+  public void failed(OBinaryRequest request) {
+    if (request != null && inFlight != null) {
+      ListIterator<ODistributedMessage> messages = inFlight.listIterator(inFlight.size());
+      while (messages.hasPrevious()) {
+        pendingOperations.addFirst(messages.previous());
+      }
+    }
+    inFlight = null;
+    writerScheduled.set(false);
+
+    if (failedAttempts.incrementAndGet() > MAX_RESEND_ATTEMPTS) {
+      OLogManager.instance()
+          .warn(this, "Cannot send %d distributed operations, they are sent again with the next operation",
+              pendingOperations.size());
+      failedAttempts.set(0);
+    } else if (!pendingOperations.isEmpty() && writerScheduled.compareAndSet(false, true)) {
+      controller.sendBinaryRequests(this);
+    }
   }
 
   @Override
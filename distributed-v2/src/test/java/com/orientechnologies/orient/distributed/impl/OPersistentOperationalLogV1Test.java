@@ -374,6 +374,55 @@ public class OPersistentOperationalLogV1Test {
     }
   }
 
+  @Test
+  public void testConcurrentLogAcrossFiles() throws Exception {
+    Path file = Files.createTempDirectory(".");
+    OPersistentOperationalLogV1 log = new OPersistentOperationalLogV1(file.toString(), (id) -> new OPhase1Tx());
+    log.setLeader(true, 0);
+    try {
+      final int nThreads = 8;
+      final int entriesPerThread = OPersistentOperationalLogV1.LOG_ENTRIES_PER_FILE / 4;
+      final List<Thread> threads = new ArrayList<>();
+      for (int iThread = 0; iThread < nThreads; iThread++) {
+        Thread thread = new Thread(() -> {
+          for (int i = 0; i < entriesPerThread; i++) {
+            log.log(new OPhase1Tx());
+          }
+        });
+        threads.add(thread);
+        thread.start();
+      }
+      for (Thread thread : threads) {
+        thread.join();
+      }
+
+      long lastId = nThreads * entriesPerThread - 1;
+      Assert.assertEquals(lastId, log.lastPersistentLog().getId());
+
+      // TRUNCATE IN THE MIDDLE OF THE SECOND FILE AND REOPEN
+      OLogId keep = log.iterate(lastId - 100, lastId - 100).next().getLogId();
+      Assert.assertEquals(OOperationLog.LogIdStatus.PRESENT, log.removeAfter(keep));
+      OLogId next = log.log(new OPhase1Tx());
+      Assert.assertEquals(keep.getId() + 1, next.getId());
+      log.close();
+
+      OPersistentOperationalLogV1 reopened = new OPersistentOperationalLogV1(file.toString(), (id) -> new OPhase1Tx());
+      Assert.assertEquals(next.getId(), reopened.readLastLogId().get());
+      Iterator<OOperationLogEntry> iterator = reopened.iterate(0, next.getId());
+      for (long i = 0; i <= next.getId(); i++) {
+        Assert.assertTrue(iterator.hasNext());
+        Assert.assertEquals(i, iterator.next().getLogId().getId());
+      }
+      Assert.assertFalse(iterator.hasNext());
+      reopened.close();
+    } finally {
+      for (File file1 : file.toFile().listFiles()) {
+        file1.delete();
+      }
+      file.toFile().delete();
+    }
+  }
+
   @Test
   public void testLogReceived() throws IOException {
     Path file = Files.createTempDirectory(".");
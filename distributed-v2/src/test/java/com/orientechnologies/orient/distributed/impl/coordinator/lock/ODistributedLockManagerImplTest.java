@@ -0,0 +1,124 @@
+package com.orientechnologies.orient.distributed.impl.coordinator.lock;
+
+import com.orientechnologies.common.util.OPair;
+import com.orientechnologies.orient.core.id.ORID;
+import com.orientechnologies.orient.core.id.ORecordId;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class ODistributedLockManagerImplTest {
+
+  private static SortedSet<ORID> rids(ORID... rids) {
+    SortedSet<ORID> set = new TreeSet<>();
+    Collections.addAll(set, rids);
+    return set;
+  }
+
+  private static SortedSet<OPair<String, String>> noKeys() {
+    return new TreeSet<>();
+  }
+
+  @Test
+  public void testWaitForRelease() {
+    ODistributedLockManagerImpl manager = new ODistributedLockManagerImpl(4);
+    AtomicReference<List<OLockGuard>> first = new AtomicReference<>();
+    AtomicReference<List<OLockGuard>> second = new AtomicReference<>();
+    manager.lock(rids(new ORecordId(10, 1), new ORecordId(10, 2)), noKeys(), first::set);
+    assertNotNull(first.get());
+
+    manager.lock(rids(new ORecordId(10, 2)), noKeys(), second::set);
+    assertNull(second.get());
+
+    manager.unlock(first.get());
+    assertNotNull(second.get());
+    manager.unlock(second.get());
+
+    assertEquals(2, manager.getLockRequests());
+    assertEquals(1, manager.getContendedLockRequests());
+  }
+
+  @Test
+  public void testResourceLock() {
+    ODistributedLockManagerImpl manager = new ODistributedLockManagerImpl(4);
+    AtomicReference<List<OLockGuard>> first = new AtomicReference<>();
+    AtomicReference<List<OLockGuard>> second = new AtomicReference<>();
+    manager.lockResource("resource", first::set);
+    manager.lockResource("resource", second::set);
+    assertNotNull(first.get());
+    assertNull(second.get());
+    manager.unlock(first.get());
+    assertNotNull(second.get());
+  }
+
+  @Test
+  public void testConcurrentOverlappingLocks() throws Exception {
+    ODistributedLockManagerImpl manager = new ODistributedLockManagerImpl(8);
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+    int requests = 2000;
+    CountDownLatch done = new CountDownLatch(requests);
+    AtomicInteger holders = new AtomicInteger();
+    AtomicInteger overlaps = new AtomicInteger();
+    try {
+      for (int i = 0; i < requests; i++) {
+        final int base = i % 7;
+        executor.submit(() -> {
+          // EVERY REQUEST LOCKS THE SHARED RECORD AND TWO OF ITS OWN, ACQUIRED IN SORTED ORDER
+          manager.lock(rids(new ORecordId(1, 0), new ORecordId(2, base), new ORecordId(3, base + 1)), noKeys(), (guards) -> {
+            if (holders.incrementAndGet() > 1)
+              overlaps.incrementAndGet();
+            holders.decrementAndGet();
+            executor.submit(() -> {
+              manager.unlock(guards);
+              done.countDown();
+            });
+          });
+        });
+      }
+      assertTrue(done.await(30, TimeUnit.SECONDS));
+    } finally {
+      executor.shutdown();
+    }
+    assertEquals(0, overlaps.get());
+    assertEquals(requests, manager.getLockRequests());
+  }
+
+  @Test
+  public void testCrossOrderedRequestsDoNotDeadlock() throws Exception {
+    ODistributedLockManagerImpl manager = new ODistributedLockManagerImpl(16);
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    int requests = 1000;
+    CountDownLatch done = new CountDownLatch(requests);
+    List<ORID> all = new ArrayList<>();
+    for (int i = 0; i < 10; i++)
+      all.add(new ORecordId(5, i));
+    try {
+      for (int i = 0; i < requests; i++) {
+        final int first = i % 10;
+        final int second = (i * 3 + 1) % 10;
+        executor.submit(() -> manager.lock(rids(all.get(first), all.get(second)), noKeys(), (guards) -> executor.submit(() -> {
+          manager.unlock(guards);
+          done.countDown();
+        })));
+      }
+      assertTrue(done.await(30, TimeUnit.SECONDS));
+    } finally {
+      executor.shutdown();
+    }
+  }
+}
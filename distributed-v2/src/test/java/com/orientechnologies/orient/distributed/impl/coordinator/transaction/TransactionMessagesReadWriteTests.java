@@ -3,8 +3,13 @@ package com.orientechnologies.orient.distributed.impl.coordinator.transaction;
 import com.orientechnologies.orient.client.remote.message.tx.ORecordOperationRequest;
 import com.orientechnologies.orient.core.db.record.ORecordOperation;
 import com.orientechnologies.orient.core.id.ORecordId;
+import com.orientechnologies.orient.distributed.impl.coordinator.OLogId;
 import com.orientechnologies.orient.distributed.impl.coordinator.ONodeRequest;
 import com.orientechnologies.orient.distributed.impl.coordinator.ONodeResponse;
+import com.orientechnologies.orient.distributed.impl.coordinator.network.ODistributedMessage;
+import com.orientechnologies.orient.distributed.impl.coordinator.network.ONetworkOperationBatch;
+import com.orientechnologies.orient.distributed.impl.coordinator.network.OOperationRequest;
+import com.orientechnologies.orient.distributed.impl.coordinator.network.OOperationResponse;
 import com.orientechnologies.orient.distributed.impl.coordinator.transaction.results.OConcurrentModificationResult;
 import com.orientechnologies.orient.distributed.impl.coordinator.transaction.results.OExceptionResult;
 import com.orientechnologies.orient.distributed.impl.coordinator.transaction.results.OUniqueKeyViolationResult;
@@ -143,6 +148,29 @@ public class TransactionMessagesReadWriteTests {
 
   }
 
+  @Test
+  public void testOperationBatch() throws IOException {
+    List<ODistributedMessage> messages = new ArrayList<>();
+    messages.add(new OOperationRequest("db", new OLogId(1, 2, 1),
+        new OTransactionSecondPhaseOperation(new OSessionOperationId(), new ArrayList<>(), new ArrayList<>(), true)));
+    messages.add(new OOperationResponse("db", new OLogId(0, 2, 1),
+        new OTransactionSecondPhaseResponse(false, new ArrayList<>(), new ArrayList<>(), new ArrayList<>())));
+
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    new ONetworkOperationBatch(messages).write(new DataOutputStream(outputStream));
+    ONetworkOperationBatch readBatch = new ONetworkOperationBatch();
+    readBatch.read(new DataInputStream(new ByteArrayInputStream(outputStream.toByteArray())));
+
+    assertEquals(2, readBatch.getMessages().size());
+    OOperationRequest readRequest = (OOperationRequest) readBatch.getMessages().get(0);
+    assertEquals("db", readRequest.getDatabase());
+    assertEquals(new OLogId(1, 2, 1), readRequest.getId());
+    assertEquals(true, ((OTransactionSecondPhaseOperation) readRequest.getRequest()).isSuccess());
+    OOperationResponse readResponse = (OOperationResponse) readBatch.getMessages().get(1);
+    assertEquals(new OLogId(0, 2, 1), readResponse.getId());
+    assertEquals(false, ((OTransactionSecondPhaseResponse) readResponse.getResponse()).isSuccess());
+  }
+
   private static void writeRead(ONodeRequest operation, ONodeRequest readOperation) {
     try {
       ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
@@ -0,0 +1,113 @@
+package com.orientechnologies.orient.server.distributed;
+
+import com.orientechnologies.common.log.OLogManager;
+import com.orientechnologies.orient.core.config.OGlobalConfiguration;
+import com.orientechnologies.orient.core.db.ODatabasePool;
+import com.orientechnologies.orient.core.db.ODatabaseSession;
+import com.orientechnologies.orient.core.db.ODatabaseType;
+import com.orientechnologies.orient.core.db.OrientDB;
+import com.orientechnologies.orient.core.db.OrientDBConfig;
+import com.orientechnologies.orient.core.db.document.ODatabaseDocumentTx;
+import com.orientechnologies.orient.core.record.OElement;
+import com.orientechnologies.orient.server.OServer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Commits many small transactions concurrently on a three nodes cluster running in this JVM over loopback and logs the
+ * committed transactions per second.
+ */
+public class DistributedTxThroughputIT {
+
+  private static final int THREADS           = 16;
+  private static final int TX_PER_THREAD     = 500;
+  private static final int WARMUP_PER_THREAD = 50;
+
+  private OServer  server0;
+  private OServer  server1;
+  private OServer  server2;
+  private OrientDB remote;
+
+  @Before
+  public void before() throws Exception {
+    OGlobalConfiguration.DISTRIBUTED_REPLICATION_PROTOCOL_VERSION.setValue(2);
+    server0 = OServer.startFromClasspathConfig("orientdb-simple-dserver-config-0.xml");
+    server1 = OServer.startFromClasspathConfig("orientdb-simple-dserver-config-1.xml");
+    server2 = OServer.startFromClasspathConfig("orientdb-simple-dserver-config-2.xml");
+    remote = new OrientDB("remote:localhost", "root", "test", OrientDBConfig.defaultConfig());
+    remote.create("test", ODatabaseType.PLOCAL);
+    try (ODatabaseSession session = remote.open("test", "admin", "admin")) {
+      session.createClass("Item");
+    }
+  }
+
+  @Test
+  public void testCommittedTxPerSecond() throws Exception {
+    ODatabasePool pool = new ODatabasePool(remote, "test", "admin", "admin");
+    ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+    try {
+      run(pool, executor, WARMUP_PER_THREAD);
+
+      long begin = System.nanoTime();
+      run(pool, executor, TX_PER_THREAD);
+      long elapsed = System.nanoTime() - begin;
+
+      long txs = (long) THREADS * TX_PER_THREAD;
+      double txPerSecond = txs * 1e9 / elapsed;
+      OLogManager.instance()
+          .info(this, "Committed %d transactions in %d ms: %.1f tx/s", txs, elapsed / 1_000_000, txPerSecond);
+      assertTrue("no transaction committed in the measured run", txPerSecond > 0);
+
+      try (ODatabaseSession session = pool.acquire()) {
+        assertEquals((long) THREADS * (WARMUP_PER_THREAD + TX_PER_THREAD), session.countClass("Item"));
+      }
+    } finally {
+      executor.shutdown();
+      pool.close();
+    }
+  }
+
+  private void run(ODatabasePool pool, ExecutorService executor, int txPerThread) throws Exception {
+    List<Future<?>> futures = new ArrayList<>();
+    for (int i = 0; i < THREADS; i++) {
+      final int thread = i;
+      futures.add(executor.submit(() -> {
+        try (ODatabaseSession session = pool.acquire()) {
+          for (int j = 0; j < txPerThread; j++) {
+            session.begin();
+            OElement item = session.newElement("Item");
+            item.setProperty("thread", thread);
+            item.setProperty("seq", j);
+            session.save(item);
+            session.commit();
+          }
+        }
+      }));
+    }
+    for (Future<?> future : futures) {
+      future.get();
+    }
+  }
+
+  @After
+  public void after() throws InterruptedException {
+    remote.drop("test");
+    remote.close();
+
+    server0.shutdown();
+    server1.shutdown();
+    server2.shutdown();
+    ODatabaseDocumentTx.closeAll();
+  }
+
+}
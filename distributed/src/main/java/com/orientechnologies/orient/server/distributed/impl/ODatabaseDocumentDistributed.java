@@ -31,7 +31,6 @@ import com.orientechnologies.orient.core.query.live.OLiveQueryHook;
 import com.orientechnologies.orient.core.query.live.OLiveQueryHookV2;
 import com.orientechnologies.orient.core.record.ORecord;
 import com.orientechnologies.orient.core.record.impl.ODocument;
-import com.orientechnologies.orient.core.sql.executor.OExecutionPlan;
 import com.orientechnologies.orient.core.sql.executor.OResultSet;
 import com.orientechnologies.orient.core.storage.ORecordDuplicatedException;
 import com.orientechnologies.orient.core.storage.ORecordMetadata;
@@ -266,8 +265,9 @@ public class ODatabaseDocumentDistributed extends ODatabaseDocumentEmbedded {
   }
 
   @Override
-  public OResultSet queryOnNode(String nodeName, OExecutionPlan executionPlan, Map<Object, Object> inputParameters) {
-    ORunQueryExecutionPlanTask task = new ORunQueryExecutionPlanTask(executionPlan, inputParameters, nodeName);
+  public OResultSet queryOnNode(String nodeName, String statement, Set<String> clusters, boolean pushDown,
+      Map<Object, Object> inputParameters) {
+    ORunQueryExecutionPlanTask task = new ORunQueryExecutionPlanTask(statement, clusters, pushDown, inputParameters, nodeName);
     ODistributedResponse result = executeTaskOnNode(task, nodeName);
     return task.getResult(result, this);
   }
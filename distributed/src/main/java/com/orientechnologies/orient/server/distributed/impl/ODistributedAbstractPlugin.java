@@ -159,6 +159,7 @@ public abstract class ODistributedAbstractPlugin extends OServerPluginAbstract
   protected TimerTask                           publishLocalNodeConfigurationTask = null;
   protected TimerTask                           haStatsTask                       = null;
   protected TimerTask                           healthCheckerTask                 = null;
+  protected TimerTask                           publishReadStatusTask             = null;
 
   // LOCAL MSG COUNTER
   protected AtomicLong                          localMessageIdCounter     = new AtomicLong();
@@ -303,6 +304,9 @@ public abstract class ODistributedAbstractPlugin extends OServerPluginAbstract
     if (healthCheckerTask != null)
       healthCheckerTask.cancel();
 
+    if (publishReadStatusTask != null)
+      publishReadStatusTask.cancel();
+
     if (haStatsTask != null)
       haStatsTask.cancel();
 
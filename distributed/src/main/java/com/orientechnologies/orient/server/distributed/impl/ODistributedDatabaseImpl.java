@@ -937,6 +937,56 @@ public class ODistributedDatabaseImpl implements ODistributedDatabase {
     return total;
   }
 
+  /**
+   * Returns the number of replicated requests in queue or in execution on the local node.
+   */
+  public int getPendingRequests() {
+    int total = 0;
+
+    final ODistributedWorker lock = lockThread;
+    if (lock != null)
+      total += lock.getPendingRequests();
+
+    final ODistributedWorker nowait = nowaitThread;
+    if (nowait != null)
+      total += nowait.getPendingRequests();
+
+    for (ODistributedWorker workerThread : workerThreads) {
+      if (workerThread != null)
+        total += workerThread.getPendingRequests();
+    }
+
+    return total;
+  }
+
+  /**
+   * Returns how many ms the local node is behind: the time since the oldest replicated request still in queue or in execution was
+   * received, 0 if there are no pending requests.
+   */
+  public long getReplicationLag() {
+    long oldest = Long.MAX_VALUE;
+
+    final ODistributedWorker lock = lockThread;
+    if (lock != null)
+      oldest = oldestPending(lock, oldest);
+
+    final ODistributedWorker nowait = nowaitThread;
+    if (nowait != null)
+      oldest = oldestPending(nowait, oldest);
+
+    for (ODistributedWorker workerThread : workerThreads) {
+      if (workerThread != null)
+        oldest = oldestPending(workerThread, oldest);
+    }
+
+    return oldest == Long.MAX_VALUE ? 0 : Math.max(0, System.currentTimeMillis() - oldest);
+  }
+
+  private static long oldestPending(final ODistributedWorker worker, final long oldest) {
+    final long since = worker.getOldestPendingRequestTime();
+    return since > 0 && since < oldest ? since : oldest;
+  }
+
   public void shutdown() {
     running = false;
 
@@ -0,0 +1,162 @@
+/*
+ *
+ *  *  Copyright 2010-2017 OrientDB LTD (http://orientdb.com)
+ *  *
+ *  *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  *  you may not use this file except in compliance with the License.
+ *  *  You may obtain a copy of the License at
+ *  *
+ *  *       http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  *  Unless required by applicable law or agreed to in writing, software
+ *  *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  *  See the License for the specific language governing permissions and
+ *  *  limitations under the License.
+ *  *
+ *  * For more information: http://orientdb.com
+ *
+ */
+package com.orientechnologies.orient.server.distributed.impl;
+
+import com.orientechnologies.orient.core.config.OGlobalConfiguration;
+import com.orientechnologies.orient.core.db.ODatabaseDocumentInternal;
+
+/**
+ * Consistency required by the record reads on a distributed database:
+ * <ul>
+ * <li><b>strong</b>: the record is read by read quorum, as configured for the cluster</li>
+ * <li><b>bounded-staleness(&lt;ms&gt;)</b>: the record is read from one server, the local one if possible, that has no replicated
+ * request waiting since more than &lt;ms&gt;</li>
+ * <li><b>any</b>: the record is read from one server, the local one if possible, regardless of its replication lag</li>
+ * </ul>
+ * The default is taken from {@link OGlobalConfiguration#DISTRIBUTED_READ_CONSISTENCY} and can be overridden per session by
+ * setting the database property with the same name, for example <code>db.setProperty("distributed.readConsistency",
+ * "bounded-staleness(500)")</code> before executing the queries that accept stale data.
+ */
+public class ODistributedReadConsistency {
+  public static final String SESSION_PROPERTY = OGlobalConfiguration.DISTRIBUTED_READ_CONSISTENCY.getKey();
+
+  public enum MODE {
+    STRONG, BOUNDED_STALENESS, ANY
+  }
+
+  public static final ODistributedReadConsistency STRONG = new ODistributedReadConsistency(MODE.STRONG, 0);
+  public static final ODistributedReadConsistency ANY    = new ODistributedReadConsistency(MODE.ANY, Long.MAX_VALUE);
+
+  private static final String BOUNDED_STALENESS = "bounded-staleness";
+
+  private static volatile ODistributedReadConsistency defaultConsistency = STRONG;
+  private static volatile String                      defaultConsistencyCfg = "strong";
+
+  private final MODE mode;
+  private final long maxStaleness;
+
+  private ODistributedReadConsistency(final MODE mode, final long maxStaleness) {
+    this.mode = mode;
+    this.maxStaleness = maxStaleness;
+  }
+
+  public static ODistributedReadConsistency boundedStaleness(final long maxStalenessMs) {
+    if (maxStalenessMs < 0)
+      throw new IllegalArgumentException("Invalid maximum staleness " + maxStalenessMs + "ms");
+    return new ODistributedReadConsistency(MODE.BOUNDED_STALENESS, maxStalenessMs);
+  }
+
+  /**
+   * Parses 'strong', 'any' or 'bounded-staleness(&lt;ms&gt;)'.
+   */
+  public static ODistributedReadConsistency parse(final String value) {
+    final String text = value.trim().toLowerCase();
+    if (text.equals("strong"))
+      return STRONG;
+    if (text.equals("any"))
+      return ANY;
+
+    if (text.startsWith(BOUNDED_STALENESS)) {
+      final String arg = text.substring(BOUNDED_STALENESS.length()).trim();
+      if (arg.startsWith("(") && arg.endsWith(")")) {
+        String ms = arg.substring(1, arg.length() - 1).trim();
+        if (ms.endsWith("ms"))
+          ms = ms.substring(0, ms.length() - 2).trim();
+        try {
+          return boundedStaleness(Long.parseLong(ms));
+        } catch (NumberFormatException e) {
+          // REPORTED BELOW
+        }
+      }
+    }
+
+    throw new IllegalArgumentException(
+        "Invalid read consistency '" + value + "'. Supported values are 'strong', 'bounded-staleness(<ms>)' and 'any'");
+  }
+
+  /**
+   * Returns the read consistency of the session, or the default one if the session did not set it.
+   */
+  public static ODistributedReadConsistency resolve(final ODatabaseDocumentInternal db) {
+    if (db != null) {
+      final Object value = db.getProperty(SESSION_PROPERTY);
+      if (value instanceof ODistributedReadConsistency)
+        return (ODistributedReadConsistency) value;
+      if (value != null)
+        return parse(value.toString());
+    }
+    return getDefault();
+  }
+
+  public static ODistributedReadConsistency getDefault() {
+    final String cfg = OGlobalConfiguration.DISTRIBUTED_READ_CONSISTENCY.getValueAsString();
+    if (cfg == null)
+      return STRONG;
+
+    if (!cfg.equals(defaultConsistencyCfg)) {
+      // PARSED AGAIN ONLY WHEN THE SETTING CHANGES
+      synchronized (ODistributedReadConsistency.class) {
+        if (!cfg.equals(defaultConsistencyCfg)) {
+          defaultConsistency = parse(cfg);
+          defaultConsistencyCfg = cfg;
+        }
+      }
+    }
+    return defaultConsistency;
+  }
+
+  public MODE getMode() {
+    return mode;
+  }
+
+  public boolean isStrong() {
+    return mode == MODE.STRONG;
+  }
+
+  public long getMaxStaleness() {
+    return maxStaleness;
+  }
+
+  /**
+   * Tells if a server that is behind by the given lag in ms can serve the read.
+   */
+  public boolean accepts(final long lag) {
+    switch (mode) {
+    case ANY:
+      return true;
+    case BOUNDED_STALENESS:
+      return lag >= 0 && lag <= maxStaleness;
+    default:
+      return false;
+    }
+  }
+
+  @Override
+  public String toString() {
+    switch (mode) {
+    case ANY:
+      return "any";
+    case BOUNDED_STALENESS:
+      return BOUNDED_STALENESS + "(" + maxStaleness + ")";
+    default:
+      return "strong";
+    }
+  }
+}
@@ -33,6 +33,7 @@ import com.orientechnologies.orient.core.config.OContextConfiguration;
 import com.orientechnologies.orient.core.config.OGlobalConfiguration;
 import com.orientechnologies.orient.core.config.OStorageConfiguration;
 import com.orientechnologies.orient.core.conflict.ORecordConflictStrategy;
+import com.orientechnologies.orient.core.db.ODatabaseRecordThreadLocal;
 import com.orientechnologies.orient.core.db.OScenarioThreadLocal;
 import com.orientechnologies.orient.core.db.OScenarioThreadLocal.RUN_MODE;
 import com.orientechnologies.orient.core.db.record.OCurrentStorageComponentsFactory;
@@ -70,6 +71,7 @@ import com.orientechnologies.orient.server.hazelcast.OHazelcastPlugin;
 import java.io.*;
 import java.util.*;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 
@@ -570,8 +572,9 @@ public class ODistributedStorage implements OStorage, OFreezableStorageComponent
 
       // CHECK IF LOCAL NODE OWNS THE DATA AND READ-QUORUM = 1: GET IT LOCALLY BECAUSE IT'S FASTER
       final String localNodeName = dManager.getLocalNodeName();
+      final String readServer = selectReadServer(nodes);
 
-      if (nodes.isEmpty()
+      if (nodes.isEmpty() || localNodeName.equals(readServer)
           || nodes.contains(dManager.getLocalNodeName()) && dbCfg.getReadQuorum(clusterName, availableNodes, localNodeName) <= 1) {
         // DON'T REPLICATE
         return (OStorageOperationResult<ORawBuffer>) OScenarioThreadLocal.executeAsDistributed(new Callable() {
@@ -585,9 +588,14 @@ public class ODistributedStorage implements OStorage, OFreezableStorageComponent
       final OReadRecordTask task = ((OReadRecordTask) dManager.getTaskFactoryManager().getFactoryByServerNames(nodes)
           .createTask(OReadRecordTask.FACTORYID)).init(iRecordId);
 
+      final List<String> targets = readServer != null ? Collections.singletonList(readServer) : nodes;
+      if (readServer != null)
+        // STALE DATA IS ACCEPTED: ONE RESPONSE IS ENOUGH
+        task.setQuorumType(OCommandDistributedReplicateRequest.QUORUM_TYPE.NONE);
+
       // DISTRIBUTE IT
       final ODistributedResponse response = dManager
-          .sendRequest(getName(), Collections.singleton(clusterName), nodes, task, dManager.getNextMessageIdCounter(),
+          .sendRequest(getName(), Collections.singleton(clusterName), targets, task, dManager.getNextMessageIdCounter(),
               EXECUTION_MODE.RESPONSE, null, null, null);
       final Object dResult = response != null ? response.getPayload() : null;
 
@@ -634,8 +642,9 @@ public class ODistributedStorage implements OStorage, OFreezableStorageComponent
 
       // CHECK IF LOCAL NODE OWNS THE DATA AND READ-QUORUM = 1: GET IT LOCALLY BECAUSE IT'S FASTER
       final String localNodeName = dManager.getLocalNodeName();
+      final String readServer = selectReadServer(nodes);
 
-      if (nodes.isEmpty()
+      if (nodes.isEmpty() || localNodeName.equals(readServer)
           || nodes.contains(dManager.getLocalNodeName()) && dbCfg.getReadQuorum(clusterName, availableNodes, localNodeName) <= 1) {
         // DON'T REPLICATE
         return (OStorageOperationResult<ORawBuffer>) OScenarioThreadLocal.executeAsDistributed(new Callable() {
@@ -650,9 +659,14 @@ public class ODistributedStorage implements OStorage, OFreezableStorageComponent
           .getFactoryByServerNames(nodes).createTask(OReadRecordIfNotLatestTask.FACTORYID);
       task.init(rid, recordVersion);
 
+      final List<String> targets = readServer != null ? Collections.singletonList(readServer) : nodes;
+      if (readServer != null)
+        // STALE DATA IS ACCEPTED: ONE RESPONSE IS ENOUGH
+        task.setQuorumType(OCommandDistributedReplicateRequest.QUORUM_TYPE.NONE);
+
       // DISTRIBUTE IT
       final Object result = dManager
-          .sendRequest(getName(), Collections.singleton(clusterName), nodes, task, dManager.getNextMessageIdCounter(),
+          .sendRequest(getName(), Collections.singleton(clusterName), targets, task, dManager.getNextMessageIdCounter(),
               EXECUTION_MODE.RESPONSE, null, null, null).getPayload();
 
       if (result instanceof ONeedRetryException)
@@ -678,6 +692,59 @@ public class ODistributedStorage implements OStorage, OFreezableStorageComponent
     }
   }
 
+  /**
+   * Chooses the only server that serves a read when the session accepts stale data (see {@link ODistributedReadConsistency}): the
+   * local server if it owns the cluster and is fresh enough, otherwise the least loaded of the other online servers that are fresh
+   * enough according to the read status they published. Returns null to read by quorum.
+   */
+  private String selectReadServer(final List<String> nodes) {
+    if (nodes.isEmpty())
+      return null;
+
+    final ODistributedReadConsistency consistency = ODistributedReadConsistency
+        .resolve(ODatabaseRecordThreadLocal.instance().getIfDefined());
+    if (consistency.isStrong())
+      return null;
+
+    final String localNodeName = dManager.getLocalNodeName();
+    if (nodes.contains(localNodeName) && localDistributedDatabase instanceof ODistributedDatabaseImpl && consistency
+        .accepts(((ODistributedDatabaseImpl) localDistributedDatabase).getReplicationLag()))
+      return localNodeName;
+
+    if (!(dManager instanceof OHazelcastPlugin))
+      return null;
+
+    final long now = dManager.getClusterTime();
+    String best = null;
+    int bestPending = Integer.MAX_VALUE;
+
+    // START FROM A RANDOM SERVER TO SPREAD THE READS AMONG THE SERVERS WITH THE SAME LOAD
+    final int offset = ThreadLocalRandom.current().nextInt(nodes.size());
+    for (int i = 0; i < nodes.size(); ++i) {
+      final String node = nodes.get((offset + i) % nodes.size());
+      if (node.equals(localNodeName) || !dManager.isNodeOnline(node, getName()))
+        continue;
+
+      final ODocument status = ((OHazelcastPlugin) dManager).getReadStatus(node, getName());
+      if (status == null)
+        continue;
+
+      final Number lag = status.field("lag");
+      final Number pending = status.field("pending");
+      final Number updatedOn = status.field("updatedOn");
+      if (lag == null || pending == null || updatedOn == null)
+        continue;
+
+      // THE SERVER COULD HAVE FALLEN BEHIND SINCE THE STATUS WAS PUBLISHED
+      final long staleness = lag.longValue() + Math.max(0, now - updatedOn.longValue());
+      if (consistency.accepts(staleness) && pending.intValue() < bestPending) {
+        best = node;
+        bestPending = pending.intValue();
+      }
+    }
+    return best;
+  }
+
   @Override
   public OStorageOperationResult<Boolean> deleteRecord(final ORecordId iRecordId, final int iVersion, final int iMode,
       final ORecordCallback<Boolean> iCallback) {
@@ -471,6 +471,25 @@ public class ODistributedWorker extends Thread {
     return processedRequests.get();
   }
 
+  /**
+   * Returns the number of requests in queue or in execution.
+   */
+  public int getPendingRequests() {
+    return localQueue.size() + (currentExecuting != null ? 1 : 0);
+  }
+
+  /**
+   * Returns the time when the oldest request in queue or in execution was received, or 0 if there are no pending requests.
+   */
+  public long getOldestPendingRequestTime() {
+    final ODistributedRequest executing = currentExecuting;
+    if (executing != null)
+      return executing.getReceivedOn();
+
+    final ODistributedRequest next = localQueue.peek();
+    return next != null ? next.getReceivedOn() : 0;
+  }
+
   public void reset() {
     localQueue.clear();
     if (database != null) {
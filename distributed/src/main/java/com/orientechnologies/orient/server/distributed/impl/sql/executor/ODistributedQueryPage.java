@@ -0,0 +1,130 @@
+package com.orientechnologies.orient.server.distributed.impl.sql.executor;
+
+import com.orientechnologies.orient.core.Orient;
+import com.orientechnologies.orient.core.db.ODatabaseDocumentInternal;
+import com.orientechnologies.orient.core.id.ORecordId;
+import com.orientechnologies.orient.core.record.ORecord;
+import com.orientechnologies.orient.core.record.ORecordInternal;
+import com.orientechnologies.orient.core.serialization.OStreamable;
+import com.orientechnologies.orient.core.serialization.serializer.record.binary.BytesContainer;
+import com.orientechnologies.orient.core.serialization.serializer.result.binary.OResultSerializerNetwork;
+import com.orientechnologies.orient.core.sql.executor.OResult;
+import com.orientechnologies.orient.core.sql.executor.OResultInternal;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A page of results of a query executed on a remote node. Records are sent with their identity and content, the other results as
+ * projections. The records are created only when the page is consumed, with the database of the coordinator.
+ */
+public class ODistributedQueryPage implements OStreamable {
+  private static final byte PROJECTION = 0;
+  private static final byte RECORD     = 1;
+
+  private String        queryId;
+  private boolean       hasNext;
+  private List<OResult> rows;
+  private List<Object>  received;
+
+  public ODistributedQueryPage() {
+  }
+
+  public ODistributedQueryPage(String queryId, List<OResult> rows, boolean hasNext) {
+    this.queryId = queryId;
+    this.rows = rows;
+    this.hasNext = hasNext;
+  }
+
+  public String getQueryId() {
+    return queryId;
+  }
+
+  /**
+   * @return true if the remote node has more results after this page
+   */
+  public boolean hasNext() {
+    return hasNext;
+  }
+
+  public List<OResult> getRows(ODatabaseDocumentInternal db) {
+    if (rows == null) {
+      rows = new ArrayList<>(received.size());
+      for (Object item : received) {
+        if (item instanceof RawRecord) {
+          RawRecord raw = (RawRecord) item;
+          ORecord record = Orient.instance().getRecordFactoryManager().newInstance(raw.type, raw.rid.getClusterId(), db);
+          ORecordInternal.fill(record, raw.rid, raw.version, raw.content, false);
+          rows.add(new OResultInternal(record));
+        } else {
+          rows.add((OResult) item);
+        }
+      }
+      received = null;
+    }
+    return rows;
+  }
+
+  @Override
+  public void toStream(DataOutput out) throws IOException {
+    out.writeUTF(queryId);
+    out.writeBoolean(hasNext);
+    out.writeInt(rows.size());
+    OResultSerializerNetwork serializer = new OResultSerializerNetwork();
+    for (OResult row : rows) {
+      ORecord record = row.isElement() || row.isBlob() ? row.getRecord().orElse(null) : null;
+      if (record != null && record.getIdentity().isPersistent()) {
+        out.writeByte(RECORD);
+        out.writeByte(ORecordInternal.getRecordType(record));
+        out.writeInt(record.getIdentity().getClusterId());
+        out.writeLong(record.getIdentity().getClusterPosition());
+        out.writeInt(record.getVersion());
+        byte[] content = record.toStream();
+        out.writeInt(content.length);
+        out.write(content);
+      } else {
+        out.writeByte(PROJECTION);
+        BytesContainer container = new BytesContainer();
+        serializer.serialize(row, container);
+        byte[] content = container.fitBytes();
+        out.writeInt(content.length);
+        out.write(content);
+      }
+    }
+  }
+
+  @Override
+  public void fromStream(DataInput in) throws IOException {
+    queryId = in.readUTF();
+    hasNext = in.readBoolean();
+    int size = in.readInt();
+    received = new ArrayList<>(size);
+    rows = null;
+    OResultSerializerNetwork serializer = new OResultSerializerNetwork();
+    for (int i = 0; i < size; i++) {
+      if (in.readByte() == RECORD) {
+        RawRecord raw = new RawRecord();
+        raw.type = in.readByte();
+        raw.rid = new ORecordId(in.readInt(), in.readLong());
+        raw.version = in.readInt();
+        raw.content = new byte[in.readInt()];
+        in.readFully(raw.content);
+        received.add(raw);
+      } else {
+        byte[] content = new byte[in.readInt()];
+        in.readFully(content);
+        received.add(serializer.deserialize(new BytesContainer(content)));
+      }
+    }
+  }
+
+  private static class RawRecord {
+    private byte      type;
+    private ORecordId rid;
+    private int       version;
+    private byte[]    content;
+  }
+}
@@ -1,8 +1,10 @@
 package com.orientechnologies.orient.server.distributed.impl.sql.executor;
 
+import com.orientechnologies.common.exception.OException;
 import com.orientechnologies.orient.core.sql.executor.OExecutionPlan;
 import com.orientechnologies.orient.core.sql.executor.OResult;
 import com.orientechnologies.orient.core.sql.executor.OResultSet;
+import com.orientechnologies.orient.server.distributed.ODistributedException;
 import com.orientechnologies.orient.server.distributed.ODistributedResponse;
 import com.orientechnologies.orient.server.distributed.impl.ODatabaseDocumentDistributed;
 import com.orientechnologies.orient.server.distributed.impl.task.OCloseQueryTask;
@@ -14,6 +16,8 @@ import java.util.NoSuchElementException;
 import java.util.Optional;
 
 /**
+ * Results of a query executed on a remote node, fetched one page at a time.
+ * <p>
  * Created by luigidellaquila on 21/06/17.
  */
 public class ODistributedResultSet implements OResultSet {
@@ -22,40 +26,23 @@ public class ODistributedResultSet implements OResultSet {
   private ODatabaseDocumentDistributed database;
   private String                       nodeName;
 
-  private int     nextItem = -1;
-  private boolean finished = false;
+  private int     nextItem    = 0;
+  private boolean hasNextPage = false;
 
   @Override
   public boolean hasNext() {
-    if (finished) {
-      return false;
+    while (nextItem >= data.size()) {
+      if (!hasNextPage) {
+        return false;
+      }
+      fetchNextBlock();
     }
-    if (nextItem < 0) {
-      throw new IllegalStateException();
-    }
-    if (data.size() < nextItem) {
-      return true;
-    }
-    fetchNextBlock();
-    if (data.size() < nextItem) {
-      return true;
-    }
-    return false;
+    return true;
   }
 
   @Override
   public OResult next() {
-    if (nextItem < 0) {
-      throw new IllegalStateException();
-    }
-    if (finished) {
-      throw new NoSuchElementException();
-    }
-    if (data.size() < nextItem) {
-      return data.get(nextItem++);
-    }
-    fetchNextBlock();
-    if (finished || data.size() >= nextItem) {
+    if (!hasNext()) {
       throw new NoSuchElementException();
     }
     return data.get(nextItem++);
@@ -63,20 +50,38 @@ public class ODistributedResultSet implements OResultSet {
 
   private void fetchNextBlock() {
     OFetchQueryPageTask task = new OFetchQueryPageTask(queryId);
-    ODistributedResponse result = database.executeTaskOnNode(task, nodeName);
-    setData((List<OResult>) result.getPayload());
+    setPage(toPage(database.executeTaskOnNode(task, nodeName)));
+  }
+
+  /**
+   * returns the page of results contained in the response of a remote node, or throws the error the node returned
+   */
+  public static ODistributedQueryPage toPage(ODistributedResponse response) {
+    Object payload = response.getPayload();
+    if (payload instanceof RuntimeException) {
+      throw (RuntimeException) payload;
+    } else if (payload instanceof Exception) {
+      throw OException.wrapException(new ODistributedException("Error on executing the query on a remote node"), (Exception) payload);
+    } else if (!(payload instanceof ODistributedQueryPage)) {
+      throw new ODistributedException("Unexpected response from the remote node: " + payload);
+    }
+    return (ODistributedQueryPage) payload;
   }
 
   @Override
   public void close() {
-    OCloseQueryTask task = new OCloseQueryTask(queryId);
-    database.executeTaskOnNode(task, nodeName);
-    this.finished = true;
+    if (hasNextPage) {
+      // the remote node closes the query by itself once it sends the last page
+      hasNextPage = false;
+      OCloseQueryTask task = new OCloseQueryTask(queryId);
+      database.executeTaskOnNode(task, nodeName);
+    }
+    nextItem = data.size();
   }
 
   @Override
   public Optional<OExecutionPlan> getExecutionPlan() {
-    return null;
+    return Optional.empty();
   }
 
   @Override
@@ -84,14 +89,11 @@ public class ODistributedResultSet implements OResultSet {
     return null;
   }
 
-  public void setQueryId(String queryId) {
-    this.queryId = queryId;
-  }
-
-  public void setData(List<OResult> data) {
-    this.data = data;
-    nextItem = 0;
-    finished = data.size() == 0;
+  public void setPage(ODistributedQueryPage page) {
+    this.queryId = page.getQueryId();
+    this.data = page.getRows(database);
+    this.hasNextPage = page.hasNext();
+    this.nextItem = 0;
   }
 
   public void setDatabase(ODatabaseDocumentDistributed database) {
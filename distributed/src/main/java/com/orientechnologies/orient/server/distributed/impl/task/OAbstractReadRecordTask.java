@@ -40,6 +40,9 @@ import java.io.IOException;
  * @author Luca Garulli (l.garulli--(at)--orientdb.com)
  */
 public abstract class OAbstractReadRecordTask extends OAbstractRecordReplicatedTask {
+  // USED ONLY BY THE SENDER: NOT SERIALIZED
+  private transient OCommandDistributedReplicateRequest.QUORUM_TYPE quorumType = OCommandDistributedReplicateRequest.QUORUM_TYPE.READ;
+
   public OAbstractReadRecordTask() {
   }
 
@@ -75,7 +78,15 @@ public abstract class OAbstractReadRecordTask extends OAbstractRecordReplicatedT
   }
 
   public OCommandDistributedReplicateRequest.QUORUM_TYPE getQuorumType() {
-    return OCommandDistributedReplicateRequest.QUORUM_TYPE.READ;
+    return quorumType;
+  }
+
+  /**
+   * Overrides the read quorum, used by the reads that accept stale data and are sent to one server only.
+   */
+  public OAbstractReadRecordTask setQuorumType(final OCommandDistributedReplicateRequest.QUORUM_TYPE quorumType) {
+    this.quorumType = quorumType;
+    return this;
   }
 
   @Override
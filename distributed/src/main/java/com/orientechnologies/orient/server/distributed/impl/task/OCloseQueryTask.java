@@ -5,7 +5,6 @@ import com.orientechnologies.orient.core.db.DistributedQueryContext;
 import com.orientechnologies.orient.core.db.ODatabaseDocumentInternal;
 import com.orientechnologies.orient.core.db.OSharedContextEmbedded;
 import com.orientechnologies.orient.server.OServer;
-import com.orientechnologies.orient.server.distributed.ODistributedException;
 import com.orientechnologies.orient.server.distributed.ODistributedRequestId;
 import com.orientechnologies.orient.server.distributed.ODistributedServerManager;
 import com.orientechnologies.orient.server.distributed.ORemoteTaskFactory;
@@ -46,10 +45,10 @@ public class OCloseQueryTask extends OAbstractRemoteTask {
       ODatabaseDocumentInternal database) throws Exception {
 
     DistributedQueryContext ctx = ((OSharedContextEmbedded) database.getSharedContext()).getActiveDistributedQueries().get(queryId);
-    if (ctx == null) {
-      throw new ODistributedException("Invalid query ID: " + queryId);
+    if (ctx != null) {
+      // A QUERY WHOSE RESULTS ARE OVER IS ALREADY CLOSED
+      ctx.close();
     }
-    ctx.close();
     return "OK";
   }
 
@@ -57,7 +56,7 @@ public class OCloseQueryTask extends OAbstractRemoteTask {
   public void toStream(DataOutput out) throws IOException {
     char[] chars = queryId.toCharArray();
     int length = chars.length;
-    out.write(length);
+    out.writeInt(length);
     for (char aChar : chars) {
       out.writeChar(aChar);
     }
@@ -1,6 +1,7 @@
 package com.orientechnologies.orient.server.distributed.impl.task;
 
 import com.orientechnologies.orient.core.command.OCommandDistributedReplicateRequest;
+import com.orientechnologies.orient.core.config.OGlobalConfiguration;
 import com.orientechnologies.orient.core.db.DistributedQueryContext;
 import com.orientechnologies.orient.core.db.ODatabaseDocumentInternal;
 import com.orientechnologies.orient.core.db.OSharedContextEmbedded;
@@ -9,6 +10,7 @@ import com.orientechnologies.orient.server.distributed.ODistributedException;
 import com.orientechnologies.orient.server.distributed.ODistributedRequestId;
 import com.orientechnologies.orient.server.distributed.ODistributedServerManager;
 import com.orientechnologies.orient.server.distributed.ORemoteTaskFactory;
+import com.orientechnologies.orient.server.distributed.impl.sql.executor.ODistributedQueryPage;
 import com.orientechnologies.orient.server.distributed.task.OAbstractRemoteTask;
 
 import java.io.DataInput;
@@ -49,14 +51,15 @@ public class OFetchQueryPageTask extends OAbstractRemoteTask {
     if (ctx == null) {
       throw new ODistributedException("Invalid query ID: " + queryId);
     }
-    return ctx.fetchNextPage();
+    return new ODistributedQueryPage(queryId,
+        ctx.fetchNextPage(OGlobalConfiguration.DISTRIBUTED_QUERY_PAGE_SIZE.getValueAsInteger()), !ctx.isFinished());
   }
 
   @Override
   public void toStream(DataOutput out) throws IOException {
     char[] chars = queryId.toCharArray();
     int length = chars.length;
-    out.write(length);
+    out.writeInt(length);
     for (char aChar : chars) {
       out.writeChar(aChar);
     }
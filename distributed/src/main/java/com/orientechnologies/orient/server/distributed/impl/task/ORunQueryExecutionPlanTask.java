@@ -1,19 +1,23 @@
 package com.orientechnologies.orient.server.distributed.impl.task;
 
-import com.orientechnologies.common.exception.OException;
 import com.orientechnologies.orient.core.command.OCommandDistributedReplicateRequest;
+import com.orientechnologies.orient.core.config.OGlobalConfiguration;
 import com.orientechnologies.orient.core.db.DistributedQueryContext;
 import com.orientechnologies.orient.core.db.ODatabaseDocumentInternal;
 import com.orientechnologies.orient.core.db.ODatabaseRecordThreadLocal;
 import com.orientechnologies.orient.core.db.OSharedContextEmbedded;
-import com.orientechnologies.orient.core.db.document.ODatabaseDocumentEmbedded;
 import com.orientechnologies.orient.core.serialization.serializer.record.binary.BytesContainer;
 import com.orientechnologies.orient.core.serialization.serializer.result.binary.OResultSerializerNetwork;
-import com.orientechnologies.orient.core.sql.executor.*;
-import com.orientechnologies.orient.core.sql.parser.OLocalResultSetLifecycleDecorator;
+import com.orientechnologies.orient.core.sql.OSQLEngine;
+import com.orientechnologies.orient.core.sql.executor.OResult;
+import com.orientechnologies.orient.core.sql.executor.OResultInternal;
+import com.orientechnologies.orient.core.sql.executor.OResultSet;
+import com.orientechnologies.orient.core.sql.parser.OSelectStatement;
+import com.orientechnologies.orient.core.sql.parser.OStatement;
 import com.orientechnologies.orient.server.OServer;
 import com.orientechnologies.orient.server.distributed.*;
 import com.orientechnologies.orient.server.distributed.impl.ODatabaseDocumentDistributed;
+import com.orientechnologies.orient.server.distributed.impl.sql.executor.ODistributedQueryPage;
 import com.orientechnologies.orient.server.distributed.impl.sql.executor.ODistributedResultSet;
 import com.orientechnologies.orient.server.distributed.task.OAbstractRemoteTask;
 
@@ -23,6 +27,9 @@ import java.io.IOException;
 import java.util.*;
 
 /**
+ * Executes on a node the part of a sharded query that involves its clusters, and returns the first page of results. The node
+ * plans the query again on its own, so that the plan does not need to be serialized.
+ * <p>
  * Created by luigidellaquila on 23/06/17.
  */
 public class ORunQueryExecutionPlanTask extends OAbstractRemoteTask {
@@ -30,11 +37,16 @@ public class ORunQueryExecutionPlanTask extends OAbstractRemoteTask {
   public static final int FACTORYID = 40;
 
   private String              nodeName;
-  private OExecutionPlan      plan;
+  private String              statement;
+  private Set<String>         clusters;
+  private boolean             pushDown;
   private Map<Object, Object> inputParams;
 
-  public ORunQueryExecutionPlanTask(OExecutionPlan executionPlan, Map<Object, Object> inputParameters, String nodeName) {
-    this.plan = executionPlan;
+  public ORunQueryExecutionPlanTask(String statement, Set<String> clusters, boolean pushDown, Map<Object, Object> inputParameters,
+      String nodeName) {
+    this.statement = statement;
+    this.clusters = clusters;
+    this.pushDown = pushDown;
     this.inputParams = inputParameters;
     this.nodeName = nodeName;
   }
@@ -60,7 +72,17 @@ public class ORunQueryExecutionPlanTask extends OAbstractRemoteTask {
     try {
       ODatabaseDocumentInternal db = database.copy();
       db.activateOnCurrentThread();
-      OLocalResultSetLifecycleDecorator result = ((ODatabaseDocumentEmbedded) db).query(plan, inputParams);
+      OResultSet result;
+      try {
+        OStatement parsed = OSQLEngine.parse(statement, db);
+        if (!(parsed instanceof OSelectStatement)) {
+          throw new ODistributedException("Only SELECT statements can be executed as sharded queries: " + statement);
+        }
+        result = ((OSelectStatement) parsed).executeShard(db, inputParams, clusters, pushDown);
+      } catch (RuntimeException e) {
+        db.close();
+        throw e;
+      }
 
       DistributedQueryContext context = new DistributedQueryContext();
       context.setDb(db);
@@ -68,19 +90,9 @@ public class ORunQueryExecutionPlanTask extends OAbstractRemoteTask {
       context.setQueryId(String.valueOf(UUID.randomUUID()));
 
       ((OSharedContextEmbedded) db.getSharedContext()).getActiveDistributedQueries().put(context.getQueryId(), context);
-      OResultInternal serialized = new OResultInternal();
-
-      serialized.setProperty("queryId", context.getQueryId());
-      List<OResult> firstPage = new ArrayList<>();
-      for (int i = 0; i < 100; i++) {
-        if (!result.hasNext()) {
-          break;
-        }
-        firstPage.add(result.next());
-      }
-      serialized.setProperty("data", firstPage);
 
-      return serialized;
+      List<OResult> firstPage = context.fetchNextPage(OGlobalConfiguration.DISTRIBUTED_QUERY_PAGE_SIZE.getValueAsInteger());
+      return new ODistributedQueryPage(context.getQueryId(), firstPage, !context.isFinished());
     } finally {
       if (prev == null) {
         ODatabaseRecordThreadLocal.instance().remove();
@@ -91,12 +103,10 @@ public class ORunQueryExecutionPlanTask extends OAbstractRemoteTask {
   }
 
   public OResultSet getResult(ODistributedResponse resp, ODatabaseDocumentDistributed db) {
-    OResult payload = (OResult) resp.getPayload();
     ODistributedResultSet result = new ODistributedResultSet();
-    result.setQueryId(payload.getProperty("queryId"));
-    result.setData(payload.getProperty("data"));
     result.setDatabase(db);
     result.setNodeName(nodeName);
+    result.setPage(ODistributedResultSet.toPage(resp));
     return result;
   }
 
@@ -105,61 +115,55 @@ public class ORunQueryExecutionPlanTask extends OAbstractRemoteTask {
     OResultSerializerNetwork serializerNetwork = new OResultSerializerNetwork();
     BytesContainer container = new BytesContainer();
 
-    serializerNetwork.serialize(serializePlan(plan), container);
-
-    OResultInternal params = new OResultInternal();
-    params.setProperty("params", convertParams(inputParams));
-    serializerNetwork.serialize(params, container);
-
-    OResultInternal metadata = new OResultInternal();
-    params.setProperty("nodeName", nodeName);
-    serializerNetwork.serialize(metadata, container);
-
-    container.fitBytes();
-    out.write(container.bytes.length);
-    out.write(container.bytes);
-
+    OResultInternal query = new OResultInternal();
+    query.setProperty("statement", statement);
+    query.setProperty("clusters", new ArrayList<>(clusters));
+    query.setProperty("pushDown", pushDown);
+    query.setProperty("params", convertParams(inputParams));
+    query.setProperty("nodeName", nodeName);
+    serializerNetwork.serialize(query, container);
+
+    byte[] bytes = container.fitBytes();
+    out.writeInt(bytes.length);
+    out.write(bytes);
   }
 
   private Map<String, Object> convertParams(Map<Object, Object> inputParams) {
     Map<String, Object> result = new HashMap<>();
-    for (Map.Entry<Object, Object> entry : inputParams.entrySet()) {
-      result.put(String.valueOf(entry.getKey()), entry.getValue());
+    if (inputParams != null) {
+      for (Map.Entry<Object, Object> entry : inputParams.entrySet()) {
+        result.put(String.valueOf(entry.getKey()), entry.getValue());
+      }
     }
     return result;
   }
 
-  @Override
-  public void fromStream(DataInput in, ORemoteTaskFactory factory) throws IOException {
-    OResultSerializerNetwork serializerNetwork = new OResultSerializerNetwork();
-    int length = in.readInt();
-    byte[] bytes = new byte[length];
-    for (int i = 0; i < length; i++) {
-      bytes[i] = in.readByte();
-    }
-    BytesContainer container = new BytesContainer(bytes);
-    OResult serializedExecutionPlan = serializerNetwork.deserialize(container);
-    inputParams = serializerNetwork.deserialize(container).getProperty("params");
-    OResult metadata = serializerNetwork.deserialize(container);
-    nodeName = metadata.getProperty("nodeName");
-    this.plan = deserializePlan(serializedExecutionPlan);
-  }
-
-  private OExecutionPlan deserializePlan(OResult serializedExecutionPlan) {
-    String className = serializedExecutionPlan.getProperty(OInternalExecutionPlan.JAVA_TYPE);
-
-    OInternalExecutionPlan internalPlan = null;
-    try {
-      internalPlan = (OInternalExecutionPlan) Class.forName(className).newInstance();
-      internalPlan.deserialize(serializedExecutionPlan);
-    } catch (Exception e) {
-      throw OException.wrapException(new ODistributedException("Cannot create execution plan: " + className), e);
+  /**
+   * positional parameters are bound by index, so their keys have to be integers again
+   */
+  private Map<Object, Object> restoreParams(Map<String, Object> params) {
+    Map<Object, Object> result = new HashMap<>();
+    if (params != null) {
+      for (Map.Entry<String, Object> entry : params.entrySet()) {
+        String key = entry.getKey();
+        boolean positional = !key.isEmpty() && key.chars().allMatch(Character::isDigit);
+        result.put(positional ? (Object) Integer.valueOf(key) : key, entry.getValue());
+      }
     }
-    return internalPlan;
+    return result;
   }
 
-  private OResult serializePlan(OExecutionPlan plan) {
-    return ((OInternalExecutionPlan) plan).serialize();
+  @Override
+  public void fromStream(DataInput in, ORemoteTaskFactory factory) throws IOException {
+    OResultSerializerNetwork serializerNetwork = new OResultSerializerNetwork();
+    byte[] bytes = new byte[in.readInt()];
+    in.readFully(bytes);
+    OResult query = serializerNetwork.deserialize(new BytesContainer(bytes));
+    statement = query.getProperty("statement");
+    clusters = new HashSet<>(query.<Collection<String>>getProperty("clusters"));
+    pushDown = Boolean.TRUE.equals(query.getProperty("pushDown"));
+    inputParams = restoreParams(query.getProperty("params"));
+    nodeName = query.getProperty("nodeName");
   }
 
   @Override
@@ -46,6 +46,7 @@ import com.orientechnologies.orient.core.record.ORecordInternal;
 import com.orientechnologies.orient.core.record.impl.ODocument;
 import com.orientechnologies.orient.core.storage.OAutoshardedStorage;
 import com.orientechnologies.orient.core.storage.impl.local.OAbstractPaginatedStorage;
+import com.orientechnologies.orient.core.storage.impl.local.paginated.wal.OLogSequenceNumber;
 import com.orientechnologies.orient.server.OServer;
 import com.orientechnologies.orient.server.OSystemDatabase;
 import com.orientechnologies.orient.server.config.OServerParameterConfiguration;
@@ -76,6 +77,7 @@ public class OHazelcastPlugin extends ODistributedAbstractPlugin
 
   public static final String CONFIG_NODE_PREFIX     = "node.";
   public static final String CONFIG_DBSTATUS_PREFIX = "dbstatus.";
+  public static final String CONFIG_DBREAD_PREFIX   = "dbread.";
   public static final String CONFIG_LOCKMANAGER     = "coordinator";
   public static final String CONFIG_REGISTEREDNODES = "registeredNodes";
 
@@ -271,6 +273,11 @@ public class OHazelcastPlugin extends ODistributedAbstractPlugin
         publishLocalNodeConfigurationTask = Orient.instance().scheduleTask(this::publishLocalNodeConfiguration, delay, delay);
       }
 
+      final long readStatusDelay = OGlobalConfiguration.DISTRIBUTED_PUBLISH_READ_STATUS_EVERY.getValueAsLong();
+      if (readStatusDelay > 0) {
+        publishReadStatusTask = Orient.instance().scheduleTask(this::publishReadStatus, readStatusDelay, readStatusDelay);
+      }
+
       final long statsDelay = OGlobalConfiguration.DISTRIBUTED_DUMP_STATS_EVERY.getValueAsLong();
       if (statsDelay > 0) {
         haStatsTask = Orient.instance().scheduleTask(this::dumpStats, statsDelay, statsDelay);
@@ -479,6 +486,52 @@ public class OHazelcastPlugin extends ODistributedAbstractPlugin
     }
   }
 
+  /**
+   * Publishes, for every local online database, how many ms the node is behind in applying the replicated requests and how many
+   * requests are pending. Other nodes use it to route the reads that accept stale data to the least loaded server that is fresh
+   * enough.
+   */
+  protected void publishReadStatus() {
+    if (hazelcastInstance == null || !hazelcastInstance.getLifecycleService().isRunning())
+      return;
+
+    for (String dbName : messageService.getDatabases()) {
+      if (OSystemDatabase.SYSTEM_DB_NAME.equalsIgnoreCase(dbName))
+        continue;
+
+      try {
+        final ODistributedDatabaseImpl db = messageService.getDatabase(dbName);
+        if (db == null || getDatabaseStatus(nodeName, dbName) != DB_STATUS.ONLINE)
+          continue;
+
+        final ODocument status = new ODocument();
+        status.field("lag", db.getReplicationLag());
+        status.field("pending", db.getPendingRequests());
+        final OLogSequenceNumber lsn = db.getSyncConfiguration().getLastLSN(nodeName);
+        if (lsn != null)
+          status.field("lsn", lsn.toString());
+        status.field("updatedOn", getClusterTime());
+        ORecordInternal.setRecordSerializer(status, ODatabaseDocumentAbstract.getDefaultSerializer());
+
+        configurationMap.put(CONFIG_DBREAD_PREFIX + nodeName + "." + dbName, status);
+      } catch (HazelcastInstanceNotActiveException e) {
+        return;
+      } catch (Exception e) {
+        ODistributedServerLog.debug(this, nodeName, null, DIRECTION.NONE, "Error on publishing read status of database '%s'", e,
+            dbName);
+      }
+    }
+  }
+
+  /**
+   * Returns the last read status published by a node for a database, or null if not available.
+   */
+  public ODocument getReadStatus(final String iNode, final String iDatabaseName) {
+    if (configurationMap == null)
+      return null;
+    return (ODocument) configurationMap.getLocalCachedValue(CONFIG_DBREAD_PREFIX + iNode + "." + iDatabaseName);
+  }
+
   protected void dumpStats() {
     try {
       final ODocument clusterCfg = getClusterConfiguration();
@@ -1287,6 +1340,7 @@ public class OHazelcastPlugin extends ODistributedAbstractPlugin
 
     if (configurationMap != null) {
       configurationMap.remove(OHazelcastPlugin.CONFIG_DBSTATUS_PREFIX + nodeName + "." + dbName);
+      configurationMap.remove(OHazelcastPlugin.CONFIG_DBREAD_PREFIX + nodeName + "." + dbName);
 
       if (!OScenarioThreadLocal.INSTANCE.isRunModeDistributed()) {
         // LAST NODE HOLDING THE DATABASE, DELETE DISTRIBUTED CFG TOO
@@ -0,0 +1,56 @@
+package com.orientechnologies.orient.server.distributed.impl;
+
+import com.orientechnologies.orient.core.config.OGlobalConfiguration;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class ODistributedReadConsistencyTest {
+
+  @Test
+  public void testParse() {
+    assertSame(ODistributedReadConsistency.STRONG, ODistributedReadConsistency.parse("strong"));
+    assertSame(ODistributedReadConsistency.ANY, ODistributedReadConsistency.parse(" ANY "));
+
+    final ODistributedReadConsistency bounded = ODistributedReadConsistency.parse("bounded-staleness(500)");
+    assertEquals(ODistributedReadConsistency.MODE.BOUNDED_STALENESS, bounded.getMode());
+    assertEquals(500, bounded.getMaxStaleness());
+    assertEquals(250, ODistributedReadConsistency.parse("bounded-staleness( 250ms )").getMaxStaleness());
+    assertEquals("bounded-staleness(500)", bounded.toString());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testParseInvalid() {
+    ODistributedReadConsistency.parse("bounded-staleness(soon)");
+  }
+
+  @Test
+  public void testAccepts() {
+    assertFalse(ODistributedReadConsistency.STRONG.accepts(0));
+    assertTrue(ODistributedReadConsistency.ANY.accepts(Long.MAX_VALUE));
+
+    final ODistributedReadConsistency bounded = ODistributedReadConsistency.boundedStaleness(100);
+    assertTrue(bounded.accepts(0));
+    assertTrue(bounded.accepts(100));
+    assertFalse(bounded.accepts(101));
+  }
+
+  @Test
+  public void testDefaultFollowsConfiguration() {
+    final String old = OGlobalConfiguration.DISTRIBUTED_READ_CONSISTENCY.getValueAsString();
+    try {
+      assertTrue(ODistributedReadConsistency.resolve(null).isStrong());
+
+      OGlobalConfiguration.DISTRIBUTED_READ_CONSISTENCY.setValue("bounded-staleness(1000)");
+      assertEquals(1000, ODistributedReadConsistency.resolve(null).getMaxStaleness());
+
+      OGlobalConfiguration.DISTRIBUTED_READ_CONSISTENCY.setValue("any");
+      assertSame(ODistributedReadConsistency.ANY, ODistributedReadConsistency.resolve(null));
+    } finally {
+      OGlobalConfiguration.DISTRIBUTED_READ_CONSISTENCY.setValue(old);
+    }
+  }
+}
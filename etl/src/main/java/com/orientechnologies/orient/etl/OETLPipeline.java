@@ -18,21 +18,32 @@
 
 package com.orientechnologies.orient.etl;
 
+import com.orientechnologies.common.collection.OMultiValue;
 import com.orientechnologies.common.concur.ONeedRetryException;
 import com.orientechnologies.common.exception.OException;
 import com.orientechnologies.orient.core.command.OBasicCommandContext;
 import com.orientechnologies.orient.core.command.OCommandContext;
 import com.orientechnologies.orient.core.db.ODatabasePool;
 import com.orientechnologies.orient.core.db.document.ODatabaseDocument;
+import com.orientechnologies.orient.core.db.record.OIdentifiable;
+import com.orientechnologies.orient.core.id.ORID;
 import com.orientechnologies.orient.etl.context.OETLContextWrapper;
 import com.orientechnologies.orient.etl.loader.OETLLoader;
 import com.orientechnologies.orient.etl.transformer.OETLTransformer;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.logging.Level;
 
 /**
  * ETL pipeline: sequence of OETLTransformer and a OETLLoader.
+ * <p>
+ * Every pipeline is executed by a single worker thread and keeps its own database session. When the loader works in batches (see
+ * {@link OETLLoader#getBatchCommitSize()}) the items are loaded in a transaction that is committed every batch; on a retry the
+ * whole batch is executed again, and when the batch fails the items are loaded again one per transaction to discard only the
+ * failing ones.
  *
  * @author Luca Garulli (l.garulli--(at)--orientdb.com) (l.garulli-at-orientdb.com)
  */
@@ -47,8 +58,22 @@ public class OETLPipeline {
 
   protected ODatabasePool pool;
 
+  private       ODatabaseDocument       db;
+  private final List<OETLExtractedItem> batch       = new ArrayList<>();
+  private final List<ORID>              batchLoaded = new ArrayList<>();
+  private       Collection<ORID>        loaded;
+
   public OETLPipeline(final OETLProcessor processor, final List<OETLTransformer> transformers, final OETLLoader loader,
       final Level logLevel, final int maxRetries, final boolean haltOnError) {
+    this(processor, transformers, loader, logLevel, maxRetries, haltOnError, -1);
+  }
+
+  /**
+   * @param workerId index of the worker executing the pipeline, exposed to the components as the "workerId" context variable, or
+   *                 -1 if the process has a single worker
+   */
+  public OETLPipeline(final OETLProcessor processor, final List<OETLTransformer> transformers, final OETLLoader loader,
+      final Level logLevel, final int maxRetries, final boolean haltOnError, final int workerId) {
     this.processor = processor;
     this.transformers = transformers;
     this.loader = loader;
@@ -57,7 +82,8 @@ public class OETLPipeline {
     this.haltOnError = haltOnError;
 
     context = new OBasicCommandContext();
-
+    if (workerId >= 0)
+      context.setVariable("workerId", workerId);
   }
 
   public synchronized void begin() {
@@ -78,65 +104,158 @@ public class OETLPipeline {
     return context;
   }
 
+  /**
+   * Collects the identities of the records loaded by this pipeline, used by the first pass of a two pass load.
+   */
+  public void setLoadedCollector(final Collection<ORID> loaded) {
+    this.loaded = loaded;
+  }
+
+  private ODatabaseDocument getDatabase() {
+    if (db == null || db.isClosed())
+      db = pool.acquire();
+    db.activateOnCurrentThread();
+    return db;
+  }
+
   protected Object execute(final OETLExtractedItem source) {
+    final int batchSize = loader.getBatchCommitSize();
+    batch.add(source);
+    return load(Collections.singletonList(source), batchSize <= 0 || batch.size() >= batchSize);
+  }
+
+  /**
+   * Loads the items in the transaction of the batch, then commits the batch if requested. On a retry the whole batch is loaded
+   * again. When an item fails it is discarded and the other items of the batch, discarded by the rollback, are loaded again one
+   * per transaction: a failing commit does not tell which item caused it, so only the items that fail on their own are
+   * discarded.
+   */
+  private Object load(List<OETLExtractedItem> toLoad, final boolean commit) {
     int retry = 0;
-    do {
-      ODatabaseDocument db = pool.acquire();
-      db.activateOnCurrentThread();
+    while (true) {
+      final ODatabaseDocument db = getDatabase();
+      OETLExtractedItem loading = null;
       try {
-        Object current = source.payload;
-
-        context.setVariable("extractedNum", source.num);
-        context.setVariable("extractedPayload", source.payload);
-
-        for (OETLTransformer t : transformers) {
-          current = t.transform(db, current);
-          if (current == null) {
-            OETLContextWrapper.getInstance().getMessageHandler()
-                .warn(this, "Transformer [%s] returned null, skip rest of pipeline execution", t);
-          }
-        }
-        if (current != null) {
-          // LOAD
-          loader.load(db, current, context);
+        Object current = null;
+        for (OETLExtractedItem item : toLoad) {
+          loading = item;
+          current = transformAndLoad(db, item);
         }
+        loading = null;
 
-        db.commit();
+        if (commit)
+          commit(db);
         return current;
       } catch (ONeedRetryException e) {
-        loader.rollback(db);
+        rollback(db);
         retry++;
+        if (retry >= maxRetries) {
+          OETLContextWrapper.getInstance().getMessageHandler()
+              .error(this, "Error in pipeline execution, %d items discarded after %d retries (exception=%s)", batch.size(), retry,
+                  e);
+          for (int i = 0; i < batch.size(); i++)
+            processor.getStats().incrementErrors();
+          batch.clear();
+
+          if (haltOnError)
+            throw OException.wrapException(new OETLProcessHaltedException("Halt"), e);
+          return null;
+        }
         OETLContextWrapper.getInstance().getMessageHandler()
-            .info(this, "Error in pipeline execution, retry = %d/%d (exception=)", retry, maxRetries, e);
+            .info(this, "Error in pipeline execution, retry = %d/%d (exception=%s)", retry, maxRetries, e);
+
+        // THE ROLLBACK DISCARDED ALL THE ITEMS OF THE BATCH
+        toLoad = new ArrayList<>(batch);
       } catch (OETLProcessHaltedException e) {
         OETLContextWrapper.getInstance().getMessageHandler().error(this, "Pipeline execution halted");
 
         processor.getStats().incrementErrors();
 
-        loader.rollback(db);
+        rollback(db);
+        batch.clear();
         throw e;
 
       } catch (Exception e) {
         OETLContextWrapper.getInstance().getMessageHandler().error(this, "Error in Pipeline execution:", e);
 
-        processor.getStats().incrementErrors();
+        rollback(db);
 
-        if (!haltOnError) {
-          return null;
+        // THE ITEM IS KNOWN WHEN IT FAILED TO LOAD OR WHEN IT WAS ALONE IN THE COMMITTED BATCH
+        final OETLExtractedItem failed = loading != null ? loading : batch.size() == 1 ? batch.get(0) : null;
+        if (failed != null)
+          batch.remove(failed);
+
+        if (failed != null || haltOnError)
+          // OTHERWISE THE FAILING ITEMS ARE COUNTED WHEN THEY ARE LOADED AGAIN
+          processor.getStats().incrementErrors();
+
+        if (haltOnError) {
+          batch.clear();
+          throw OException.wrapException(new OETLProcessHaltedException("Halt"), e);
         }
 
-        loader.rollback(db);
-        throw OException.wrapException(new OETLProcessHaltedException("Halt"), e);
+        // LOAD AGAIN THE OTHER ITEMS OF THE BATCH ONE BY ONE, THEY WERE DISCARDED BY THE ROLLBACK
+        final List<OETLExtractedItem> others = new ArrayList<>(batch);
+        batch.clear();
+        for (OETLExtractedItem other : others) {
+          batch.add(other);
+          load(Collections.singletonList(other), true);
+        }
+        return null;
+      }
+    }
+  }
 
-      } finally {
-        db.close();
+  private Object transformAndLoad(final ODatabaseDocument db, final OETLExtractedItem source) {
+    Object current = source.payload;
+
+    context.setVariable("extractedNum", source.num);
+    context.setVariable("extractedPayload", source.payload);
+
+    for (OETLTransformer t : transformers) {
+      current = t.transform(db, current);
+      if (current == null) {
+        OETLContextWrapper.getInstance().getMessageHandler()
+            .warn(this, "Transformer [%s] returned null, skip rest of pipeline execution", t);
+      }
+    }
+    if (current != null) {
+      // LOAD
+      loader.load(db, current, context);
+
+      if (loaded != null) {
+        for (Object o : OMultiValue.getMultiValueIterable(current)) {
+          if (o instanceof OIdentifiable)
+            // THE IDENTITY IS UPDATED IN PLACE WHEN THE TRANSACTION IS COMMITTED
+            batchLoaded.add(((OIdentifiable) o).getIdentity());
+        }
       }
-    } while (retry < maxRetries);
+    }
+    return current;
+  }
+
+  private void commit(final ODatabaseDocument db) {
+    db.commit();
+    batch.clear();
+    if (loaded != null)
+      loaded.addAll(batchLoaded);
+    batchLoaded.clear();
+  }
 
-    return this;
+  private void rollback(final ODatabaseDocument db) {
+    loader.rollback(db);
+    batchLoaded.clear();
   }
 
   public void end() {
+    if (db != null && !db.isClosed()) {
+      try {
+        if (!batch.isEmpty())
+          load(Collections.emptyList(), true);
+      } finally {
+        db.close();
+      }
+    }
 //    pool.close();
   }
 }
@@ -41,9 +41,12 @@ final class OETLPipelineWorker implements Runnable {
       while (!(content = queue.take()).finished) {
         pipeline.execute(content);
       }
-      pipeline.end();
-      //RE-ADD END FLAG FOR OTHER THREADS
-      queue.put(content);
+      try {
+        pipeline.end();
+      } finally {
+        //RE-ADD END FLAG FOR OTHER THREADS
+        queue.put(content);
+      }
     } catch (InterruptedException e) {
     }
   }
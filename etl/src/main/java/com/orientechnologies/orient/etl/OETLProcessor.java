@@ -24,6 +24,7 @@ import com.orientechnologies.orient.core.OConstants;
 import com.orientechnologies.orient.core.Orient;
 import com.orientechnologies.orient.core.command.OCommandContext;
 import com.orientechnologies.orient.core.exception.OConfigurationException;
+import com.orientechnologies.orient.core.id.ORID;
 import com.orientechnologies.orient.core.record.OEdge;
 import com.orientechnologies.orient.core.record.OVertex;
 import com.orientechnologies.orient.core.record.impl.ODocument;
@@ -32,13 +33,16 @@ import com.orientechnologies.orient.etl.context.OETLContextWrapper;
 import com.orientechnologies.orient.etl.extractor.OETLExtractor;
 import com.orientechnologies.orient.etl.loader.OETLLoader;
 import com.orientechnologies.orient.etl.source.OETLSource;
+import com.orientechnologies.orient.etl.transformer.OETLEdgeTransformer;
 import com.orientechnologies.orient.etl.transformer.OETLTransformer;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Locale;
 import java.util.TimerTask;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.LinkedBlockingQueue;
@@ -71,6 +75,7 @@ public class OETLProcessor {
   protected       int                   maxRetries  = 10;
   protected       int                   workers     = 1;
   private         boolean               parallel    = false;
+  private         boolean               twoPass     = false;
 
   /**
    * Creates an ETL processor by setting all the components on construction.
@@ -139,6 +144,10 @@ public class OETLProcessor {
         workers = cores - 1;
     }
 
+    final Object twoPassSetting = context.getVariable("twoPass");
+    if (twoPassSetting != null)
+      twoPass = (Boolean) twoPassSetting;
+
   }
 
   public OETLProcessorStats getStats() {
@@ -192,17 +201,36 @@ public class OETLProcessor {
       OETLContextWrapper.getInstance().getMessageHandler().info(this, "Started execution with %d worker threads", workers);
       extractor.extract(source.read());
 
-      BlockingQueue<OETLExtractedItem> queue = new LinkedBlockingQueue<OETLExtractedItem>(workers * 500);
-
-      List<CompletableFuture<Void>> futures = IntStream.range(0, workers).boxed().map(i -> CompletableFuture
-          .runAsync(new OETLPipelineWorker(queue, new OETLPipeline(this, transformers, loader, logLevel, maxRetries, haltOnError)),
-              executor)).collect(Collectors.toList());
-
-      futures.add(CompletableFuture.runAsync(new OETLExtractorWorker(extractor, queue, haltOnError), executor));
-
-      futures.forEach(cf -> cf.join());
-
-      OETLContextWrapper.getInstance().getMessageHandler().debug(this, "all items extracted");
+      final int firstEdgeTransformer = twoPass ? getFirstEdgeTransformer() : -1;
+      if (firstEdgeTransformer < 0) {
+        final BlockingQueue<OETLExtractedItem> queue = new LinkedBlockingQueue<OETLExtractedItem>(workers * 500);
+        runPipelines(queue, transformers, null, new OETLExtractorWorker(extractor, queue, haltOnError));
+
+        OETLContextWrapper.getInstance().getMessageHandler().debug(this, "all items extracted");
+      } else {
+        // FIRST PASS: LOAD THE VERTICES WITHOUT THEIR EDGES
+        final Collection<ORID> loaded = new ConcurrentLinkedQueue<>();
+        final BlockingQueue<OETLExtractedItem> queue = new LinkedBlockingQueue<OETLExtractedItem>(workers * 500);
+        runPipelines(queue, transformers.subList(0, firstEdgeTransformer), loaded,
+            new OETLExtractorWorker(extractor, queue, haltOnError));
+
+        OETLContextWrapper.getInstance().getMessageHandler()
+            .info(this, "all items extracted, creating the edges of %d loaded records", loaded.size());
+
+        // SECOND PASS: CREATE THE EDGES, ALL THE VERTICES THEY CAN LINK ARE ALREADY IN THE DATABASE
+        final BlockingQueue<OETLExtractedItem> edgeQueue = new LinkedBlockingQueue<OETLExtractedItem>(workers * 500);
+        runPipelines(edgeQueue, transformers.subList(firstEdgeTransformer, transformers.size()), null, () -> {
+          try {
+            long num = 0;
+            for (ORID rid : loaded) {
+              edgeQueue.put(new OETLExtractedItem(num++, rid));
+            }
+            edgeQueue.put(new OETLExtractedItem(true));
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+          }
+        });
+      }
       executor.shutdown();
     } catch (OETLProcessHaltedException e) {
       OETLContextWrapper.getInstance().getMessageHandler().error(this, "ETL process halted: ", e);
@@ -214,6 +242,32 @@ public class OETLProcessor {
     executor.shutdown();
   }
 
+  private void runPipelines(final BlockingQueue<OETLExtractedItem> queue, final List<OETLTransformer> pipelineTransformers,
+      final Collection<ORID> loaded, final Runnable producer) {
+    List<CompletableFuture<Void>> futures = IntStream.range(0, workers).boxed().map(i -> {
+      final OETLPipeline pipeline = new OETLPipeline(this, pipelineTransformers, loader, logLevel, maxRetries, haltOnError,
+          workers > 1 ? i : -1);
+      pipeline.setLoadedCollector(loaded);
+      return CompletableFuture.runAsync(new OETLPipelineWorker(queue, pipeline), executor);
+    }).collect(Collectors.toList());
+
+    futures.add(CompletableFuture.runAsync(producer, executor));
+
+    futures.forEach(cf -> cf.join());
+  }
+
+  /**
+   * @return the position of the first edge transformer, the two pass mode runs the transformers from this one on in the second
+   * pass, or -1 if there is no edge transformer
+   */
+  private int getFirstEdgeTransformer() {
+    for (int i = 0; i < transformers.size(); i++) {
+      if (transformers.get(i) instanceof OETLEdgeTransformer)
+        return i;
+    }
+    return -1;
+  }
+
   protected void begin() {
     OETLContextWrapper.getInstance().getMessageHandler().info(this, "BEGIN ETL PROCESSOR");
     final Integer cfgMaxRetries = (Integer) context.getVariable("maxRetries");
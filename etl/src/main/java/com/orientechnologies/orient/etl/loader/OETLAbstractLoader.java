@@ -38,5 +38,10 @@ public abstract class OETLAbstractLoader extends OETLAbstractComponent implement
     return progress.get();
   }
 
+  @Override
+  public int getBatchCommitSize() {
+    return 0;
+  }
+
 
 }
@@ -39,6 +39,11 @@ public interface OETLLoader extends OETLComponent {
 
   void rollback(ODatabaseDocument db);
 
+  /**
+   * @return the number of items each pipeline loads in a transaction before committing it, 0 to commit every item
+   */
+  int getBatchCommitSize();
+
   ODatabasePool getPool();
 
   void close();
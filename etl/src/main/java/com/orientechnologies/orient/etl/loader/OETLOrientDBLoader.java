@@ -39,7 +39,6 @@ import java.util.Arrays;
 import java.util.List;
 import java.util.Locale;
 import java.util.Optional;
-import java.util.concurrent.atomic.AtomicLong;
 import java.util.logging.Level;
 
 import static com.orientechnologies.orient.etl.loader.OETLOrientDBLoader.DB_TYPE.DOCUMENT;
@@ -70,7 +69,6 @@ public class OETLOrientDBLoader extends OETLAbstractLoader implements OETLLoader
   private        boolean         standardElementConstraints = true;
   private        boolean         tx                         = false;
   private        int             batchCommitSize            = 0;
-  private        AtomicLong      batchCounter               = new AtomicLong(0);
   private        DB_TYPE         dbType                     = DOCUMENT;
   private        boolean         wal                        = true;
   private        boolean         txUseLog                   = false;
@@ -104,7 +102,8 @@ public class OETLOrientDBLoader extends OETLAbstractLoader implements OETLLoader
       final OVertex v = (OVertex) input;
 
       try {
-        v.save(clusterName);
+        final String cluster = clusterName != null ? clusterName : getWorkerCluster(db, v.getSchemaType().orElse(null), context);
+        v.save(cluster);
       } catch (ORecordDuplicatedException e) {
         if (!skipDuplicates) {
           throw e;
@@ -121,7 +120,11 @@ public class OETLOrientDBLoader extends OETLAbstractLoader implements OETLLoader
       if (clusterName != null) {
         db.save(doc, clusterName);
       } else if (doc.getClassName() != null) {
-        db.save(doc);
+        final String cluster = getWorkerCluster(db, doc.getSchemaClass(), context);
+        if (cluster != null)
+          db.save(doc, cluster);
+        else
+          db.save(doc);
       } else {
         OETLContextWrapper.getInstance().getMessageHandler()
             .debug(this, "The ETL loader is not explicitly saving the record %s - no class or cluster set", doc.toString());
@@ -132,22 +135,32 @@ public class OETLOrientDBLoader extends OETLAbstractLoader implements OETLLoader
     }
 
     progress.incrementAndGet();
+  }
 
-    // DO BATCH COMMIT if on TX
+  /**
+   * Every pipeline worker saves the records of a class in a different cluster of the class, so that the batches of the workers
+   * do not contend on the same cluster pages.
+   *
+   * @return the cluster of the class assigned to the worker of the pipeline, or null to use the cluster selection of the class
+   */
+  private String getWorkerCluster(ODatabaseDocument db, OClass cls, OCommandContext context) {
+    final Object workerId = context != null ? context.getVariable("workerId") : null;
+    if (cls == null || !(workerId instanceof Integer))
+      return null;
+
+    final int[] clusterIds = cls.getClusterIds();
+    if (clusterIds.length < 2)
+      return null;
+
+    return db.getClusterNameById(clusterIds[(Integer) workerId % clusterIds.length]);
+  }
 
-    if (tx && batchCommitSize > 0 && batchCounter.get() > batchCommitSize) {
-      synchronized (this) {
-        if (batchCommitSize > 0 && batchCounter.get() > batchCommitSize) {
-          log(Level.FINE, "committing document batch %d", progress.get());
-          db.commit();
-          db.begin();
-          db.getTransaction().setUsingLog(txUseLog);
-          batchCounter.set(0);
-        }
-      }
-    } else {
-      batchCounter.incrementAndGet();
-    }
+  /**
+   * Transactions are committed by the pipelines, each on its own database session, every {@code batchCommit} items.
+   */
+  @Override
+  public int getBatchCommitSize() {
+    return tx ? batchCommitSize : 0;
   }
 
   private void autoCreateProperties(ODatabaseDocument db, Object input) {
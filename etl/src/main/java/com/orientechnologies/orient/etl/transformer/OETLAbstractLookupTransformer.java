@@ -18,6 +18,7 @@
 
 package com.orientechnologies.orient.etl.transformer;
 
+import com.orientechnologies.common.collection.OLRUCache;
 import com.orientechnologies.orient.core.command.OCommandContext;
 import com.orientechnologies.orient.core.db.ODatabaseDocumentInternal;
 import com.orientechnologies.orient.core.db.record.OIdentifiable;
@@ -31,8 +32,10 @@ import com.orientechnologies.orient.etl.context.OETLContextWrapper;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 
 /**
  * Merges two records. Useful when a record needs to be updated rather than created.
@@ -44,6 +47,12 @@ public abstract class OETLAbstractLookupTransformer extends OETLAbstractTransfor
   protected ACTION               unresolvedLinkAction = ACTION.NOTHING;
   private   OSQLQuery<ODocument> sqlQuery;
   private   OIndex<?>            index;
+  /**
+   * join value -> resolved RID, shared by all the pipeline workers. Disabled by default. Only the persistent RIDs found by a
+   * UNIQUE index are cached: the results of the other lookups can grow as more records are loaded, and records created in a
+   * transaction that is later rolled back must never be returned.
+   */
+  private   Map<Object, Object>  lookupCache;
 
   @Override
   public void configure(final ODocument iConfiguration, OCommandContext iContext) {
@@ -59,12 +68,24 @@ public abstract class OETLAbstractLookupTransformer extends OETLAbstractTransfor
 
     if (iConfiguration.containsField("unresolvedLinkAction"))
       unresolvedLinkAction = ACTION.valueOf(iConfiguration.field("unresolvedLinkAction").toString().toUpperCase(Locale.ENGLISH));
+
+    int lookupCacheSize = 0;
+    if (iConfiguration.containsField("lookupCacheSize"))
+      lookupCacheSize = iConfiguration.<Number>field("lookupCacheSize").intValue();
+    lookupCache = lookupCacheSize > 0 ? Collections.synchronizedMap(new OLRUCache<>(lookupCacheSize)) : null;
   }
 
   protected Object lookup(ODatabaseDocumentInternal db, Object joinValue, final boolean iReturnRIDS) {
     Object result = null;
 
     if (joinValue != null) {
+      final Object cacheKey = joinValue;
+      if (iReturnRIDS && lookupCache != null) {
+        result = lookupCache.get(cacheKey);
+        if (result != null)
+          return result;
+      }
+
       if (sqlQuery == null && index == null) {
         // ONLY THE FIRST TIME
         if (lookup.toUpperCase(Locale.ENGLISH).startsWith("SELECT"))
@@ -112,6 +133,10 @@ public abstract class OETLAbstractLookupTransformer extends OETLAbstractTransfor
         else
           result = ((OIdentifiable) result).getRecord();
       }
+
+      if (iReturnRIDS && lookupCache != null && index != null && index.isUnique() && result instanceof ORID && ((ORID) result)
+          .isPersistent())
+        lookupCache.put(cacheKey, result);
     }
 
     return result;
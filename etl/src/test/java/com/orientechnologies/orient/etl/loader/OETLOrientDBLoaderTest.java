@@ -183,4 +183,24 @@ public class OETLOrientDBLoaderTest extends OETLBaseTest {
     res.close();
     db.close();
   }
-}
\ No newline at end of file
+
+  @Test
+  public void shouldDiscardOnlyTheItemFailingTheBatchCommit() {
+
+    // THE DUPLICATED NAME FAILS THE COMMIT OF THE FIRST BATCH, NOT THE LOAD OF THE ITEM
+    configure("{config: { haltOnError: false }, source: { content: { value: 'name\nA\nB\nA\nC\nD' } }, "
+        + "extractor : { csv: {} }, loader: { orientdb: {\n" + "      dbURL: 'memory:" + name.getMethodName()
+        + "', class:'Person',\n" + "      dbAutoCreate: true,\n" + "      tx: true,\n" + "      batchCommit: 3,\n"
+        + "      dbType: \"document\",\n" + "      classes: [\n" + "        {name:\"Person\"},\n" + "      ],\n"
+        + "      indexes: [{class:\"Person\" , fields:[\"name:String\"], \"type\":\"UNIQUE\"} ]  } } }");
+
+    proc.execute();
+
+    ODatabaseDocument db = proc.getLoader().getPool().acquire();
+
+    assertThat(db.countClass("Person")).isEqualTo(4);
+    assertThat(proc.getStats().errors.get()).isEqualTo(1);
+
+    db.close();
+  }
+}
@@ -183,6 +183,27 @@ public class OETLEdgeTransformerTest extends OETLBaseTest {
     db.close();
   }
 
+  @Test
+  public void testTwoPassResolvesForwardReferences() {
+    // every vertex links a vertex extracted after it, a single pass cannot resolve the edges
+    configure("{config: { parallel: true, twoPass: true }, source: { content: { value: 'id,friend\n1,2\n2,3\n3,4\n4,1' } },"
+        + " extractor : { csv: {} }, transformers: [{vertex: {class:'V1'}}, {edge:{class:'Knows',joinFieldName:'friend',lookup:'V1.id'}},"
+        + "], loader: { orientdb: { dbURL: 'memory:" + name.getMethodName()
+        + "', dbType:'graph', tx: true, batchCommit: 2, useLightweightEdges:false } } }");
+
+    OETLLoader loader = proc.getLoader();
+    ODatabasePool pool = loader.getPool();
+    ODatabaseDocument db = pool.acquire();
+    createClasses(db);
+    db.close();
+    proc.execute();
+    db = pool.acquire();
+
+    assertEquals(4, db.countClass("V1"));
+    assertEquals(4, db.countClass("Knows"));
+    db.close();
+  }
+
   @Test
   public void testErrorOnDuplicateVertex() {
     configure("{source: { content: { value: 'name,surname,friend\nJay,Miner,Luca\nJay,Miner,Luca' } }, extractor : { csv: {} },"
@@ -0,0 +1,287 @@
+/*
+ * Copyright 2010-2016 OrientDB LTD (http://orientdb.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.orientechnologies.lucene.engine;
+
+import com.orientechnologies.common.exception.OException;
+import com.orientechnologies.common.log.OLogManager;
+import com.orientechnologies.lucene.exception.OLuceneIndexException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Applies the changes of a Lucene index in background, so that the analysis of the documents does not slow down the commit of
+ * the transactions that wrote them. Every change gets a sequence number when it is queued; changes are applied in order, in
+ * batches, and {@link #getIndexedUpTo()} returns the sequence number of the last change that is visible to the index writer.
+ * <p>
+ * The queue is bounded: when the indexing falls behind, the writers wait for room in the queue instead of filling the heap.
+ * <p>
+ * A change that keeps failing after {@link #MAX_ATTEMPTS} attempts puts the indexer in a failed state: the following changes
+ * are discarded, because the index would not reflect the order of the writes anymore, and the writers, the searchers and
+ * {@link #waitFor(long, long, TimeUnit)} get the error until {@link #reset()} is called by the clear of the index.
+ */
+public class OLuceneAsyncIndexer {
+
+  private static final int MAX_ATTEMPTS = 3;
+
+  private final String                  indexName;
+  private final BlockingQueue<Runnable> queue;
+  private final int                     batchSize;
+
+  private final Object     enqueueLock = new Object();
+  private final Lock       applyLock   = new ReentrantLock();
+  private final AtomicLong indexedUpTo = new AtomicLong();
+  private       long       enqueued    = 0;
+  // signalled when indexedUpTo advances or the indexer fails
+  private final Object     progress    = new Object();
+
+  private volatile RuntimeException failure;
+
+  private volatile Thread  worker;
+  private volatile boolean running;
+
+  public OLuceneAsyncIndexer(String indexName, int queueSize, int batchSize) {
+    this.indexName = indexName;
+    this.queue = new ArrayBlockingQueue<>(queueSize);
+    this.batchSize = batchSize;
+  }
+
+  public synchronized void start() {
+    if (running)
+      return;
+    running = true;
+    worker = new Thread(this::indexLoop, "OrientDB Lucene async indexer (" + indexName + ")");
+    worker.setDaemon(true);
+    worker.start();
+  }
+
+  /**
+   * Stops the background worker, after applying all the changes that are still in the queue.
+   */
+  public synchronized void stop() {
+    if (!running)
+      return;
+    // the worker is not interrupted, an interrupt during a write would close the NIO channels of the index
+    running = false;
+    try {
+      worker.join();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    worker = null;
+    drain();
+  }
+
+  /**
+   * Queues a change, waiting for room if the queue is full.
+   *
+   * @return the sequence number of the change
+   */
+  public long enqueue(Runnable change) {
+    checkFailed();
+    synchronized (enqueueLock) {
+      // sequence numbers have to follow the order of the queue, so they are assigned under the same lock
+      try {
+        queue.put(change);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        OLogManager.instance().warn(this, "Interrupted while queuing a change of Lucene index '%s', applying it synchronously",
+            indexName);
+        applyLock.lock();
+        try {
+          drain();
+          if (failure == null)
+            apply(change);
+        } finally {
+          applyLock.unlock();
+          signalProgress();
+        }
+      }
+      return ++enqueued;
+    }
+  }
+
+  /**
+   * Applies all the changes in the queue on the current thread. Called when the index is closed or frozen.
+   */
+  public void drain() {
+    applyLock.lock();
+    try {
+      List<Runnable> batch = new ArrayList<>(batchSize);
+      while (failure == null && queue.drainTo(batch, batchSize) > 0) {
+        applyBatch(batch);
+        batch.clear();
+      }
+      if (failure != null)
+        // applying them would skip the change that failed
+        queue.clear();
+    } finally {
+      applyLock.unlock();
+    }
+  }
+
+  /**
+   * @return the sequence number of the last change applied to the index
+   */
+  public long getIndexedUpTo() {
+    return indexedUpTo.get();
+  }
+
+  /**
+   * @return the sequence number of the last change queued
+   */
+  public long getLastEnqueued() {
+    synchronized (enqueueLock) {
+      return enqueued;
+    }
+  }
+
+  public int getPending() {
+    return queue.size();
+  }
+
+  /**
+   * Waits until the change with the given sequence number is applied to the index.
+   *
+   * @return false if the change was not applied before the timeout
+   *
+   * @throws OLuceneIndexException if the indexer failed before applying the change
+   */
+  public boolean waitFor(long sequence, long timeout, TimeUnit unit) throws InterruptedException {
+    long deadline = System.nanoTime() + unit.toNanos(timeout);
+    synchronized (progress) {
+      while (indexedUpTo.get() < sequence) {
+        checkFailed();
+        long remaining = deadline - System.nanoTime();
+        if (remaining <= 0)
+          return false;
+        TimeUnit.NANOSECONDS.timedWait(progress, remaining);
+      }
+    }
+    return true;
+  }
+
+  public boolean isFailed() {
+    return failure != null;
+  }
+
+  /**
+   * @throws OLuceneIndexException if a change could not be applied, so the index is out of date
+   */
+  public void checkFailed() {
+    RuntimeException e = failure;
+    if (e != null)
+      throw OException.wrapException(
+          new OLuceneIndexException("Lucene index '" + indexName + "' could not apply a change and is out of date, rebuild it"), e);
+  }
+
+  /**
+   * Leaves the failed state, discarding the changes not applied. To be called only when the content of the index is going to be
+   * replaced anyway.
+   */
+  public void reset() {
+    synchronized (enqueueLock) {
+      applyLock.lock();
+      try {
+        queue.clear();
+        indexedUpTo.set(enqueued);
+        failure = null;
+      } finally {
+        applyLock.unlock();
+      }
+    }
+    signalProgress();
+  }
+
+  private void indexLoop() {
+    List<Runnable> batch = new ArrayList<>(batchSize);
+    while (running) {
+      try {
+        if (failure != null) {
+          // NOTHING CAN BE APPLIED UNTIL THE RESET, THE CHANGES ARE DISCARDED SO THAT NO WRITER WAITS FOR ROOM IN THE QUEUE
+          queue.clear();
+          synchronized (progress) {
+            progress.wait(100);
+          }
+          continue;
+        }
+        Runnable first = queue.poll(100, TimeUnit.MILLISECONDS);
+        if (first == null)
+          continue;
+        applyLock.lock();
+        try {
+          batch.add(first);
+          queue.drainTo(batch, batchSize - 1);
+          applyBatch(batch);
+        } finally {
+          batch.clear();
+          applyLock.unlock();
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      }
+    }
+  }
+
+  private void applyBatch(List<Runnable> batch) {
+    try {
+      for (Runnable change : batch) {
+        if (!apply(change))
+          // THE REST OF THE BATCH IS DISCARDED, THE INDEX HAS TO BE REBUILT ANYWAY
+          return;
+      }
+    } finally {
+      signalProgress();
+    }
+  }
+
+  /**
+   * @return true if the change was applied, false if it failed {@link #MAX_ATTEMPTS} times and the indexer is now failed
+   */
+  private boolean apply(Runnable change) {
+    RuntimeException lastError = null;
+    for (int attempt = 1; attempt <= MAX_ATTEMPTS; attempt++) {
+      try {
+        change.run();
+        indexedUpTo.incrementAndGet();
+        return true;
+      } catch (RuntimeException e) {
+        lastError = e;
+        OLogManager.instance()
+            .warn(this, "Error on applying a change to Lucene index '%s' (attempt %d of %d)", e, indexName, attempt, MAX_ATTEMPTS);
+      }
+    }
+    OLogManager.instance()
+        .error(this, "Lucene index '%s' could not apply a change, the following changes are discarded until the index is rebuilt",
+            lastError, indexName);
+    failure = lastError;
+    return false;
+  }
+
+  private void signalProgress() {
+    synchronized (progress) {
+      progress.notifyAll();
+    }
+  }
+}
@@ -1,8 +1,10 @@
 package com.orientechnologies.lucene.engine;
 
 import com.orientechnologies.common.log.OLogManager;
+import com.orientechnologies.lucene.storage.OLuceneStorageDirectory;
 import com.orientechnologies.orient.core.db.ODatabaseDocumentInternal;
 import com.orientechnologies.orient.core.record.impl.ODocument;
+import com.orientechnologies.orient.core.storage.impl.local.OAbstractPaginatedStorage;
 import org.apache.lucene.store.Directory;
 import org.apache.lucene.store.MMapDirectory;
 import org.apache.lucene.store.NIOFSDirectory;
@@ -24,6 +26,10 @@ public class OLuceneDirectoryFactory {
   public static final String DIRECTORY_NIO  = "nio";
   public static final String DIRECTORY_MMAP = "mmap";
   public static final String DIRECTORY_RAM  = "ram";
+  /**
+   * files of the index stored in the paginated storage, see {@link OLuceneStorageDirectory}
+   */
+  public static final String DIRECTORY_STORAGE = "storage";
 
   public static final String DIRECTORY_PATH = "directory_path";
 
@@ -36,6 +42,17 @@ public class OLuceneDirectoryFactory {
       return new OLuceneDirectory(dir, null);
     }
 
+    if (DIRECTORY_STORAGE.equals(luceneType) && database.getStorage().getUnderlying() instanceof OAbstractPaginatedStorage) {
+      try {
+        return new OLuceneDirectory(
+            new OLuceneStorageDirectory((OAbstractPaginatedStorage) database.getStorage().getUnderlying(), indexName), null);
+      } catch (IOException e) {
+        OLogManager.instance().error(this, "unable to create Lucene Directory with type " + luceneType, e);
+        OLogManager.instance().warn(this, "unable to create Lucene Directory, FALL BACK to ramDir");
+        return new OLuceneDirectory(new RAMDirectory(), null);
+      }
+    }
+
     return createDirectory(database, indexName, metadata, luceneType);
   }
 
@@ -67,4 +67,16 @@ public interface OLuceneIndexEngine extends OIndexEngine, OFreezableStorageCompo
 
   boolean isCollectionIndex();
 
+  boolean isAsyncIndexing();
+
+  /**
+   * @return the sequence number of the last change applied to an index with asynchronous indexing, or -1
+   */
+  long getIndexedUpTo();
+
+  /**
+   * @return the sequence number of the last change queued for an index with asynchronous indexing, or -1
+   */
+  long getLastEnqueued();
+
 }
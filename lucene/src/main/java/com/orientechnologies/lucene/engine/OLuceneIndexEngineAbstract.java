@@ -96,6 +96,9 @@ public abstract class OLuceneIndexEngineAbstract extends OSharedResourceAdaptive
   private          long                                          flushIndexInterval;
   private          long                                          closeAfterInterval;
   private          long                                          firstFlushAfter;
+  private          double                                        nrtMaxStaleSec;
+  private          double                                        nrtMinStaleSec;
+  private          OLuceneAsyncIndexer                           asyncIndexer;
 
   private Lock openCloseLock;
 
@@ -125,6 +128,14 @@ public abstract class OLuceneIndexEngineAbstract extends OSharedResourceAdaptive
   }
 
   protected void addDocument(Document doc) {
+    if (asyncIndexer != null) {
+      asyncIndexer.enqueue(() -> writeDocument(doc));
+    } else {
+      writeDocument(doc);
+    }
+  }
+
+  private void writeDocument(Document doc) {
     try {
 
       reopenToken = indexWriter.addDocument(doc);
@@ -150,6 +161,16 @@ public abstract class OLuceneIndexEngineAbstract extends OSharedResourceAdaptive
     closeAfterInterval = Optional.ofNullable(metadata.<Integer>getProperty("closeAfterInterval")).orElse(120000).longValue();
 
     firstFlushAfter = Optional.ofNullable(metadata.<Integer>getProperty("firstFlushAfter")).orElse(10000).longValue();
+
+    nrtMaxStaleSec = Optional.ofNullable(metadata.<Number>getProperty("nrtMaxStaleSec")).orElse(60.0).doubleValue();
+
+    nrtMinStaleSec = Optional.ofNullable(metadata.<Number>getProperty("nrtMinStaleSec")).orElse(0.1).doubleValue();
+
+    if (Boolean.TRUE.equals(metadata.<Boolean>getProperty("asyncIndexing"))) {
+      int queueSize = Optional.ofNullable(metadata.<Integer>getProperty("asyncQueueSize")).orElse(100000);
+      int batchSize = Optional.ofNullable(metadata.<Integer>getProperty("asyncBatchSize")).orElse(1000);
+      asyncIndexer = new OLuceneAsyncIndexer(indexName, queueSize, batchSize);
+    }
   }
 
   private void scheduleCommitTask() {
@@ -177,7 +198,7 @@ public abstract class OLuceneIndexEngineAbstract extends OSharedResourceAdaptive
   }
 
   private boolean shouldClose() {
-    return !(directory.getDirectory() instanceof RAMDirectory)
+    return !(directory.getDirectory() instanceof RAMDirectory) && (asyncIndexer == null || asyncIndexer.getPending() == 0)
         && System.currentTimeMillis() - lastAccess.get() > closeAfterInterval;
   }
 
@@ -231,6 +252,9 @@ public abstract class OLuceneIndexEngineAbstract extends OSharedResourceAdaptive
 
       startNRT();
 
+      if (asyncIndexer != null)
+        asyncIndexer.start();
+
       closed.set(false);
 
       flush();
@@ -271,7 +295,7 @@ public abstract class OLuceneIndexEngineAbstract extends OSharedResourceAdaptive
   }
 
   private void startNRT() {
-    nrt = new ControlledRealTimeReopenThread<>(indexWriter, searcherManager, 60.00, 0.1);
+    nrt = new ControlledRealTimeReopenThread<>(indexWriter, searcherManager, nrtMaxStaleSec, nrtMinStaleSec);
     nrt.setDaemon(true);
     nrt.start();
   }
@@ -283,6 +307,12 @@ public abstract class OLuceneIndexEngineAbstract extends OSharedResourceAdaptive
     }
   }
 
+  private void stopAsyncIndexer() {
+    if (asyncIndexer != null) {
+      asyncIndexer.stop();
+    }
+  }
+
   private void cancelCommitTask() {
     if (commitTask != null) {
       commitTask.cancel();
@@ -400,6 +430,14 @@ public abstract class OLuceneIndexEngineAbstract extends OSharedResourceAdaptive
   }
 
   void deleteDocument(Query query) {
+    if (asyncIndexer != null) {
+      asyncIndexer.enqueue(() -> writeDeletion(query));
+    } else {
+      writeDeletion(query);
+    }
+  }
+
+  private void writeDeletion(Query query) {
     try {
 
       reopenToken = indexWriter.deleteDocuments(query);
@@ -439,6 +477,9 @@ public abstract class OLuceneIndexEngineAbstract extends OSharedResourceAdaptive
 
   @Override
   public IndexSearcher searcher() {
+    if (asyncIndexer != null)
+      // A CHANGE THAT COULD NOT BE APPLIED WOULD BE MISSING FROM THE RESULTS
+      asyncIndexer.checkFailed();
     try {
       updateLastAccess();
       openIfClosed();
@@ -507,6 +548,17 @@ public abstract class OLuceneIndexEngineAbstract extends OSharedResourceAdaptive
   public void clear() {
     updateLastAccess();
     openIfClosed();
+    if (asyncIndexer != null) {
+      if (asyncIndexer.isFailed())
+        // THE CONTENT IS REPLACED, THE CHANGES THAT WERE NOT APPLIED DO NOT MATTER ANYMORE
+        asyncIndexer.reset();
+      asyncIndexer.enqueue(this::writeClear);
+    } else {
+      writeClear();
+    }
+  }
+
+  private void writeClear() {
     try {
       reopenToken = indexWriter.deleteAll();
     } catch (IOException e) {
@@ -514,6 +566,30 @@ public abstract class OLuceneIndexEngineAbstract extends OSharedResourceAdaptive
     }
   }
 
+  /**
+   * @return true if the changes of this index are applied in background, see {@link OLuceneAsyncIndexer}
+   */
+  @Override
+  public boolean isAsyncIndexing() {
+    return asyncIndexer != null;
+  }
+
+  /**
+   * @return the sequence number of the last change visible to the searchers of this index, or -1 if the index is synchronous
+   */
+  @Override
+  public long getIndexedUpTo() {
+    return asyncIndexer == null ? -1 : asyncIndexer.getIndexedUpTo();
+  }
+
+  /**
+   * @return the sequence number of the last change queued for this index, or -1 if the index is synchronous
+   */
+  @Override
+  public long getLastEnqueued() {
+    return asyncIndexer == null ? -1 : asyncIndexer.getLastEnqueued();
+  }
+
   @Override
   public void close() {
     doClose(false);
@@ -526,6 +602,8 @@ public abstract class OLuceneIndexEngineAbstract extends OSharedResourceAdaptive
     try {
       cancelCommitTask();
 
+      stopAsyncIndexer();
+
       closeNRT();
 
       closeSearchManager();
@@ -594,6 +672,7 @@ public abstract class OLuceneIndexEngineAbstract extends OSharedResourceAdaptive
   public void freeze(boolean throwException) {
 
     try {
+      stopAsyncIndexer();
       closeNRT();
       cancelCommitTask();
       commitAndCloseWriter();
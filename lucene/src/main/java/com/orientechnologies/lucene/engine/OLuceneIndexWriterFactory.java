@@ -1,12 +1,20 @@
 package com.orientechnologies.lucene.engine;
 
+import com.orientechnologies.lucene.exception.OLuceneIndexException;
 import com.orientechnologies.orient.core.record.impl.ODocument;
 import org.apache.lucene.analysis.Analyzer;
 import org.apache.lucene.index.IndexWriter;
 import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.LogByteSizeMergePolicy;
+import org.apache.lucene.index.LogDocMergePolicy;
+import org.apache.lucene.index.LogMergePolicy;
+import org.apache.lucene.index.MergePolicy;
+import org.apache.lucene.index.NoMergePolicy;
+import org.apache.lucene.index.TieredMergePolicy;
 import org.apache.lucene.store.Directory;
 
 import java.io.IOException;
+import java.util.Locale;
 
 import static org.apache.lucene.index.IndexWriterConfig.OpenMode.CREATE_OR_APPEND;
 
@@ -45,6 +53,46 @@ public class OLuceneIndexWriterFactory {
     if (metadata.containsField("ram_per_thread_MB"))
       config.setRAMPerThreadHardLimitMB(Integer.valueOf(metadata.<String>field("ram_per_thread_MB")));
 
+    if (metadata.containsField("merge_policy"))
+      config.setMergePolicy(createMergePolicy(metadata));
+
     return config;
   }
+
+  /**
+   * Creates the merge policy named by the "merge_policy" metadata field: "tiered" (the Lucene default), "log_byte_size",
+   * "log_doc" or "none". Write-heavy indexes usually benefit from merging more segments at once, or from not merging at all
+   * during a bulk load.
+   */
+  protected MergePolicy createMergePolicy(ODocument metadata) {
+    String policy = metadata.<String>field("merge_policy").toLowerCase(Locale.ENGLISH);
+    switch (policy) {
+    case "tiered":
+      TieredMergePolicy tiered = new TieredMergePolicy();
+      if (metadata.containsField("merge_max_at_once"))
+        tiered.setMaxMergeAtOnce(Integer.valueOf(metadata.<String>field("merge_max_at_once")));
+      if (metadata.containsField("merge_segments_per_tier"))
+        tiered.setSegmentsPerTier(Double.valueOf(metadata.<String>field("merge_segments_per_tier")));
+      if (metadata.containsField("merge_max_segment_MB"))
+        tiered.setMaxMergedSegmentMB(Double.valueOf(metadata.<String>field("merge_max_segment_MB")));
+      return tiered;
+    case "log_byte_size":
+      LogByteSizeMergePolicy bySize = new LogByteSizeMergePolicy();
+      if (metadata.containsField("merge_max_segment_MB"))
+        bySize.setMaxMergeMB(Double.valueOf(metadata.<String>field("merge_max_segment_MB")));
+      return configureLogMergePolicy(bySize, metadata);
+    case "log_doc":
+      return configureLogMergePolicy(new LogDocMergePolicy(), metadata);
+    case "none":
+      return NoMergePolicy.INSTANCE;
+    default:
+      throw new OLuceneIndexException("Unknown Lucene merge policy: " + policy);
+    }
+  }
+
+  private MergePolicy configureLogMergePolicy(LogMergePolicy policy, ODocument metadata) {
+    if (metadata.containsField("merge_factor"))
+      policy.setMergeFactor(Integer.valueOf(metadata.<String>field("merge_factor")));
+    return policy;
+  }
 }
@@ -0,0 +1,63 @@
+/*
+ * Copyright 2010-2016 OrientDB LTD (http://orientdb.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.orientechnologies.lucene.storage;
+
+import com.orientechnologies.common.serialization.types.OLongSerializer;
+import com.orientechnologies.orient.core.storage.cache.OCacheEntry;
+import com.orientechnologies.orient.core.storage.impl.local.paginated.base.ODurablePage;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Page of a Lucene file stored in the paginated storage. Every page contains a slice of the bytes of the file, the first page of
+ * the file also contains the length of the file.
+ * <p>
+ * Lucene files are written once, sequentially, and never modified, so the pages are not changed inside of atomic operations and
+ * are read and written directly on the buffer of the cache entry.
+ */
+public final class OLuceneFilePage extends ODurablePage {
+  private static final int FILE_LENGTH_OFFSET = NEXT_FREE_POSITION;
+  private static final int DATA_OFFSET        = FILE_LENGTH_OFFSET + OLongSerializer.LONG_SIZE;
+
+  public static final int DATA_CAPACITY = MAX_PAGE_SIZE_BYTES - DATA_OFFSET;
+
+  public OLuceneFilePage(OCacheEntry cacheEntry) {
+    super(cacheEntry);
+  }
+
+  public long getFileLength() {
+    return getLongValue(FILE_LENGTH_OFFSET);
+  }
+
+  public void setFileLength(long length) {
+    setLongValue(FILE_LENGTH_OFFSET, length);
+  }
+
+  public void writeData(int pageOffset, byte[] data, int offset, int length) {
+    assert pageOffset + length <= DATA_CAPACITY;
+    final ByteBuffer buffer = getCacheEntry().getCachePointer().getBufferDuplicate();
+    buffer.position(DATA_OFFSET + pageOffset);
+    buffer.put(data, offset, length);
+  }
+
+  public void readData(int pageOffset, byte[] data, int offset, int length) {
+    assert pageOffset + length <= DATA_CAPACITY;
+    final ByteBuffer buffer = getCacheEntry().getCachePointer().getBufferDuplicate();
+    buffer.position(DATA_OFFSET + pageOffset);
+    buffer.get(data, offset, length);
+  }
+}
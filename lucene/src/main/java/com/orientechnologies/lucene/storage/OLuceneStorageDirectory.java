@@ -0,0 +1,358 @@
+/*
+ * Copyright 2010-2016 OrientDB LTD (http://orientdb.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.orientechnologies.lucene.storage;
+
+import com.orientechnologies.orient.core.storage.cache.OCacheEntry;
+import com.orientechnologies.orient.core.storage.cache.OReadCache;
+import com.orientechnologies.orient.core.storage.cache.OWriteCache;
+import com.orientechnologies.orient.core.storage.impl.local.OAbstractPaginatedStorage;
+import org.apache.lucene.index.IndexFileNames;
+import org.apache.lucene.store.BaseDirectory;
+import org.apache.lucene.store.BufferedChecksum;
+import org.apache.lucene.store.BufferedIndexInput;
+import org.apache.lucene.store.IOContext;
+import org.apache.lucene.store.IndexInput;
+import org.apache.lucene.store.IndexOutput;
+import org.apache.lucene.store.SingleInstanceLockFactory;
+
+import java.io.EOFException;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.NoSuchFileException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.CRC32;
+import java.util.zip.Checksum;
+
+/**
+ * Lucene {@link org.apache.lucene.store.Directory} that keeps the files of an index inside of the paginated storage of the
+ * database, one storage file for every Lucene file. The pages of the index go through the read and the write cache, so they share
+ * the memory limits of the storage, are checksummed when they are flushed, and are included in the backups of the database.
+ * <p>
+ * Lucene files are immutable once written, and an index is only durable after {@link #sync(Collection)}, which flushes the pages
+ * of the files of the commit. Like for the other directories, the changes after the last Lucene commit are lost on a crash, the
+ * last commit is never corrupted.
+ */
+public class OLuceneStorageDirectory extends BaseDirectory {
+  public static final String FILE_EXTENSION = ".lsf";
+
+  private final OReadCache  readCache;
+  private final OWriteCache writeCache;
+  private final String      prefix;
+
+  /**
+   * Lucene name -> storage file id
+   */
+  private final Map<String, Long> files           = new ConcurrentHashMap<>();
+  private final Map<String, Long> fileLengths     = new ConcurrentHashMap<>();
+  private final AtomicLong        tempFileCounter = new AtomicLong();
+
+  public OLuceneStorageDirectory(OAbstractPaginatedStorage storage, String indexName) throws IOException {
+    super(new SingleInstanceLockFactory());
+    this.readCache = storage.getReadCache();
+    this.writeCache = storage.getWriteCache();
+    this.prefix = indexName + "$";
+
+    for (Map.Entry<String, Long> file : writeCache.files().entrySet()) {
+      final String storageName = file.getKey();
+      if (storageName.startsWith(prefix) && storageName.endsWith(FILE_EXTENSION)) {
+        final String name = storageName.substring(prefix.length(), storageName.length() - FILE_EXTENSION.length());
+        files.put(name, file.getValue());
+        fileLengths.put(name, readFileLength(file.getValue()));
+      }
+    }
+  }
+
+  private String storageFileName(String name) {
+    return prefix + name + FILE_EXTENSION;
+  }
+
+  private long readFileLength(long fileId) throws IOException {
+    if (writeCache.getFilledUpTo(fileId) == 0) {
+      // the file was created but its first page never reached the disk
+      return 0;
+    }
+    final OCacheEntry entry = readCache.loadForRead(fileId, 0, false, writeCache, true);
+    try {
+      return new OLuceneFilePage(entry).getFileLength();
+    } finally {
+      readCache.releaseFromRead(entry, writeCache);
+    }
+  }
+
+  private long fileId(String name) throws NoSuchFileException {
+    final Long fileId = files.get(name);
+    if (fileId == null) {
+      throw new NoSuchFileException(name);
+    }
+    return fileId;
+  }
+
+  @Override
+  public String[] listAll() {
+    ensureOpen();
+    final String[] names = files.keySet().toArray(new String[0]);
+    Arrays.sort(names);
+    return names;
+  }
+
+  @Override
+  public void deleteFile(String name) throws IOException {
+    ensureOpen();
+    final Long fileId = files.remove(name);
+    if (fileId == null) {
+      throw new NoSuchFileException(name);
+    }
+    fileLengths.remove(name);
+    readCache.deleteFile(fileId, writeCache);
+  }
+
+  @Override
+  public long fileLength(String name) throws IOException {
+    ensureOpen();
+    final Long length = fileLengths.get(name);
+    if (length == null) {
+      throw new NoSuchFileException(name);
+    }
+    return length;
+  }
+
+  @Override
+  public IndexOutput createOutput(String name, IOContext context) throws IOException {
+    ensureOpen();
+    if (files.containsKey(name)) {
+      throw new FileAlreadyExistsException(name);
+    }
+    final long fileId = readCache.addFile(storageFileName(name), writeCache);
+    files.put(name, fileId);
+    fileLengths.put(name, 0L);
+    return new StorageIndexOutput(name, fileId);
+  }
+
+  @Override
+  public IndexOutput createTempOutput(String prefix, String suffix, IOContext context) throws IOException {
+    ensureOpen();
+    while (true) {
+      final String name = IndexFileNames
+          .segmentFileName(prefix, suffix + "_" + Long.toString(tempFileCounter.getAndIncrement(), Character.MAX_RADIX), "tmp");
+      if (!files.containsKey(name)) {
+        return createOutput(name, context);
+      }
+    }
+  }
+
+  @Override
+  public void sync(Collection<String> names) throws IOException {
+    ensureOpen();
+    for (String name : names) {
+      writeCache.flush(fileId(name));
+    }
+  }
+
+  @Override
+  public void syncMetaData() {
+    // the names of the files are persisted by the write cache when the files are added or renamed
+  }
+
+  @Override
+  public void rename(String source, String dest) throws IOException {
+    ensureOpen();
+    final long fileId = fileId(source);
+    if (files.containsKey(dest)) {
+      throw new FileAlreadyExistsException(dest);
+    }
+    writeCache.renameFile(fileId, storageFileName(dest));
+    files.put(dest, fileId);
+    fileLengths.put(dest, fileLengths.get(source));
+    files.remove(source);
+    fileLengths.remove(source);
+  }
+
+  @Override
+  public IndexInput openInput(String name, IOContext context) throws IOException {
+    ensureOpen();
+    final long fileId = fileId(name);
+    return new StorageIndexInput("OLuceneStorageDirectory(" + name + ")", context, fileId, fileLengths.get(name));
+  }
+
+  public Set<String> getPendingDeletions() {
+    return Collections.emptySet();
+  }
+
+  @Override
+  public void close() {
+    // the files stay registered in the storage, they are closed with it
+    isOpen = false;
+  }
+
+  @Override
+  public String toString() {
+    return "OLuceneStorageDirectory(" + prefix + ")";
+  }
+
+  private final class StorageIndexOutput extends IndexOutput {
+    private final long     fileId;
+    private final byte[]   page     = new byte[OLuceneFilePage.DATA_CAPACITY];
+    private final Checksum checksum = new BufferedChecksum(new CRC32());
+
+    private int     pagePosition = 0;
+    private long    pageIndex    = 0;
+    private long    length       = 0;
+    private boolean closed       = false;
+
+    private StorageIndexOutput(String name, long fileId) {
+      super("OLuceneStorageDirectory.output(" + name + ")", name);
+      this.fileId = fileId;
+    }
+
+    @Override
+    public void writeByte(byte b) throws IOException {
+      page[pagePosition++] = b;
+      checksum.update(b);
+      length++;
+      if (pagePosition == page.length) {
+        writePage();
+      }
+    }
+
+    @Override
+    public void writeBytes(byte[] b, int offset, int len) throws IOException {
+      checksum.update(b, offset, len);
+      length += len;
+      while (len > 0) {
+        final int chunk = Math.min(len, page.length - pagePosition);
+        System.arraycopy(b, offset, page, pagePosition, chunk);
+        pagePosition += chunk;
+        offset += chunk;
+        len -= chunk;
+        if (pagePosition == page.length) {
+          writePage();
+        }
+      }
+    }
+
+    private void writePage() throws IOException {
+      final OCacheEntry entry = readCache.allocateNewPage(fileId, writeCache, null);
+      try {
+        assert entry.getPageIndex() == pageIndex;
+        final OLuceneFilePage filePage = new OLuceneFilePage(entry);
+        filePage.writeData(0, page, 0, pagePosition);
+        if (pageIndex == 0) {
+          filePage.setFileLength(length);
+        }
+      } finally {
+        readCache.releaseFromWrite(entry, writeCache, true);
+      }
+      pageIndex++;
+      pagePosition = 0;
+    }
+
+    @Override
+    public void close() throws IOException {
+      if (closed) {
+        return;
+      }
+      closed = true;
+      if (pagePosition > 0 || pageIndex == 0) {
+        writePage();
+      }
+
+      // the length stored in the first page is the one of the first flush, it is updated with the final one
+      final OCacheEntry entry = readCache.loadForWrite(fileId, 0, false, writeCache, true, null);
+      try {
+        new OLuceneFilePage(entry).setFileLength(length);
+      } finally {
+        readCache.releaseFromWrite(entry, writeCache, true);
+      }
+      fileLengths.put(getName(), length);
+    }
+
+    @Override
+    public long getFilePointer() {
+      return length;
+    }
+
+    @Override
+    public long getChecksum() {
+      return checksum.getValue();
+    }
+  }
+
+  private final class StorageIndexInput extends BufferedIndexInput {
+    private final long fileId;
+    private final long length;
+
+    private StorageIndexInput(String resourceDescription, IOContext context, long fileId, long length) {
+      super(resourceDescription, context);
+      this.fileId = fileId;
+      this.length = length;
+    }
+
+    @Override
+    protected void readInternal(byte[] b, int offset, int len) throws IOException {
+      long position = getFilePointer();
+      if (position + len > length) {
+        throw new EOFException("read past EOF: " + this);
+      }
+      while (len > 0) {
+        final long pageIndex = position / OLuceneFilePage.DATA_CAPACITY;
+        final int pageOffset = (int) (position % OLuceneFilePage.DATA_CAPACITY);
+        final int chunk = Math.min(len, OLuceneFilePage.DATA_CAPACITY - pageOffset);
+
+        final OCacheEntry entry = readCache.loadForRead(fileId, pageIndex, false, writeCache, true);
+        if (entry == null) {
+          throw new FileNotFoundException("Page " + pageIndex + " is missing: " + this);
+        }
+        try {
+          new OLuceneFilePage(entry).readData(pageOffset, b, offset, chunk);
+        } finally {
+          readCache.releaseFromRead(entry, writeCache);
+        }
+        position += chunk;
+        offset += chunk;
+        len -= chunk;
+      }
+    }
+
+    @Override
+    protected void seekInternal(long pos) throws IOException {
+      if (pos > length) {
+        throw new EOFException("seek past EOF: " + this);
+      }
+    }
+
+    @Override
+    public IndexInput slice(String sliceDescription, long offset, long length) throws IOException {
+      if (offset < 0 || length < 0 || offset + length > this.length) {
+        throw new IllegalArgumentException("slice() " + sliceDescription + " out of bounds: " + this);
+      }
+      return BufferedIndexInput.wrap(sliceDescription, this, offset, length);
+    }
+
+    @Override
+    public long length() {
+      return length;
+    }
+
+    @Override
+    public void close() {
+      // pages are released after every read, nothing to close
+    }
+  }
+}
@@ -303,6 +303,21 @@ public class OLuceneSpatialIndexEngineDelegator implements OLuceneIndexEngine, O
     return delegate.isCollectionIndex();
   }
 
+  @Override
+  public boolean isAsyncIndexing() {
+    return delegate.isAsyncIndexing();
+  }
+
+  @Override
+  public long getIndexedUpTo() {
+    return delegate.getIndexedUpTo();
+  }
+
+  @Override
+  public long getLastEnqueued() {
+    return delegate.getLastEnqueued();
+  }
+
   @Override
   public void freeze(boolean throwException) {
     delegate.freeze(throwException);
@@ -0,0 +1,106 @@
+package com.orientechnologies.lucene.engine;
+
+import com.orientechnologies.lucene.exception.OLuceneIndexException;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assert.fail;
+
+public class OLuceneAsyncIndexerTest {
+
+  @Test
+  public void shouldApplyChangesInOrder() throws Exception {
+    OLuceneAsyncIndexer indexer = new OLuceneAsyncIndexer("test", 10, 3);
+    List<Integer> applied = Collections.synchronizedList(new ArrayList<>());
+    indexer.start();
+
+    long last = 0;
+    for (int i = 0; i < 100; i++) {
+      final int value = i;
+      last = indexer.enqueue(() -> applied.add(value));
+    }
+
+    assertThat(last).isEqualTo(100);
+    assertThat(indexer.waitFor(last, 10, TimeUnit.SECONDS)).isTrue();
+    assertThat(indexer.getIndexedUpTo()).isEqualTo(100);
+    assertThat(applied).hasSize(100);
+    for (int i = 0; i < 100; i++) {
+      assertThat(applied.get(i)).isEqualTo(i);
+    }
+    indexer.stop();
+  }
+
+  @Test
+  public void shouldApplyPendingChangesOnStop() throws Exception {
+    OLuceneAsyncIndexer indexer = new OLuceneAsyncIndexer("test", 10, 3);
+    List<Integer> applied = new ArrayList<>();
+
+    //not started, the changes stay in the queue
+    indexer.enqueue(() -> applied.add(1));
+    indexer.enqueue(() -> applied.add(2));
+    assertThat(indexer.getPending()).isEqualTo(2);
+    assertThat(indexer.getIndexedUpTo()).isEqualTo(0);
+
+    indexer.start();
+    indexer.stop();
+
+    assertThat(indexer.getPending()).isEqualTo(0);
+    assertThat(indexer.getIndexedUpTo()).isEqualTo(2);
+    assertThat(applied).containsExactly(1, 2);
+  }
+
+  @Test
+  public void shouldRetryFailingChange() throws Exception {
+    OLuceneAsyncIndexer indexer = new OLuceneAsyncIndexer("test", 10, 3);
+    AtomicInteger attempts = new AtomicInteger();
+    indexer.start();
+
+    long sequence = indexer.enqueue(() -> {
+      if (attempts.incrementAndGet() < 2)
+        throw new IllegalStateException("transient failure");
+    });
+
+    assertThat(indexer.waitFor(sequence, 10, TimeUnit.SECONDS)).isTrue();
+    assertThat(attempts.get()).isEqualTo(2);
+    assertThat(indexer.isFailed()).isFalse();
+    indexer.stop();
+  }
+
+  @Test
+  public void shouldSurfaceFailureUntilReset() throws Exception {
+    OLuceneAsyncIndexer indexer = new OLuceneAsyncIndexer("test", 10, 3);
+    List<Integer> applied = Collections.synchronizedList(new ArrayList<>());
+    indexer.start();
+
+    indexer.enqueue(() -> applied.add(1));
+    long failing = indexer.enqueue(() -> {
+      throw new IllegalStateException("failing change");
+    });
+
+    try {
+      indexer.waitFor(failing, 10, TimeUnit.SECONDS);
+      fail("the failure was not reported");
+    } catch (OLuceneIndexException e) {
+      //expected
+    }
+    assertThat(indexer.getIndexedUpTo()).isEqualTo(1);
+    try {
+      indexer.enqueue(() -> applied.add(3));
+      fail("the failure was not reported");
+    } catch (OLuceneIndexException e) {
+      //expected
+    }
+
+    indexer.reset();
+    long sequence = indexer.enqueue(() -> applied.add(4));
+    assertThat(indexer.waitFor(sequence, 10, TimeUnit.SECONDS)).isTrue();
+    assertThat(applied).containsExactly(1, 4);
+    indexer.stop();
+  }
+}
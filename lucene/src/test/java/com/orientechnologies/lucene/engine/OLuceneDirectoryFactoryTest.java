@@ -1,5 +1,6 @@
 package com.orientechnologies.lucene.engine;
 
+import com.orientechnologies.lucene.storage.OLuceneStorageDirectory;
 import com.orientechnologies.lucene.test.BaseLuceneTest;
 import com.orientechnologies.orient.core.db.document.ODatabaseDocumentTx;
 import com.orientechnologies.orient.core.index.OIndexDefinition;
@@ -89,6 +90,24 @@ public class OLuceneDirectoryFactoryTest extends BaseLuceneTest {
 
   }
 
+  @Test
+  public void shouldCreateStorageDirectory() throws Exception {
+
+    meta.field(DIRECTORY_TYPE, DIRECTORY_STORAGE);
+
+    ODatabaseDocumentTx db = dropOrCreate("plocal:./target/testDatabase/" + name.getMethodName(), true);
+
+    OLuceneDirectory directory = fc.createDirectory(db, "index.name", meta);
+
+    assertThat(directory.getDirectory()).isInstanceOf(OLuceneStorageDirectory.class);
+    assertThat(directory.getPath()).isNull();
+
+    assertThat(new File("./target/testDatabase/" + name.getMethodName() + "/luceneIndexes/index.name")).doesNotExist();
+
+    db.drop();
+
+  }
+
   @Test
   public void shouldCreateRamDirectoryOnMemoryDatabase() throws Exception {
 
@@ -5,6 +5,8 @@ import com.orientechnologies.orient.core.record.impl.ODocument;
 import org.apache.lucene.analysis.standard.StandardAnalyzer;
 import org.apache.lucene.index.IndexWriter;
 import org.apache.lucene.index.LiveIndexWriterConfig;
+import org.apache.lucene.index.LogDocMergePolicy;
+import org.apache.lucene.index.TieredMergePolicy;
 import org.apache.lucene.store.RAMDirectory;
 import org.junit.Test;
 
@@ -37,4 +39,25 @@ public class OLuceneIndexWriterFactoryTest {
     assertThat(config.getRAMPerThreadHardLimitMB()).isEqualTo(1024);
 
   }
+
+  @Test
+  public void shouldCreateConfiguredMergePolicy() throws Exception {
+
+    OLuceneIndexWriterFactory fc = new OLuceneIndexWriterFactory();
+
+    ODocument meta = new ODocument().field("merge_policy", "tiered").field("merge_max_at_once", "20")
+        .field("merge_segments_per_tier", "25");
+
+    LiveIndexWriterConfig config = fc.createIndexWriter(new RAMDirectory(), meta, new StandardAnalyzer()).getConfig();
+    assertThat(config.getMergePolicy()).isInstanceOf(TieredMergePolicy.class);
+
+    TieredMergePolicy tiered = (TieredMergePolicy) config.getMergePolicy();
+    assertThat(tiered.getMaxMergeAtOnce()).isEqualTo(20);
+    assertThat(tiered.getSegmentsPerTier()).isEqualTo(25.0);
+
+    meta = new ODocument().field("merge_policy", "log_doc").field("merge_factor", "30");
+    config = fc.createIndexWriter(new RAMDirectory(), meta, new StandardAnalyzer()).getConfig();
+    assertThat(config.getMergePolicy()).isInstanceOf(LogDocMergePolicy.class);
+    assertThat(((LogDocMergePolicy) config.getMergePolicy()).getMergeFactor()).isEqualTo(30);
+  }
 }
\ No newline at end of file
@@ -0,0 +1,87 @@
+package com.orientechnologies.lucene.storage;
+
+import com.orientechnologies.lucene.test.BaseLuceneTest;
+import com.orientechnologies.orient.core.db.document.ODatabaseDocumentTx;
+import com.orientechnologies.orient.core.storage.impl.local.OAbstractPaginatedStorage;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.store.IOContext;
+import org.apache.lucene.store.IndexInput;
+import org.apache.lucene.store.IndexOutput;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class OLuceneStorageDirectoryTest extends BaseLuceneTest {
+
+  @Test
+  public void shouldWriteAndReadFilesSpanningMorePages() throws Exception {
+    ODatabaseDocumentTx db = dropOrCreate("plocal:./target/testDatabase/" + name.getMethodName(), true);
+    OAbstractPaginatedStorage storage = (OAbstractPaginatedStorage) db.getStorage().getUnderlying();
+
+    OLuceneStorageDirectory directory = new OLuceneStorageDirectory(storage, "index.name");
+
+    int size = OLuceneFilePage.DATA_CAPACITY * 3 + 17;
+    try (IndexOutput output = directory.createOutput("test.bin", IOContext.DEFAULT)) {
+      for (int i = 0; i < size; i++) {
+        output.writeByte((byte) i);
+      }
+    }
+    assertThat(directory.fileLength("test.bin")).isEqualTo(size);
+
+    directory.rename("test.bin", "renamed.bin");
+    assertThat(directory.listAll()).containsExactly("renamed.bin");
+
+    // a new directory finds the files that are already in the storage
+    directory = new OLuceneStorageDirectory(storage, "index.name");
+    assertThat(directory.fileLength("renamed.bin")).isEqualTo(size);
+
+    try (IndexInput input = directory.openInput("renamed.bin", IOContext.DEFAULT)) {
+      input.seek(OLuceneFilePage.DATA_CAPACITY - 1);
+      assertThat(input.readByte()).isEqualTo((byte) (OLuceneFilePage.DATA_CAPACITY - 1));
+      assertThat(input.readByte()).isEqualTo((byte) OLuceneFilePage.DATA_CAPACITY);
+
+      IndexInput slice = input.slice("slice", size - 2, 2);
+      assertThat(slice.readByte()).isEqualTo((byte) (size - 2));
+      assertThat(slice.readByte()).isEqualTo((byte) (size - 1));
+    }
+
+    directory.deleteFile("renamed.bin");
+    assertThat(directory.listAll()).isEmpty();
+
+    db.drop();
+  }
+
+  @Test
+  public void shouldStoreLuceneIndex() throws Exception {
+    ODatabaseDocumentTx db = dropOrCreate("plocal:./target/testDatabase/" + name.getMethodName(), true);
+    OAbstractPaginatedStorage storage = (OAbstractPaginatedStorage) db.getStorage().getUnderlying();
+
+    OLuceneStorageDirectory directory = new OLuceneStorageDirectory(storage, "index.name");
+    try (IndexWriter writer = new IndexWriter(directory, new IndexWriterConfig(new StandardAnalyzer()))) {
+      for (int i = 0; i < 100; i++) {
+        Document doc = new Document();
+        doc.add(new TextField("text", "document number " + i + (i % 2 == 0 ? " even" : " odd"), Field.Store.YES));
+        writer.addDocument(doc);
+      }
+      writer.commit();
+    }
+    directory.close();
+
+    directory = new OLuceneStorageDirectory(storage, "index.name");
+    try (DirectoryReader reader = DirectoryReader.open(directory)) {
+      IndexSearcher searcher = new IndexSearcher(reader);
+      assertThat(searcher.count(new TermQuery(new Term("text", "even")))).isEqualTo(50);
+    }
+
+    db.drop();
+  }
+}
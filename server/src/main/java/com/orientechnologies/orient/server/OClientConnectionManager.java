@@ -476,6 +476,11 @@ public class OClientConnectionManager {
             protocol.interrupt();
           }
           toWait.add(protocol);
+        } else if (protocol instanceof ONetworkProtocolBinary && ((ONetworkProtocolBinary) protocol).isSelected()
+            && ((ONetworkProtocolBinary) protocol).getRequestType() == -1) {
+          // SERVED BY AN EVENT LOOP: NO THREAD TO WAIT FOR, AN IDLE CONNECTION IS CLOSED RIGHT AWAY, A BUSY ONE ONCE ITS REQUEST
+          // IS EXECUTED
+          protocol.interrupt();
         }
       }
     }
@@ -56,6 +56,7 @@ import com.orientechnologies.orient.core.sql.query.OSQLAsynchQuery;
 import com.orientechnologies.orient.core.sql.query.OSQLSynchQuery;
 import com.orientechnologies.orient.core.storage.OCluster;
 import com.orientechnologies.orient.core.storage.OPhysicalPosition;
+import com.orientechnologies.orient.core.storage.ORawBuffer;
 import com.orientechnologies.orient.core.storage.ORecordMetadata;
 import com.orientechnologies.orient.core.storage.OStorageProxy;
 import com.orientechnologies.orient.core.storage.cluster.OOfflineClusterException;
@@ -87,10 +88,19 @@ import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 public final class OConnectionBinaryExecutor implements OBinaryRequestExecutor {
+  private static final int MAX_FINISHED_QUERIES = 1000;
 
   private final OClientConnection connection;
   private final OServer           server;
   private final HandshakeInfo     handshakeInfo;
+  // IDS OF THE QUERIES THAT SENT THEIR LAST PAGE OR WERE CLOSED BY THE CLIENT, STREAM REQUESTS STILL IN FLIGHT FOR THEM GET AN
+  // EMPTY FINAL PAGE
+  private final Set<String>       finishedQueries = Collections.newSetFromMap(new LinkedHashMap<String, Boolean>() {
+    @Override
+    protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+      return size() > MAX_FINISHED_QUERIES;
+    }
+  });
 
   public OConnectionBinaryExecutor(OClientConnection connection, OServer server) {
     this(connection, server, null);
@@ -1161,6 +1171,7 @@ public final class OConnectionBinaryExecutor implements OBinaryRequestExecutor {
     OResultSet query = db.getActiveQuery(queryId);
     if (query != null) {
       query.close();
+      queryFinished(queryId);
     }
     return new OCloseQueryResponse();
   }
@@ -1174,11 +1185,47 @@ public final class OConnectionBinaryExecutor implements OBinaryRequestExecutor {
       throw new ODatabaseException(String.format("No query with id '%s' found probably expired session", request.getQueryId()));
     }
 
+    return nextPage(rs, request.getRecordsPerPage());
+  }
+
+  @Override
+  public OBinaryResponse executeQueryStreamPage(OQueryStreamPageRequest request) {
+    OLocalResultSetLifecycleDecorator rs = (OLocalResultSetLifecycleDecorator) connection.getDatabase()
+        .getActiveQuery(request.getQueryId());
+
+    if (rs == null) {
+      if (isQueryFinished(request.getQueryId())) {
+        // THE CLIENT HAD MORE CREDITS IN FLIGHT THAN THE PAGES LEFT, THE QUERY WAS CLOSED AFTER SENDING THE LAST ONE
+        return new OQueryResponse(request.getQueryId(), false, new ArrayList<>(), Optional.empty(), false, null, false);
+      }
+      throw new ODatabaseException(String.format("No query with id '%s' found probably expired session", request.getQueryId()));
+    }
+
+    final OQueryResponse page = nextPage(rs, request.getRecordsPerPage());
+    if (!page.isHasNextPage()) {
+      queryFinished(request.getQueryId());
+    }
+    return page;
+  }
+
+  private void queryFinished(String queryId) {
+    synchronized (finishedQueries) {
+      finishedQueries.add(queryId);
+    }
+  }
+
+  private boolean isQueryFinished(String queryId) {
+    synchronized (finishedQueries) {
+      return finishedQueries.contains(queryId);
+    }
+  }
+
+  private OQueryResponse nextPage(OLocalResultSetLifecycleDecorator rs, int recordsPerPage) {
     //copy the result-set to make sure that the execution is successful
-    List<OResultInternal> rsCopy = new ArrayList<>(request.getRecordsPerPage());
+    List<OResultInternal> rsCopy = new ArrayList<>(recordsPerPage);
     int i = 0;
     //if it's OInternalResultSet it means that it's a Command, not a Query, so the result has to be sent as it is, not streamed
-    while (rs.hasNext() && (rs.isDetached() || i < request.getRecordsPerPage())) {
+    while (rs.hasNext() && (rs.isDetached() || i < recordsPerPage)) {
       rsCopy.add((OResultInternal) rs.next());
       i++;
     }
@@ -1402,6 +1449,27 @@ public final class OConnectionBinaryExecutor implements OBinaryRequestExecutor {
     return new OSubscribeSequencesResponse();
   }
 
+  @Override
+  public OBinaryResponse executeReadRecords(OReadRecordsRequest request) {
+    final List<ORecord> loaded = connection.getDatabase().loadAll(request.getRids());
+    final List<ORawBuffer> records = new ArrayList<>(loaded.size());
+    for (ORecord record : loaded) {
+      if (record == null) {
+        records.add(null);
+      } else {
+        records.add(new ORawBuffer(getRecordBytes(connection, record), record.getVersion(), ORecordInternal.getRecordType(record)));
+      }
+    }
+    return new OReadRecordsResponse(records);
+  }
+
+  @Override
+  public OBinaryResponse executeSubscribeRecords(OSubscribeRecordsRequest request) {
+    OPushManager manager = server.getPushManager();
+    manager.subscribeRecords(connection.getDatabase(), (ONetworkProtocolBinary) connection.getProtocol(), request.getClusterIds());
+    return new OSubscribeRecordsResponse();
+  }
+
   @Override
   public OBinaryResponse executeUnsubscribeLiveQuery(OUnsubscribeLiveQueryRequest request) {
     ODatabaseDocumentInternal database = connection.getDatabase();
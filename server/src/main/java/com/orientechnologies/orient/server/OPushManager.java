@@ -5,9 +5,14 @@ import com.orientechnologies.orient.core.Orient;
 import com.orientechnologies.orient.core.config.OStorageConfiguration;
 import com.orientechnologies.orient.core.db.ODatabaseDocumentInternal;
 import com.orientechnologies.orient.core.db.OMetadataUpdateListener;
+import com.orientechnologies.orient.core.db.record.ORecordOperation;
+import com.orientechnologies.orient.core.id.ORID;
 import com.orientechnologies.orient.core.index.OIndexManagerAbstract;
 import com.orientechnologies.orient.core.index.OIndexManagerShared;
 import com.orientechnologies.orient.core.metadata.schema.OSchemaShared;
+import com.orientechnologies.orient.core.storage.OStorage;
+import com.orientechnologies.orient.core.storage.impl.local.OAbstractPaginatedStorage;
+import com.orientechnologies.orient.core.storage.impl.local.OStorageCommitListener;
 import com.orientechnologies.orient.server.network.protocol.binary.ONetworkProtocolBinary;
 
 import java.io.IOException;
@@ -23,6 +28,8 @@ public class OPushManager implements OMetadataUpdateListener {
   protected final Map<String, Set<WeakReference<ONetworkProtocolBinary>>> functions             = new HashMap<>();
   protected final Map<String, Set<WeakReference<ONetworkProtocolBinary>>> sequences             = new HashMap<>();
   private         Set<String>                                             registerDatabase      = new HashSet<>();
+  protected final Map<String, Map<WeakReference<ONetworkProtocolBinary>, Set<Integer>>> records        = new HashMap<>();
+  private final   Map<String, ORecordsCommitListener>                     recordsListeners      = new HashMap<>();
 
   public synchronized void pushDistributedConfig(String database, List<String> hosts) {
     Iterator<WeakReference<ONetworkProtocolBinary>> iter = distributedConfigPush.iterator();
@@ -59,6 +66,9 @@ public class OPushManager implements OMetadataUpdateListener {
     cleanListeners(indexManager);
     cleanListeners(functions);
     cleanListeners(sequences);
+    for (Map<WeakReference<ONetworkProtocolBinary>, Set<Integer>> value : records.values()) {
+      value.keySet().removeIf((ref) -> ref.get() == null);
+    }
   }
 
   private void cleanListeners(Map<String, Set<WeakReference<ONetworkProtocolBinary>>> toClean) {
@@ -72,8 +82,12 @@ public class OPushManager implements OMetadataUpdateListener {
     }
   }
 
-  public void shutdown() {
-
+  public synchronized void shutdown() {
+    for (ORecordsCommitListener listener : recordsListeners.values()) {
+      listener.storage.unregisterCommitListener(listener);
+    }
+    recordsListeners.clear();
+    records.clear();
   }
 
   private void genericSubscribe(Map<String, Set<WeakReference<ONetworkProtocolBinary>>> context, ODatabaseDocumentInternal database,
@@ -110,6 +124,111 @@ public class OPushManager implements OMetadataUpdateListener {
     genericSubscribe(sequences, database, protocol);
   }
 
+  /**
+   * Subscribes the connection to the invalidations of the records changed by the transactions committed on the database.
+   *
+   * @param clusterIds the clusters of interest, empty for all the clusters
+   */
+  public synchronized void subscribeRecords(ODatabaseDocumentInternal database, ONetworkProtocolBinary protocol, int[] clusterIds) {
+    String name = database.getName();
+    if (!recordsListeners.containsKey(name)) {
+      OStorage storage = database.getStorage().getUnderlying();
+      if (!(storage instanceof OAbstractPaginatedStorage)) {
+        // NO COMMIT NOTIFICATIONS AVAILABLE, THE CLIENT CACHE STAYS EMPTY
+        return;
+      }
+      ORecordsCommitListener listener = new ORecordsCommitListener(name, (OAbstractPaginatedStorage) storage);
+      listener.storage.registerCommitListener(listener);
+      recordsListeners.put(name, listener);
+    }
+    Map<WeakReference<ONetworkProtocolBinary>, Set<Integer>> subscribers = records.get(name);
+    if (subscribers == null) {
+      subscribers = new HashMap<>();
+      records.put(name, subscribers);
+    }
+    Set<Integer> clusters = new HashSet<>();
+    for (int clusterId : clusterIds) {
+      clusters.add(clusterId);
+    }
+    subscribers.put(new WeakReference<>(protocol), clusters);
+  }
+
+  private final class ORecordsCommitListener implements OStorageCommitListener {
+    private final String                     database;
+    private final OAbstractPaginatedStorage storage;
+
+    private ORecordsCommitListener(String database, OAbstractPaginatedStorage storage) {
+      this.database = database;
+      this.storage = storage;
+    }
+
+    @Override
+    public void onCommit(List<ORecordOperation> operations) {
+      final List<ORID> rids = new ArrayList<>(operations.size());
+      final List<Integer> versions = new ArrayList<>(operations.size());
+      for (ORecordOperation operation : operations) {
+        if (operation.type == ORecordOperation.UPDATED) {
+          rids.add(operation.getRID().copy());
+          versions.add(operation.getRecord().getVersion());
+        } else if (operation.type == ORecordOperation.DELETED) {
+          rids.add(operation.getRID().copy());
+          versions.add(-1);
+        }
+      }
+      if (!rids.isEmpty()) {
+        notifyRecords(database, rids, versions);
+      }
+    }
+  }
+
+  private void notifyRecords(String database, List<ORID> rids, List<Integer> versions) {
+    Orient.instance().submit(() -> {
+      Map<WeakReference<ONetworkProtocolBinary>, Set<Integer>> clients = null;
+      synchronized (OPushManager.this) {
+        Map<WeakReference<ONetworkProtocolBinary>, Set<Integer>> cl = records.get(database);
+        if (cl != null) {
+          clients = new HashMap<>(cl);
+        }
+      }
+      if (clients == null) {
+        return;
+      }
+      // A SINGLE MESSAGE PER COMMIT FOR EVERY SUBSCRIBER, FILTERED BY ITS CLUSTERS
+      for (Map.Entry<WeakReference<ONetworkProtocolBinary>, Set<Integer>> entry : clients.entrySet()) {
+        ONetworkProtocolBinary protocolBinary = entry.getKey().get();
+        if (protocolBinary == null) {
+          removeRecordsSubscriber(database, entry.getKey());
+          continue;
+        }
+        Set<Integer> clusters = entry.getValue();
+        List<ORID> toSend = new ArrayList<>(rids.size());
+        int[] toSendVersions = new int[rids.size()];
+        for (int i = 0; i < rids.size(); i++) {
+          ORID rid = rids.get(i);
+          if (clusters.isEmpty() || clusters.contains(rid.getClusterId())) {
+            toSendVersions[toSend.size()] = versions.get(i);
+            toSend.add(rid);
+          }
+        }
+        if (toSend.isEmpty()) {
+          continue;
+        }
+        try {
+          protocolBinary.push(new OPushRecordsRequest(toSend, Arrays.copyOf(toSendVersions, toSend.size())));
+        } catch (IOException e) {
+          removeRecordsSubscriber(database, entry.getKey());
+        }
+      }
+    });
+  }
+
+  private synchronized void removeRecordsSubscriber(String database, WeakReference<ONetworkProtocolBinary> ref) {
+    Map<WeakReference<ONetworkProtocolBinary>, Set<Integer>> subscribers = records.get(database);
+    if (subscribers != null) {
+      subscribers.remove(ref);
+    }
+  }
+
   @Override
   public void onSchemaUpdate(String database, OSchemaShared schema) {
     OPushSchemaRequest request = new OPushSchemaRequest(schema.toNetworkStream());
@@ -47,6 +47,7 @@ import com.orientechnologies.orient.server.network.OServerNetworkListener;
 import com.orientechnologies.orient.server.network.OServerSocketFactory;
 import com.orientechnologies.orient.server.network.protocol.ONetworkProtocol;
 import com.orientechnologies.orient.server.network.protocol.ONetworkProtocolData;
+import com.orientechnologies.orient.server.network.protocol.binary.OBinaryRequestPipeline;
 import com.orientechnologies.orient.server.network.protocol.http.OHttpSessionManager;
 import com.orientechnologies.orient.server.network.protocol.http.ONetworkProtocolHttpDb;
 import com.orientechnologies.orient.server.plugin.OServerPlugin;
@@ -99,6 +100,7 @@ public class OServer {
   private              OClientConnectionManager                       clientConnectionManager;
   private              OHttpSessionManager                            httpSessionManager;
   private              OPushManager                                   pushManager;
+  private              OBinaryRequestPipeline                         requestPipeline;
   private              ClassLoader                                    extensionClassLoader;
   private              OTokenHandler                                  tokenHandler;
   private              OSystemDatabase                                systemDatabase;
@@ -223,6 +225,10 @@ public class OServer {
     return pushManager;
   }
 
+  public OBinaryRequestPipeline getRequestPipeline() {
+    return requestPipeline;
+  }
+
   public void saveConfiguration() throws IOException {
     serverCfg.saveConfiguration();
   }
@@ -338,6 +344,8 @@ public class OServer {
     clientConnectionManager = new OClientConnectionManager(this);
     httpSessionManager = new OHttpSessionManager(this);
     pushManager = new OPushManager();
+    requestPipeline = new OBinaryRequestPipeline(
+        contextConfiguration.getValueAsInteger(OGlobalConfiguration.NETWORK_BINARY_PIPELINE_WORKERS));
     rejectRequests = false;
 
     if (contextConfiguration.getValueAsBoolean(OGlobalConfiguration.ENVIRONMENT_DUMP_CFG_AT_STARTUP)) {
@@ -561,6 +569,7 @@ public class OServer {
 
         rejectRequests = true;
         pushManager.shutdown();
+        requestPipeline.shutdown();
         clientConnectionManager.shutdown();
         httpSessionManager.shutdown();
 
@@ -38,7 +38,7 @@ class OServerLiveQueryResultListener implements OLiveQueryResultListener {
     try {
       protocol.push(new OLiveQueryPushRequest(monitorId, OLiveQueryPushRequest.HAS_MORE, Collections.singletonList(event)));
     } catch (IOException e) {
-      sharedContext.getLiveQueryOpsV2().getSubscribers().remove(monitorId);
+      sharedContext.getLiveQueryOpsV2().removeSubscriber(monitorId);
       throw OException.wrapException(new OLiveQueryInterruptedException("Live query interrupted by socket close"), e);
     }
   }
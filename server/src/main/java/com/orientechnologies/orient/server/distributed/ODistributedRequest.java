@@ -43,6 +43,7 @@ public class ODistributedRequest {
   private long                  senderThreadId;
   private ORemoteTask           task;
   private ORecordId             userRID;       // KEEP ALSO THE RID TO AVOID SECURITY PROBLEM ON DELETE & RECREATE USERS
+  private final long            receivedOn = System.currentTimeMillis(); // LOCAL TIME, NOT SERIALIZED
 
   public ODistributedRequest(final ODistributedServerManager manager) {
     this.manager = manager;
@@ -83,6 +84,13 @@ public class ODistributedRequest {
     return this;
   }
 
+  /**
+   * Returns the local time when the request was created or received from the network.
+   */
+  public long getReceivedOn() {
+    return receivedOn;
+  }
+
   public ORecordId getUserRID() {
     return userRID;
   }
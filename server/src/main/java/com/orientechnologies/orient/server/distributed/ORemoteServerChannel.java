@@ -90,9 +90,13 @@ public class ORemoteServerChannel {
     RejectedExecutionHandler reject = (task, executor) -> {
       try {
         if (!executor.getQueue().offer(task, timeout, TimeUnit.MILLISECONDS)) {
+          if (task instanceof ORequestsWriter)
+            ((ORequestsWriter) task).source.failed(null);
           check.nodeDisconnected(server);
         }
       } catch (InterruptedException e) {
+        if (task instanceof ORequestsWriter)
+          ((ORequestsWriter) task).source.failed(null);
         Thread.currentThread().interrupt();
       }
     };
@@ -116,6 +120,55 @@ public class ORemoteServerChannel {
 
   }
 
+  /**
+   * Source of the requests written by {@link #sendBinaryRequests(OBinaryRequestSource)}. It is called on the writer thread of the
+   * channel, so it can coalesce the messages queued while the previous request was written.
+   */
+  public interface OBinaryRequestSource {
+    /**
+     * @return the next request to write, null when there is nothing left
+     */
+    OBinaryRequest next();
+
+    /**
+     * Called when the request cannot be sent after the retries, null if the writer could not be scheduled at all. No more
+     * requests are asked to the source after a failure.
+     */
+    void failed(OBinaryRequest request);
+  }
+
+  private class ORequestsWriter implements Runnable {
+    private final OBinaryRequestSource source;
+
+    private ORequestsWriter(OBinaryRequestSource source) {
+      this.source = source;
+    }
+
+    @Override
+    public void run() {
+      OBinaryRequest request;
+      while ((request = source.next()) != null) {
+        final OBinaryRequest toSend = request;
+        Boolean sent = networkOperation(toSend.getCommand(), () -> {
+          toSend.write(channel, null);
+          channel.flush();
+          return Boolean.TRUE;
+        }, "Cannot send distributed request " + toSend.getClass(), MAX_RETRY, true);
+        if (sent == null) {
+          source.failed(toSend);
+          return;
+        }
+      }
+    }
+  }
+
+  /**
+   * Writes the requests of the source one after the other on the writer thread, until the source has no more requests.
+   */
+  public void sendBinaryRequests(OBinaryRequestSource source) {
+    executor.execute(new ORequestsWriter(source));
+  }
+
   public interface OStorageRemoteOperation<T> {
     T execute() throws IOException;
   }
@@ -92,4 +92,11 @@ public class ORemoteServerController {
       idx = 0;
     requestChannels[idx % responseChannels.length].sendBinaryRequest(request);
   }
+
+  public void sendBinaryRequests(ORemoteServerChannel.OBinaryRequestSource source) {
+    int idx = requestChannelIndex++;
+    if (idx < 0)
+      idx = 0;
+    requestChannels[idx % responseChannels.length].sendBinaryRequests(source);
+  }
 }
@@ -32,11 +32,13 @@ import com.orientechnologies.orient.server.config.OServerCommandConfiguration;
 import com.orientechnologies.orient.server.config.OServerParameterConfiguration;
 import com.orientechnologies.orient.server.network.protocol.OBeforeDatabaseOpenNetworkEventListener;
 import com.orientechnologies.orient.server.network.protocol.ONetworkProtocol;
+import com.orientechnologies.orient.server.network.protocol.binary.ONetworkProtocolBinary;
 import com.orientechnologies.orient.server.network.protocol.http.command.OServerCommand;
 
 import java.io.IOException;
 import java.lang.reflect.Constructor;
 import java.net.*;
+import java.nio.channels.ServerSocketChannel;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -53,6 +55,7 @@ public class OServerNetworkListener extends Thread {
   private OServer                                       server;
   private int                                           protocolVersion = -1;
   private List<OBeforeDatabaseOpenNetworkEventListener> beforeDatabaseOpenNetworkEventListener = new ArrayList<OBeforeDatabaseOpenNetworkEventListener>();
+  private OServerSelectorLoop                           selectorLoop;
 
   public OServerNetworkListener(final OServer iServer, final OServerSocketFactory iSocketFactory, final String iHostName,
       final String iHostPortRange, final String iProtocolName, final Class<? extends ONetworkProtocol> iProtocol,
@@ -73,10 +76,23 @@ public class OServerNetworkListener extends Thread {
       throw OException.wrapException(new ONetworkProtocolException(message), e);
     }
 
-    listen(iHostName, iHostPortRange, iProtocolName, iProtocol);
+    readParameters(iServer.getContextConfiguration(), iParameters);
+
+    final boolean selected = configuration.getValueAsBoolean(OGlobalConfiguration.NETWORK_BINARY_SELECTOR)
+        && iProtocol == ONetworkProtocolBinary.class && socketFactory instanceof ODefaultServerSocketFactory;
+
+    listen(iHostName, iHostPortRange, iProtocolName, iProtocol, selected);
     protocolType = iProtocol;
 
-    readParameters(iServer.getContextConfiguration(), iParameters);
+    if (selected) {
+      try {
+        selectorLoop = new OServerSelectorLoop(iServer.getThreadGroup(), "OrientDB event loop at " + getListeningAddress(false),
+            configuration.getValueAsInteger(OGlobalConfiguration.NETWORK_BINARY_SELECTOR_WORKERS));
+      } catch (IOException e) {
+        throw OException.wrapException(new ONetworkProtocolException("Error on creating the network event loop"), e);
+      }
+      selectorLoop.start();
+    }
 
     if (iCommands != null) {
       for (int i = 0; i < iCommands.length; ++i) {
@@ -167,6 +183,9 @@ public class OServerNetworkListener extends Thread {
   public void shutdown() {
     this.active = false;
 
+    if (selectorLoop != null)
+      selectorLoop.shutdown();
+
     if (serverSocket != null)
       try {
         serverSocket.close();
@@ -215,7 +234,12 @@ public class OServerNetworkListener extends Thread {
           final ONetworkProtocol protocol = constructor.newInstance(server);
 
           // CONFIGURE THE PROTOCOL FOR THE INCOMING CONNECTION
-          protocol.config(this, server, socket, configuration);
+          if (selectorLoop != null) {
+            final ONetworkProtocolBinary binary = (ONetworkProtocolBinary) protocol;
+            binary.configSelected(this, server, socket.getChannel(), configuration);
+            selectorLoop.register(binary);
+          } else
+            protocol.config(this, server, socket, configuration);
 
         } catch (Exception e) {
           if (active)
@@ -326,17 +350,27 @@ public class OServerNetworkListener extends Thread {
    * @param iHostName
    */
   private void listen(final String iHostName, final String iHostPortRange, final String iProtocolName,
-      Class<? extends ONetworkProtocol> protocolClass) {
+      Class<? extends ONetworkProtocol> protocolClass, final boolean selected) {
 
     for (int port : getPorts(iHostPortRange)) {
       inboundAddr = new InetSocketAddress(iHostName, port);
       try {
-        serverSocket = socketFactory.createServerSocket(port, 0, InetAddress.getByName(iHostName));
+        if (selected) {
+          // THE ACCEPTED SOCKETS MUST BE BACKED BY A CHANNEL TO BE REGISTERED TO THE EVENT LOOP
+          serverSocket = ServerSocketChannel.open().socket();
+          try {
+            serverSocket.bind(new InetSocketAddress(InetAddress.getByName(iHostName), port));
+          } catch (IOException e) {
+            serverSocket.close();
+            throw e;
+          }
+        } else
+          serverSocket = socketFactory.createServerSocket(port, 0, InetAddress.getByName(iHostName));
 
         if (serverSocket.isBound()) {
           OLogManager.instance().info(this,
               "Listening $ANSI{green " + iProtocolName + "} connections on $ANSI{green " + inboundAddr.getAddress().getHostAddress()
-                  + ":" + inboundAddr.getPort() + "} (protocol v." + protocolVersion + ", socket=" + socketFactory.getName() + ")");
+                  + ":" + inboundAddr.getPort() + "} (protocol v." + protocolVersion + ", socket=" + socketFactory.getName() + (selected ? ", event loop" : "") + ")");
 
           return;
         }
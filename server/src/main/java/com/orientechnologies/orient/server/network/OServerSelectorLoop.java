@@ -0,0 +1,182 @@
+/*
+ *
+ *  *  Copyright 2010-2017 OrientDB LTD (http://orientdb.com)
+ *  *
+ *  *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  *  you may not use this file except in compliance with the License.
+ *  *  You may obtain a copy of the License at
+ *  *
+ *  *       http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  *  Unless required by applicable law or agreed to in writing, software
+ *  *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  *  See the License for the specific language governing permissions and
+ *  *  limitations under the License.
+ *  *
+ *  * For more information: http://orientdb.com
+ *
+ */
+package com.orientechnologies.orient.server.network;
+
+import com.orientechnologies.common.log.OLogManager;
+import com.orientechnologies.common.thread.OThreadPoolExecutorWithLogging;
+import com.orientechnologies.orient.server.network.protocol.binary.ONetworkProtocolBinary;
+
+import java.io.IOException;
+import java.nio.channels.CancelledKeyException;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Event loop that watches the idle binary connections of a listener. A single thread waits for incoming data on all the
+ * connections, as soon as a request arrives the connection is handed to a bounded pool of workers that executes the requests
+ * already received and then gives the connection back to the loop. Idle connections do not hold a thread anymore.
+ */
+public class OServerSelectorLoop extends Thread {
+  private static final long CHECK_INTERVAL = 1000;
+
+  private final Selector                          selector;
+  private final ExecutorService                   workers;
+  private final Queue<ONetworkProtocolBinary>     toRegister = new ConcurrentLinkedQueue<ONetworkProtocolBinary>();
+  private volatile boolean                        active     = true;
+
+  public OServerSelectorLoop(final ThreadGroup group, final String name, final int workerCount) throws IOException {
+    super(group, name);
+    setDaemon(true);
+
+    selector = Selector.open();
+    final AtomicInteger workerId = new AtomicInteger();
+    workers = new OThreadPoolExecutorWithLogging(workerCount, workerCount, 60L, TimeUnit.SECONDS,
+        new LinkedBlockingQueue<Runnable>(), r -> {
+      final Thread thread = new Thread(group, r, name + " worker " + workerId.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    });
+  }
+
+  /**
+   * Watches the connection for the next request. Can be invoked by any thread.
+   */
+  public void register(final ONetworkProtocolBinary protocol) {
+    toRegister.add(protocol);
+    selector.wakeup();
+  }
+
+  public void shutdown() {
+    active = false;
+    selector.wakeup();
+  }
+
+  @Override
+  public void run() {
+    long lastCheck = System.currentTimeMillis();
+    try {
+      while (active) {
+        selector.select(CHECK_INTERVAL);
+        if (!active)
+          break;
+
+        registerPending();
+
+        final Iterator<SelectionKey> it = selector.selectedKeys().iterator();
+        while (it.hasNext()) {
+          final SelectionKey key = it.next();
+          it.remove();
+          try {
+            if (key.isValid() && key.isReadable()) {
+              // STOP WATCHING THE CONNECTION UNTIL THE WORKER HAS CONSUMED THE RECEIVED REQUESTS
+              key.interestOps(0);
+              dispatch((ONetworkProtocolBinary) key.attachment());
+            }
+          } catch (CancelledKeyException ignore) {
+          }
+        }
+
+        final long now = System.currentTimeMillis();
+        if (now - lastCheck >= CHECK_INTERVAL) {
+          lastCheck = now;
+          closeShutdownConnections();
+        }
+      }
+    } catch (IOException e) {
+      OLogManager.instance().error(this, "Error on network event loop %s", e, getName());
+    } finally {
+      // THE CONNECTIONS HAVE NO THREAD OF THEIR OWN, THEY WOULD STAY OPEN WITHOUT ANYONE READING THEM
+      for (SelectionKey key : selector.keys()) {
+        close((ONetworkProtocolBinary) key.attachment());
+      }
+      ONetworkProtocolBinary protocol;
+      while ((protocol = toRegister.poll()) != null) {
+        close(protocol);
+      }
+
+      workers.shutdown();
+      try {
+        selector.close();
+      } catch (IOException ignore) {
+      }
+    }
+  }
+
+  private void registerPending() {
+    ONetworkProtocolBinary protocol;
+    while ((protocol = toRegister.poll()) != null) {
+      final SocketChannel channel = protocol.getChannel().socket.getChannel();
+      try {
+        final SelectionKey key = channel.keyFor(selector);
+        if (key == null)
+          channel.register(selector, SelectionKey.OP_READ, protocol);
+        else
+          key.interestOps(SelectionKey.OP_READ);
+      } catch (ClosedChannelException | CancelledKeyException e) {
+        close(protocol);
+      }
+    }
+  }
+
+  private void dispatch(final ONetworkProtocolBinary protocol) {
+    try {
+      workers.execute(() -> {
+        if (protocol.executeReady())
+          register(protocol);
+      });
+    } catch (RejectedExecutionException e) {
+      close(protocol);
+    }
+  }
+
+  /**
+   * Releases the idle connections shut down by other threads, they would not be noticed until the client sends something.
+   */
+  private void closeShutdownConnections() {
+    for (SelectionKey key : selector.keys()) {
+      try {
+        if (key.isValid() && key.interestOps() == SelectionKey.OP_READ && ((ONetworkProtocolBinary) key.attachment())
+            .isShutdownFlag()) {
+          key.cancel();
+          close((ONetworkProtocolBinary) key.attachment());
+        }
+      } catch (CancelledKeyException ignore) {
+      }
+    }
+  }
+
+  private void close(final ONetworkProtocolBinary protocol) {
+    try {
+      protocol.shutdown();
+    } catch (Exception e) {
+      OLogManager.instance().debug(this, "Error on closing connection %s", e, protocol);
+    }
+  }
+}
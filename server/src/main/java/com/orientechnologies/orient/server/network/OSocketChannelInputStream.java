@@ -0,0 +1,98 @@
+/*
+ *
+ *  *  Copyright 2010-2017 OrientDB LTD (http://orientdb.com)
+ *  *
+ *  *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  *  you may not use this file except in compliance with the License.
+ *  *  You may obtain a copy of the License at
+ *  *
+ *  *       http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  *  Unless required by applicable law or agreed to in writing, software
+ *  *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  *  See the License for the specific language governing permissions and
+ *  *  limitations under the License.
+ *  *
+ *  * For more information: http://orientdb.com
+ *
+ */
+package com.orientechnologies.orient.server.network;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.SocketTimeoutException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+
+/**
+ * Blocking {@link InputStream} on top of a non-blocking {@link SocketChannel} registered to an {@link OServerSelectorLoop}. When
+ * no data is available the calling thread waits on a private selector, so a request read only partially does not stall the
+ * event loop. The private selector is opened on the first wait and released by {@link #releaseSelector()} once the connection
+ * goes back to idle.
+ */
+public class OSocketChannelInputStream extends InputStream {
+  private final SocketChannel channel;
+  private final byte[]        single = new byte[1];
+  private       Selector      selector;
+
+  public OSocketChannelInputStream(final SocketChannel channel) {
+    this.channel = channel;
+  }
+
+  @Override
+  public int read() throws IOException {
+    final int n = read(single, 0, 1);
+    return n < 0 ? -1 : single[0] & 0xFF;
+  }
+
+  @Override
+  public int read(final byte[] b, final int off, final int len) throws IOException {
+    if (len == 0)
+      return 0;
+
+    final ByteBuffer buffer = ByteBuffer.wrap(b, off, len);
+    int read;
+    while ((read = channel.read(buffer)) == 0)
+      awaitReadable();
+    return read;
+  }
+
+  private void awaitReadable() throws IOException {
+    if (selector == null)
+      selector = Selector.open();
+
+    final SelectionKey key = channel.register(selector, SelectionKey.OP_READ);
+    try {
+      final int timeout = channel.socket().getSoTimeout();
+      if (selector.select(timeout) == 0 && timeout > 0 && !Thread.currentThread().isInterrupted())
+        throw new SocketTimeoutException("Read timed out");
+      selector.selectedKeys().clear();
+    } finally {
+      key.cancel();
+      // FLUSHES THE CANCELLED KEY, THE CHANNEL CANNOT BE REGISTERED AGAIN BEFORE
+      selector.selectNow();
+    }
+  }
+
+  /**
+   * Closes the private selector used to wait for data, if any.
+   */
+  public void releaseSelector() {
+    if (selector != null) {
+      try {
+        selector.close();
+      } catch (IOException ignore) {
+      }
+      selector = null;
+    }
+  }
+
+  @Override
+  public void close() throws IOException {
+    releaseSelector();
+    channel.close();
+  }
+}
@@ -0,0 +1,87 @@
+/*
+ *
+ *  *  Copyright 2010-2017 OrientDB LTD (http://orientdb.com)
+ *  *
+ *  *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  *  you may not use this file except in compliance with the License.
+ *  *  You may obtain a copy of the License at
+ *  *
+ *  *       http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  *  Unless required by applicable law or agreed to in writing, software
+ *  *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  *  See the License for the specific language governing permissions and
+ *  *  limitations under the License.
+ *  *
+ *  * For more information: http://orientdb.com
+ *
+ */
+package com.orientechnologies.orient.server.network;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.SocketTimeoutException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+
+/**
+ * Blocking {@link OutputStream} on top of a non-blocking {@link SocketChannel}. When the socket send buffer is full the calling
+ * thread waits on a private selector until the channel is writable again, at most the socket timeout.
+ */
+public class OSocketChannelOutputStream extends OutputStream {
+  private final SocketChannel channel;
+  private final byte[]        single = new byte[1];
+  private       Selector      selector;
+
+  public OSocketChannelOutputStream(final SocketChannel channel) {
+    this.channel = channel;
+  }
+
+  @Override
+  public synchronized void write(final int b) throws IOException {
+    single[0] = (byte) b;
+    write(single, 0, 1);
+  }
+
+  @Override
+  public synchronized void write(final byte[] b, final int off, final int len) throws IOException {
+    final ByteBuffer buffer = ByteBuffer.wrap(b, off, len);
+    while (buffer.hasRemaining()) {
+      if (channel.write(buffer) == 0)
+        awaitWritable();
+    }
+  }
+
+  private void awaitWritable() throws IOException {
+    if (selector == null)
+      selector = Selector.open();
+
+    final SelectionKey key = channel.register(selector, SelectionKey.OP_WRITE);
+    try {
+      // A CLIENT THAT STOPS READING MUST NOT PIN THE WRITER: SAME TIMEOUT AS THE BLOCKING SOCKETS
+      final int timeout = channel.socket().getSoTimeout();
+      if (selector.select(timeout) == 0 && timeout > 0 && !Thread.currentThread().isInterrupted())
+        throw new SocketTimeoutException("Write timed out");
+      selector.selectedKeys().clear();
+    } finally {
+      key.cancel();
+      // FLUSHES THE CANCELLED KEY, THE CHANNEL CANNOT BE REGISTERED AGAIN BEFORE
+      selector.selectNow();
+    }
+  }
+
+  @Override
+  public synchronized void close() throws IOException {
+    if (selector != null) {
+      try {
+        selector.close();
+      } catch (IOException ignore) {
+      }
+      selector = null;
+    }
+    channel.close();
+  }
+}
@@ -0,0 +1,76 @@
+/*
+ *
+ *  *  Copyright 2010-2017 OrientDB LTD (http://orientdb.com)
+ *  *
+ *  *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  *  you may not use this file except in compliance with the License.
+ *  *  You may obtain a copy of the License at
+ *  *
+ *  *       http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  *  Unless required by applicable law or agreed to in writing, software
+ *  *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  *  See the License for the specific language governing permissions and
+ *  *  limitations under the License.
+ *  *
+ *  * For more information: http://orientdb.com
+ *
+ */
+package com.orientechnologies.orient.server.network.protocol.binary;
+
+import com.orientechnologies.common.thread.OThreadPoolExecutorWithLogging;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Executes the requests received in pipelined mode on a bounded pool of workers shared by all the binary connections of the
+ * server. Requests of the same session are executed in the order they were read from the socket, requests of different sessions
+ * run concurrently even when they are multiplexed on the same socket.
+ */
+public class OBinaryRequestPipeline {
+  private final ExecutorService                                executor;
+  private final ConcurrentMap<Integer, CompletableFuture<Void>> sessionTails = new ConcurrentHashMap<>();
+
+  public OBinaryRequestPipeline(final int workers) {
+    final AtomicInteger workerId = new AtomicInteger();
+    executor = new OThreadPoolExecutorWithLogging(workers, workers, 60L, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), r -> {
+      final Thread thread = new Thread(r, "OrientDB Binary Pipeline Worker " + workerId.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    });
+  }
+
+  /**
+   * Schedules the execution of a request after all the requests previously submitted for the same session.
+   *
+   * @param sessionId the session the request belongs to
+   * @param task      the request execution, it is expected to handle its own errors
+   *
+   * @return a future completed once the task is executed
+   */
+  public CompletableFuture<Void> submit(final int sessionId, final Runnable task) {
+    final CompletableFuture<Void> next = sessionTails.compute(sessionId, (id, tail) -> {
+      if (tail == null)
+        return CompletableFuture.runAsync(task, executor);
+      // A FAILED REQUEST MUST NOT BLOCK THE FOLLOWING ONES OF THE SAME SESSION
+      return tail.handle((r, e) -> null).thenRunAsync(task, executor);
+    });
+    next.whenComplete((r, e) -> sessionTails.remove(sessionId, next));
+    return next;
+  }
+
+  public int getPendingSessions() {
+    return sessionTails.size();
+  }
+
+  public void shutdown() {
+    executor.shutdown();
+  }
+}
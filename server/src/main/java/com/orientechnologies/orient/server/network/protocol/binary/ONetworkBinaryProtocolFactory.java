@@ -44,6 +44,8 @@ public class ONetworkBinaryProtocolFactory {
       return ONetworkBinaryProtocolFactory::createRequest37;
     case 38:
       return ONetworkBinaryProtocolFactory::createRequest38;
+    case 39:
+      return ONetworkBinaryProtocolFactory::createRequest39;
     default:
       return ONetworkBinaryProtocolFactory::createRequest;
     }
@@ -403,4 +405,24 @@ public class ONetworkBinaryProtocolFactory {
       return createRequest37(requestType);
     }
   }
+
+  /**
+   * Protocol 39
+   *
+   * @param requestType
+   * @return
+   */
+  public static OBinaryRequest<? extends OBinaryResponse> createRequest39(int requestType) {
+    switch (requestType) {
+
+    case OChannelBinaryProtocol.REQUEST_QUERY_STREAM_PAGE:
+      return new OQueryStreamPageRequest();
+
+    case OChannelBinaryProtocol.REQUEST_RECORDS_LOAD:
+      return new OReadRecordsRequest();
+
+    default:
+      return createRequest38(requestType);
+    }
+  }
 }
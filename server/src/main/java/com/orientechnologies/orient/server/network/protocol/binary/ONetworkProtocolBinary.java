@@ -59,6 +59,8 @@ import com.orientechnologies.orient.server.OServer;
 import com.orientechnologies.orient.server.OServerAware;
 import com.orientechnologies.orient.server.distributed.*;
 import com.orientechnologies.orient.server.network.OServerNetworkListener;
+import com.orientechnologies.orient.server.network.OSocketChannelInputStream;
+import com.orientechnologies.orient.server.network.OSocketChannelOutputStream;
 import com.orientechnologies.orient.server.network.protocol.ONetworkProtocol;
 import com.orientechnologies.orient.server.plugin.OServerPluginHelper;
 
@@ -69,10 +71,14 @@ import java.io.PrintStream;
 import java.net.InetSocketAddress;
 import java.net.Socket;
 import java.net.SocketException;
+import java.nio.channels.SocketChannel;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Function;
 import java.util.logging.Level;
 
@@ -84,11 +90,14 @@ public class ONetworkProtocolBinary extends ONetworkProtocol {
   protected          int                                clientTxId;
   protected          boolean                            okSent;
   private            boolean                            tokenConnection = true;
-  private            long                               requests        = 0;
+  private final      AtomicLong                         requests        = new AtomicLong();
   private            HandshakeInfo                      handshakeInfo;
   private volatile   OBinaryPushResponse                expectedPushResponse;
   private            BlockingQueue<OBinaryPushResponse> pushResponse    = new SynchronousQueue<OBinaryPushResponse>();
+  private            Semaphore                          pipelineSlots;
 
+  private            OSocketChannelInputStream          selectedInput;
+  private final      AtomicBoolean                      selectedClosed  = new AtomicBoolean();
   private Function<Integer, OBinaryRequest<? extends OBinaryResponse>> factory = ONetworkBinaryProtocolFactory.defaultProtocol();
 
   public ONetworkProtocolBinary(OServer server) {
@@ -101,6 +110,8 @@ public class ONetworkProtocolBinary extends ONetworkProtocol {
         .parse(server.getContextConfiguration().getValueAsString(OGlobalConfiguration.SERVER_LOG_DUMP_CLIENT_EXCEPTION_LEVEL));
     logClientFullStackTrace = server.getContextConfiguration()
         .getValueAsBoolean(OGlobalConfiguration.SERVER_LOG_DUMP_CLIENT_EXCEPTION_FULLSTACKTRACE);
+    pipelineSlots = new Semaphore(
+        server.getContextConfiguration().getValueAsInteger(OGlobalConfiguration.NETWORK_BINARY_PIPELINE_MAX_IN_FLIGHT));
   }
 
   /**
@@ -129,6 +140,82 @@ public class ONetworkProtocolBinary extends ONetworkProtocol {
     setName("OrientDB (" + iSocket.getLocalSocketAddress() + ") <- BinaryClient (" + iSocket.getRemoteSocketAddress() + ")");
   }
 
+  /**
+   * Configures the protocol for a connection served by a {@link com.orientechnologies.orient.server.network.OServerSelectorLoop}:
+   * the thread is not started, the requests are executed by {@link #executeReady()} when the socket has data to read.
+   */
+  public void configSelected(final OServerNetworkListener iListener, final OServer iServer, final SocketChannel iChannel,
+      final OContextConfiguration iConfig) throws IOException {
+    iChannel.configureBlocking(false);
+    final Socket socket = iChannel.socket();
+    selectedInput = new OSocketChannelInputStream(iChannel);
+
+    OChannelBinaryServer channel = new OChannelBinaryServer(socket, selectedInput, new OSocketChannelOutputStream(iChannel),
+        iConfig);
+    initVariables(iServer, channel);
+
+    // SEND PROTOCOL VERSION
+    channel.writeShort((short) getVersion());
+
+    channel.flush();
+
+    OServerPluginHelper.invokeHandlerCallbackOnSocketAccepted(server, this);
+
+    startup();
+    setName("OrientDB (" + socket.getLocalSocketAddress() + ") <- BinaryClient (" + socket.getRemoteSocketAddress() + ")");
+  }
+
+  /**
+   * Executes the requests already received on a connection configured with {@link #configSelected}, without waiting for new
+   * ones.
+   *
+   * @return true if the connection is still open and must be watched for the next request
+   */
+  public boolean executeReady() {
+    try {
+      do {
+        beforeExecution();
+        execute();
+        afterExecution();
+        // THE NEXT REQUEST COULD BE ALREADY BUFFERED: THE SELECTOR WOULD NOT SEE IT
+      } while (!isShutdownFlag() && channel.inStream.available() > 0);
+    } catch (IOException e) {
+      // THE CLIENT CLOSED THE CONNECTION OR STOPPED ANSWERING
+      OLogManager.instance().debug(this, "I/O error on connection %s, closing it", e, getName());
+      sendShutdown();
+    } catch (Exception e) {
+      OLogManager.instance().error(this, "Error on executing requests of connection %s, closing it", e, getName());
+      sendShutdown();
+    }
+
+    if (isShutdownFlag()) {
+      shutdown();
+      return false;
+    }
+
+    selectedInput.releaseSelector();
+    return true;
+  }
+
+  /**
+   * @return true if the connection is served by an event loop, so no thread of its own is running for it
+   */
+  public boolean isSelected() {
+    return selectedInput != null;
+  }
+
+  /**
+   * A connection served by an event loop has no thread to interrupt: it is closed instead, which also stops the worker that may
+   * be executing one of its requests.
+   */
+  @Override
+  public void interrupt() {
+    if (isSelected())
+      shutdown();
+    else
+      super.interrupt();
+  }
+
   @Override
   public void startup() {
     super.startup();
@@ -136,6 +223,8 @@ public class ONetworkProtocolBinary extends ONetworkProtocol {
 
   @Override
   public void shutdown() {
+    if (isSelected() && !selectedClosed.compareAndSet(false, true))
+      return;
 
     sendShutdown();
     channel.close();
@@ -194,6 +283,10 @@ public class ONetworkProtocolBinary extends ONetworkProtocol {
         handlePushResponse();
         return;
       }
+      if (requestType == OChannelBinaryProtocol.REQUEST_PIPELINED) {
+        pipelinedRequest();
+        return;
+      }
 
       clientTxId = channel.readInt();
       // GET THE CONNECTION IF EXIST
@@ -374,6 +467,179 @@ public class ONetworkProtocolBinary extends ONetworkProtocol {
 
   }
 
+  /**
+   * Reads a pipelined request and hands its execution to the server request pipeline, so the socket can be read again without
+   * waiting for the response. The format is: request id, request type, session id, token and the request content.
+   */
+  private void pipelinedRequest() throws IOException {
+    final int requestId = channel.readInt();
+    final byte pipelinedType = channel.readByte();
+    final int sessionId = channel.readInt();
+    final byte[] tokenBytes = channel.readBytes();
+
+    if (handshakeInfo == null || handshakeInfo.getProtocolVersion() < OChannelBinaryProtocol.PROTOCOL_VERSION_39) {
+      OLogManager.instance().error(this, "Pipelined request received on a connection without protocol 39 handshake", null);
+      sendShutdown();
+      return;
+    }
+
+    final OBinaryRequest<? extends OBinaryResponse> request;
+    try {
+      request = factory.apply((int) pipelinedType);
+    } catch (RuntimeException e) {
+      handleConnectionError(null, new ONetworkProtocolException("Request not supported. Code: " + pipelinedType));
+      sendShutdown();
+      return;
+    }
+
+    final OClientConnection connection = server.getClientConnectionManager().getConnection(sessionId, this);
+    final RuntimeException sessionError = readPipelinedRequest(connection, tokenBytes, request);
+    if (sessionError != null) {
+      writePipelinedError(null, requestId, pipelinedType, sessionId, sessionError);
+      return;
+    }
+
+    try {
+      // BACK PRESSURE: STOP READING FROM THE SOCKET WHILE TOO MANY REQUESTS OF THIS CONNECTION ARE IN EXECUTION
+      pipelineSlots.acquire();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return;
+    }
+
+    try {
+      server.getRequestPipeline()
+          .submit(sessionId, () -> executePipelined(connection, requestId, pipelinedType, sessionId, tokenBytes, request));
+    } catch (RuntimeException e) {
+      pipelineSlots.release();
+      writePipelinedError(null, requestId, pipelinedType, sessionId, e);
+    }
+  }
+
+  /**
+   * Reads the content of a pipelined request with the database of its session active, as the content may need it (records,
+   * schema). The connection is held only while reading, a request of the same session in execution delays the read.
+   *
+   * @return the error of the session validation, the content is read anyway to keep the socket consistent
+   */
+  private RuntimeException readPipelinedRequest(final OClientConnection connection, final byte[] tokenBytes,
+      final OBinaryRequest<? extends OBinaryResponse> request) throws IOException {
+    if (connection == null) {
+      final int protocolVersion = OChannelBinaryProtocol.CURRENT_PROTOCOL_VERSION;
+      request.read(channel, protocolVersion, ORecordSerializerNetworkFactory.INSTANCE.forProtocol(protocolVersion));
+      return null;
+    }
+
+    RuntimeException sessionError = null;
+    connection.acquire();
+    try {
+      try {
+        connection.validateSession(tokenBytes, server.getTokenHandler(), this);
+        connection.init(server);
+        if (connection.getDatabase() != null)
+          connection.getDatabase().activateOnCurrentThread();
+      } catch (RuntimeException e) {
+        sessionError = e;
+      }
+
+      int protocolVersion = OChannelBinaryProtocol.CURRENT_PROTOCOL_VERSION;
+      ORecordSerializer serializer = ORecordSerializerNetworkFactory.INSTANCE.forProtocol(protocolVersion);
+      if (connection.getData() != null) {
+        protocolVersion = connection.getData().protocolVersion;
+        serializer = connection.getData().getSerializer();
+      }
+      request.read(channel, protocolVersion, serializer);
+    } finally {
+      ODatabaseRecordThreadLocal.instance().remove();
+      connection.release();
+    }
+    return sessionError;
+  }
+
+  private void executePipelined(OClientConnection connection, final int requestId, final byte pipelinedType, final int sessionId,
+      final byte[] tokenBytes, final OBinaryRequest<? extends OBinaryResponse> request) {
+    final long timer = Orient.instance().getProfiler().startChrono();
+    boolean acquired = false;
+    try {
+      OBinaryResponse response = null;
+      Exception exception = null;
+      try {
+        if (isHandshaking(pipelinedType))
+          throw new ONetworkProtocolException("Request " + pipelinedType + " cannot be pipelined");
+
+        connection = onBeforeOperationalRequest(connection, tokenBytes, pipelinedType);
+        acquired = true;
+        connection.getData().commandInfo = request.getDescription();
+        connection.setProtocol(this);
+
+        if (request.requireServerUser())
+          checkServerAccess(request.requiredServerRole(), connection);
+        if (request.requireDatabaseSession() && connection.getDatabase() == null)
+          throw new ODatabaseException("Required database session");
+
+        response = request.execute(connection.getExecutor());
+      } catch (RuntimeException e) {
+        if (acquired && connection.getDatabase() != null) {
+          final OSBTreeCollectionManager collectionManager = connection.getDatabase().getSbTreeCollectionManager();
+          if (collectionManager != null)
+            collectionManager.clearChangedIds();
+        }
+        exception = e;
+      }
+
+      if (exception != null)
+        writePipelinedError(acquired ? connection : null, requestId, pipelinedType, sessionId, exception);
+      else {
+        channel.acquireWriteLock();
+        try {
+          writePipelinedHeader(OChannelBinaryProtocol.RESPONSE_STATUS_OK, connection, requestId, pipelinedType, sessionId);
+          if (response != null)
+            response.write(channel, connection.getData().protocolVersion, connection.getData().getSerializer());
+          channel.flush();
+        } catch (IOException e) {
+          OLogManager.instance().debug(this, "I/O Error on client clientId=%d reqType=%d", sessionId, pipelinedType, e);
+          sendShutdown();
+        } finally {
+          channel.releaseWriteLock();
+        }
+      }
+    } finally {
+      if (acquired)
+        afterOperationRequest(connection, pipelinedType);
+      pipelineSlots.release();
+
+      Orient.instance().getProfiler()
+          .stopChrono("server.network.requests", "Total received requests", timer, "server.network.requests");
+
+      OSerializationThreadLocal.INSTANCE.get().clear();
+      ODatabaseRecordThreadLocal.instance().remove();
+    }
+  }
+
+  private void writePipelinedHeader(final byte status, final OClientConnection connection, final int requestId,
+      final byte pipelinedType, final int sessionId) throws IOException {
+    channel.writeByte(OChannelBinaryProtocol.RESPONSE_PIPELINED);
+    channel.writeInt(requestId);
+    channel.writeByte(status);
+    channel.writeInt(sessionId);
+    channel.writeBytes(renewToken(connection));
+    channel.writeByte(pipelinedType);
+  }
+
+  private void writePipelinedError(final OClientConnection connection, final int requestId, final byte pipelinedType,
+      final int sessionId, final Throwable t) {
+    channel.acquireWriteLock();
+    try {
+      writePipelinedHeader(OChannelBinaryProtocol.RESPONSE_STATUS_ERROR, connection, requestId, pipelinedType, sessionId);
+      writeErrorContent(connection, t);
+    } catch (IOException e) {
+      OLogManager.instance().debug(this, "I/O Error on client clientId=%d reqType=%d", sessionId, pipelinedType, e);
+      sendShutdown();
+    } finally {
+      channel.releaseWriteLock();
+    }
+  }
+
   private OClientConnection onBeforeHandshakeRequest(OClientConnection connection, byte[] tokenBytes) {
     try {
       if (requestType != OChannelBinaryProtocol.REQUEST_DB_REOPEN) {
@@ -434,7 +700,7 @@ public class ONetworkProtocolBinary extends ONetworkProtocol {
           break;
         }
       } finally {
-        requests++;
+        requests.incrementAndGet();
         afterOperationRequest(connection);
       }
 
@@ -450,6 +716,10 @@ public class ONetworkProtocolBinary extends ONetworkProtocol {
   }
 
   private OClientConnection onBeforeOperationalRequest(OClientConnection connection, byte[] tokenBytes) {
+    return onBeforeOperationalRequest(connection, tokenBytes, requestType);
+  }
+
+  private OClientConnection onBeforeOperationalRequest(OClientConnection connection, byte[] tokenBytes, int requestType) {
     try {
       if (connection == null && requestType == OChannelBinaryProtocol.REQUEST_DB_CLOSE)
         return null;
@@ -508,7 +778,7 @@ public class ONetworkProtocolBinary extends ONetworkProtocol {
   }
 
   private void waitDistribuedIsOnline(OClientConnection connection) {
-    if (requests == 0) {
+    if (requests.get() == 0) {
       final ODistributedServerManager manager = server.getDistributedManager();
       if (manager != null && connection.getDatabase() != null)
         try {
@@ -527,7 +797,11 @@ public class ONetworkProtocolBinary extends ONetworkProtocol {
   }
 
   protected void afterOperationRequest(OClientConnection connection) {
-    requests++;
+    afterOperationRequest(connection, requestType);
+  }
+
+  protected void afterOperationRequest(OClientConnection connection, int requestType) {
+    requests.incrementAndGet();
     OServerPluginHelper.invokeHandlerCallbackOnAfterClientRequest(server, connection, (byte) requestType);
 
     if (connection != null) {
@@ -621,14 +895,7 @@ public class ONetworkProtocolBinary extends ONetworkProtocol {
       channel.writeByte(OChannelBinaryProtocol.RESPONSE_STATUS_ERROR);
       channel.writeInt(iClientTxId);
       if (handshakeInfo != null) {
-        byte[] renewedToken = null;
-        if (connection != null && connection.getToken() != null) {
-          renewedToken = server.getTokenHandler().renewIfNeeded(connection.getToken());
-          if (renewedToken.length > 0) {
-            connection.setTokenBytes(renewedToken);
-          }
-        }
-        channel.writeBytes(renewedToken);
+        channel.writeBytes(renewToken(connection));
         channel.writeByte((byte) requestType);
       } else {
         if (tokenConnection && requestType != OChannelBinaryProtocol.REQUEST_CONNECT && (
@@ -645,67 +912,7 @@ public class ONetworkProtocolBinary extends ONetworkProtocol {
             channel.writeBytes(new byte[] {});
         }
       }
-      final Throwable current;
-      if (t instanceof OException && t.getCause() instanceof InterruptedException && !server.isActive()) {
-        current = new OOfflineNodeException("Node shutting down");
-      } else if (t instanceof OLockException && t.getCause() instanceof ODatabaseException)
-        // BYPASS THE DB POOL EXCEPTION TO PROPAGATE THE RIGHT SECURITY ONE
-        current = t.getCause();
-      else
-        current = t;
-
-      Map<String, String> messages = new HashMap<>();
-      Throwable it = current;
-      while (it != null) {
-        messages.put(current.getClass().getName(), current.getMessage());
-        it = it.getCause();
-      }
-      final byte[] result;
-      if (handshakeInfo == null || handshakeInfo.getErrorEncoding() == OChannelBinaryProtocol.ERROR_MESSAGE_JAVA) {
-        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-        final ObjectOutputStream objectOutputStream = new ObjectOutputStream(outputStream);
-        objectOutputStream.writeObject(current);
-        objectOutputStream.flush();
-        objectOutputStream.close();
-        result = outputStream.toByteArray();
-      } else if (handshakeInfo.getErrorEncoding() == OChannelBinaryProtocol.ERROR_MESSAGE_STRING) {
-        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-        current.printStackTrace(new PrintStream(outputStream));
-        result = outputStream.toByteArray();
-      } else {
-        result = new byte[] {};
-      }
-      OBinaryResponse error;
-      if (handshakeInfo != null) {
-        OErrorCode code;
-        if (current instanceof OCoreException) {
-          code = ((OCoreException) current).getErrorCode();
-          if (code == null)
-            code = OErrorCode.GENERIC_ERROR;
-        } else {
-          code = OErrorCode.GENERIC_ERROR;
-        }
-        error = new OError37Response(code, 0, messages, result);
-      } else {
-        error = new OErrorResponse(messages, result);
-      }
-      int protocolVersion = OChannelBinaryProtocol.CURRENT_PROTOCOL_VERSION;
-      ORecordSerializer serializationImpl = ORecordSerializerNetworkFactory.INSTANCE.current();
-      if (connection != null) {
-        protocolVersion = connection.getData().protocolVersion;
-        serializationImpl = connection.getData().getSerializer();
-      }
-      error.write(channel, protocolVersion, serializationImpl);
-      channel.flush();
-
-      if (OLogManager.instance().isLevelEnabled(logClientExceptions)) {
-        if (logClientFullStackTrace)
-          OLogManager.instance().log(this, logClientExceptions, "Sent run-time exception to the client %s: %s", t, true, null,
-              channel.socket.getRemoteSocketAddress(), t.toString());
-        else
-          OLogManager.instance().log(this, logClientExceptions, "Sent run-time exception to the client %s: %s", null, true, null,
-              channel.socket.getRemoteSocketAddress(), t.toString());
-      }
+      writeErrorContent(connection, t);
     } catch (Exception e) {
       if (e instanceof SocketException)
         shutdown();
@@ -718,6 +925,70 @@ public class ONetworkProtocolBinary extends ONetworkProtocol {
     }
   }
 
+  private void writeErrorContent(final OClientConnection connection, final Throwable t) throws IOException {
+    final Throwable current;
+    if (t instanceof OException && t.getCause() instanceof InterruptedException && !server.isActive()) {
+      current = new OOfflineNodeException("Node shutting down");
+    } else if (t instanceof OLockException && t.getCause() instanceof ODatabaseException)
+      // BYPASS THE DB POOL EXCEPTION TO PROPAGATE THE RIGHT SECURITY ONE
+      current = t.getCause();
+    else
+      current = t;
+
+    Map<String, String> messages = new HashMap<>();
+    Throwable it = current;
+    while (it != null) {
+      messages.put(current.getClass().getName(), current.getMessage());
+      it = it.getCause();
+    }
+    final byte[] result;
+    if (handshakeInfo == null || handshakeInfo.getErrorEncoding() == OChannelBinaryProtocol.ERROR_MESSAGE_JAVA) {
+      ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+      final ObjectOutputStream objectOutputStream = new ObjectOutputStream(outputStream);
+      objectOutputStream.writeObject(current);
+      objectOutputStream.flush();
+      objectOutputStream.close();
+      result = outputStream.toByteArray();
+    } else if (handshakeInfo.getErrorEncoding() == OChannelBinaryProtocol.ERROR_MESSAGE_STRING) {
+      ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+      current.printStackTrace(new PrintStream(outputStream));
+      result = outputStream.toByteArray();
+    } else {
+      result = new byte[] {};
+    }
+    OBinaryResponse error;
+    if (handshakeInfo != null) {
+      OErrorCode code;
+      if (current instanceof OCoreException) {
+        code = ((OCoreException) current).getErrorCode();
+        if (code == null)
+          code = OErrorCode.GENERIC_ERROR;
+      } else {
+        code = OErrorCode.GENERIC_ERROR;
+      }
+      error = new OError37Response(code, 0, messages, result);
+    } else {
+      error = new OErrorResponse(messages, result);
+    }
+    int protocolVersion = OChannelBinaryProtocol.CURRENT_PROTOCOL_VERSION;
+    ORecordSerializer serializationImpl = ORecordSerializerNetworkFactory.INSTANCE.current();
+    if (connection != null) {
+      protocolVersion = connection.getData().protocolVersion;
+      serializationImpl = connection.getData().getSerializer();
+    }
+    error.write(channel, protocolVersion, serializationImpl);
+    channel.flush();
+
+    if (OLogManager.instance().isLevelEnabled(logClientExceptions)) {
+      if (logClientFullStackTrace)
+        OLogManager.instance().log(this, logClientExceptions, "Sent run-time exception to the client %s: %s", t, true, null,
+            channel.socket.getRemoteSocketAddress(), t.toString());
+      else
+        OLogManager.instance().log(this, logClientExceptions, "Sent run-time exception to the client %s: %s", null, true, null,
+            channel.socket.getRemoteSocketAddress(), t.toString());
+    }
+  }
+
   protected void beginResponse() {
     channel.acquireWriteLock();
   }
@@ -737,14 +1008,7 @@ public class ONetworkProtocolBinary extends ONetworkProtocol {
     channel.writeInt(iClientTxId);
     okSent = true;
     if (handshakeInfo != null) {
-      byte[] renewedToken = null;
-      if (connection != null && connection.getToken() != null) {
-        renewedToken = server.getTokenHandler().renewIfNeeded(connection.getToken());
-        if (renewedToken.length > 0) {
-          connection.setTokenBytes(renewedToken);
-        }
-      }
-      channel.writeBytes(renewedToken);
+      channel.writeBytes(renewToken(connection));
       channel.writeByte((byte) requestType);
     } else {
       if (connection != null && Boolean.TRUE.equals(connection.getTokenBased()) && connection.getToken() != null
@@ -757,6 +1021,17 @@ public class ONetworkProtocolBinary extends ONetworkProtocol {
     }
   }
 
+  private byte[] renewToken(final OClientConnection connection) {
+    byte[] renewedToken = null;
+    if (connection != null && connection.getToken() != null) {
+      renewedToken = server.getTokenHandler().renewIfNeeded(connection.getToken());
+      if (renewedToken.length > 0) {
+        connection.setTokenBytes(renewedToken);
+      }
+    }
+    return renewedToken;
+  }
+
   protected void handleConnectionError(OClientConnection connection, final Throwable e) {
     try {
       channel.flush();
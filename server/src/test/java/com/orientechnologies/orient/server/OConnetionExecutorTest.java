@@ -3,15 +3,19 @@ package com.orientechnologies.orient.server;
 import com.orientechnologies.orient.client.remote.OBinaryResponse;
 import com.orientechnologies.orient.client.remote.message.OBatchOperationsRequest;
 import com.orientechnologies.orient.client.remote.message.OBatchOperationsResponse;
+import com.orientechnologies.orient.client.remote.message.OReadRecordsRequest;
+import com.orientechnologies.orient.client.remote.message.OReadRecordsResponse;
 import com.orientechnologies.orient.core.db.ODatabaseDocumentInternal;
 import com.orientechnologies.orient.core.db.ODatabaseType;
 import com.orientechnologies.orient.core.db.OrientDB;
 import com.orientechnologies.orient.core.db.OrientDBConfig;
 import com.orientechnologies.orient.core.db.record.ORecordOperation;
+import com.orientechnologies.orient.core.id.ORecordId;
 import com.orientechnologies.orient.core.record.impl.ODocument;
 import com.orientechnologies.orient.core.serialization.serializer.record.binary.ORecordSerializerNetworkV37;
 import com.orientechnologies.orient.core.sql.executor.OResult;
 import com.orientechnologies.orient.core.sql.executor.OResultSet;
+import com.orientechnologies.orient.core.storage.ORawBuffer;
 import com.orientechnologies.orient.server.network.protocol.ONetworkProtocolData;
 import org.junit.After;
 import org.junit.Before;
@@ -26,6 +30,7 @@ import java.util.stream.Collectors;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
 /**
@@ -97,4 +102,34 @@ public class OConnetionExecutorTest {
     assertEquals("update", results.get(0).getProperty("name"));
     query.close();
   }
+
+  @Test
+  public void testReadRecords() {
+    List<ODocument> docs = new ArrayList<>();
+    for (int i = 0; i < 5; i++) {
+      docs.add(new ODocument("test").field("name", "doc" + i));
+    }
+    database.saveAll(docs);
+    ODocument deleted = database.save(new ODocument("test").field("name", "deleted"));
+    database.delete(deleted);
+
+    OConnectionBinaryExecutor executor = new OConnectionBinaryExecutor(connection, server);
+
+    List<ORecordId> rids = new ArrayList<>();
+    rids.add((ORecordId) docs.get(3).getIdentity());
+    rids.add((ORecordId) deleted.getIdentity());
+    rids.add((ORecordId) docs.get(0).getIdentity());
+    OBinaryResponse response = new OReadRecordsRequest(rids).execute(executor);
+    assertTrue(response instanceof OReadRecordsResponse);
+
+    List<ORawBuffer> records = ((OReadRecordsResponse) response).getRecords();
+    assertEquals(3, records.size());
+    assertNull(records.get(1));
+    ODocument first = new ODocument();
+    ORecordSerializerNetworkV37.INSTANCE.fromStream(records.get(0).buffer, first, null);
+    assertEquals("doc3", first.field("name"));
+    ODocument last = new ODocument();
+    ORecordSerializerNetworkV37.INSTANCE.fromStream(records.get(2).buffer, last, null);
+    assertEquals("doc0", last.field("name"));
+  }
 }
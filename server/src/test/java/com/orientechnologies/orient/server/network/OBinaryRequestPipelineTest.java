@@ -0,0 +1,78 @@
+package com.orientechnologies.orient.server.network;
+
+import com.orientechnologies.orient.server.network.protocol.binary.OBinaryRequestPipeline;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class OBinaryRequestPipelineTest {
+
+  private OBinaryRequestPipeline pipeline;
+
+  @Before
+  public void before() {
+    pipeline = new OBinaryRequestPipeline(4);
+  }
+
+  @After
+  public void after() {
+    pipeline.shutdown();
+  }
+
+  @Test
+  public void testSameSessionKeepsOrder() throws Exception {
+    final List<Integer> executed = Collections.synchronizedList(new ArrayList<>());
+    CompletableFuture<Void> last = null;
+    for (int i = 0; i < 100; i++) {
+      final int request = i;
+      last = pipeline.submit(1, () -> executed.add(request));
+    }
+    last.get(10, TimeUnit.SECONDS);
+
+    assertEquals(100, executed.size());
+    for (int i = 0; i < 100; i++)
+      assertEquals(i, (int) executed.get(i));
+  }
+
+  @Test
+  public void testFailureDoesNotBlockSession() throws Exception {
+    pipeline.submit(1, () -> {
+      throw new IllegalStateException("failed request");
+    });
+    final CountDownLatch executed = new CountDownLatch(1);
+    pipeline.submit(1, executed::countDown).get(10, TimeUnit.SECONDS);
+    assertEquals(0, executed.getCount());
+  }
+
+  @Test
+  public void testDifferentSessionsRunConcurrently() throws Exception {
+    final CountDownLatch blocked = new CountDownLatch(1);
+    final CountDownLatch started = new CountDownLatch(1);
+    final CompletableFuture<Void> slow = pipeline.submit(1, () -> {
+      started.countDown();
+      try {
+        blocked.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    });
+    assertTrue(started.await(10, TimeUnit.SECONDS));
+
+    // A REQUEST OF ANOTHER SESSION IS NOT QUEUED BEHIND THE SLOW ONE
+    pipeline.submit(2, () -> {
+    }).get(10, TimeUnit.SECONDS);
+
+    blocked.countDown();
+    slow.get(10, TimeUnit.SECONDS);
+  }
+}
@@ -0,0 +1,105 @@
+package com.orientechnologies.orient.server.network;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+public class OSocketChannelStreamsTest {
+
+  private ServerSocketChannel serverChannel;
+  private Socket              client;
+  private SocketChannel       accepted;
+
+  @Before
+  public void before() throws Exception {
+    serverChannel = ServerSocketChannel.open();
+    serverChannel.socket().bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+    client = new Socket(InetAddress.getLoopbackAddress(), serverChannel.socket().getLocalPort());
+    accepted = serverChannel.accept();
+    accepted.configureBlocking(false);
+  }
+
+  @After
+  public void after() throws Exception {
+    client.close();
+    accepted.close();
+    serverChannel.close();
+  }
+
+  @Test
+  public void testReadWaitsForPartialData() throws Exception {
+    final OSocketChannelInputStream input = new OSocketChannelInputStream(accepted);
+    final CompletableFuture<Integer> read = CompletableFuture.supplyAsync(() -> {
+      try {
+        return new DataInputStream(input).readInt();
+      } catch (Exception e) {
+        throw new IllegalStateException(e);
+      }
+    });
+
+    final OutputStream out = client.getOutputStream();
+    out.write(new byte[] { 0, 0 });
+    out.flush();
+    Thread.sleep(100);
+    out.write(new byte[] { 1, 2 });
+    out.flush();
+
+    assertEquals(258, (int) read.get(10, TimeUnit.SECONDS));
+    input.releaseSelector();
+  }
+
+  @Test
+  public void testReadEndOfStream() throws Exception {
+    client.shutdownOutput();
+    assertEquals(-1, new OSocketChannelInputStream(accepted).read());
+  }
+
+  @Test
+  public void testWriteWaitsForSlowReader() throws Exception {
+    // LARGER THAN THE SOCKET BUFFERS: THE WRITER MUST WAIT FOR THE READER
+    final byte[] content = new byte[8 * 1024 * 1024];
+    for (int i = 0; i < content.length; i++)
+      content[i] = (byte) i;
+
+    final CompletableFuture<byte[]> read = CompletableFuture.supplyAsync(() -> {
+      try {
+        final byte[] received = new byte[content.length];
+        final InputStream in = client.getInputStream();
+        Thread.sleep(100);
+        new DataInputStream(in).readFully(received);
+        return received;
+      } catch (Exception e) {
+        throw new IllegalStateException(e);
+      }
+    });
+
+    final DataOutputStream out = new DataOutputStream(new OSocketChannelOutputStream(accepted));
+    out.write(content);
+    out.flush();
+
+    assertArrayEquals(content, read.get(30, TimeUnit.SECONDS));
+  }
+
+  @Test(expected = SocketTimeoutException.class)
+  public void testWriteTimeoutWhenReaderStops() throws Exception {
+    accepted.socket().setSoTimeout(200);
+    // THE CLIENT NEVER READS: THE SOCKET BUFFERS FILL UP
+    new OSocketChannelOutputStream(accepted).write(new byte[64 * 1024 * 1024]);
+  }
+}
@@ -0,0 +1,105 @@
+package com.orientechnologies.orient.server.query;
+
+import com.orientechnologies.common.io.OFileUtils;
+import com.orientechnologies.orient.core.Orient;
+import com.orientechnologies.orient.core.config.OGlobalConfiguration;
+import com.orientechnologies.orient.core.db.ODatabaseType;
+import com.orientechnologies.orient.core.db.OrientDB;
+import com.orientechnologies.orient.core.db.OrientDBConfig;
+import com.orientechnologies.orient.core.db.document.ODatabaseDocument;
+import com.orientechnologies.orient.core.record.impl.ODocument;
+import com.orientechnologies.orient.core.sql.executor.OResult;
+import com.orientechnologies.orient.core.sql.executor.OResultSet;
+import com.orientechnologies.orient.server.OServer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+
+import static com.orientechnologies.orient.core.config.OGlobalConfiguration.QUERY_REMOTE_RESULTSET_PAGE_SIZE;
+import static com.orientechnologies.orient.core.config.OGlobalConfiguration.QUERY_REMOTE_RESULTSET_STREAMING_CREDITS;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class RemoteQueryStreamingTest {
+
+  private static final String            SERVER_DIRECTORY = "./target/queryStreaming";
+  private              OServer           server;
+  private              OrientDB          orientDB;
+  private              ODatabaseDocument session;
+  private              int               oldPageSize;
+  private              int               oldCredits;
+
+  @Before
+  public void before() throws Exception {
+    OGlobalConfiguration.CLASS_MINIMUM_CLUSTERS.setValue(1);
+    server = new OServer(false);
+    server.setServerRootDirectory(SERVER_DIRECTORY);
+    server.startup(getClass().getResourceAsStream("orientdb-server-config.xml"));
+    server.activate();
+
+    orientDB = new OrientDB("remote:localhost", "root", "root", OrientDBConfig.defaultConfig());
+    orientDB.create(RemoteQueryStreamingTest.class.getSimpleName(), ODatabaseType.MEMORY);
+    session = orientDB.open(RemoteQueryStreamingTest.class.getSimpleName(), "admin", "admin");
+    session.createClass("Some");
+    oldPageSize = QUERY_REMOTE_RESULTSET_PAGE_SIZE.getValueAsInteger();
+    oldCredits = QUERY_REMOTE_RESULTSET_STREAMING_CREDITS.getValueAsInteger();
+    QUERY_REMOTE_RESULTSET_PAGE_SIZE.setValue(10);
+    QUERY_REMOTE_RESULTSET_STREAMING_CREDITS.setValue(3);
+
+    for (int i = 0; i < 155; i++) {
+      ODocument doc = new ODocument("Some");
+      doc.setProperty("prop", i);
+      session.save(doc);
+    }
+  }
+
+  @Test
+  public void testStreamAllPages() {
+    OResultSet res = session.query("select from Some order by prop");
+    for (int i = 0; i < 155; i++) {
+      assertTrue(res.hasNext());
+      OResult item = res.next();
+      assertEquals(i, (int) item.getProperty("prop"));
+    }
+    assertFalse(res.hasNext());
+    res.close();
+
+    // THE STREAM CHANNEL IS BACK TO THE POOL AND THE SESSION IS STILL USABLE
+    assertEquals(155, (long) session.query("select count(*) as count from Some").next().getProperty("count"));
+  }
+
+  @Test
+  public void testCloseWhileStreaming() {
+    OResultSet res = session.query("select from Some order by prop");
+    for (int i = 0; i < 25; i++) {
+      assertTrue(res.hasNext());
+      res.next();
+    }
+    res.close();
+
+    OResultSet other = session.query("select from Some order by prop");
+    int count = 0;
+    while (other.hasNext()) {
+      assertEquals(count, (int) other.next().getProperty("prop"));
+      count++;
+    }
+    other.close();
+    assertEquals(155, count);
+  }
+
+  @After
+  public void after() {
+    QUERY_REMOTE_RESULTSET_PAGE_SIZE.setValue(oldPageSize);
+    QUERY_REMOTE_RESULTSET_STREAMING_CREDITS.setValue(oldCredits);
+    session.close();
+    orientDB.close();
+    server.shutdown();
+
+    Orient.instance().shutdown();
+    OFileUtils.deleteRecursively(new File(SERVER_DIRECTORY));
+    Orient.instance().startup();
+  }
+}